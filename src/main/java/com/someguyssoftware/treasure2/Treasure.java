@@ -21,7 +21,6 @@ package com.someguyssoftware.treasure2;
 
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Map.Entry;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -35,12 +34,14 @@ import com.someguyssoftware.gottschcore.config.ILoggerConfig;
 import com.someguyssoftware.gottschcore.mod.AbstractMod;
 import com.someguyssoftware.gottschcore.mod.IMod;
 import com.someguyssoftware.gottschcore.version.BuildVersion;
+import com.someguyssoftware.treasure2.adornment.TreasureAdornmentRegistry;
 import com.someguyssoftware.treasure2.api.TreasureApi;
 import com.someguyssoftware.treasure2.block.TreasureBlocks;
 import com.someguyssoftware.treasure2.capability.IKeyRingCapability;
 import com.someguyssoftware.treasure2.capability.KeyRingCapability;
 import com.someguyssoftware.treasure2.capability.KeyRingStorage;
 import com.someguyssoftware.treasure2.capability.TreasureCapabilities;
+import com.someguyssoftware.treasure2.charm.TreasureCharmRegistry;
 import com.someguyssoftware.treasure2.charm.TreasureCharms;
 import com.someguyssoftware.treasure2.client.gui.GuiHandler;
 import com.someguyssoftware.treasure2.command.SpawnCharmCommand;
@@ -72,16 +73,16 @@ import com.someguyssoftware.treasure2.material.TreasureCharmableMaterials;
 import com.someguyssoftware.treasure2.meta.TreasureMetaManager;
 import com.someguyssoftware.treasure2.network.CharmMessageHandlerOnClient;
 import com.someguyssoftware.treasure2.network.CharmMessageToClient;
-import com.someguyssoftware.treasure2.network.PoisonMistMessageHandlerOnServer;
-import com.someguyssoftware.treasure2.network.PoisonMistMessageToServer;
-import com.someguyssoftware.treasure2.network.WitherMistMessageHandlerOnServer;
-import com.someguyssoftware.treasure2.network.WitherMistMessageToServer;
+import com.someguyssoftware.treasure2.network.LockStateMessageHandlerOnClient;
+import com.someguyssoftware.treasure2.network.LockStateMessageToClient;
 import com.someguyssoftware.treasure2.world.gen.structure.TreasureDecayManager;
 import com.someguyssoftware.treasure2.world.gen.structure.TreasureTemplateManager;
 import com.someguyssoftware.treasure2.worldgen.GemOreWorldGenerator;
+import com.someguyssoftware.treasure2.worldgen.GeneratorEligibility;
 import com.someguyssoftware.treasure2.worldgen.ITreasureWorldGenerator;
 import com.someguyssoftware.treasure2.worldgen.SubmergedChestWorldGenerator;
 import com.someguyssoftware.treasure2.worldgen.SurfaceChestWorldGenerator;
+import com.someguyssoftware.treasure2.worldgen.TreasureWorldGenerator;
 import com.someguyssoftware.treasure2.worldgen.WellWorldGenerator;
 import com.someguyssoftware.treasure2.worldgen.WitherTreeWorldGenerator;
 
@@ -201,14 +202,11 @@ public class Treasure extends AbstractMod {
 		// register the GUI handler
 		NetworkRegistry.INSTANCE.registerGuiHandler(this, new GuiHandler());
 
-		int PARTICLE_MESSAGE_ID = 14;
 		simpleNetworkWrapper = NetworkRegistry.INSTANCE.newSimpleChannel("treasure2_channel");
-		simpleNetworkWrapper.registerMessage(PoisonMistMessageHandlerOnServer.class, PoisonMistMessageToServer.class,
-				PARTICLE_MESSAGE_ID, Side.SERVER);
-		simpleNetworkWrapper.registerMessage(WitherMistMessageHandlerOnServer.class, WitherMistMessageToServer.class,
-				15, Side.SERVER);
 		simpleNetworkWrapper.registerMessage(CharmMessageHandlerOnClient.class, CharmMessageToClient.class,
 				25, Side.CLIENT);
+		simpleNetworkWrapper.registerMessage(LockStateMessageHandlerOnClient.class, LockStateMessageToClient.class,
+				26, Side.CLIENT);
 
 		// add capabilities
 		TreasureCapabilities.register();
@@ -292,10 +290,13 @@ public class Treasure extends AbstractMod {
 		WORLD_GENERATORS.put(WorldGeneratorType.WITHER_TREE, new WitherTreeWorldGenerator());
 		WORLD_GENERATORS.put(WorldGeneratorType.GEM, new GemOreWorldGenerator());
 
-		int genWeight = 0;
-		for (Entry<WorldGeneratorType, ITreasureWorldGenerator> gen : WORLD_GENERATORS.entrySet()) {
-			GameRegistry.registerWorldGenerator(gen.getValue(), genWeight++);
-		}
+		/*
+		 * run as one decoration pass per chunk, at weight 0.
+		 * NOTE the generators used to be registered on their own, at weights 0 to 4 in this map's order, so other mods'
+		 * generators of weights 1 to 4 ran between them. Now all of them run before those (and with the other
+		 * generators of weight 0), ie. a Treasure structure may be overwritten by, rather than overwrite, them.
+		 */
+		GameRegistry.registerWorldGenerator(new TreasureWorldGenerator(WORLD_GENERATORS.values()), 0);
 	}
 
 	/**
@@ -309,6 +310,11 @@ public class Treasure extends AbstractMod {
 		// perform any post init
 		super.postInit(event);
 
+		// all charms and adornments have been registered by now
+		TreasureCharmRegistry.freeze();
+		TreasureAdornmentRegistry.freeze();
+		GeneratorEligibility.freeze();
+
 		// associate painting items to painting blocks and vice versa
 		((PaintingItem) TreasureItems.PAINTING_BLOCKS_BRICKS).setPaintingBlock(TreasureBlocks.PAINTING_BLOCKS_BRICKS);
 		((PaintingItem) TreasureItems.PAINTING_BLOCKS_COBBLESTONE)
@@ -0,0 +1,118 @@
+/**
+ *
+ */
+package com.someguyssoftware.treasure2.adornment;
+
+import com.someguyssoftware.treasure2.capability.ICharmableCapability;
+import com.someguyssoftware.treasure2.capability.IRunestonesCapability;
+import com.someguyssoftware.treasure2.capability.InventoryType;
+import com.someguyssoftware.treasure2.capability.TreasureCapabilities;
+import com.someguyssoftware.treasure2.charm.TreasureCharms;
+import com.someguyssoftware.treasure2.enums.AdornmentType;
+import com.someguyssoftware.treasure2.enums.Rarity;
+import com.someguyssoftware.treasure2.item.Adornment;
+
+import net.minecraft.init.Items;
+import net.minecraft.item.ItemStack;
+import net.minecraft.util.ResourceLocation;
+
+/**
+ * The registration key of an adornment together with the limits of the capabilities its item stacks are created with,
+ * so that adornments can be selected by level, rarity or gem without creating an item stack per candidate.
+ * Immutable.
+ */
+public final class AdornmentDescriptor {
+	private final Adornment adornment;
+	private final AdornmentType type;
+	private final AdornmentSize size;
+	private final ResourceLocation material;
+	private final ResourceLocation source;
+	private final int maxCharmLevel;
+	// the rarity of the max charm level or null if the level has no rarity
+	private final Rarity rarity;
+	private final int maxInnateSize;
+	private final int maxImbueSize;
+	private final int maxSocketSize;
+	private final int maxRunestoneSocketSize;
+
+	/**
+	 * Reads the capability limits from a default stack of the adornment.
+	 * @param key
+	 * @param adornment
+	 */
+	AdornmentDescriptor(TreasureAdornmentRegistry.Key key, Adornment adornment) {
+		this.adornment = adornment;
+		this.type = key.getType();
+		this.size = key.getSize();
+		this.material = key.getMaterial();
+		this.source = key.getSource();
+
+		ItemStack stack = new ItemStack(adornment);
+		ICharmableCapability charmCap = stack.getCapability(TreasureCapabilities.CHARMABLE, null);
+		IRunestonesCapability runestonesCap = stack.getCapability(TreasureCapabilities.RUNESTONES, null);
+		this.maxCharmLevel = charmCap == null ? 0 : charmCap.getMaxCharmLevel();
+		this.rarity = TreasureCharms.LEVEL_RARITY.get(maxCharmLevel);
+		this.maxInnateSize = charmCap == null ? 0 : charmCap.getMaxInnateSize();
+		this.maxImbueSize = charmCap == null ? 0 : charmCap.getMaxImbueSize();
+		this.maxSocketSize = charmCap == null ? 0 : charmCap.getMaxSocketSize();
+		this.maxRunestoneSocketSize = runestonesCap == null ? 0 : runestonesCap.getMaxSize(InventoryType.SOCKET);
+	}
+
+	public Adornment getAdornment() {
+		return adornment;
+	}
+
+	public AdornmentType getType() {
+		return type;
+	}
+
+	public AdornmentSize getSize() {
+		return size;
+	}
+
+	public ResourceLocation getMaterial() {
+		return material;
+	}
+
+	public ResourceLocation getSource() {
+		return source;
+	}
+
+	/**
+	 *
+	 * @return whether the adornment has a gem/stone
+	 */
+	public boolean hasSource() {
+		return source != null && !source.equals(Items.AIR.getRegistryName());
+	}
+
+	public int getMaxCharmLevel() {
+		return maxCharmLevel;
+	}
+
+	public Rarity getRarity() {
+		return rarity;
+	}
+
+	public int getMaxInnateSize() {
+		return maxInnateSize;
+	}
+
+	public int getMaxImbueSize() {
+		return maxImbueSize;
+	}
+
+	public int getMaxSocketSize() {
+		return maxSocketSize;
+	}
+
+	public int getMaxRunestoneSocketSize() {
+		return maxRunestoneSocketSize;
+	}
+
+	@Override
+	public String toString() {
+		return "AdornmentDescriptor [adornment=" + adornment.getRegistryName() + ", type=" + type + ", size=" + size.getName() + ", material=" + material
+				+ ", source=" + source + ", maxCharmLevel=" + maxCharmLevel + ", rarity=" + rarity + "]";
+	}
+}
@@ -24,7 +24,11 @@ import static com.someguyssoftware.treasure2.capability.TreasureCapabilities.DUR
 import static com.someguyssoftware.treasure2.capability.TreasureCapabilities.RUNESTONES;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -50,6 +54,8 @@ import com.someguyssoftware.treasure2.item.TreasureItems;
 import com.someguyssoftware.treasure2.material.CharmableMaterial;
 import com.someguyssoftware.treasure2.util.ResourceLocationUtil;
 
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 import net.minecraft.item.ItemStack;
 import net.minecraft.util.ResourceLocation;
 
@@ -65,6 +71,8 @@ public class TreasureAdornmentRegistry {
 	public static final Map<Key, Adornment> REGISTRY = Maps.newHashMap();
 	private static final Multimap<AdornmentType, Adornment> BY_TYPE = ArrayListMultimap.create();
 	private static final Multimap<ResourceLocation, Adornment> BY_MATERIAL = ArrayListMultimap.create();
+	// material -> [no gem, gem] -> descriptors. built on first query, dropped when an adornment is registered afterwards
+	private static volatile Map<ResourceLocation, DescriptorGroup[]> descriptors;
 	
 	public static final AdornmentSize STANDARD = new AdornmentSize("standard");
 	public static final AdornmentSize GREAT = new AdornmentSize("great") {
@@ -108,6 +116,76 @@ public class TreasureAdornmentRegistry {
 		REGISTRY.put(key, adornment);
 		BY_TYPE.put(key.getType(), adornment);
 		BY_MATERIAL.put(key.getMaterial(), adornment);
+		descriptors = null;
+	}
+
+	/**
+	 * Builds the adornment descriptors once all the adornments have been registered.
+	 */
+	public static void freeze() {
+		getDescriptorTable();
+	}
+
+	private static Map<ResourceLocation, DescriptorGroup[]> getDescriptorTable() {
+		Map<ResourceLocation, DescriptorGroup[]> table = descriptors;
+		if (table == null) {
+			synchronized (TreasureAdornmentRegistry.class) {
+				table = descriptors;
+				if (table == null) {
+					Map<ResourceLocation, List<List<AdornmentDescriptor>>> lists = new HashMap<>();
+					for (Map.Entry<Key, Adornment> entry : REGISTRY.entrySet()) {
+						AdornmentDescriptor descriptor = new AdornmentDescriptor(entry.getKey(), entry.getValue());
+						lists.computeIfAbsent(descriptor.getMaterial(), k -> Arrays.asList(new ArrayList<>(), new ArrayList<>()))
+						.get(descriptor.hasSource() ? 1 : 0).add(descriptor);
+					}
+					table = new HashMap<>();
+					for (Map.Entry<ResourceLocation, List<List<AdornmentDescriptor>>> entry : lists.entrySet()) {
+						table.put(entry.getKey(), new DescriptorGroup[] {new DescriptorGroup(entry.getValue().get(0)), new DescriptorGroup(entry.getValue().get(1))});
+					}
+					descriptors = table;
+				}
+			}
+		}
+		return table;
+	}
+
+	private static DescriptorGroup getDescriptorGroup(ResourceLocation material, boolean hasGem) {
+		DescriptorGroup[] groups = getDescriptorTable().get(material);
+		return groups == null ? DescriptorGroup.EMPTY : groups[hasGem ? 1 : 0];
+	}
+
+	/**
+	 * 
+	 * @param material
+	 * @param hasGem
+	 * @return the descriptors of the adornments of the material, with or without a gem. shared, do not modify
+	 */
+	public static AdornmentDescriptor[] getDescriptors(ResourceLocation material, boolean hasGem) {
+		return getDescriptorGroup(material, hasGem).all;
+	}
+
+	/**
+	 * 
+	 * @param material
+	 * @param hasGem
+	 * @param maxCharmLevel
+	 * @return the adornments of the material, with or without a gem, whose max charm level is the level. shared, do not modify
+	 */
+	public static Adornment[] getAdornments(ResourceLocation material, boolean hasGem, int maxCharmLevel) {
+		Adornment[] adornments = getDescriptorGroup(material, hasGem).byLevel.get(maxCharmLevel);
+		return adornments == null ? DescriptorGroup.NONE : adornments;
+	}
+
+	/**
+	 * 
+	 * @param material
+	 * @param hasGem
+	 * @param rarity
+	 * @return the adornments of the material, with or without a gem, whose max charm level is of the rarity. shared, do not modify
+	 */
+	public static Adornment[] getAdornments(ResourceLocation material, boolean hasGem, Rarity rarity) {
+		Adornment[] adornments = rarity == null ? null : getDescriptorGroup(material, hasGem).byRarity.get(rarity);
+		return adornments == null ? DescriptorGroup.NONE : adornments;
 	}
 	
 	public static Optional<Adornment> get(AdornmentType type, AdornmentSize size, ResourceLocation material, ResourceLocation source) {
@@ -262,6 +340,32 @@ public class TreasureAdornmentRegistry {
 		return Optional.empty();
 	}
 		
+	/**
+	 * The descriptors of the adornments of one material with or without a gem, and their adornments by max charm level and rarity.
+	 */
+	private static final class DescriptorGroup {
+		static final Adornment[] NONE = new Adornment[0];
+		static final DescriptorGroup EMPTY = new DescriptorGroup(Collections.emptyList());
+
+		final AdornmentDescriptor[] all;
+		final Int2ObjectMap<Adornment[]> byLevel = new Int2ObjectOpenHashMap<>();
+		final Map<Rarity, Adornment[]> byRarity = new EnumMap<>(Rarity.class);
+
+		DescriptorGroup(List<AdornmentDescriptor> descriptors) {
+			all = descriptors.toArray(new AdornmentDescriptor[descriptors.size()]);
+			Int2ObjectMap<List<Adornment>> levelLists = new Int2ObjectOpenHashMap<>();
+			Map<Rarity, List<Adornment>> rarityLists = new EnumMap<>(Rarity.class);
+			for (AdornmentDescriptor descriptor : all) {
+				levelLists.computeIfAbsent(descriptor.getMaxCharmLevel(), k -> new ArrayList<>()).add(descriptor.getAdornment());
+				if (descriptor.getRarity() != null) {
+					rarityLists.computeIfAbsent(descriptor.getRarity(), k -> new ArrayList<>()).add(descriptor.getAdornment());
+				}
+			}
+			levelLists.int2ObjectEntrySet().forEach(e -> byLevel.put(e.getIntKey(), e.getValue().toArray(NONE)));
+			rarityLists.forEach((rarity, list) -> byRarity.put(rarity, list.toArray(NONE)));
+		}
+	}
+
 	public static class Key {
 		private AdornmentType type;
 		private AdornmentSize size;
@@ -0,0 +1,112 @@
+/**
+ *
+ */
+package com.someguyssoftware.treasure2.biome;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.someguyssoftware.gottschcore.biome.BiomeHelper;
+import com.someguyssoftware.gottschcore.biome.BiomeTypeHolder;
+import com.someguyssoftware.treasure2.biome.TreasureBiomeHelper.Result;
+
+import net.minecraft.world.biome.Biome;
+import net.minecraftforge.fml.common.registry.ForgeRegistries;
+
+/**
+ * The biome white/black lists and biome type white/black lists of a generator config, checked against
+ * every registered biome when compiled, so that checking a biome is a table lookup by biome ID.
+ * Biomes that weren't registered when compiled are checked against the lists.
+ * Immutable.
+ */
+public final class BiomeFilter {
+	/** allows all biomes */
+	public static final BiomeFilter NONE = new BiomeFilter(Collections.emptyList(), Collections.emptyList(),
+			Collections.emptyList(), Collections.emptyList());
+
+	// per biome ID: the ordinal of the Result + 1 in the low bits (0 = not compiled), and whether the biome types are allowed
+	private static final int RESULT_MASK = 0x3;
+	private static final int TYPE_ALLOWED = 0x4;
+	private static final Result[] RESULTS = Result.values();
+
+	private final List<Biome> whiteList;
+	private final List<Biome> blackList;
+	private final List<BiomeTypeHolder> typeWhiteList;
+	private final List<BiomeTypeHolder> typeBlackList;
+	private final byte[] table;
+
+	/**
+	 *
+	 * @param whiteList
+	 * @param blackList
+	 * @param typeWhiteList
+	 * @param typeBlackList
+	 */
+	private BiomeFilter(List<Biome> whiteList, List<Biome> blackList, List<BiomeTypeHolder> typeWhiteList, List<BiomeTypeHolder> typeBlackList) {
+		this.whiteList = whiteList;
+		this.blackList = blackList;
+		this.typeWhiteList = typeWhiteList;
+		this.typeBlackList = typeBlackList;
+
+		int maxId = -1;
+		for (Biome biome : ForgeRegistries.BIOMES.getValuesCollection()) {
+			maxId = Math.max(maxId, Biome.getIdForBiome(biome));
+		}
+		this.table = new byte[maxId + 1];
+		for (Biome biome : ForgeRegistries.BIOMES.getValuesCollection()) {
+			int id = Biome.getIdForBiome(biome);
+			if (id >= 0) {
+				table[id] = (byte) ((TreasureBiomeHelper.isBiomeAllowed(biome, whiteList, blackList).ordinal() + 1)
+						| (BiomeHelper.isBiomeAllowed(biome, typeWhiteList, typeBlackList) ? TYPE_ALLOWED : 0));
+			}
+		}
+	}
+
+	/**
+	 * Copies the lists, so that the filter isn't changed by a reload of the config.
+	 * @param whiteList
+	 * @param blackList
+	 * @param typeWhiteList
+	 * @param typeBlackList
+	 * @return
+	 */
+	public static BiomeFilter compile(List<Biome> whiteList, List<Biome> blackList, List<BiomeTypeHolder> typeWhiteList, List<BiomeTypeHolder> typeBlackList) {
+		return new BiomeFilter(copy(whiteList), copy(blackList), copy(typeWhiteList), copy(typeBlackList));
+	}
+
+	private static <T> List<T> copy(List<T> list) {
+		return list == null || list.isEmpty() ? Collections.emptyList() : Collections.unmodifiableList(new ArrayList<>(list));
+	}
+
+	/**
+	 * Same as TreasureBiomeHelper.isBiomeAllowed() with the filter's white and black lists.
+	 * @param biome
+	 * @return
+	 */
+	public Result getResult(Biome biome) {
+		int entry = getEntry(biome);
+		if (entry == 0) {
+			return TreasureBiomeHelper.isBiomeAllowed(biome, whiteList, blackList);
+		}
+		return RESULTS[(entry & RESULT_MASK) - 1];
+	}
+
+	/**
+	 * Same as BiomeHelper.isBiomeAllowed() with the filter's type white and black lists.
+	 * @param biome
+	 * @return
+	 */
+	public boolean isTypeAllowed(Biome biome) {
+		int entry = getEntry(biome);
+		if (entry == 0) {
+			return BiomeHelper.isBiomeAllowed(biome, typeWhiteList, typeBlackList);
+		}
+		return (entry & TYPE_ALLOWED) != 0;
+	}
+
+	private int getEntry(Biome biome) {
+		int id = Biome.getIdForBiome(biome);
+		return id >= 0 && id < table.length ? table[id] : 0;
+	}
+}
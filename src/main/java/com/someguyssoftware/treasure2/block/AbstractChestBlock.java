@@ -3,6 +3,7 @@
  */
 package com.someguyssoftware.treasure2.block;
 
+import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -11,8 +12,10 @@ import com.someguyssoftware.gottschcore.enums.Rotate;
 import com.someguyssoftware.treasure2.Treasure;
 import com.someguyssoftware.treasure2.chest.ILockSlot;
 import com.someguyssoftware.treasure2.chest.TreasureChestType;
+import com.someguyssoftware.treasure2.config.TreasureConfig;
 import com.someguyssoftware.treasure2.enums.Rarity;
 import com.someguyssoftware.treasure2.lock.LockState;
+import com.someguyssoftware.treasure2.tileentity.AbstractTreasureChestTileEntity;
 import com.someguyssoftware.treasure2.tileentity.ITreasureChestTileEntity;
 
 import net.minecraft.block.material.Material;
@@ -29,8 +32,13 @@ import net.minecraft.util.Mirror;
 import net.minecraft.util.Rotation;
 import net.minecraft.util.math.AxisAlignedBB;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.ChunkCache;
 import net.minecraft.world.IBlockAccess;
 import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraftforge.common.property.ExtendedBlockState;
+import net.minecraftforge.common.property.IExtendedBlockState;
+import net.minecraftforge.common.property.IUnlistedProperty;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
@@ -40,6 +48,28 @@ import net.minecraftforge.fml.relauncher.SideOnly;
  */
 public abstract class AbstractChestBlock extends AbstractModContainerBlock implements ITreasureBlock {
 	public static final PropertyEnum<EnumFacing> FACING = PropertyDirection.create("facing", EnumFacing.class);
+	// the locks of a chest that is rendered as a baked model
+	public static final IUnlistedProperty<LockState[]> RENDER_LOCKS = new IUnlistedProperty<LockState[]>() {
+		@Override
+		public String getName() {
+			return "render_locks";
+		}
+
+		@Override
+		public boolean isValid(LockState[] value) {
+			return true;
+		}
+
+		@Override
+		public Class<LockState[]> getType() {
+			return LockState[].class;
+		}
+
+		@Override
+		public String valueToString(LockState[] value) {
+			return Arrays.toString(value);
+		}
+	};
 	/*
 	 *  the class of the tileEntityClass this BlockChest should use.
 	 */
@@ -158,11 +188,30 @@ public abstract class AbstractChestBlock extends AbstractModContainerBlock imple
 	}
 	
 	/**
-	 * Render using a TESR.
+	 * Render closed, idle chests as a baked model in the chunk mesh and the rest using a TESR.
+	 * The baked model renders nothing while the chest's TESR is rendering it.
 	 */
 	@Override
 	public EnumBlockRenderType getRenderType(IBlockState iBlockState) {
-		return EnumBlockRenderType.ENTITYBLOCK_ANIMATED;
+		return TreasureConfig.CHESTS.enableBakedChestRendering ? EnumBlockRenderType.MODEL : EnumBlockRenderType.ENTITYBLOCK_ANIMATED;
+	}
+
+	/**
+	 * Adds the locks to be baked into the chunk mesh if the chest is rendered as a model,
+	 * otherwise leaves RENDER_LOCKS unset.
+	 */
+	@Override
+	public IBlockState getExtendedState(IBlockState state, IBlockAccess world, BlockPos pos) {
+		if (!(state instanceof IExtendedBlockState)) {
+			return state;
+		}
+		// don't create the tile entity from a chunk render thread
+		TileEntity tileEntity = world instanceof ChunkCache ? ((ChunkCache) world).getTileEntity(pos, Chunk.EnumCreateEntityType.CHECK)
+				: world.getTileEntity(pos);
+		if (tileEntity instanceof AbstractTreasureChestTileEntity && ((AbstractTreasureChestTileEntity) tileEntity).isRenderedAsModel()) {
+			return ((IExtendedBlockState) state).withProperty(RENDER_LOCKS, ((AbstractTreasureChestTileEntity) tileEntity).getRenderLocks());
+		}
+		return state;
 	}
 	
 	/**
@@ -284,7 +333,7 @@ public abstract class AbstractChestBlock extends AbstractModContainerBlock imple
 	 */
 	@Override
 	protected BlockStateContainer createBlockState() {
-		return new BlockStateContainer(this, new IProperty[] {FACING});
+		return new ExtendedBlockState(this, new IProperty[] {FACING}, new IUnlistedProperty[] {RENDER_LOCKS});
 	}
 	
 	/**
@@ -11,14 +11,13 @@ import com.someguyssoftware.gottschcore.random.RandomHelper;
 import com.someguyssoftware.gottschcore.world.WorldInfo;
 import com.someguyssoftware.treasure2.Treasure;
 import com.someguyssoftware.treasure2.config.TreasureConfig;
-import com.someguyssoftware.treasure2.particle.AbstractMistParticle;
 import com.someguyssoftware.treasure2.particle.BillowingMistParticle;
 import com.someguyssoftware.treasure2.particle.MistParticle;
+import com.someguyssoftware.treasure2.particle.MistParticleManager;
 
 import net.minecraft.block.SoundType;
 import net.minecraft.block.material.Material;
 import net.minecraft.block.state.IBlockState;
-import net.minecraft.client.Minecraft;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.math.AxisAlignedBB;
 import net.minecraft.util.math.BlockPos;
@@ -75,6 +74,10 @@ public class GravestoneBlock extends CardinalDirectionFacadeBlock
 			return;
 		}
 
+		if (!MistParticleManager.hasBudget()) {
+			return;
+		}
+
 		int x = pos.getX();
 		int y = pos.getY();
 		int z = pos.getZ();
@@ -89,23 +92,17 @@ public class GravestoneBlock extends CardinalDirectionFacadeBlock
 		double yPos = y;
 		// + state.getBoundingBox(world, pos).maxY; // + 1.0;
 		double zPos = (z + 0.5D) + (random.nextFloat() * 3.0) - 1.5D;
-		// initial velocities
-		double velocityX = 0;
-		double velocityY = 0;
-		double velocityZ = 0;
 
 		// create particle
-		AbstractMistParticle mistParticle = null;
-
 		if (RandomHelper.checkProbability(random, 80)) {
-			mistParticle = new MistParticle(world, xPos, yPos, zPos, velocityX, velocityY, velocityZ, new Coords(pos));
-		} else {
-			mistParticle = new BillowingMistParticle(world, xPos, yPos, zPos, velocityX, velocityY, velocityZ,
+			MistParticleManager.spawn(MistParticle.class,
+					(w, px, py, pz, coords) -> new MistParticle(w, px, py, pz, 0, 0, 0, coords), world, xPos, yPos, zPos,
 					new Coords(pos));
+		} else {
+			MistParticleManager.spawn(BillowingMistParticle.class,
+					(w, px, py, pz, coords) -> new BillowingMistParticle(w, px, py, pz, 0, 0, 0, coords), world, xPos,
+					yPos, zPos, new Coords(pos));
 		}
-		mistParticle.init();
-
-		Minecraft.getMinecraft().effectRenderer.addEffect(mistParticle);
 	}
 
 	/*
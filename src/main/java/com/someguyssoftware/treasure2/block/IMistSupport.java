@@ -6,8 +6,9 @@ package com.someguyssoftware.treasure2.block;
 import java.util.Random;
 
 import com.someguyssoftware.gottschcore.random.RandomHelper;
+import com.someguyssoftware.treasure2.particle.MistParticleManager;
+import com.someguyssoftware.treasure2.tileentity.MistHazard;
 
-import net.minecraft.block.Block;
 import net.minecraft.block.BlockTorch;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.util.math.BlockPos;
@@ -29,40 +30,14 @@ public interface IMistSupport {
 	 * @return
 	 */
 	default public boolean checkTorchPrevention(World world, Random random, int x, int y, int z) {
-		int numberOfTorches = 0;
-		// if all the blocks in the immediate area are loaded
-		if (world.isAreaLoaded(new BlockPos(x - 3, y - 3, z - 3), new BlockPos(x + 3, y + 3, z + 3))) {
-			// use a MutatableBlockPos instead of Cube\Coords or BlockPos to say the
-			// recreation of many objects
-			BlockPos.MutableBlockPos mbp = new BlockPos.MutableBlockPos();
-
-			// change the randomness of particle creation
-			// o torches = 100%
-			// 1 torch = 50%
-			// 2 torches = 25%
-			// 3 torches = 0%
-			for (int x1 = -3; x1 <= 3; ++x1) {
-				for (int y1 = -3; y1 <= 3; ++y1) {
-					for (int z1 = -3; z1 <= 3; ++z1) {
-						// that just checks a value.
-						IBlockState inspectBlockState = world.getBlockState(mbp.setPos(x + x1, y + y1, z + z1));
-						Block inspectBlock = inspectBlockState.getBlock();
-
-						// if the block is a torch, then destroy the fog and return
-						if (inspectBlock instanceof BlockTorch) {
-							numberOfTorches++;
-						}
-						if (numberOfTorches >= 3) {
-							x1 = 99;
-							y1 = 99;
-							z1 = 99;
-							break;
-						}
-					}
-				}
-			}
-		}
+		// the torch count is cached per emitter position
+		int numberOfTorches = MistParticleManager.getTorchCount(world, x, y, z);
 
+		// change the randomness of particle creation
+		// o torches = 100%
+		// 1 torch = 50%
+		// 2 torches = 25%
+		// 3 torches = 0%
 		boolean isCreateParticle = true;
 		if (numberOfTorches == 1) {
 			isCreateParticle = RandomHelper.checkProbability(random, 50);
@@ -73,4 +48,47 @@ public interface IMistSupport {
 		}
 		return isCreateParticle;
 	}
+
+	/**
+	 * The hazard of the mist, applied to players on the server. Only used by blocks with a MistEmitterTileEntity.
+	 * @param state
+	 * @param pos
+	 * @return the hazard or null if the mist is harmless
+	 */
+	default public MistHazard getMistHazard(IBlockState state, BlockPos pos) {
+		return null;
+	}
+
+	/**
+	 * Counts the torches in the 7x7x7 cube around the position, stopping at 3.
+	 * @param world
+	 * @param x
+	 * @param y
+	 * @param z
+	 * @return the number of torches or -1 if the area isn't loaded
+	 */
+	public static int countTorches(World world, int x, int y, int z) {
+		// if all the blocks in the immediate area are loaded
+		if (!world.isAreaLoaded(new BlockPos(x - 3, y - 3, z - 3), new BlockPos(x + 3, y + 3, z + 3))) {
+			return -1;
+		}
+		int numberOfTorches = 0;
+		// use a MutatableBlockPos instead of Cube\Coords or BlockPos to say the
+		// recreation of many objects
+		BlockPos.MutableBlockPos mbp = new BlockPos.MutableBlockPos();
+		for (int x1 = -3; x1 <= 3; ++x1) {
+			for (int y1 = -3; y1 <= 3; ++y1) {
+				for (int z1 = -3; z1 <= 3; ++z1) {
+					IBlockState inspectBlockState = world.getBlockState(mbp.setPos(x + x1, y + y1, z + z1));
+					if (inspectBlockState.getBlock() instanceof BlockTorch) {
+						numberOfTorches++;
+						if (numberOfTorches >= 3) {
+							return numberOfTorches;
+						}
+					}
+				}
+			}
+		}
+		return numberOfTorches;
+	}
 }
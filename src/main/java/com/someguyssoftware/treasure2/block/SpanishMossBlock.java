@@ -6,10 +6,11 @@ package com.someguyssoftware.treasure2.block;
 import java.util.Random;
 
 import com.someguyssoftware.gottschcore.positional.Coords;
+import com.someguyssoftware.gottschcore.positional.ICoords;
 import com.someguyssoftware.gottschcore.random.RandomHelper;
 import com.someguyssoftware.gottschcore.world.WorldInfo;
 import com.someguyssoftware.treasure2.config.TreasureConfig;
-import com.someguyssoftware.treasure2.particle.AbstractMistParticle;
+import com.someguyssoftware.treasure2.particle.MistParticleManager;
 import com.someguyssoftware.treasure2.particle.PoisonMistParticle;
 
 import net.minecraft.block.BlockBush;
@@ -18,7 +19,6 @@ import net.minecraft.block.properties.IProperty;
 import net.minecraft.block.properties.PropertyBool;
 import net.minecraft.block.state.BlockStateContainer;
 import net.minecraft.block.state.IBlockState;
-import net.minecraft.client.Minecraft;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.IBlockAccess;
 import net.minecraft.world.World;
@@ -71,7 +71,7 @@ public class SpanishMossBlock extends BlockBush {
 			return;
 		}
 
-		if (RandomHelper.checkProbability(random, 75D)) {
+		if (RandomHelper.checkProbability(random, 75D) || !MistParticleManager.hasBudget()) {
 			return;
 		}
 
@@ -83,35 +83,33 @@ public class SpanishMossBlock extends BlockBush {
 		double xPos = x;
 		double yPos = y;
 		double zPos = z;
-		// initial velocities
-		double velocityX = 0;
-		double velocityY = 0;
-		double velocityZ = 0;
-
-		AbstractMistParticle mistParticle = new PoisonMistParticle(world, xPos, yPos, zPos, velocityX, velocityY,
-				velocityZ, new Coords(pos)) {
-			@Override
-			public float provideGravity() {
-				return 0.0001F;
-			}
-
-			@Override
-			public float provideAlpha() {
-				return DEFAULT_PARTICLE_ALPHA;
-			}
-
-			@Override
-			public float provideMaxScale() {
-				return 10F;
-			}
-
-			@Override
-			public void doPlayerCollisions(World world) {
-			}
-		};
-		mistParticle.init();
-
-		Minecraft.getMinecraft().effectRenderer.addEffect(mistParticle);
+
+		MistParticleManager.spawn(MossMistParticle.class, MossMistParticle::new, world, xPos, yPos, zPos, new Coords(pos));
+	}
+
+	/**
+	 * A slow, faint poison mist.
+	 */
+	@SideOnly(Side.CLIENT)
+	private static class MossMistParticle extends PoisonMistParticle {
+		MossMistParticle(World world, double x, double y, double z, ICoords parentCoords) {
+			super(world, x, y, z, 0, 0, 0, parentCoords);
+		}
+
+		@Override
+		public float provideGravity() {
+			return 0.0001F;
+		}
+
+		@Override
+		public float provideAlpha() {
+			return DEFAULT_PARTICLE_ALPHA;
+		}
+
+		@Override
+		public float provideMaxScale() {
+			return 10F;
+		}
 	}
 
 	public boolean isReplaceable(IBlockAccess worldIn, BlockPos pos) {
@@ -12,10 +12,11 @@ import com.someguyssoftware.gottschcore.world.WorldInfo;
 import com.someguyssoftware.treasure2.Treasure;
 import com.someguyssoftware.treasure2.config.TreasureConfig;
 import com.someguyssoftware.treasure2.item.TreasureItems;
-import com.someguyssoftware.treasure2.particle.AbstractMistParticle;
+import com.someguyssoftware.treasure2.particle.MistParticleManager;
 import com.someguyssoftware.treasure2.particle.PoisonMistParticle;
 import com.someguyssoftware.treasure2.particle.WitherMistParticle;
 import com.someguyssoftware.treasure2.tileentity.MistEmitterTileEntity;
+import com.someguyssoftware.treasure2.tileentity.MistHazard;
 
 import net.minecraft.block.ITileEntityProvider;
 import net.minecraft.block.SoundType;
@@ -24,8 +25,8 @@ import net.minecraft.block.properties.IProperty;
 import net.minecraft.block.properties.PropertyEnum;
 import net.minecraft.block.state.BlockStateContainer;
 import net.minecraft.block.state.IBlockState;
-import net.minecraft.client.Minecraft;
 import net.minecraft.init.Items;
+import net.minecraft.init.MobEffects;
 import net.minecraft.item.Item;
 import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.EnumFacing;
@@ -79,6 +80,18 @@ public class WitherLogSoulBlock extends CardinalDirectionFacadeBlock
 		return new MistEmitterTileEntity();
 	}
 
+	/**
+	 * The mist covers the area that randomDisplayTick() spawns its particles in, from the ground up to about knee height.
+	 * The face appearance emits wither mist, the others poison mist.
+	 */
+	@Override
+	public MistHazard getMistHazard(IBlockState state, BlockPos pos) {
+		double y = state.getValue(APPEARANCE) == Appearance.FACE ? pos.getY() - 1.875D : pos.getY();
+		AxisAlignedBB volume = new AxisAlignedBB(pos.getX() - 2.125D, y - 0.125D, pos.getZ() - 2.125D,
+				pos.getX() + 3.125D, y + 0.5D, pos.getZ() + 3.125D);
+		return new MistHazard(volume, state.getValue(APPEARANCE) == Appearance.FACE ? MobEffects.WITHER : MobEffects.POISON);
+	}
+
 	/**
 	 * NOTE randomDisplayTick is on the client side only. The server is not keeping
 	 * track of any particles NOTE cannot control the number of ticks per
@@ -97,6 +110,10 @@ public class WitherLogSoulBlock extends CardinalDirectionFacadeBlock
 		// get the appearance property
 		Appearance appearance = state.getValue(APPEARANCE);
 
+		if (!MistParticleManager.hasBudget()) {
+			return;
+		}
+
 		int x = pos.getX();
 		int y = pos.getY();
 		int z = pos.getZ();
@@ -135,22 +152,15 @@ public class WitherLogSoulBlock extends CardinalDirectionFacadeBlock
 			zPos = (z + 0.5D) + (random.nextFloat() * 5.0D) - 2.5D;
 		}
 
-		// initial velocities
-		double velocityX = 0;
-		double velocityY = 0;
-		double velocityZ = 0;
-
-		AbstractMistParticle mistParticle = null;
 		if (appearance == Appearance.FACE) {
-			mistParticle = new WitherMistParticle(world, xPos, yPos, zPos, velocityX, velocityY, velocityZ,
-					new Coords(pos));
+			MistParticleManager.spawn(WitherMistParticle.class,
+					(w, px, py, pz, coords) -> new WitherMistParticle(w, px, py, pz, 0, 0, 0, coords), world, xPos,
+					yPos, zPos, new Coords(pos));
 		} else {
-			mistParticle = new PoisonMistParticle(world, xPos, yPos, zPos, velocityX, velocityY, velocityZ,
-					new Coords(pos));
+			MistParticleManager.spawn(PoisonMistParticle.class,
+					(w, px, py, pz, coords) -> new PoisonMistParticle(w, px, py, pz, 0, 0, 0, coords), world, xPos,
+					yPos, zPos, new Coords(pos));
 		}
-		// remember to init!
-		mistParticle.init();
-		Minecraft.getMinecraft().effectRenderer.addEffect(mistParticle);
 	}
 
 	/**
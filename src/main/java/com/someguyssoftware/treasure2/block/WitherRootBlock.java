@@ -11,7 +11,7 @@ import com.someguyssoftware.gottschcore.random.RandomHelper;
 import com.someguyssoftware.gottschcore.world.WorldInfo;
 import com.someguyssoftware.treasure2.config.TreasureConfig;
 import com.someguyssoftware.treasure2.item.TreasureItems;
-import com.someguyssoftware.treasure2.particle.AbstractMistParticle;
+import com.someguyssoftware.treasure2.particle.MistParticleManager;
 import com.someguyssoftware.treasure2.particle.WitherMistParticle;
 
 import net.minecraft.block.SoundType;
@@ -20,7 +20,6 @@ import net.minecraft.block.properties.IProperty;
 import net.minecraft.block.properties.PropertyBool;
 import net.minecraft.block.state.BlockStateContainer;
 import net.minecraft.block.state.IBlockState;
-import net.minecraft.client.Minecraft;
 import net.minecraft.init.Items;
 import net.minecraft.item.Item;
 import net.minecraft.util.EnumFacing;
@@ -91,6 +90,10 @@ public class WitherRootBlock extends CardinalDirectionFacadeBlock implements ITr
 			return;
 		}
 
+		if (!MistParticleManager.hasBudget()) {
+			return;
+		}
+
 		int x = pos.getX();
 		int y = pos.getY();
 		int z = pos.getZ();
@@ -104,17 +107,9 @@ public class WitherRootBlock extends CardinalDirectionFacadeBlock implements ITr
 		double yPos = y + 0.125;
 		double zPos = (z + 0.5D) + (random.nextFloat() * 2.0D) - 1D;
 
-		// initial velocities
-		double velocityX = 0;
-		double velocityY = 0;
-		double velocityZ = 0;
-
-		AbstractMistParticle mistParticle = new WitherMistParticle(world, xPos, yPos, zPos, velocityX, velocityY,
-				velocityZ, new Coords(pos));
-
-		// remember to init!
-		mistParticle.init();
-		Minecraft.getMinecraft().effectRenderer.addEffect(mistParticle);
+		MistParticleManager.spawn(WitherMistParticle.class,
+				(w, px, py, pz, coords) -> new WitherMistParticle(w, px, py, pz, 0, 0, 0, coords), world, xPos, yPos,
+				zPos, new Coords(pos));
 	}
 
 	/**
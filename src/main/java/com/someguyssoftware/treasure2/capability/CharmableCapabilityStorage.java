@@ -24,7 +24,9 @@ import java.util.Optional;
 
 import com.someguyssoftware.treasure2.Treasure;
 import com.someguyssoftware.treasure2.capability.modifier.ILevelModifier;
+import com.someguyssoftware.treasure2.capability.modifier.LevelModifiers;
 import com.someguyssoftware.treasure2.charm.Charm;
+import com.someguyssoftware.treasure2.charm.CharmEntityCodec;
 import com.someguyssoftware.treasure2.charm.ICharm;
 import com.someguyssoftware.treasure2.charm.ICharmEntity;
 import com.someguyssoftware.treasure2.util.ResourceLocationUtil;
@@ -36,7 +38,9 @@ import net.minecraft.util.EnumFacing;
 import net.minecraftforge.common.capabilities.Capability;
 
 /**
- * 
+ * Writes the compact format (VERSION 1): the boolean properties packed into one int, the level modifier as its
+ * LevelModifiers ID and the charm entities as written by CharmEntityCodec.
+ * Reads both the compact format and the legacy format, which is recognized by the absence of the version.
  * @author Mark Gottschling on Aug 14, 2021
  *
  */
@@ -57,10 +61,36 @@ public class CharmableCapabilityStorage implements Capability.IStorage<ICharmabl
 	
 	private static final String MAX_SOCKET_SIZE = "maxSocketSize";
 
+	/*
+	 * compact format
+	 */
+	private static final String VERSION_KEY = "v";
+	private static final byte VERSION = 1;
+	private static final String FLAGS = "f";
+	private static final String COMPACT_BASE_MATERIAL = "m";
+	private static final String COMPACT_SOURCE_ITEM = "s";
+	private static final String COMPACT_LEVEL_MODIFIER = "lm";
+	// the class name of a level modifier that isn't registered with LevelModifiers
+	private static final String COMPACT_LEVEL_MODIFIER_CLASS = "lmc";
+	private static final String COMPACT_MAX_SOCKET_SIZE = "ss";
+	// + inventory type ordinal
+	private static final String CHARMS = "c";
+
+	private static final int SOURCE_FLAG = 1;
+	private static final int EXECUTING_FLAG = 1 << 1;
+	private static final int BINDABLE_FLAG = 1 << 2;
+	private static final int INNATE_FLAG = 1 << 3;
+	private static final int IMBUABLE_FLAG = 1 << 4;
+	private static final int IMBUING_FLAG = 1 << 5;
+	private static final int SOCKETABLE_FLAG = 1 << 6;
+	private static final int NAMED_BY_MATERIAL_FLAG = 1 << 7;
+	private static final int NAMED_BY_CHARM_FLAG = 1 << 8;
+
 	@Override
 	public NBTBase writeNBT(Capability<ICharmableCapability> capability, ICharmableCapability instance, EnumFacing side) {
 		NBTTagCompound nbt = new NBTTagCompound();
 		try {
+			nbt.setByte(VERSION_KEY, VERSION);
 			/*
 			 * save charms
 			 */
@@ -70,30 +100,35 @@ public class CharmableCapabilityStorage implements Capability.IStorage<ICharmabl
 				if (entityList != null && !entityList.isEmpty()) {
 					NBTTagList listNbt = new NBTTagList();
 					for (ICharmEntity entity : entityList) {
-						NBTTagCompound entityNbt = new NBTTagCompound();
-						listNbt.appendTag(entity.save(entityNbt));						
+						listNbt.appendTag(CharmEntityCodec.write(entity));
 					}
-					nbt.setTag(type.name(), listNbt);
+					nbt.setTag(CHARMS + type.ordinal(), listNbt);
 				}
 			}
 
 			/*
 			 * save charm cap properties
 			 */
-			nbt.setBoolean(SOURCE, instance.isSource());
-			nbt.setBoolean(EXECUTING, instance.isExecuting());;
-			nbt.setBoolean(BINDABLE, instance.isBindable());			
-			nbt.setBoolean(INNATE, instance.isInnate());			
-			nbt.setBoolean(IMBUABLE, instance.isImbuable());
-			nbt.setBoolean(IMBUING, instance.isImbuing());
-
-			nbt.setBoolean(SOCKETABLE, instance.isSocketable());
-			nbt.setString(BASE_MATERIAL, instance.getBaseMaterial().toString());
-			nbt.setString(SOURCE_ITEM, instance.getSourceItem().toString());
-			nbt.setBoolean(NAMED_BY_MATERIAL, instance.isNamedByMaterial());	
-			nbt.setBoolean(NAMED_BY_CHARM, instance.isNamedByCharm());
-			nbt.setString(LEVEL_MODIFIER, instance.getLevelModifier().getClass().getName());
-			nbt.setInteger(MAX_SOCKET_SIZE, instance.getMaxSocketSize());
+			int flags = (instance.isSource() ? SOURCE_FLAG : 0)
+					| (instance.isExecuting() ? EXECUTING_FLAG : 0)
+					| (instance.isBindable() ? BINDABLE_FLAG : 0)
+					| (instance.isInnate() ? INNATE_FLAG : 0)
+					| (instance.isImbuable() ? IMBUABLE_FLAG : 0)
+					| (instance.isImbuing() ? IMBUING_FLAG : 0)
+					| (instance.isSocketable() ? SOCKETABLE_FLAG : 0)
+					| (instance.isNamedByMaterial() ? NAMED_BY_MATERIAL_FLAG : 0)
+					| (instance.isNamedByCharm() ? NAMED_BY_CHARM_FLAG : 0);
+			nbt.setInteger(FLAGS, flags);
+			nbt.setString(COMPACT_BASE_MATERIAL, instance.getBaseMaterial().toString());
+			nbt.setString(COMPACT_SOURCE_ITEM, instance.getSourceItem().toString());
+			int levelModifierId = LevelModifiers.getId(instance.getLevelModifier());
+			if (levelModifierId == LevelModifiers.NO_ID) {
+				nbt.setString(COMPACT_LEVEL_MODIFIER_CLASS, instance.getLevelModifier().getClass().getName());
+			}
+			else {
+				nbt.setByte(COMPACT_LEVEL_MODIFIER, (byte) levelModifierId);
+			}
+			nbt.setInteger(COMPACT_MAX_SOCKET_SIZE, instance.getMaxSocketSize());
 
 		} catch (Exception e) {
 			Treasure.LOGGER.error("Unable to write state to NBT:", e);
@@ -106,91 +141,156 @@ public class CharmableCapabilityStorage implements Capability.IStorage<ICharmabl
 
 		if (nbt instanceof NBTTagCompound) {
 			NBTTagCompound tag = (NBTTagCompound) nbt;
+			if (tag.hasKey(VERSION_KEY)) {
+				readCompact(instance, tag);
+			}
+			else {
+				readLegacy(instance, tag);
+			}
+		} else {
+			Treasure.LOGGER.warn("Not a tag compound!");
+		}
+	}
 
-			for (InventoryType type : InventoryType.values()) {
-				// clear the list
-				instance.getCharmEntities().get(type).clear();
-
-				// load the charm entities
-				if (tag.hasKey(type.name())) {
-					NBTTagList listNbt = tag.getTagList(type.name(), 10);
-					listNbt.forEach(e -> {
-						/*
-						 * load the charm first.
-						 * need to the load the charm prior to CharmEntity.load() because the CharmEntity instance needs to be
-						 *  created first using the Charm, then the entity can be loaded.
-						 */
-						Optional<ICharm> charm = Charm.load((NBTTagCompound) ((NBTTagCompound)e).getCompoundTag(ICharmEntity.CHARM));
-						if (!charm.isPresent()) {
-							return;
-						}
-						// create an entity
-						ICharmEntity entity = charm.get().createEntity();
-						// load entity
-						entity.load((NBTTagCompound)e);
-						// add the entity to the list
-						instance.getCharmEntities().get(type).add(entity);
-					});
-				}
+	/**
+	 * 
+	 * @param instance
+	 * @param tag
+	 */
+	private void readCompact(ICharmableCapability instance, NBTTagCompound tag) {
+		for (InventoryType type : InventoryType.values()) {
+			// clear the list
+			instance.getCharmEntities().get(type).clear();
 
-				// load cap properties
-				if (tag.hasKey(SOURCE)) {
-					instance.setSource(tag.getBoolean(SOURCE));
-				}
-				if (tag.hasKey(EXECUTING)) {
-					instance.setExecuting(tag.getBoolean(EXECUTING));
+			// load the charm entities
+			NBTTagList listNbt = tag.getTagList(CHARMS + type.ordinal(), 10);
+			for (int index = 0; index < listNbt.tagCount(); index++) {
+				Optional<ICharmEntity> entity = CharmEntityCodec.read(listNbt.getCompoundTagAt(index));
+				if (entity.isPresent()) {
+					instance.getCharmEntities().get(type).add(entity.get());
 				}
+			}
+		}
 
-				if (tag.hasKey(BINDABLE)) {
-					instance.setBindable(tag.getBoolean(BINDABLE));
-				}
+		// load cap properties
+		int flags = tag.getInteger(FLAGS);
+		instance.setSource((flags & SOURCE_FLAG) != 0);
+		instance.setExecuting((flags & EXECUTING_FLAG) != 0);
+		instance.setBindable((flags & BINDABLE_FLAG) != 0);
+		instance.setInnate((flags & INNATE_FLAG) != 0);
+		instance.setImbuable((flags & IMBUABLE_FLAG) != 0);
+		instance.setImbuing((flags & IMBUING_FLAG) != 0);
+		instance.setSocketable((flags & SOCKETABLE_FLAG) != 0);
+		instance.setNamedByMaterial((flags & NAMED_BY_MATERIAL_FLAG) != 0);
+		instance.setNamedByCharm((flags & NAMED_BY_CHARM_FLAG) != 0);
+
+		if (tag.hasKey(COMPACT_BASE_MATERIAL)) {
+			instance.setBaseMaterial(ResourceLocationUtil.create(tag.getString(COMPACT_BASE_MATERIAL)));
+		}
+		if (tag.hasKey(COMPACT_SOURCE_ITEM)) {
+			instance.setSourceItem(ResourceLocationUtil.create(tag.getString(COMPACT_SOURCE_ITEM)));
+		}
+
+		ILevelModifier levelModifier = null;
+		if (tag.hasKey(COMPACT_LEVEL_MODIFIER)) {
+			levelModifier = LevelModifiers.get(tag.getByte(COMPACT_LEVEL_MODIFIER));
+			if (levelModifier == null) {
+				Treasure.LOGGER.warn("unknown level modifier ID -> {}", tag.getByte(COMPACT_LEVEL_MODIFIER));
+			}
+		}
+		else if (tag.hasKey(COMPACT_LEVEL_MODIFIER_CLASS)) {
+			levelModifier = LevelModifiers.getByClassName(tag.getString(COMPACT_LEVEL_MODIFIER_CLASS));
+		}
+		if (levelModifier != null) {
+			instance.setLevelModifier(levelModifier);
+		}
+		instance.setMaxSocketSize(tag.getInteger(COMPACT_MAX_SOCKET_SIZE));
+	}
 
-				if (tag.hasKey(INNATE)) {
-					instance.setInnate(tag.getBoolean(INNATE));
-				}				
+	/**
+	 * Reads the format that was written before the compact format.
+	 * @param instance
+	 * @param tag
+	 */
+	private void readLegacy(ICharmableCapability instance, NBTTagCompound tag) {
+		for (InventoryType type : InventoryType.values()) {
+			// clear the list
+			instance.getCharmEntities().get(type).clear();
 
-				if (tag.hasKey(IMBUABLE)) {
-					instance.setImbuable(tag.getBoolean(IMBUABLE));
-				}				
+			// load the charm entities
+			if (tag.hasKey(type.name())) {
+				NBTTagList listNbt = tag.getTagList(type.name(), 10);
+				listNbt.forEach(e -> {
+					/*
+					 * load the charm first.
+					 * need to the load the charm prior to CharmEntity.load() because the CharmEntity instance needs to be
+					 *  created first using the Charm, then the entity can be loaded.
+					 */
+					Optional<ICharm> charm = Charm.load((NBTTagCompound) ((NBTTagCompound)e).getCompoundTag(ICharmEntity.CHARM));
+					if (!charm.isPresent()) {
+						return;
+					}
+					// create an entity
+					ICharmEntity entity = charm.get().createEntity();
+					// load entity
+					entity.load((NBTTagCompound)e);
+					// add the entity to the list
+					instance.getCharmEntities().get(type).add(entity);
+				});
+			}
+		}
 
-				if (tag.hasKey(IMBUING)) {
-					instance.setImbuing(tag.getBoolean(IMBUING));
-				}	
+		// load cap properties
+		if (tag.hasKey(SOURCE)) {
+			instance.setSource(tag.getBoolean(SOURCE));
+		}
+		if (tag.hasKey(EXECUTING)) {
+			instance.setExecuting(tag.getBoolean(EXECUTING));
+		}
 
-				if (tag.hasKey(SOCKETABLE)) {
-					instance.setSocketable(tag.getBoolean(SOCKETABLE));
-				}				
+		if (tag.hasKey(BINDABLE)) {
+			instance.setBindable(tag.getBoolean(BINDABLE));
+		}
 
-				if (tag.hasKey(BASE_MATERIAL)) {
-					instance.setBaseMaterial(ResourceLocationUtil.create(tag.getString(BASE_MATERIAL)));
-				}
+		if (tag.hasKey(INNATE)) {
+			instance.setInnate(tag.getBoolean(INNATE));
+		}				
 
-				if (tag.hasKey(SOURCE_ITEM)) {
-					instance.setSourceItem(ResourceLocationUtil.create(tag.getString(SOURCE_ITEM)));
-				}
+		if (tag.hasKey(IMBUABLE)) {
+			instance.setImbuable(tag.getBoolean(IMBUABLE));
+		}				
 
-				if (tag.hasKey(NAMED_BY_MATERIAL)) {
-					instance.setNamedByMaterial(tag.getBoolean(NAMED_BY_MATERIAL));
-				}
-				if (tag.hasKey(NAMED_BY_CHARM)) {
-					instance.setNamedByCharm(tag.getBoolean(NAMED_BY_CHARM));
-				}
-				if (tag.hasKey(LEVEL_MODIFIER)) {
-					try {
-						ILevelModifier levelModifier = (ILevelModifier) Class.forName(tag.getString(LEVEL_MODIFIER)).newInstance();
-						instance.setLevelModifier(levelModifier);
-					}
-					catch(Exception e) {
-						Treasure.LOGGER.warn("unable to create level modifier -> {}", tag.getString(LEVEL_MODIFIER));
-					}
-				}
-				if (tag.hasKey(MAX_SOCKET_SIZE)) {
-					instance.setMaxSocketSize(tag.getInteger(MAX_SOCKET_SIZE));
-				}
-			}
+		if (tag.hasKey(IMBUING)) {
+			instance.setImbuing(tag.getBoolean(IMBUING));
+		}	
 
-		} else {
-			Treasure.LOGGER.warn("Not a tag compound!");
+		if (tag.hasKey(SOCKETABLE)) {
+			instance.setSocketable(tag.getBoolean(SOCKETABLE));
+		}				
+
+		if (tag.hasKey(BASE_MATERIAL)) {
+			instance.setBaseMaterial(ResourceLocationUtil.create(tag.getString(BASE_MATERIAL)));
+		}
+
+		if (tag.hasKey(SOURCE_ITEM)) {
+			instance.setSourceItem(ResourceLocationUtil.create(tag.getString(SOURCE_ITEM)));
+		}
+
+		if (tag.hasKey(NAMED_BY_MATERIAL)) {
+			instance.setNamedByMaterial(tag.getBoolean(NAMED_BY_MATERIAL));
+		}
+		if (tag.hasKey(NAMED_BY_CHARM)) {
+			instance.setNamedByCharm(tag.getBoolean(NAMED_BY_CHARM));
+		}
+		if (tag.hasKey(LEVEL_MODIFIER)) {
+			// resolved from the registered modifiers, only unknown classes are instantiated (once)
+			ILevelModifier levelModifier = LevelModifiers.getByClassName(tag.getString(LEVEL_MODIFIER));
+			if (levelModifier != null) {
+				instance.setLevelModifier(levelModifier);
+			}
+		}
+		if (tag.hasKey(MAX_SOCKET_SIZE)) {
+			instance.setMaxSocketSize(tag.getInteger(MAX_SOCKET_SIZE));
 		}
 	}
 }
@@ -0,0 +1,91 @@
+/**
+ *
+ */
+package com.someguyssoftware.treasure2.capability.modifier;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.someguyssoftware.treasure2.Treasure;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+
+/**
+ * Level modifiers by a fixed ID, so that a charmable capability can save its level modifier as an ID and load it
+ * without reflection. Level modifiers are stateless, so one instance per class is shared.
+ * IDs are persisted and must never be changed or reused.
+ */
+public final class LevelModifiers {
+	public static final int NO_ID = -1;
+
+	public static final int NONE = 0;
+	public static final int GREAT_ADORNMENT = 1;
+	public static final int LORDS_ADORNMENT = 2;
+
+	private static final Int2ObjectMap<ILevelModifier> BY_ID = new Int2ObjectOpenHashMap<>();
+	private static final Map<Class<?>, Integer> IDS = new HashMap<>();
+	// class name -> modifier, for the class names of the legacy format and of unregistered modifiers
+	private static final Map<String, ILevelModifier> BY_CLASS_NAME = new ConcurrentHashMap<>();
+
+	static {
+		register(NONE, new NoLevelModifier());
+		register(GREAT_ADORNMENT, new GreatAdornmentLevelModifier());
+		register(LORDS_ADORNMENT, new LordsAdornmentLevelModifier());
+	}
+
+	private LevelModifiers() {}
+
+	/**
+	 *
+	 * @param id
+	 * @param modifier
+	 */
+	public static synchronized void register(int id, ILevelModifier modifier) {
+		if (BY_ID.containsKey(id)) {
+			throw new IllegalArgumentException(String.format("level modifier ID %s is already registered to %s", id, BY_ID.get(id).getClass().getName()));
+		}
+		BY_ID.put(id, modifier);
+		IDS.put(modifier.getClass(), id);
+		BY_CLASS_NAME.put(modifier.getClass().getName(), modifier);
+	}
+
+	/**
+	 *
+	 * @param modifier
+	 * @return the ID of the modifier's class or NO_ID if it isn't registered
+	 */
+	public static int getId(ILevelModifier modifier) {
+		Integer id = IDS.get(modifier.getClass());
+		return id == null ? NO_ID : id;
+	}
+
+	/**
+	 *
+	 * @param id
+	 * @return the modifier or null if the ID isn't registered
+	 */
+	public static ILevelModifier get(int id) {
+		return BY_ID.get(id);
+	}
+
+	/**
+	 * Gets the modifier of a class name, creating an instance of an unregistered class once.
+	 * @param className
+	 * @return the modifier or null if the class can't be instantiated
+	 */
+	public static ILevelModifier getByClassName(String className) {
+		ILevelModifier modifier = BY_CLASS_NAME.get(className);
+		if (modifier == null) {
+			try {
+				modifier = (ILevelModifier) Class.forName(className).newInstance();
+				BY_CLASS_NAME.put(className, modifier);
+			}
+			catch(Exception e) {
+				Treasure.LOGGER.warn("unable to create level modifier -> {}", className);
+			}
+		}
+		return modifier;
+	}
+}
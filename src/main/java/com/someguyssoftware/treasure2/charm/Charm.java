@@ -111,6 +111,22 @@ public abstract class Charm implements ICharm {
 	}
 
 	abstract public Class<?> getRegisteredEvent();
+
+	/**
+	 * Convenience method for charms that update when the world time is a multiple of their frequency.
+	 * @param worldTime
+	 * @param frequency
+	 * @return the first world time, at or after the world time, that is a multiple of the frequency,
+	 * or the world time itself if the frequency is not a positive whole number of ticks.
+	 */
+	protected static long getNextMultiple(long worldTime, double frequency) {
+		if (frequency <= 0 || frequency != Math.floor(frequency)) {
+			return worldTime;
+		}
+		long period = (long)frequency;
+		long remainder = worldTime % period;
+		return remainder == 0 ? worldTime : worldTime + period - remainder;
+	}
 	
 	/**
 	 * 
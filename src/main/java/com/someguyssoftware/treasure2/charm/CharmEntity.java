@@ -130,6 +130,7 @@ public class CharmEntity implements ICharmEntity {
 		nbt.setBoolean(EXCLUSIVE, isExclusive());
 		nbt.setInteger(RECHARGES, getRecharges());
 		nbt.setInteger(MAX_RECHARGES, getMaxRecharges());
+		saveState(nbt);
 		
 		return nbt;
 	}
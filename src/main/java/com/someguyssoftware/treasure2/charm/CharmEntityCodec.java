@@ -0,0 +1,139 @@
+/**
+ *
+ */
+package com.someguyssoftware.treasure2.charm;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.someguyssoftware.treasure2.Treasure;
+import com.someguyssoftware.treasure2.charm.cost.CostEvaluator;
+import com.someguyssoftware.treasure2.charm.cost.ICostEvaluator;
+
+import net.minecraft.nbt.NBTTagCompound;
+
+/**
+ * Writes and reads charm entities in the compact format of the charmable capability:
+ * the charm name, the common fields packed into one int array, the cost evaluator only if it isn't the default one,
+ * and the class specific state of the entity (see ICharmEntity.saveState()).
+ * The layout of the packed fields is versioned by the capability (see CharmableCapabilityStorage).
+ */
+public final class CharmEntityCodec {
+	private static final String NAME = "n";
+	private static final String DATA = "d";
+	private static final String COST_EVALUATOR = "ce";
+	private static final String COST_CLASS = "costClass";
+
+	// int fields followed by double fields, two ints each
+	private static final int DURATION = 0;
+	private static final int RECHARGES = 1;
+	private static final int MAX_RECHARGES = 2;
+	private static final int EXCLUSIVE = 3;
+	private static final int MANA = 4;
+	private static final int MAX_MANA = 6;
+	private static final int FREQUENCY = 8;
+	private static final int AMOUNT = 10;
+	private static final int COOLDOWN = 12;
+	private static final int RANGE = 14;
+	private static final int DATA_SIZE = 16;
+
+	// cost evaluator class name -> class, so that the class is looked up once
+	private static final Map<String, Class<?>> COST_EVALUATOR_CLASSES = new ConcurrentHashMap<>();
+
+	private CharmEntityCodec() {}
+
+	/**
+	 *
+	 * @param entity
+	 * @return
+	 */
+	public static NBTTagCompound write(ICharmEntity entity) {
+		NBTTagCompound nbt = new NBTTagCompound();
+		nbt.setString(NAME, entity.getCharm().getName().toString());
+
+		int[] data = new int[DATA_SIZE];
+		data[DURATION] = entity.getDuration();
+		data[RECHARGES] = entity.getRecharges();
+		data[MAX_RECHARGES] = entity.getMaxRecharges();
+		data[EXCLUSIVE] = entity.isExclusive() ? 1 : 0;
+		putDouble(data, MANA, entity.getMana());
+		putDouble(data, MAX_MANA, entity.getMaxMana());
+		putDouble(data, FREQUENCY, entity.getFrequency());
+		putDouble(data, AMOUNT, entity.getAmount());
+		putDouble(data, COOLDOWN, entity.getCooldown());
+		putDouble(data, RANGE, entity.getRange());
+		nbt.setIntArray(DATA, data);
+
+		if (entity.getCostEvaluator() != null && entity.getCostEvaluator().getClass() != CostEvaluator.class) {
+			nbt.setTag(COST_EVALUATOR, entity.getCostEvaluator().save(new NBTTagCompound()));
+		}
+		entity.saveState(nbt);
+		return nbt;
+	}
+
+	/**
+	 *
+	 * @param nbt
+	 * @return the entity or empty if its charm isn't registered
+	 */
+	public static Optional<ICharmEntity> read(NBTTagCompound nbt) {
+		Optional<ICharm> charm = TreasureCharmRegistry.get(nbt.getString(NAME));
+		if (!charm.isPresent()) {
+			Treasure.LOGGER.warn("Unable to locate charm {} in registry.", nbt.getString(NAME));
+			return Optional.empty();
+		}
+		ICharmEntity entity = charm.get().createEntity();
+
+		int[] data = nbt.getIntArray(DATA);
+		if (data.length >= DATA_SIZE) {
+			entity.setDuration(data[DURATION]);
+			entity.setRecharges(data[RECHARGES]);
+			entity.setMaxRecharges(data[MAX_RECHARGES]);
+			entity.setExclusive(data[EXCLUSIVE] != 0);
+			entity.setMana(getDouble(data, MANA));
+			entity.setMaxMana(getDouble(data, MAX_MANA));
+			entity.setFrequency(getDouble(data, FREQUENCY));
+			entity.setAmount(getDouble(data, AMOUNT));
+			entity.setCooldown(getDouble(data, COOLDOWN));
+			entity.setRange(getDouble(data, RANGE));
+		}
+
+		entity.setCostEvaluator(nbt.hasKey(COST_EVALUATOR) ? readCostEvaluator(nbt.getCompoundTag(COST_EVALUATOR)) : new CostEvaluator());
+		entity.loadState(nbt);
+		return Optional.of(entity);
+	}
+
+	/**
+	 *
+	 * @param nbt
+	 * @return the cost evaluator of the saved class or the default one if it can't be created
+	 */
+	private static ICostEvaluator readCostEvaluator(NBTTagCompound nbt) {
+		String className = nbt.getString(COST_CLASS);
+		try {
+			Class<?> clazz = COST_EVALUATOR_CLASSES.get(className);
+			if (clazz == null) {
+				clazz = Class.forName(className);
+				COST_EVALUATOR_CLASSES.put(className, clazz);
+			}
+			ICostEvaluator evaluator = (ICostEvaluator) clazz.newInstance();
+			evaluator.load(nbt);
+			return evaluator;
+		}
+		catch(Exception e) {
+			Treasure.LOGGER.warn("unable to create cost evaluator from class string -> {}", className);
+			return new CostEvaluator();
+		}
+	}
+
+	private static void putDouble(int[] data, int index, double value) {
+		long bits = Double.doubleToRawLongBits(value);
+		data[index] = (int) (bits >>> 32);
+		data[index + 1] = (int) bits;
+	}
+
+	private static double getDouble(int[] data, int index) {
+		return Double.longBitsToDouble(((long) data[index] << 32) | (data[index + 1] & 0xFFFFFFFFL));
+	}
+}
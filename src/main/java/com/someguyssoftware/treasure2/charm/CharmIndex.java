@@ -0,0 +1,158 @@
+/**
+ *
+ */
+package com.someguyssoftware.treasure2.charm;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+
+import com.someguyssoftware.gottschcore.random.RandomHelper;
+import com.someguyssoftware.treasure2.enums.Rarity;
+
+/**
+ * An immutable index of the registered charms by level, curse and rarity, so that selecting a random charm
+ * is an array pick instead of a scan of the registry. Built by TreasureCharmRegistry when it is frozen
+ * and rebuilt if a charm is registered afterwards.
+ * The level arrays keep the iteration order of the registry's name map and the rarity arrays the registration order,
+ * as the former scans of TreasureCharmRegistry.getBy() and get(Rarity) did, so that a seed selects the same charm.
+ * The returned arrays are shared and must not be modified.
+ */
+public final class CharmIndex {
+	private static final ICharm[] NONE = new ICharm[0];
+
+	private final int maxLevel;
+	// level -> non-curse charms of the level
+	private final ICharm[][] byLevel;
+	// level -> all charms (including curses) of the level
+	private final ICharm[][] withCursesByLevel;
+	// level -> non-curse charms of the level or lower
+	private final ICharm[][] upToLevel;
+	// rarity ordinal -> all charms of the rarity
+	private final ICharm[][] byRarity;
+
+	/**
+	 *
+	 * @param registered the charms in the order they were registered
+	 * @param scanned the same charms in the iteration order of the registry's name map
+	 */
+	CharmIndex(Collection<ICharm> registered, Collection<ICharm> scanned) {
+		int max = 0;
+		for (ICharm charm : scanned) {
+			max = Math.max(max, charm.getLevel());
+		}
+		this.maxLevel = max;
+
+		List<List<ICharm>> levelLists = newLists(max + 1);
+		List<List<ICharm>> withCursesLevelLists = newLists(max + 1);
+		for (ICharm charm : scanned) {
+			if (charm.getLevel() >= 0) {
+				if (!charm.isCurse()) {
+					levelLists.get(charm.getLevel()).add(charm);
+				}
+				withCursesLevelLists.get(charm.getLevel()).add(charm);
+			}
+		}
+		List<List<ICharm>> rarityLists = newLists(Rarity.values().length);
+		for (ICharm charm : registered) {
+			if (charm.getRarity() != null) {
+				rarityLists.get(charm.getRarity().ordinal()).add(charm);
+			}
+		}
+
+		byLevel = new ICharm[max + 1][];
+		withCursesByLevel = new ICharm[max + 1][];
+		upToLevel = new ICharm[max + 1][];
+		for (int level = 0; level <= max; level++) {
+			byLevel[level] = toArray(levelLists.get(level));
+			withCursesByLevel[level] = toArray(withCursesLevelLists.get(level));
+		}
+		// the non-curse charms up to the level, in scan order
+		for (int level = 0; level <= max; level++) {
+			List<ICharm> upTo = new ArrayList<>();
+			for (ICharm charm : scanned) {
+				if (charm.getLevel() <= level && !charm.isCurse()) {
+					upTo.add(charm);
+				}
+			}
+			upToLevel[level] = toArray(upTo);
+		}
+
+		byRarity = new ICharm[rarityLists.size()][];
+		for (int index = 0; index < byRarity.length; index++) {
+			byRarity[index] = toArray(rarityLists.get(index));
+		}
+	}
+
+	private static List<List<ICharm>> newLists(int size) {
+		List<List<ICharm>> lists = new ArrayList<>(size);
+		for (int index = 0; index < size; index++) {
+			lists.add(new ArrayList<>());
+		}
+		return lists;
+	}
+
+	private static ICharm[] toArray(List<ICharm> charms) {
+		return charms.isEmpty() ? NONE : charms.toArray(new ICharm[charms.size()]);
+	}
+
+	/**
+	 *
+	 * @param level
+	 * @param includeCurses
+	 * @return the charms of the level, with or without the curses of the level
+	 */
+	public ICharm[] getByLevel(int level, boolean includeCurses) {
+		if (level < 0 || level > maxLevel) {
+			return NONE;
+		}
+		return includeCurses ? withCursesByLevel[level] : byLevel[level];
+	}
+
+	/**
+	 * Selects a random charm of the level. Each curse of the level is a candidate with the curse probability,
+	 * rolled for each curse in turn, the other charms of the level always are.
+	 * Only locals are written, so it can be called by concurrent loot generation.
+	 * @param level
+	 * @param curseProbability the probability in percent of each curse of the level being a candidate
+	 * @param random
+	 * @return the charm or null if there are no candidates
+	 */
+	public ICharm selectByLevel(int level, double curseProbability, Random random) {
+		if (curseProbability <= 0D) {
+			ICharm[] charms = getByLevel(level, false);
+			return charms.length == 0 ? null : charms[random.nextInt(charms.length)];
+		}
+		ICharm[] charms = getByLevel(level, true);
+		ICharm[] candidates = new ICharm[charms.length];
+		int size = 0;
+		for (ICharm charm : charms) {
+			if (!charm.isCurse() || RandomHelper.checkProbability(random, curseProbability)) {
+				candidates[size++] = charm;
+			}
+		}
+		return size == 0 ? null : candidates[random.nextInt(size)];
+	}
+
+	/**
+	 *
+	 * @param level
+	 * @return the non-curse charms of the level or lower
+	 */
+	public ICharm[] getUpToLevel(int level) {
+		if (level < 0) {
+			return NONE;
+		}
+		return upToLevel[Math.min(level, maxLevel)];
+	}
+
+	/**
+	 *
+	 * @param rarity
+	 * @return all the charms of the rarity
+	 */
+	public ICharm[] getByRarity(Rarity rarity) {
+		return rarity == null ? NONE : byRarity[rarity.ordinal()];
+	}
+}
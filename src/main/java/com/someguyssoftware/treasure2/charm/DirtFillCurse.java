@@ -60,6 +60,11 @@ public class DirtFillCurse extends Charm {
 		return REGISTERED_EVENT;
 	}
 
+	@Override
+	public long getNextUpdateTime(long worldTime, ICharmEntity entity) {
+		return getNextMultiple(worldTime, 200);
+	}
+
 	@Override
 	public boolean isCurse() {
 		return true;
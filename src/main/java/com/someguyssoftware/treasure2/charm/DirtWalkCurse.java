@@ -51,6 +51,11 @@ public class DirtWalkCurse extends Charm {
 		return REGISTERED_EVENT;
 	}
 
+	@Override
+	public long getNextUpdateTime(long worldTime, ICharmEntity entity) {
+		return getNextMultiple(worldTime, 200);
+	}
+
 	@Override
 	public boolean isCurse() {
 		return true;
@@ -70,6 +70,11 @@ public class DrainCharm extends Charm {
 		return REGISTERED_EVENT;
 	}
 
+	@Override
+	public long getNextUpdateTime(long worldTime, ICharmEntity entity) {
+		return getNextMultiple(worldTime, entity.getFrequency());
+	}
+
 	/**
 	 * NOTE: it is assumed that only the allowable events are calling this action.
 	 */
@@ -53,6 +53,11 @@ public class GreaterHealingCharm extends Charm implements IHealing {
 	public Class<?> getRegisteredEvent() {
 		return REGISTERED_EVENT;
 	}
+
+	@Override
+	public long getNextUpdateTime(long worldTime, ICharmEntity entity) {
+		return getNextMultiple(worldTime, entity.getFrequency());
+	}
 	
 	/**
 	 * 
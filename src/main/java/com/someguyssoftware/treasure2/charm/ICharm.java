@@ -68,6 +68,16 @@ public interface ICharm {
 	public boolean isCurse();
 	
 	public Class<?> getRegisteredEvent();
+
+	/**
+	 * Used to schedule the charms that are registered to LivingUpdateEvent, so that they are only updated when they are due.
+	 * @param worldTime
+	 * @param entity
+	 * @return the first world time, at or after the world time, that the charm is due to update. By default, every tick.
+	 */
+	default public long getNextUpdateTime(long worldTime, ICharmEntity entity) {
+		return worldTime;
+	}
 	
 	ICostEvaluator getCostEvaluator();
 	TextFormatting getCharmLabelColor();
@@ -149,9 +149,25 @@ public interface ICharmEntity {
 		if (nbt.hasKey(MAX_RECHARGES)) {
 			setMaxRecharges(nbt.getInteger(MAX_RECHARGES));
 		}
+		loadState(nbt);
 		return true;
 	}
 
+	/**
+	 * Saves the state that is specific to the entity's class. Used by save() and by the compact format of CharmEntityCodec.
+	 * @param nbt
+	 * @return
+	 */
+	default public NBTTagCompound saveState(NBTTagCompound nbt) {
+		return nbt;
+	}
+
+	/**
+	 * Loads the state that is specific to the entity's class.
+	 * @param nbt
+	 */
+	default public void loadState(NBTTagCompound nbt) {}
+
 	boolean isExclusive();
 
 	void setExclusive(boolean exclusive);
@@ -62,6 +62,11 @@ public class IlluminationCharm extends Charm {
 		return REGISTERED_EVENT;
 	}
 
+	@Override
+	public long getNextUpdateTime(long worldTime, ICharmEntity entity) {
+		return getNextMultiple(worldTime, 100);
+	}
+
 	@Override
 	public ICharmEntity createEntity() {
 //		ICharmEntity entity = new IlluminationCharmEntity(this, this.getMana(),this.getDuration(), this.getPercent());
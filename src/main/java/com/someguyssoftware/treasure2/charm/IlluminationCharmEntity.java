@@ -85,8 +85,7 @@ public class IlluminationCharmEntity extends CharmEntity {
 	 * 
 	 */
 	@Override
-	public boolean load(NBTTagCompound nbt) {
-		super.load(nbt);		
+	public void loadState(NBTTagCompound nbt) {
 		NBTTagList list = nbt.getTagList("illuminationCoords", 10);
 //		Treasure.logger.debug("illumination tag list size -> {}", list.tagCount());
 		for (int i = 0; i < list.tagCount(); i++) {
@@ -96,7 +95,6 @@ public class IlluminationCharmEntity extends CharmEntity {
 				getCoordsList().add(coords);
 			}
 		}
-		return true;
 	}
 	
 	/**
@@ -105,8 +103,7 @@ public class IlluminationCharmEntity extends CharmEntity {
 	 * @return
 	 */
 	@Override
-	public NBTTagCompound save(NBTTagCompound nbt) {
-		nbt = super.save(nbt);
+	public NBTTagCompound saveState(NBTTagCompound nbt) {
 		try {
 			NBTTagList list = new NBTTagList();
 			synchronized (coordsList) {
@@ -46,17 +46,14 @@ public class LifeStrikeCharmEntity extends CharmEntity {
 	}
 	
 	@Override
-	public boolean load(NBTTagCompound nbt) {
-		super.load(nbt);		
+	public void loadState(NBTTagCompound nbt) {
 		if (nbt.hasKey("lifeCost")) {
 			setLifeCost(nbt.getDouble("lifeCost"));
-		}	
-		return true;
+		}
 	}
 	
 	@Override
-	public NBTTagCompound save(NBTTagCompound nbt) {
-		nbt = super.save(nbt);
+	public NBTTagCompound saveState(NBTTagCompound nbt) {
 		try {
 			nbt.setDouble("lifeCost", getLifeCost());
 		}
@@ -61,6 +61,11 @@ public class RuinCurse extends Charm {
 		return REGISTERED_EVENT;
 	}
 
+	@Override
+	public long getNextUpdateTime(long worldTime, ICharmEntity entity) {
+		return getNextMultiple(worldTime, entity.getFrequency());
+	}
+
 	@Override
 	public boolean isCurse() {
 		return true;
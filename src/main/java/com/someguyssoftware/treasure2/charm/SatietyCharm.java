@@ -57,6 +57,11 @@ public class SatietyCharm extends Charm {
 	public Class<?> getRegisteredEvent() {
 		return REGISTERED_EVENT;
 	}
+
+	@Override
+	public long getNextUpdateTime(long worldTime, ICharmEntity entity) {
+		return getNextMultiple(worldTime, getFrequency());
+	}
 	
 	@Override
 	public boolean update(World world, Random random, ICoords coords, EntityPlayer player, Event event, final ICharmEntity entity) {
@@ -51,12 +51,10 @@ public class ShieldingCharmEntity extends CharmEntity implements ICooldownCharmE
 	 * 
 	 */
 	@Override
-	public boolean load(NBTTagCompound nbt) {
-		super.load(nbt);		
+	public void loadState(NBTTagCompound nbt) {
 		if (nbt.hasKey("cooldownEnd")) {
 			setCooldownEnd(nbt.getDouble("cooldownEnd"));
-		}		
-		return true;
+		}
 	}
 	
 	/**
@@ -65,8 +63,7 @@ public class ShieldingCharmEntity extends CharmEntity implements ICooldownCharmE
 	 * @return
 	 */
 	@Override
-	public NBTTagCompound save(NBTTagCompound nbt) {
-		nbt = super.save(nbt);
+	public NBTTagCompound saveState(NBTTagCompound nbt) {
 		try {
 			// save the entity data
 			nbt.setDouble("cooldownEnd", getCooldownEnd());
@@ -34,6 +34,13 @@ public class TreasureCharmRegistry {
     private static final Map<ResourceLocation, ICharm> REGISTRY = new HashMap<>();
     private static final Map<Integer, List<ICharm>> REGISTRY_BY_LEVEL = new HashMap<>();
     private static final Map<Rarity, List<ICharm>> REGISTRY_BY_RARITY = new HashMap<>();
+    // network IDs, assigned in the order of registration, which is the same on the client and the server
+    private static final List<ICharm> REGISTRY_BY_ID = new ArrayList<>();
+    private static final Map<ResourceLocation, Integer> IDS = new HashMap<>();
+    // name string -> charm, so that saved charms are looked up without parsing their names
+    private static final Map<String, ICharm> BY_NAME = new HashMap<>();
+    // built on freeze or on first use, dropped when a charm is registered afterwards
+    private static volatile CharmIndex index;
 
     /**
      * 
@@ -42,6 +49,10 @@ public class TreasureCharmRegistry {
     public static void register(ICharm charm) {
         if (!REGISTRY.containsKey(charm.getName())) {
             REGISTRY.put(charm.getName(), charm);
+            IDS.put(charm.getName(), REGISTRY_BY_ID.size());
+            REGISTRY_BY_ID.add(charm);
+            BY_NAME.put(charm.getName().toString(), charm);
+            index = null;
         }
         if (!REGISTRY_BY_LEVEL.containsKey(Integer.valueOf(charm.getLevel()))) {
         	List<ICharm> charmList = new ArrayList<>();
@@ -61,6 +72,31 @@ public class TreasureCharmRegistry {
         }
     }
 
+    /**
+     * Builds the charm index once all the charms have been registered.
+     */
+    public static void freeze() {
+        getIndex();
+    }
+
+    /**
+     * 
+     * @return the index of the registered charms by level, curse and rarity
+     */
+    public static CharmIndex getIndex() {
+        CharmIndex current = index;
+        if (current == null) {
+            synchronized (TreasureCharmRegistry.class) {
+                current = index;
+                if (current == null) {
+                    current = new CharmIndex(new ArrayList<>(REGISTRY_BY_ID), new ArrayList<>(REGISTRY.values()));
+                    index = current;
+                }
+            }
+        }
+        return current;
+    }
+
     /**
      * 
      * @param name
@@ -74,6 +110,37 @@ public class TreasureCharmRegistry {
         return Optional.empty();
     }
     
+    /**
+     * 
+     * @param name the name of the charm as saved by ResourceLocation.toString()
+     * @return
+     */
+    public static Optional<ICharm> get(String name) {
+        return Optional.ofNullable(BY_NAME.get(name));
+    }
+
+    /**
+     * 
+     * @param id the network ID of the charm
+     * @return
+     */
+    public static Optional<ICharm> getById(int id) {
+        if (id >= 0 && id < REGISTRY_BY_ID.size()) {
+            return Optional.of(REGISTRY_BY_ID.get(id));
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * 
+     * @param charm
+     * @return the network ID of the charm or -1 if the charm is not registered
+     */
+    public static int getId(ICharm charm) {
+        Integer id = IDS.get(charm.getName());
+        return id == null ? -1 : id;
+    }
+
     /**
      * @param level
      * @return
@@ -0,0 +1,178 @@
+/**
+ *
+ */
+package com.someguyssoftware.treasure2.client.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import javax.vecmath.Matrix4f;
+import javax.vecmath.Point3f;
+
+import com.someguyssoftware.treasure2.block.AbstractChestBlock;
+import com.someguyssoftware.treasure2.client.render.tileentity.ITreasureChestTileEntityRenderer;
+import com.someguyssoftware.treasure2.lock.LockState;
+
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.renderer.block.model.BakedQuad;
+import net.minecraft.client.renderer.block.model.FaceBakery;
+import net.minecraft.client.renderer.block.model.IBakedModel;
+import net.minecraft.client.renderer.block.model.ItemCameraTransforms;
+import net.minecraft.client.renderer.block.model.ItemOverrideList;
+import net.minecraft.client.renderer.texture.TextureAtlasSprite;
+import net.minecraft.client.renderer.tileentity.TileEntityRendererDispatcher;
+import net.minecraft.client.renderer.tileentity.TileEntitySpecialRenderer;
+import net.minecraft.client.renderer.vertex.DefaultVertexFormats;
+import net.minecraft.client.renderer.vertex.VertexFormat;
+import net.minecraft.item.ItemStack;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.EnumFacing;
+import net.minecraftforge.common.property.IExtendedBlockState;
+
+/**
+ * The block model of a closed chest, with its locks, that is baked into the chunk mesh while the chest is idle.
+ * Wraps the chest's json block model. Renders nothing while the chest is rendered by its TESR, ie. while the lid is open or moving,
+ * which the block signals by leaving AbstractChestBlock.RENDER_LOCKS unset.
+ * The lock quads are transformed the same way as the TESR transforms the lock items, and are cached per lock snapshot.
+ */
+public class BakedChestModel implements IBakedModel {
+	private final IBakedModel base;
+	private final AbstractChestBlock block;
+	// lock snapshot -> lock quads. accessed by the chunk render threads
+	private final Map<LockState[], List<BakedQuad>> lockQuads = Collections.synchronizedMap(new WeakHashMap<>());
+
+	/**
+	 *
+	 * @param base
+	 * @param block
+	 */
+	public BakedChestModel(IBakedModel base, AbstractChestBlock block) {
+		this.base = base;
+		this.block = block;
+	}
+
+	@Override
+	public List<BakedQuad> getQuads(IBlockState state, EnumFacing side, long rand) {
+		if (!(state instanceof IExtendedBlockState)) {
+			// not in the world, ex. the item model
+			return base.getQuads(state, side, rand);
+		}
+		LockState[] locks = ((IExtendedBlockState) state).getValue(AbstractChestBlock.RENDER_LOCKS);
+		if (locks == null) {
+			// rendered by the TESR
+			return Collections.emptyList();
+		}
+		List<BakedQuad> quads = base.getQuads(state, side, rand);
+		if (side != null || locks.length == 0) {
+			return quads;
+		}
+		List<BakedQuad> withLocks = new ArrayList<>(quads);
+		withLocks.addAll(getLockQuads(locks));
+		return withLocks;
+	}
+
+	/**
+	 *
+	 * @param locks
+	 * @return
+	 */
+	private List<BakedQuad> getLockQuads(LockState[] locks) {
+		List<BakedQuad> quads = lockQuads.get(locks);
+		if (quads != null) {
+			return quads;
+		}
+		ITreasureChestTileEntityRenderer renderer = getRenderer();
+		if (renderer == null) {
+			return Collections.emptyList();
+		}
+		quads = new ArrayList<>();
+		for (LockState lockState : locks) {
+			Matrix4f transform = renderer.getLockTransform(lockState);
+			IBakedModel lockModel = Minecraft.getMinecraft().getRenderItem()
+					.getItemModelWithOverrides(new ItemStack(lockState.getLock()), null, null);
+			for (EnumFacing facing : EnumFacing.values()) {
+				addTransformed(lockModel.getQuads(null, facing, 0L), transform, quads);
+			}
+			addTransformed(lockModel.getQuads(null, null, 0L), transform, quads);
+		}
+		lockQuads.put(locks, quads);
+		return quads;
+	}
+
+	/**
+	 *
+	 * @return the TESR of the chest, which defines the lock transforms
+	 */
+	@SuppressWarnings("unchecked")
+	private ITreasureChestTileEntityRenderer getRenderer() {
+		TileEntitySpecialRenderer<TileEntity> renderer = TileEntityRendererDispatcher.instance
+				.getRenderer((Class<? extends TileEntity>) block.getTileEntityClass());
+		return renderer instanceof ITreasureChestTileEntityRenderer ? (ITreasureChestTileEntityRenderer) renderer : null;
+	}
+
+	/**
+	 * Transforms the positions of the item quads into the block space and converts them to the block vertex format.
+	 * @param source
+	 * @param transform
+	 * @param quads
+	 */
+	private static void addTransformed(List<BakedQuad> source, Matrix4f transform, List<BakedQuad> quads) {
+		Point3f point = new Point3f();
+		for (BakedQuad quad : source) {
+			VertexFormat format = quad.getFormat();
+			// both formats are position, color, uv, then a normal (item) or lightmap (block) int
+			if (format != DefaultVertexFormats.ITEM && format != DefaultVertexFormats.BLOCK) {
+				continue;
+			}
+			int stride = format.getIntegerSize();
+			int[] data = quad.getVertexData().clone();
+			for (int vertex = 0; vertex < 4; vertex++) {
+				int offset = vertex * stride;
+				point.set(Float.intBitsToFloat(data[offset]), Float.intBitsToFloat(data[offset + 1]), Float.intBitsToFloat(data[offset + 2]));
+				transform.transform(point);
+				data[offset] = Float.floatToRawIntBits(point.x);
+				data[offset + 1] = Float.floatToRawIntBits(point.y);
+				data[offset + 2] = Float.floatToRawIntBits(point.z);
+				// the lightmap is computed by the chunk renderer
+				data[offset + 6] = 0;
+			}
+			quads.add(new BakedQuad(data, quad.getTintIndex(), FaceBakery.getFacingFromVertexData(data), quad.getSprite(),
+					quad.shouldApplyDiffuseLighting(), DefaultVertexFormats.BLOCK));
+		}
+	}
+
+	@Override
+	public boolean isAmbientOcclusion() {
+		return base.isAmbientOcclusion();
+	}
+
+	@Override
+	public boolean isGui3d() {
+		return base.isGui3d();
+	}
+
+	@Override
+	public boolean isBuiltInRenderer() {
+		return false;
+	}
+
+	@Override
+	public TextureAtlasSprite getParticleTexture() {
+		return base.getParticleTexture();
+	}
+
+	@SuppressWarnings("deprecation")
+	@Override
+	public ItemCameraTransforms getItemCameraTransforms() {
+		return base.getItemCameraTransforms();
+	}
+
+	@Override
+	public ItemOverrideList getOverrides() {
+		return base.getOverrides();
+	}
+}
@@ -5,12 +5,10 @@ package com.someguyssoftware.treasure2.client.render.tileentity;
 
 import com.someguyssoftware.treasure2.client.model.CardboardBoxModel;
 import com.someguyssoftware.treasure2.client.model.ITreasureChestModel;
-import com.someguyssoftware.treasure2.lock.LockState;
 import com.someguyssoftware.treasure2.tileentity.AbstractTreasureChestTileEntity;
 import com.someguyssoftware.treasure2.tileentity.CardboardBoxTileEntity;
 
 import net.minecraft.client.Minecraft;
-import net.minecraft.client.renderer.GlStateManager;
 import net.minecraft.client.renderer.block.model.ItemCameraTransforms;
 import net.minecraft.item.ItemStack;
 
@@ -50,15 +48,12 @@ public class CardboardBoxTileEntityRenderer extends TreasureChestTileEntityRende
 	}
 	
 	@Override
-	public void updateLockRotation(LockState lockState) {
-		// rotate the locks on the x axis to lay flat
-		GlStateManager.rotate(90, 1.0F, 0.0F, 0.0F); // NOTE changed from Y to X axis
-		// rotate lock to the correct direction that the block is facing.
-		GlStateManager.rotate(lockState.getSlot().getRotation(), 0.0F, 0.0F, 1.0F); // NOTE now Z axis is the Y axis since we rotated on the X axis first.
+	public boolean hasFlatLocks() {
+		return true;
 	}
 	
 	@Override
-	public void updateLockScale() {
-		GlStateManager.scale(0.35F, 0.35F, 0.35F);
+	public float getLockScale() {
+		return 0.35F;
 	}
 }
\ No newline at end of file
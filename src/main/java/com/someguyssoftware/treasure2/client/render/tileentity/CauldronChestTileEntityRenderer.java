@@ -4,11 +4,9 @@
 package com.someguyssoftware.treasure2.client.render.tileentity;
 
 import com.someguyssoftware.treasure2.client.model.ITreasureChestModel;
-import com.someguyssoftware.treasure2.lock.LockState;
 import com.someguyssoftware.treasure2.tileentity.AbstractTreasureChestTileEntity;
 import com.someguyssoftware.treasure2.tileentity.CauldronChestTileEntity;
 
-import net.minecraft.client.renderer.GlStateManager;
 
 /**
  * @author Mark Gottschling onJan 9, 2018
@@ -35,15 +33,12 @@ public class CauldronChestTileEntityRenderer extends TreasureChestTileEntityRend
 	}
 	
 	@Override
-	public void updateLockRotation(LockState lockState) {
-		// rotate the locks on the x axis to lay flat
-		GlStateManager.rotate(90, 1.0F, 0.0F, 0.0F); // NOTE changed from Y to X axis
-		// rotate lock to the correct direction that the block is facing.
-		GlStateManager.rotate(lockState.getSlot().getRotation(), 0.0F, 0.0F, 1.0F); // NOTE now Z axis is the Y axis since we rotated on the X axis first.
+	public boolean hasFlatLocks() {
+		return true;
 	}
 	
 	@Override
-	public void updateLockScale() {
-		GlStateManager.scale(0.35F, 0.35F, 0.35F);
+	public float getLockScale() {
+		return 0.35F;
 	}
 }
\ No newline at end of file
@@ -35,7 +35,7 @@ public class CompressorChestTileEntityRenderer extends TreasureChestTileEntityRe
 	}
     
 	 @Override
-	 public void updateLockScale() {
-		 GlStateManager.scale(0.20F, 0.20F, 0.20F);
+	 public float getLockScale() {
+		 return 0.20F;
 	} 
 }
@@ -46,6 +46,11 @@ public class CrateChestTileEntityRenderer extends TreasureChestTileEntityRendere
     	
     	if (!(te instanceof CrateChestTileEntity)) return; // should never happen
 
+    	// a closed, idle chest is part of the chunk mesh
+    	if (te.isRenderedAsModel()) {
+    		return;
+    	}
+
     	// add the destory textures
         if (destroyStage >= 0) {
             this.bindTexture(DESTROY_STAGES[destroyStage]);
@@ -1,5 +1,8 @@
 package com.someguyssoftware.treasure2.client.render.tileentity;
 
+import javax.vecmath.Matrix4f;
+import javax.vecmath.Vector3f;
+
 import com.someguyssoftware.treasure2.client.model.ITreasureChestModel;
 import com.someguyssoftware.treasure2.lock.LockState;
 import com.someguyssoftware.treasure2.tileentity.AbstractTreasureChestTileEntity;
@@ -54,7 +57,16 @@ public interface ITreasureChestTileEntityRenderer {
 	 * 
 	 */
 	default public void updateLockScale() {
-		GlStateManager.scale(0.5F, 0.5F, 0.5F);
+		float scale = getLockScale();
+		GlStateManager.scale(scale, scale, scale);
+	}
+	
+	/**
+	 * 
+	 * @return the scale of a lock item
+	 */
+	default public float getLockScale() {
+		return 0.5F;
 	}
 	
 	/**
@@ -62,7 +74,52 @@ public interface ITreasureChestTileEntityRenderer {
 	 * @param lockState
 	 */
 	default public void updateLockRotation(LockState lockState) {
-		GlStateManager.rotate(lockState.getSlot().getRotation(), 0F, 1.0F, 0.0F);
+		if (hasFlatLocks()) {
+			// rotate the locks on the x axis to lay flat
+			GlStateManager.rotate(90, 1.0F, 0.0F, 0.0F);
+			// rotate lock to the correct direction that the block is facing. (now Z axis is the Y axis since we rotated on the X axis first)
+			GlStateManager.rotate(lockState.getSlot().getRotation(), 0.0F, 0.0F, 1.0F);
+		}
+		else {
+			GlStateManager.rotate(lockState.getSlot().getRotation(), 0F, 1.0F, 0.0F);
+		}
+	}
+	
+	/**
+	 * 
+	 * @return whether the locks lay flat on top of the chest instead of hanging on its side
+	 */
+	default public boolean hasFlatLocks() {
+		return false;
+	}
+	
+	/**
+	 * The same transform as the renderer applies to a lock item, from the lock item's model space to the block space,
+	 * so that the lock can be baked into the chunk mesh.
+	 * @param lockState
+	 * @return
+	 */
+	default public Matrix4f getLockTransform(LockState lockState) {
+		Matrix4f transform = new Matrix4f();
+		transform.setIdentity();
+		transform.setTranslation(new Vector3f(lockState.getSlot().getXOffset(), lockState.getSlot().getYOffset(), lockState.getSlot().getZOffset()));
+		Matrix4f step = new Matrix4f();
+		float rotation = (float) Math.toRadians(lockState.getSlot().getRotation());
+		if (hasFlatLocks()) {
+			step.rotX((float) Math.toRadians(90));
+			transform.mul(step);
+			step.rotZ(rotation);
+		}
+		else {
+			step.rotY(rotation);
+		}
+		transform.mul(step);
+		step.set(getLockScale());
+		transform.mul(step);
+		// RenderItem centers the item model on the origin
+		step.set(new Vector3f(-0.5F, -0.5F, -0.5F));
+		transform.mul(step);
+		return transform;
 	}
 	
 	/**
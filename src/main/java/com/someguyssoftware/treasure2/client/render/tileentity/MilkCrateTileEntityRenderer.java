@@ -35,7 +35,7 @@ public class MilkCrateTileEntityRenderer extends TreasureChestTileEntityRenderer
 	}
     
 	 @Override
-	 public void updateLockScale() {
-		 GlStateManager.scale(0.28F, 0.28F, 0.28F);
+	 public float getLockScale() {
+		 return 0.28F;
 	}
 }
@@ -45,6 +45,11 @@ public class SafeTileEntityRenderer extends TreasureChestTileEntityRenderer {
     	
     	if (!(te instanceof SafeTileEntity)) return; // should never happen
 
+    	// a closed, idle chest is part of the chunk mesh
+    	if (te.isRenderedAsModel()) {
+    		return;
+    	}
+
     	// add the destory textures
         if (destroyStage >= 0) {
             this.bindTexture(DESTROY_STAGES[destroyStage]);
@@ -118,7 +123,7 @@ public class SafeTileEntityRenderer extends TreasureChestTileEntityRenderer {
     }
 	 
 	 @Override
-	 public void updateLockScale() {
-		 GlStateManager.scale(0.3F, 0.3F, 0.3F);
+	 public float getLockScale() {
+		 return 0.3F;
 	} 
 }
@@ -8,7 +8,6 @@ import com.someguyssoftware.treasure2.lock.LockState;
 import com.someguyssoftware.treasure2.tileentity.AbstractTreasureChestTileEntity;
 
 import net.minecraft.client.Minecraft;
-import net.minecraft.client.renderer.GlStateManager;
 import net.minecraft.client.renderer.block.model.ItemCameraTransforms;
 import net.minecraft.item.ItemStack;
 
@@ -27,7 +26,7 @@ public class StrongboxTileEntityRenderer extends TreasureChestTileEntityRenderer
 	 }
 	 
 	 @Override
-	 public void updateLockScale() {
-		 GlStateManager.scale(0.25F, 0.25F, 0.25F);
+	 public float getLockScale() {
+		 return 0.25F;
 	}
 }
@@ -3,8 +3,13 @@
  */
 package com.someguyssoftware.treasure2.client.render.tileentity;
 
+import java.util.IdentityHashMap;
+import java.util.Map;
+
 import com.someguyssoftware.treasure2.Treasure;
 import com.someguyssoftware.treasure2.client.model.ITreasureChestModel;
+import com.someguyssoftware.treasure2.config.TreasureConfig;
+import com.someguyssoftware.treasure2.item.LockItem;
 import com.someguyssoftware.treasure2.lock.LockState;
 import com.someguyssoftware.treasure2.tileentity.AbstractTreasureChestTileEntity;
 
@@ -20,6 +25,9 @@ import net.minecraft.util.ResourceLocation;
  *
  */
 public class TreasureChestTileEntityRenderer extends TileEntitySpecialRenderer<AbstractTreasureChestTileEntity> implements ITreasureChestTileEntityRenderer {
+	// lock -> stack. render thread only
+	private static final Map<LockItem, ItemStack> LOCK_STACKS = new IdentityHashMap<>();
+
 	private ResourceLocation texture;
 	private ITreasureChestModel model;
 
@@ -76,6 +84,11 @@ public class TreasureChestTileEntityRenderer extends TileEntitySpecialRenderer<A
 		if (!(te instanceof AbstractTreasureChestTileEntity))
 			return; // should never happen
 
+		// a closed, idle chest is part of the chunk mesh
+		if (te.isRenderedAsModel()) {
+			return;
+		}
+
 		// apply the destory gl state (if any)
 		applyDestroyGlState(destroyStage);
 
@@ -135,12 +148,15 @@ public class TreasureChestTileEntityRenderer extends TileEntitySpecialRenderer<A
 	 */
 	public void renderLocks(AbstractTreasureChestTileEntity te, double x, double y, double z) {
 		// Treasure.logger.debug("=====================================================================");
+		// skip the locks beyond the lock render distance
+		if (!isWithinLockRenderDistance(x, y, z)) {
+			return;
+		}
 		// render locks
 		for (LockState lockState : te.getLockStates()) {
 			// Treasure.logger.debug("Render LS:" + lockState);
 			if (lockState.getLock() != null) {
-				// convert lock to an item stack
-				ItemStack lockStack = new ItemStack(lockState.getLock());
+				ItemStack lockStack = getLockStack(lockState.getLock());
 
 				GlStateManager.pushMatrix();
 				// NOTE when rotating the item to match the face of chest, must adjust the
@@ -159,6 +175,32 @@ public class TreasureChestTileEntityRenderer extends TileEntitySpecialRenderer<A
 		}
 	}
 
+	/**
+	 * 
+	 * @param x
+	 * @param y
+	 * @param z
+	 * @return whether the chest, at the position relative to the camera, is close enough for its locks to be rendered
+	 */
+	public boolean isWithinLockRenderDistance(double x, double y, double z) {
+		double distance = TreasureConfig.CHESTS.lockRenderDistance;
+		return x * x + y * y + z * z <= distance * distance;
+	}
+
+	/**
+	 * 
+	 * @param lock
+	 * @return the item stack used to render the lock, shared by all the chests
+	 */
+	public static ItemStack getLockStack(LockItem lock) {
+		ItemStack lockStack = LOCK_STACKS.get(lock);
+		if (lockStack == null) {
+			lockStack = new ItemStack(lock);
+			LOCK_STACKS.put(lock, lockStack);
+		}
+		return lockStack;
+	}
+
 	/**
 	 * @return the texture
 	 */
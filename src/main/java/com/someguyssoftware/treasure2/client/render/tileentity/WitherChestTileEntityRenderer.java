@@ -39,6 +39,11 @@ public class WitherChestTileEntityRenderer extends TreasureChestTileEntityRender
     	
     	if (!(te instanceof WitherChestTileEntity)) return; // should never happen
 
+    	// a closed, idle chest is part of the chunk mesh
+    	if (te.isRenderedAsModel()) {
+    		return;
+    	}
+
     	// add the destory textures
         if (destroyStage >= 0) {
             this.bindTexture(DESTROY_STAGES[destroyStage]);
@@ -15,6 +15,7 @@ import com.someguyssoftware.gottschcore.config.IConfig;
 import com.someguyssoftware.gottschcore.config.ILoggerConfig;
 import com.someguyssoftware.treasure2.Treasure;
 import com.someguyssoftware.treasure2.enums.Rarity;
+import com.someguyssoftware.treasure2.worldgen.GeneratorEligibility;
 
 import net.minecraft.util.ResourceLocation;
 import net.minecraft.world.biome.Biome;
@@ -327,6 +328,8 @@ public class TreasureConfig implements IConfig, ILoggerConfig {
 		TreasureConfig.WITHER_TREE.init();
 		TreasureConfig.WORLD_GEN.init();
 		TreasureConfig.WEALTH.init();
+		// recompiled from the loaded lists on next use
+		GeneratorEligibility.invalidate();
 	}
 
 	/*
@@ -359,7 +362,7 @@ public class TreasureConfig implements IConfig, ILoggerConfig {
 		public ChestCollection submergedChests;
 
 		@Comment({
-			"The number of chests that are monitored. Most recent additions replace least recent when the registry is full.",
+			"The number of chests that are monitored, across all dimensions. Most recent additions replace least recent when the registry is full.",
 		"This is the set of chests used to measure distance between newly generated chests." })
 		@Name("01. Max. size of chest registry:")
 		@RangeInt(min = 5, max = 100)
@@ -457,6 +460,17 @@ public class TreasureConfig implements IConfig, ILoggerConfig {
 		@Comment({ "Enable/Disable whether a milk crate will spawn." })
 		@Name("19. Enable milk crate:")
 		public boolean enableMilkCrate = true;
+
+		@RequiresMcRestart
+		@Comment({ "Enable/Disable rendering closed, idle chests as part of the chunk mesh, with their locks, instead of every frame.",
+				"Chests are rendered every frame while their lid is open or moving." })
+		@Name("20. Enable baked chest rendering:")
+		public boolean enableBakedChestRendering = false;
+
+		@Comment({ "The distance, in blocks, beyond which the locks of chests that are rendered every frame are not rendered." })
+		@Name("21. Lock render distance:")
+		@RangeInt(min = 0, max = 256)
+		public int lockRenderDistance = 32;
 		
 		@Ignore public Map<String, Boolean> chestEnablementMap = new HashMap<>();
 		
@@ -1122,6 +1136,18 @@ public class TreasureConfig implements IConfig, ILoggerConfig {
 			@Ignore
 			public List<Integer> dimensionsWhiteList = new ArrayList<>(3);
 
+			@Comment({ "The maximum number of mist particles (fog, poison fog and wither fog) that can exist at one time on the client.",
+			"Mist emitters stop spawning new particles while the limit is reached." })
+			@Name("06. Max. mist particles:")
+			@RangeInt(min = 0, max = 8192)
+			public int maxMistParticles = 1024;
+
+			@Comment({ "The max. number of milliseconds per server tick spent generating the structures (wither trees, wells, pits and ruins) that were queued during chunk generation.",
+			"Queued structures are generated once the chunks around them are loaded. Set to 0 to generate structures during chunk generation." })
+			@Name("07. Max. structure generation time per tick (ms):")
+			@RangeInt(min = 0, max = 50)
+			public int generationMillisPerTick = 5;
+
 			/**
 			 * 
 			 */
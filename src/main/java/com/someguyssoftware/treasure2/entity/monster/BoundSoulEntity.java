@@ -9,10 +9,9 @@ import javax.annotation.Nullable;
 
 import com.someguyssoftware.gottschcore.world.WorldInfo;
 import com.someguyssoftware.treasure2.Treasure;
-import com.someguyssoftware.treasure2.particle.AbstractMistParticle;
 import com.someguyssoftware.treasure2.particle.MistParticle;
+import com.someguyssoftware.treasure2.particle.MistParticleManager;
 
-import net.minecraft.client.Minecraft;
 import net.minecraft.entity.EntityLiving;
 import net.minecraft.entity.SharedMonsterAttributes;
 import net.minecraft.entity.ai.EntityAILookIdle;
@@ -125,14 +124,11 @@ public class BoundSoulEntity extends EntityZombie {
 	private void spawnMist() {
 		if (this.ticksExisted % 4 == 0) {
 			Random random = new Random();
-			AbstractMistParticle mistParticle = new MistParticle(world,
+			MistParticleManager.spawn(MistParticle.class,
+					(w, px, py, pz, coords) -> new MistParticle(w, px, py, pz, 0, 0, 0, coords), world,
 					this.getPosition().getX() + (random.nextFloat() * 0.5 - 0.25),
 					this.getPosition().getY() + (random.nextFloat() * 0.25),
-					this.getPosition().getZ() + (random.nextFloat() * 0.5 - 0.25), 0, 0, 0, null);
-			// reduce the max age - don't want it too misty around entity
-			mistParticle.setMaxAge(160);
-			mistParticle.init();
-			Minecraft.getMinecraft().effectRenderer.addEffect(mistParticle);
+					this.getPosition().getZ() + (random.nextFloat() * 0.5 - 0.25), null);
 		}
 	}
 
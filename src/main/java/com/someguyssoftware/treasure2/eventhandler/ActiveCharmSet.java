@@ -0,0 +1,248 @@
+/**
+ *
+ */
+package com.someguyssoftware.treasure2.eventhandler;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.someguyssoftware.gottschcore.positional.Coords;
+import com.someguyssoftware.gottschcore.positional.ICoords;
+import com.someguyssoftware.treasure2.capability.ICharmableCapability;
+import com.someguyssoftware.treasure2.capability.InventoryType;
+import com.someguyssoftware.treasure2.capability.TreasureCapabilities;
+import com.someguyssoftware.treasure2.charm.CharmContext;
+import com.someguyssoftware.treasure2.charm.ICharm;
+import com.someguyssoftware.treasure2.charm.ICharmEntity;
+
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.item.ItemStack;
+import net.minecraft.util.EnumHand;
+import net.minecraft.util.math.MathHelper;
+import net.minecraftforge.event.entity.living.LivingEvent.LivingUpdateEvent;
+
+/**
+ * The charms that a player has in valid slots (held, hotbar or baubles), partitioned by the event class
+ * that each charm is registered to and sorted by priority, so that dispatching an event doesn't gather, allocate or sort.
+ * The set records the stacks it was built from and is rebuilt when any of them change.
+ */
+public class ActiveCharmSet {
+	private static final CharmContext[] NO_CONTEXTS = new CharmContext[0];
+	private static final int HANDS = 2;
+
+	// event class -> contexts to execute, in the order of execution
+	private final Map<Class<?>, CharmContext[]> contexts;
+	// the stacks the set was built from and their charm signatures, held first then equipment
+	private final ItemStack[] stacks;
+	private final int[] signatures;
+	private boolean valid = true;
+	// the schedule of the LivingUpdateEvent charms
+	private final CharmWheel updateWheel;
+
+	// the coords of the player on the last dispatch, reused while the player doesn't move to another block
+	private ICoords coords;
+
+	/**
+	 *
+	 * @param contexts
+	 * @param stacks
+	 * @param signatures
+	 */
+	private ActiveCharmSet(Map<Class<?>, CharmContext[]> contexts, ItemStack[] stacks, int[] signatures) {
+		this.contexts = contexts;
+		this.stacks = stacks;
+		this.signatures = signatures;
+		this.updateWheel = new CharmWheel(getContexts(LivingUpdateEvent.class));
+	}
+
+	/**
+	 * Builds the active charm set of the player.
+	 * @param player
+	 * @param handler
+	 * @return
+	 */
+	public static ActiveCharmSet build(EntityPlayerMP player, IEquipmentCharmHandler handler) {
+		Builder builder = new Builder();
+
+		// check each hand
+		builder.add(player.getHeldItem(EnumHand.MAIN_HAND), EnumHand.MAIN_HAND, -1, "minecraft");
+		builder.add(player.getHeldItem(EnumHand.OFF_HAND), EnumHand.OFF_HAND, -1, "minecraft");
+
+		// check equipment slots
+		handler.gatherEquipmentCharms(player, builder);
+
+		// record the stacks the set is built from
+		int size = HANDS + handler.getSlotCount();
+		ItemStack[] stacks = new ItemStack[size];
+		int[] signatures = new int[size];
+		for (int index = 0; index < size; index++) {
+			stacks[index] = getStack(player, handler, index);
+			signatures[index] = getSignature(stacks[index]);
+		}
+		return new ActiveCharmSet(builder.build(), stacks, signatures);
+	}
+
+	/**
+	 * Checks whether the player's stacks are still the ones the set was built from. Does not allocate.
+	 * @param player
+	 * @param handler
+	 * @return
+	 */
+	public boolean isCurrent(EntityPlayerMP player, IEquipmentCharmHandler handler) {
+		if (!valid || stacks.length != HANDS + handler.getSlotCount()) {
+			return false;
+		}
+		for (int index = 0; index < stacks.length; index++) {
+			ItemStack stack = getStack(player, handler, index);
+			if (stack != stacks[index] || getSignature(stack) != signatures[index]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Marks the set to be rebuilt on the next dispatch, ex. after a charm has been removed.
+	 */
+	public void invalidate() {
+		valid = false;
+	}
+
+	/**
+	 *
+	 * @param eventClass
+	 * @return the contexts registered to the event class, in the order of execution
+	 */
+	public CharmContext[] getContexts(Class<?> eventClass) {
+		CharmContext[] eventContexts = contexts.get(eventClass);
+		return eventContexts == null ? NO_CONTEXTS : eventContexts;
+	}
+
+	/**
+	 *
+	 * @return the schedule of the charms registered to LivingUpdateEvent
+	 */
+	public CharmWheel getUpdateWheel() {
+		return updateWheel;
+	}
+
+	/**
+	 *
+	 * @param player
+	 * @return the block coords of the player
+	 */
+	public ICoords getCoords(EntityPlayerMP player) {
+		// same position as EntityPlayerMP.getPosition()
+		int x = MathHelper.floor(player.posX);
+		int y = MathHelper.floor(player.posY + 0.5D);
+		int z = MathHelper.floor(player.posZ);
+		if (coords == null || coords.getX() != x || coords.getY() != y || coords.getZ() != z) {
+			coords = new Coords(x, y, z);
+		}
+		return coords;
+	}
+
+	/**
+	 *
+	 * @param player
+	 * @param handler
+	 * @param index
+	 * @return
+	 */
+	private static ItemStack getStack(EntityPlayerMP player, IEquipmentCharmHandler handler, int index) {
+		switch (index) {
+		case 0:
+			return player.getHeldItemMainhand();
+		case 1:
+			return player.getHeldItemOffhand();
+		default:
+			return handler.getStackInSlot(player, index - HANDS);
+		}
+	}
+
+	/**
+	 * A cheap summary of the charms of a stack, so that charms that are added, removed or toggled in place are noticed.
+	 * @param stack
+	 * @return
+	 */
+	private static int getSignature(ItemStack stack) {
+		if (stack.isEmpty() || !stack.hasCapability(TreasureCapabilities.CHARMABLE, null)) {
+			return 0;
+		}
+		ICharmableCapability cap = stack.getCapability(TreasureCapabilities.CHARMABLE, null);
+		return (cap.getCharmEntities().size() << 2) | (cap.isExecuting() ? 2 : 0) | 1;
+	}
+
+	/**
+	 *
+	 */
+	public static class Builder {
+		private final List<CharmContext> contexts = new ArrayList<>(5);
+
+		/**
+		 * Adds the charms of the stack if it is charmable and executing.
+		 * @param itemStack
+		 * @param hand the hand holding the stack or null
+		 * @param slot
+		 * @param slotProviderId
+		 * @return whether the stack is executing charms
+		 */
+		public boolean add(ItemStack itemStack, EnumHand hand, int slot, String slotProviderId) {
+			if (itemStack.isEmpty() || !itemStack.hasCapability(TreasureCapabilities.CHARMABLE, null)) {
+				return false;
+			}
+			ICharmableCapability cap = itemStack.getCapability(TreasureCapabilities.CHARMABLE, null);
+			if (!cap.isExecuting()) {
+				return false;
+			}
+			for (InventoryType type : InventoryType.values()) {
+				List<ICharmEntity> entities = (List<ICharmEntity>) cap.getCharmEntities().get(type);
+				for (int i = 0; i < entities.size(); i++) {
+					final int index = i;
+					final ICharmEntity entity = entities.get(i);
+					contexts.add(new CharmContext.Builder().with($ -> {
+						$.hand = hand;
+						$.slot = slot;
+						$.slotProviderId = slotProviderId;
+						$.itemStack = itemStack;
+						$.capability = cap;
+						$.type = type;
+						$.index = index;
+						$.entity = entity;
+					}).build());
+				}
+			}
+			return true;
+		}
+
+		/**
+		 *
+		 * @return the contexts partitioned by registered event and sorted by descending priority
+		 */
+		private Map<Class<?>, CharmContext[]> build() {
+			// stable sort, so charms of equal priority execute in slot order
+			contexts.sort((c1, c2) -> Integer.compare(c2.getEntity().getCharm().getPriority(), c1.getEntity().getCharm().getPriority()));
+
+			Map<Class<?>, List<CharmContext>> partitions = new HashMap<>();
+			Map<Class<?>, Set<String>> executeOnceCharmTypes = new HashMap<>();
+			for (CharmContext context : contexts) {
+				ICharm charm = context.getEntity().getCharm();
+				Class<?> eventClass = charm.getRegisteredEvent();
+				// a non-stackable charm type is only ever executed by its first (highest priority) context
+				if (!charm.isEffectStackable()
+						&& !executeOnceCharmTypes.computeIfAbsent(eventClass, k -> new HashSet<>()).add(charm.getType())) {
+					continue;
+				}
+				partitions.computeIfAbsent(eventClass, k -> new ArrayList<>(3)).add(context);
+			}
+
+			Map<Class<?>, CharmContext[]> result = new HashMap<>(partitions.size() * 2);
+			partitions.forEach((eventClass, list) -> result.put(eventClass, list.toArray(new CharmContext[list.size()])));
+			return result;
+		}
+	}
+}
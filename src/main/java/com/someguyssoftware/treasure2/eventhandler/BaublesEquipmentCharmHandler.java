@@ -19,62 +19,34 @@
  */
 package com.someguyssoftware.treasure2.eventhandler;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.concurrent.atomic.AtomicInteger;
-
-import com.someguyssoftware.treasure2.capability.ICharmableCapability;
-import com.someguyssoftware.treasure2.capability.InventoryType;
-import com.someguyssoftware.treasure2.capability.TreasureCapabilities;
-import com.someguyssoftware.treasure2.charm.CharmContext;
-import com.someguyssoftware.treasure2.charm.ICharmEntity;
 import com.someguyssoftware.treasure2.integration.baubles.BaublesIntegration;
 import com.someguyssoftware.treasure2.item.Adornment;
 
 import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.item.ItemStack;
-import net.minecraftforge.fml.common.eventhandler.Event;
 
 public class BaublesEquipmentCharmHandler implements IEquipmentCharmHandler {
 
 	@Override
-	public List<CharmContext> handleEquipmentCharms(Event event, EntityPlayerMP player) {
-		final List<CharmContext> contexts = new ArrayList<>(5);
+	public void gatherEquipmentCharms(EntityPlayerMP player, ActiveCharmSet.Builder builder) {
 		if (BaublesIntegration.isEnabled()) {
-			AtomicInteger slot = new AtomicInteger(-1);
-			for (Integer baublesSlot : BaublesIntegration.BAUBLES_SLOTS) {
-				slot.set(baublesSlot);
+			for (int index = 0; index < BaublesIntegration.BAUBLES_SLOTS.size(); index++) {
+				int baublesSlot = BaublesIntegration.BAUBLES_SLOTS.get(index);
 				ItemStack itemStack = BaublesIntegration.getStackInSlot(player, baublesSlot);
 				if (itemStack != ItemStack.EMPTY && itemStack.getItem() instanceof Adornment) {
-					if (itemStack.hasCapability(TreasureCapabilities.CHARMABLE, null)) {
-						ICharmableCapability cap = itemStack.getCapability(TreasureCapabilities.CHARMABLE, null);
-						if (cap.isExecuting()) {
-							for (InventoryType type : InventoryType.values()) {
-								AtomicInteger index = new AtomicInteger();
-								for (int i = 0; i < cap.getCharmEntities().get(type).size(); i++) {
-									ICharmEntity entity = ((List<ICharmEntity>)cap.getCharmEntities().get(type)).get(i);
-									if (!entity.getCharm().getRegisteredEvent().equals(event.getClass())) {
-										continue;
-									}
-									index.set(i);
-									CharmContext context = new CharmContext.Builder().with($ -> {
-										$.slotProviderId = BaublesIntegration.BAUBLES_MOD_ID;
-										$.slot = slot.get();
-										$.itemStack = itemStack;
-										$.capability = cap;
-										$.type = type;
-										$.index = index.get();
-										$.entity = entity;
-									}).build();
-									contexts.add(context);
-								}
-							}
-						}
-					}
+					builder.add(itemStack, null, baublesSlot, BaublesIntegration.BAUBLES_MOD_ID);
 				}
 			}
 		}
-		return contexts;
 	}
 
+	@Override
+	public int getSlotCount() {
+		return BaublesIntegration.isEnabled() ? BaublesIntegration.BAUBLES_SLOTS.size() : 0;
+	}
+
+	@Override
+	public ItemStack getStackInSlot(EntityPlayerMP player, int index) {
+		return BaublesIntegration.getStackInSlot(player, BaublesIntegration.BAUBLES_SLOTS.get(index));
+	}
 }
@@ -19,30 +19,27 @@
  */
 package com.someguyssoftware.treasure2.eventhandler;
 
-import java.util.ArrayList;
-import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.UUID;
+import java.util.function.Predicate;
 
-import com.someguyssoftware.gottschcore.positional.Coords;
+import com.someguyssoftware.gottschcore.positional.ICoords;
 import com.someguyssoftware.gottschcore.world.WorldInfo;
 import com.someguyssoftware.treasure2.Treasure;
-import com.someguyssoftware.treasure2.capability.ICharmableCapability;
 import com.someguyssoftware.treasure2.capability.IDurabilityCapability;
-import com.someguyssoftware.treasure2.capability.InventoryType;
 import com.someguyssoftware.treasure2.capability.TreasureCapabilities;
 import com.someguyssoftware.treasure2.charm.CharmContext;
-import com.someguyssoftware.treasure2.charm.ICharm;
 import com.someguyssoftware.treasure2.charm.ICharmEntity;
-import com.someguyssoftware.treasure2.network.CharmMessageToClient;
+import com.someguyssoftware.treasure2.network.CharmMessageBatcher;
 
 import net.minecraft.block.Block;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.item.ItemStack;
-import net.minecraft.util.EnumHand;
 import net.minecraft.world.World;
 import net.minecraftforge.event.entity.living.LivingDamageEvent;
 import net.minecraftforge.event.entity.living.LivingEvent.LivingUpdateEvent;
@@ -50,6 +47,8 @@ import net.minecraftforge.event.entity.living.LivingHurtEvent;
 import net.minecraftforge.event.world.BlockEvent;
 import net.minecraftforge.fml.common.eventhandler.Event;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.PlayerEvent.PlayerLoggedOutEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
 
 /**
  * 
@@ -58,6 +57,22 @@ import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
  */
 public class CharmEventHandler {
 	private IEquipmentCharmHandler equipmentCharmHandler;
+	// player -> cached active charms
+	private final Map<UUID, ActiveCharmSet> activeCharmSets = new HashMap<>();
+	// shared by all charm executions. events are dispatched on the server thread only
+	private final Random random = new Random();
+	// coalesces the charm state changes of a tick into one message per player
+	private final CharmMessageBatcher messageBatcher = new CharmMessageBatcher();
+
+	private static final int STATS_INTERVAL = 1200;
+	// the number of scheduled (LivingUpdateEvent) charms visited and executed on the current and last tick
+	private int visitedCount;
+	private int executedCount;
+	private int lastTickVisitedCount;
+	private int lastTickExecutedCount;
+	private long totalVisitedCount;
+	private long totalExecutedCount;
+	private long tickCount;
 
 	/**
 	 * 
@@ -162,135 +177,144 @@ public class CharmEventHandler {
 	 * @param player
 	 */
 	private void processCharms(Event event, EntityPlayerMP player) {
-		/*
-		 * a list of charm contexts to execute
-		 */
-		List<CharmContext> charmsToExecute;
+		ActiveCharmSet charmSet = getActiveCharmSet(player);
 
-		// gather all charms
-		charmsToExecute = gatherCharms(event, player);
+		// update charms are scheduled, so only the due charms are visited
+		if (event instanceof LivingUpdateEvent) {
+			processScheduledCharms(event, player, charmSet);
+			return;
+		}
 
-		// sort charms
-		Collections.sort(charmsToExecute, CharmContext.priorityComparator);
+		// the contexts are pre-sorted by priority
+		CharmContext[] contexts = charmSet.getContexts(event.getClass());
+		if (contexts.length == 0) {
+			return;
+		}
 
 		// execute charms
-		executeCharms(event, player, charmsToExecute);
+		ICoords coords = charmSet.getCoords(player);
+		for (int index = 0; index < contexts.length; index++) {
+			executeCharm(event, player, charmSet, coords, contexts[index]);
+		}
 	}
 
 	/**
-	 * Examine and collect  all Charms (not CharmEntity nor CharmItems) that the player has in valid slots.
+	 * Executes the charms that are due on this tick and reschedules them.
 	 * @param event
 	 * @param player
-	 * @return
+	 * @param charmSet
 	 */
-	private List<CharmContext> gatherCharms(Event event, EntityPlayerMP player) {
-		final List<CharmContext> contexts = new ArrayList<>(5);
-
-		// check each hand
-		for (EnumHand hand : EnumHand.values()) {
-			ItemStack heldStack = player.getHeldItem(hand);
-			if (heldStack.hasCapability(TreasureCapabilities.CHARMABLE, null)) {
-				contexts.addAll(getCharmsFromStack(event, hand, -1, heldStack, false));
-			}
+	private void processScheduledCharms(Event event, EntityPlayerMP player, ActiveCharmSet charmSet) {
+		CharmWheel wheel = charmSet.getUpdateWheel();
+		long worldTime = player.world.getTotalWorldTime();
+		int count = wheel.poll(worldTime);
+		if (count == 0) {
+			return;
 		}
 
-		// check equipment slots
-		List<CharmContext> equipmentContexts = getEquipmentCharmHandler().handleEquipmentCharms(event, player);
-		contexts.addAll(equipmentContexts);
+		ICoords coords = charmSet.getCoords(player);
+		executeDue(wheel, count, worldTime, context -> executeCharm(event, player, charmSet, coords, context));
+	}
 
-		return contexts;
+	/**
+	 * Executes the count charms polled from the wheel, counting them, and reschedules them.
+	 * @param wheel
+	 * @param count the number of due charms returned by poll
+	 * @param worldTime
+	 * @param execution executes a charm and returns whether it executed
+	 */
+	void executeDue(CharmWheel wheel, int count, long worldTime, Predicate<CharmContext> execution) {
+		int[] due = wheel.getDue();
+		for (int index = 0; index < count; index++) {
+			visitedCount++;
+			if (execution.test(wheel.getContext(due[index]))) {
+				executedCount++;
+			}
+			wheel.reschedule(due[index], worldTime);
+		}
 	}
 
 	/**
-	 * 
-	 * @param event
-	 * @param hand
-	 * @param itemStack
-	 * @param isPouch
+	 * Gets the cached active charm set of the player, rebuilding it if the player's held, hotbar or bauble stacks have changed.
+	 * @param player
 	 * @return
 	 */
-	private List<CharmContext> getCharmsFromStack(Event event, EnumHand hand, int slot, ItemStack itemStack, boolean isPouch) {
-		final List<CharmContext> contexts = new ArrayList<>(5);
-		ICharmableCapability cap = itemStack.getCapability(TreasureCapabilities.CHARMABLE, null);
-		if (cap.isExecuting()) {
-			for (InventoryType type : InventoryType.values()) {
-				AtomicInteger index = new AtomicInteger();
-				for (int i = 0; i < cap.getCharmEntities().get(type).size(); i++) {
-					ICharmEntity entity = ((List<ICharmEntity>)cap.getCharmEntities().get(type)).get(i);
-					if (!entity.getCharm().getRegisteredEvent().equals(event.getClass())) {
-						continue;
-					}
-					index.set(i);
-					CharmContext context = new CharmContext.Builder().with($ -> {
-						$.hand = hand;
-						$.slot = slot;
-						$.slotProviderId = isPouch ? "treasure2" : "minecraft";
-						$.itemStack = itemStack;
-						$.capability = cap;
-						$.type = type;
-						$.index = index.get();
-						$.entity = entity;						
-					}).build();
-					contexts.add(context);
-				}
-			}
+	private ActiveCharmSet getActiveCharmSet(EntityPlayerMP player) {
+		ActiveCharmSet charmSet = activeCharmSets.get(player.getUniqueID());
+		if (charmSet == null || !charmSet.isCurrent(player, getEquipmentCharmHandler())) {
+			charmSet = ActiveCharmSet.build(player, getEquipmentCharmHandler());
+			activeCharmSets.put(player.getUniqueID(), charmSet);
 		}
-		return contexts;
+		return charmSet;
 	}
 
 	/**
 	 * 
 	 * @param event
-	 * @param player
-	 * @param contexts
 	 */
-	private static void executeCharms(Event event, EntityPlayerMP player, List<CharmContext> contexts) {
-		/*
-		 * a list of charm types that are non-stackable that should not be executed more than once.
-		 */
-		final List<String> executeOnceCharmTypes = new ArrayList<>(5);
-
-		contexts.forEach(context -> {
-			ICharm charm = (ICharm)context.getEntity().getCharm();
-			if (!charm.isEffectStackable()) {
-				// check if this charm type is already in the monitored list
-				if (executeOnceCharmTypes.contains(charm.getType())) {
-					return;
-				}
-				else {
-					// add the charm type to the monitored list
-					executeOnceCharmTypes.add(charm.getType());
-				}
-			}
+	@SubscribeEvent
+	public void onPlayerLoggedOut(PlayerLoggedOutEvent event) {
+		activeCharmSets.remove(event.player.getUniqueID());
+	}
 
-			// if charm is executable and executes successfully
-			if (context.getEntity().getCharm().update(player.world, new Random(), new Coords(player.getPosition()), player, event, context.getEntity())) {
-				// TODO handle the durability of the adornment
-				processUsage(player.world, player, event, context);
+	/**
+	 * Sends the charm states of the tick to the clients and rolls the scheduled charm counters over at the end of each server tick.
+	 * @param event
+	 */
+	@SubscribeEvent
+	public void onServerTick(TickEvent.ServerTickEvent event) {
+		if (event.phase != TickEvent.Phase.END) {
+			return;
+		}
+		messageBatcher.flush();
+
+		lastTickVisitedCount = visitedCount;
+		lastTickExecutedCount = executedCount;
+		totalVisitedCount += visitedCount;
+		totalExecutedCount += executedCount;
+		visitedCount = 0;
+		executedCount = 0;
+		if (++tickCount % STATS_INTERVAL == 0) {
+			Treasure.LOGGER.debug("scheduled charms visited -> {}, executed -> {} in the last {} ticks", totalVisitedCount, totalExecutedCount, STATS_INTERVAL);
+			totalVisitedCount = 0;
+			totalExecutedCount = 0;
+		}
+	}
 
-				// send state message to client
-				CharmMessageToClient message = new CharmMessageToClient(player.getUUID(player.getGameProfile()).toString(), context);
-				//				Treasure.logger.debug("Message to client -> {}", message);
-				Treasure.simpleNetworkWrapper.sendTo(message, player);
-			}
+	/**
+	 * 
+	 * @param event
+	 * @param player
+	 * @param charmSet
+	 * @param coords
+	 * @param context
+	 * @return whether the charm executed
+	 */
+	private boolean executeCharm(Event event, EntityPlayerMP player, ActiveCharmSet charmSet, ICoords coords, CharmContext context) {
+		boolean executed = false;
+		// if charm is executable and executes successfully
+		if (context.getEntity().getCharm().update(player.world, random, coords, player, event, context.getEntity())) {
+			executed = true;
+			// TODO handle the durability of the adornment
+			processUsage(player.world, player, event, context);
+
+			// queue the state for the client. sent at the end of the tick
+			messageBatcher.add(player, context);
+		}
 
-			// remove if innate and empty
-//			if (context.getType() ==InventoryType.INNATE
-//					&& context.getEntity().getMana() <= 0.0 && context.getCapability().isBindable()) {
-//				Treasure.logger.debug("charm is empty -> remove");
-//				// TODO call cap.remove() -> recalcs highestLevel
-//				// locate the charm from context and remove
-//				context.getCapability().remove(context.getType(), context.getIndex());
-//			}
-
-			// remove if mana AND recharges are empty and the capability is bindable ie. charm, not adornment
-			if (context.getCapability().isBindable() 
-					&& context.getEntity().getRecharges() <= 0
-					&& context.getEntity().getMana() <= 0.0 ) {
-				Treasure.LOGGER.debug("charm is empty without any recharges -> remove");
-				context.getCapability().remove(context.getType(), context.getIndex());
+		// remove if mana AND recharges are empty and the capability is bindable ie. charm, not adornment
+		if (context.getCapability().isBindable() 
+				&& context.getEntity().getRecharges() <= 0
+				&& context.getEntity().getMana() <= 0.0 ) {
+			Treasure.LOGGER.debug("charm is empty without any recharges -> remove");
+			// locate by identity as an earlier removal may have shifted the index
+			int entityIndex = ((List<ICharmEntity>) context.getCapability().getCharmEntities().get(context.getType())).indexOf(context.getEntity());
+			if (entityIndex >= 0) {
+				context.getCapability().remove(context.getType(), entityIndex);
 			}
-		});
+			charmSet.invalidate();
+		}
+		return executed;
 	}
 
 	private static void processUsage(World world, EntityPlayerMP player, Event event, CharmContext context) {
@@ -314,4 +338,20 @@ public class CharmEventHandler {
 		return equipmentCharmHandler;
 	}
 
+	/**
+	 * 
+	 * @return the number of scheduled charms that were due and visited on the last tick
+	 */
+	public int getLastTickVisitedCount() {
+		return lastTickVisitedCount;
+	}
+
+	/**
+	 * 
+	 * @return the number of scheduled charms that executed on the last tick
+	 */
+	public int getLastTickExecutedCount() {
+		return lastTickExecutedCount;
+	}
+
 }
@@ -0,0 +1,150 @@
+/**
+ *
+ */
+package com.someguyssoftware.treasure2.eventhandler;
+
+import java.util.Arrays;
+
+import com.someguyssoftware.treasure2.charm.CharmContext;
+import com.someguyssoftware.treasure2.charm.ICharm;
+import com.someguyssoftware.treasure2.charm.ICharmEntity;
+import com.someguyssoftware.treasure2.charm.ICooldownCharmEntity;
+
+/**
+ * A tick wheel of the LivingUpdateEvent charms of a player.
+ * Each charm is held in the bucket of the tick that it is next due on, so that an update only visits the charms that are due.
+ * Charms that are due further ahead than the size of the wheel stay in their bucket until the wheel comes around to their tick.
+ * The buckets are intrusive linked lists over the indices of the contexts, so scheduling and polling don't allocate.
+ */
+public class CharmWheel {
+	private static final int SIZE = 128;
+	private static final int MASK = SIZE - 1;
+	private static final int NONE = -1;
+
+	// the contexts in the order of execution
+	private final CharmContext[] contexts;
+	private final long[] dueTimes;
+	// the head of each bucket and the next index in the same bucket
+	private final int[] heads = new int[SIZE];
+	private final int[] next;
+	// scratch array of the due indices
+	private final int[] due;
+	// the last world time the wheel was polled, or Long.MIN_VALUE if it hasn't been started
+	private long lastTime = Long.MIN_VALUE;
+
+	/**
+	 *
+	 * @param contexts
+	 */
+	public CharmWheel(CharmContext[] contexts) {
+		this.contexts = contexts;
+		this.dueTimes = new long[contexts.length];
+		this.next = new int[contexts.length];
+		this.due = new int[contexts.length];
+		Arrays.fill(heads, NONE);
+	}
+
+	/**
+	 * Collects the charms that are due at the world time. Due charms are removed from the wheel and must be rescheduled.
+	 * @param worldTime
+	 * @return the number of due charms, whose indices are returned by getDue() in the order of execution
+	 */
+	public int poll(long worldTime) {
+		if (contexts.length == 0) {
+			return 0;
+		}
+		if (lastTime == Long.MIN_VALUE || worldTime < lastTime) {
+			// start (or restart if the time went backwards) with every charm due from now
+			Arrays.fill(heads, NONE);
+			for (int index = 0; index < contexts.length; index++) {
+				schedule(index, worldTime, worldTime);
+			}
+			lastTime = worldTime - 1;
+		}
+		if (worldTime == lastTime) {
+			return 0;
+		}
+
+		// visit every bucket since the last poll, as the player may not have been updated on every tick
+		int count = 0;
+		long fromTime = Math.max(lastTime + 1, worldTime - MASK);
+		for (long time = fromTime; time <= worldTime; time++) {
+			int bucket = (int)(time & MASK);
+			int index = heads[bucket];
+			heads[bucket] = NONE;
+			while (index != NONE) {
+				int nextIndex = next[index];
+				if (dueTimes[index] <= worldTime) {
+					due[count++] = index;
+				}
+				else {
+					// due on a later turn of the wheel
+					link(index, bucket);
+				}
+				index = nextIndex;
+			}
+		}
+		lastTime = worldTime;
+
+		// restore the order of execution
+		Arrays.sort(due, 0, count);
+		return count;
+	}
+
+	/**
+	 *
+	 * @return the indices of the due charms. valid until the next poll.
+	 */
+	public int[] getDue() {
+		return due;
+	}
+
+	/**
+	 *
+	 * @param index
+	 * @return
+	 */
+	public CharmContext getContext(int index) {
+		return contexts[index];
+	}
+
+	/**
+	 * Schedules the charm for the first tick after the world time that it is due on.
+	 * A cooldown charm is not scheduled before its cooldown has ended.
+	 * @param index
+	 * @param worldTime
+	 */
+	public void reschedule(int index, long worldTime) {
+		long fromTime = worldTime + 1;
+		ICharmEntity entity = contexts[index].getEntity();
+		if (entity instanceof ICooldownCharmEntity && entity.getCooldown() > 0.0) {
+			// cooldown charms are executable once the world time is greater than the cooldown end
+			fromTime = Math.max(fromTime, (long)Math.floor(((ICooldownCharmEntity) entity).getCooldownEnd()) + 1);
+		}
+		schedule(index, fromTime, worldTime);
+	}
+
+	/**
+	 *
+	 * @param index
+	 * @param fromTime
+	 * @param worldTime
+	 */
+	private void schedule(int index, long fromTime, long worldTime) {
+		ICharmEntity entity = contexts[index].getEntity();
+		ICharm charm = entity.getCharm();
+		long dueTime = Math.max(charm.getNextUpdateTime(fromTime, entity), worldTime);
+		dueTimes[index] = dueTime;
+		link(index, (int)(dueTime & MASK));
+	}
+
+	/**
+	 *
+	 * @param index
+	 * @param bucket
+	 */
+	private void link(int index, int bucket) {
+		next[index] = heads[bucket];
+		heads[bucket] = index;
+	}
+}
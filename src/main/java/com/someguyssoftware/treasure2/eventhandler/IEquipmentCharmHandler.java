@@ -19,13 +19,8 @@
  */
 package com.someguyssoftware.treasure2.eventhandler;
 
-import java.util.List;
-
-import com.someguyssoftware.treasure2.charm.CharmContext;
-
 import net.minecraft.entity.player.EntityPlayerMP;
-import net.minecraftforge.fml.common.eventhandler.Event;
-
+import net.minecraft.item.ItemStack;
 
 /**
  * 
@@ -34,5 +29,24 @@ import net.minecraftforge.fml.common.eventhandler.Event;
  */
 public interface IEquipmentCharmHandler {
 
-	public List<CharmContext> handleEquipmentCharms(Event event, EntityPlayerMP player);
+	/**
+	 * Adds the charms of the player's equipment to the active charm set builder.
+	 * @param player
+	 * @param builder
+	 */
+	public void gatherEquipmentCharms(EntityPlayerMP player, ActiveCharmSet.Builder builder);
+
+	/**
+	 * 
+	 * @return the number of equipment slots that charms are gathered from
+	 */
+	public int getSlotCount();
+
+	/**
+	 * Must not allocate, as it is called on every update to check if the player's equipment has changed.
+	 * @param player
+	 * @param index the index of the equipment slot, 0 to getSlotCount() - 1
+	 * @return
+	 */
+	public ItemStack getStackInSlot(EntityPlayerMP player, int index);
 }
\ No newline at end of file
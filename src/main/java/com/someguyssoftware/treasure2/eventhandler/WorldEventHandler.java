@@ -4,6 +4,7 @@
 package com.someguyssoftware.treasure2.eventhandler;
 
 import java.util.Map.Entry;
+import java.util.concurrent.TimeUnit;
 
 import com.someguyssoftware.gottschcore.mod.IMod;
 import com.someguyssoftware.gottschcore.world.WorldInfo;
@@ -14,7 +15,11 @@ import com.someguyssoftware.treasure2.persistence.GenDataPersistence;
 import com.someguyssoftware.treasure2.registry.ChestRegistry;
 import com.someguyssoftware.treasure2.registry.TreasureDecayRegistry;
 import com.someguyssoftware.treasure2.registry.TreasureMetaRegistry;
+import com.someguyssoftware.treasure2.registry.TreasureResourceLoader;
 import com.someguyssoftware.treasure2.registry.TreasureTemplateRegistry;
+import com.someguyssoftware.treasure2.tileentity.MistHazardService;
+import com.someguyssoftware.treasure2.tileentity.ProximityTriggerService;
+import com.someguyssoftware.treasure2.worldgen.GenerationQueue;
 import com.someguyssoftware.treasure2.worldgen.ITreasureWorldGenerator;
 
 import net.minecraft.util.ResourceLocation;
@@ -29,6 +34,7 @@ import net.minecraftforge.event.LootTableLoadEvent;
 import net.minecraftforge.event.world.WorldEvent;
 import net.minecraftforge.fml.common.eventhandler.EventPriority;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
 
 /**
  * @author Mark Gottschling on Jun 29, 2018
@@ -58,10 +64,15 @@ public class WorldEventHandler {
 			WorldServer world = (WorldServer) event.getWorld();
 			
 			// execute registry's event handler
+			long startTime = System.nanoTime();
 			TreasureLootTableRegistry.onWorldLoad(event);
+			Treasure.LOGGER.info("loaded loot tables in {} ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+			// meta, templates and decay are parsed off-thread and registered on a later server tick or when first required
+			startTime = System.nanoTime();
 			TreasureMetaRegistry.onWorldLoad(event);
 			TreasureTemplateRegistry.onWorldLoad(event);
 			TreasureDecayRegistry.onWorldLoad(event);
+			Treasure.LOGGER.info("submitted meta, template and decay resources in {} ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
 
 			// register files with their respective managers
 //			Treasure.META_MANAGER.register(getMod().getId());
@@ -78,17 +89,56 @@ public class WorldEventHandler {
 			/*
 			 * un-load the chest registry
 			 */
-			Treasure.LOGGER.debug("Chest registry size BEFORE cleaning -> {}", ChestRegistry.getInstance().getValues().size());
+			Treasure.LOGGER.debug("Chest registry size BEFORE cleaning -> {}", ChestRegistry.getInstance().size());
 			ChestRegistry.getInstance().clear();	
-			Treasure.LOGGER.debug("Chest registry size AFTER cleaning -> {}", ChestRegistry.getInstance().getValues().size());
+			Treasure.LOGGER.debug("Chest registry size AFTER cleaning -> {}", ChestRegistry.getInstance().size());
 
 			GenDataPersistence.get(world);			
-			Treasure.LOGGER.debug("Chest registry size after world event load -> {}", ChestRegistry.getInstance().getValues().size());
+			Treasure.LOGGER.debug("Chest registry size after world event load -> {}", ChestRegistry.getInstance().size());
 		}	
 	}
 
+	/**
+	 * Registers the meta, template and decay resources once they have finished loading.
+	 * @param event
+	 */
+	@SubscribeEvent
+	public void onServerTick(TickEvent.ServerTickEvent event) {
+		if (event.phase == TickEvent.Phase.END) {
+			TreasureResourceLoader.tick();
+		}
+	}
+
+	/**
+	 * Evaluates the players against the proximity triggers and mist hazards of the world,
+	 * and generates the queued structures of the world.
+	 * @param event
+	 */
+	@SubscribeEvent
+	public void onWorldTick(TickEvent.WorldTickEvent event) {
+		if (event.phase == TickEvent.Phase.END && WorldInfo.isServerSide(event.world)) {
+			ProximityTriggerService.get(event.world).tick(event.world);
+			MistHazardService.get(event.world).tick(event.world);
+			GenerationQueue.get(event.world).tick(event.world);
+		}
+	}
+
+	/**
+	 * 
+	 * @param event
+	 */
+	@SubscribeEvent
+	public void onWorldUnload(WorldEvent.Unload event) {
+		if (WorldInfo.isServerSide(event.getWorld())) {
+			ProximityTriggerService.unload(event.getWorld());
+			MistHazardService.unload(event.getWorld());
+			GenerationQueue.unload(event.getWorld());
+		}
+	}
+
 	@SubscribeEvent
 	public void lootLoad(LootTableLoadEvent event) {
+		TreasureLootTableRegistry.onLootTableLoad(event);
 		if (event.getName().toString().equals(LootTableList.CHESTS_SIMPLE_DUNGEON.toString()/*"minecraft:chests/simple_dungeon"*/)) {
 
 			// load a loot table
@@ -0,0 +1,228 @@
+/**
+ *
+ */
+package com.someguyssoftware.treasure2.generator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.someguyssoftware.gottschcore.positional.ICoords;
+import com.someguyssoftware.treasure2.Treasure;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongList;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
+import net.minecraft.block.Block;
+import net.minecraft.block.material.Material;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+
+/**
+ * Collects the block edits of a generator and places them into the world in one pass.
+ * Reads through the buffer see the pending edits, so a generator can test the blocks it has already queued.
+ * On flush the edits are grouped by chunk section and written directly to the chunk, without neighbour
+ * notifications. The chunk updates the sky light of each changed column as the block is set; the block light checks
+ * that World.setBlockState() would make after each block are instead made after all the edits have been placed,
+ * and only for the blocks whose light opacity or light value changed.
+ * Not thread-safe. A buffer belongs to a single generation call.
+ */
+public class BlockPlacementBuffer {
+	// send the change to the clients, but don't notify neighbours or observers, as is appropriate for world generation
+	public static final int GENERATION_FLAGS = 2 | 16;
+
+	private final World world;
+	// pending edits by BlockPos.toLong(), in the order they were queued. a later edit of the same pos replaces the earlier
+	private final Long2ObjectLinkedOpenHashMap<IBlockState> edits = new Long2ObjectLinkedOpenHashMap<>();
+	private final BlockPos.MutableBlockPos mutablePos = new BlockPos.MutableBlockPos();
+	// run after the edits have been placed, in the order they were queued
+	private final List<Runnable> flushActions = new ArrayList<>();
+
+	/**
+	 *
+	 * @param world
+	 */
+	public BlockPlacementBuffer(World world) {
+		this.world = world;
+	}
+
+	/**
+	 *
+	 * @param coords
+	 * @return the pending state at the coords, or the state in the world if there is no pending edit
+	 */
+	public IBlockState getBlockState(ICoords coords) {
+		long key = mutablePos.setPos(coords.getX(), coords.getY(), coords.getZ()).toLong();
+		IBlockState state = edits.get(key);
+		return state != null ? state : world.getBlockState(mutablePos);
+	}
+
+	/**
+	 *
+	 * @param coords
+	 * @return
+	 */
+	public boolean isAir(ICoords coords) {
+		return getBlockState(coords).getMaterial() == Material.AIR;
+	}
+
+	/**
+	 *
+	 * @param coords
+	 * @return
+	 */
+	public boolean isReplaceable(ICoords coords) {
+		return getBlockState(coords).getMaterial().isReplaceable();
+	}
+
+	/**
+	 * Queues an edit.
+	 * @param coords
+	 * @param state
+	 */
+	public void setBlockState(ICoords coords, IBlockState state) {
+		edits.put(mutablePos.setPos(coords.getX(), coords.getY(), coords.getZ()).toLong(), state);
+	}
+
+	/**
+	 * Queues an edit if the current block is not air.
+	 * @param coords
+	 * @param state
+	 * @return whether the edit was queued
+	 */
+	public boolean replaceWithBlockState(ICoords coords, IBlockState state) {
+		// don't change if old block is air
+		if (isAir(coords)) {
+			return false;
+		}
+		setBlockState(coords, state);
+		return true;
+	}
+
+	/**
+	 * Queues an edit of the block's default state if the current block is not air.
+	 * @param coords
+	 * @param block
+	 * @return whether the edit was queued
+	 */
+	public boolean replaceWithBlock(ICoords coords, Block block) {
+		return replaceWithBlockState(coords, block.getDefaultState());
+	}
+
+	/**
+	 * Queues an action that is run once the pending edits have been placed, ex. to set up the tile entity of a queued block.
+	 * @param action
+	 */
+	public void onFlush(Runnable action) {
+		flushActions.add(action);
+	}
+
+	/**
+	 * Places all the pending edits into the world, runs the queued actions and clears the buffer.
+	 */
+	public void flush() {
+		if (edits.isEmpty()) {
+			runFlushActions();
+			return;
+		}
+		long startTime = System.nanoTime();
+
+		// group the edits by chunk section
+		Long2ObjectLinkedOpenHashMap<LongList> sections = new Long2ObjectLinkedOpenHashMap<>();
+		for (long key : edits.keySet()) {
+			BlockPos pos = BlockPos.fromLong(key);
+			long sectionKey = toSectionKey(pos.getX() >> 4, pos.getY() >> 4, pos.getZ() >> 4);
+			LongList list = sections.get(sectionKey);
+			if (list == null) {
+				list = new LongArrayList();
+				sections.put(sectionKey, list);
+			}
+			list.add(key);
+		}
+
+		// place the edits, section by section
+		LongList relight = new LongArrayList();
+		Chunk chunk = null;
+		int placed = 0;
+		ObjectIterator<Long2ObjectMap.Entry<LongList>> iterator = sections.long2ObjectEntrySet().iterator();
+		while (iterator.hasNext()) {
+			LongList keys = iterator.next().getValue();
+			for (int index = 0; index < keys.size(); index++) {
+				long key = keys.getLong(index);
+				BlockPos pos = BlockPos.fromLong(key);
+				if (pos.getY() < 0 || pos.getY() >= 256) {
+					continue;
+				}
+				if (chunk == null || chunk.x != pos.getX() >> 4 || chunk.z != pos.getZ() >> 4) {
+					chunk = world.getChunkFromBlockCoords(pos);
+				}
+				IBlockState state = edits.get(key);
+				IBlockState oldState = chunk.setBlockState(pos, state);
+				if (oldState == null) {
+					// unchanged
+					continue;
+				}
+				placed++;
+				if (oldState.getLightOpacity(world, pos) != state.getLightOpacity(world, pos)
+						|| oldState.getLightValue(world, pos) != state.getLightValue(world, pos)) {
+					relight.add(key);
+				}
+				if (chunk.isPopulated()) {
+					world.notifyBlockUpdate(pos, oldState, state, GENERATION_FLAGS);
+				}
+			}
+		}
+
+		// the block light checks of World.setBlockState(), deferred until all the edits are placed
+		for (int index = 0; index < relight.size(); index++) {
+			world.checkLight(BlockPos.fromLong(relight.getLong(index)));
+		}
+
+		Treasure.LOGGER.debug("placed {} of {} blocks in {} sections, relit {}, in {} ms", placed, edits.size(), sections.size(),
+				relight.size(), (System.nanoTime() - startTime) / 1000000.0);
+		edits.clear();
+		runFlushActions();
+	}
+
+	/**
+	 *
+	 */
+	private void runFlushActions() {
+		// an action may queue further edits, which are placed by the next flush
+		List<Runnable> actions = new ArrayList<>(flushActions);
+		flushActions.clear();
+		for (Runnable action : actions) {
+			action.run();
+		}
+	}
+
+	/**
+	 *
+	 * @param sectionX
+	 * @param sectionY
+	 * @param sectionZ
+	 * @return
+	 */
+	private static long toSectionKey(int sectionX, int sectionY, int sectionZ) {
+		return ((long)(sectionX & 0x3FFFFFF) << 38) | ((long)(sectionZ & 0x3FFFFFF) << 12) | (sectionY & 0xFFF);
+	}
+
+	/**
+	 *
+	 * @return the number of pending edits
+	 */
+	public int size() {
+		return edits.size();
+	}
+
+	public boolean isEmpty() {
+		return edits.isEmpty() && flushActions.isEmpty();
+	}
+
+	public World getWorld() {
+		return world;
+	}
+}
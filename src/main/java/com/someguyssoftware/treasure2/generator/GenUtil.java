@@ -3,7 +3,6 @@
  */
 package com.someguyssoftware.treasure2.generator;
 
-import java.util.List;
 import java.util.Random;
 
 import com.someguyssoftware.gottschcore.cube.Cube;
@@ -16,10 +15,10 @@ import com.someguyssoftware.treasure2.Treasure;
 import com.someguyssoftware.treasure2.block.AbstractChestBlock;
 import com.someguyssoftware.treasure2.block.SkeletonBlock;
 import com.someguyssoftware.treasure2.block.TreasureBlocks;
-import com.someguyssoftware.treasure2.chest.ChestInfo;
 import com.someguyssoftware.treasure2.registry.ChestRegistry;
 import com.someguyssoftware.treasure2.registry.TreasureTemplateRegistry;
 import com.someguyssoftware.treasure2.tileentity.AbstractTreasureChestTileEntity;
+import com.someguyssoftware.treasure2.worldgen.ColumnCache;
 
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockChest;
@@ -269,7 +268,7 @@ public class GenUtil {
 
 			spawnCoords = new Coords(surfaceCoords.getX(), ySpawn, surfaceCoords.getZ());
 			// get floor pos (if in a cavern or tunnel etc)
-			spawnCoords = WorldInfo.getDryLandSurfaceCoords(world, spawnCoords);
+			spawnCoords = ColumnCache.getDryLandSurfaceCoords(world, spawnCoords);
 		}
 		return spawnCoords;
 	}
@@ -361,28 +360,8 @@ public class GenUtil {
 	 * @return
 	 */
 	public static boolean isRegisteredChestWithinDistance(World world, ICoords coords, int minDistance) {
-
-		double minDistanceSq = minDistance * minDistance;
-
-		// get a list of chests
-		List<ChestInfo> infos = ChestRegistry.getInstance().getValues();
-
-		if (infos == null || infos.size() == 0) {
-			Treasure.LOGGER
-					.debug("Unable to locate the ChestConfig Registry or the Registry doesn't contain any values");
-			return false;
-		}
-
-		Treasure.LOGGER.debug("Min distance Sq -> {}", minDistanceSq);
-		for (ChestInfo info : infos) {
-			// calculate the distance to the poi
-			double distance = coords.getDistanceSq(info.getCoords());
-			Treasure.LOGGER.debug("ChestConfig dist^2: " + distance);
-			if (distance < minDistanceSq) {
-				return true;
-			}
-		}
-		return false;
+		// query the dimension's proximity index
+		return ChestRegistry.getInstance().findWithin(world.provider.getDimension(), coords, minDistance) != null;
 	}
 
 }
\ No newline at end of file
@@ -62,10 +62,7 @@ public class CommonChestGenerator implements IChestGenerator {
 	@Override
 	public List<LootTableShell> buildLootTableList2(final Rarity chestRarity) {
 		// get all loot tables by column key
-		List<LootTableShell> tables = new ArrayList<>();
-		tables.addAll(TreasureLootTableRegistry.getLootTableMaster().getLootTableByRarity(Rarity.COMMON));
-		tables.addAll(TreasureLootTableRegistry.getLootTableMaster().getLootTableByRarity(Rarity.UNCOMMON));
-		return tables;
+		return TreasureLootTableRegistry.getLootPlan().getChestLootTables(Rarity.COMMON, Rarity.UNCOMMON);
 	}	
 	
 	/**
@@ -14,7 +14,6 @@ import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import com.google.common.collect.Lists;
-import com.someguyssoftware.gottschcore.loot.LootPoolShell;
 import com.someguyssoftware.gottschcore.loot.LootTableShell;
 import com.someguyssoftware.gottschcore.positional.ICoords;
 import com.someguyssoftware.gottschcore.random.RandomHelper;
@@ -35,7 +34,7 @@ import com.someguyssoftware.treasure2.generator.marker.StructureMarkerGenerator;
 import com.someguyssoftware.treasure2.item.LockItem;
 import com.someguyssoftware.treasure2.item.TreasureItems;
 import com.someguyssoftware.treasure2.lock.LockState;
-import com.someguyssoftware.treasure2.loot.TreasureLootTableMaster2;
+import com.someguyssoftware.treasure2.loot.LootPlan;
 import com.someguyssoftware.treasure2.loot.TreasureLootTableRegistry;
 import com.someguyssoftware.treasure2.tileentity.AbstractTreasureChestTileEntity;
 
@@ -49,8 +48,6 @@ import net.minecraft.util.ResourceLocation;
 import net.minecraft.world.World;
 import net.minecraft.world.WorldServer;
 import net.minecraft.world.storage.loot.LootContext;
-import net.minecraft.world.storage.loot.LootPool;
-import net.minecraft.world.storage.loot.LootTable;
 
 /**
  * @author Mark Gottschling on Dec 4, 2019
@@ -142,11 +139,11 @@ public interface IChestGenerator {
 	
 	// TODO this should be a generic call that passes in ManagedTableType
 	default public List<LootTableShell> buildLootTableList2(Rarity rarity) {
-		return TreasureLootTableRegistry.getLootTableMaster().getLootTableByRarity(TreasureLootTableMaster2.ManagedTableType.CHEST, rarity);
+		return TreasureLootTableRegistry.getLootPlan().getChestLootTables(rarity);
 	}
 
 	default public Optional<List<LootTableShell>> buildInjectedLootTableList(String key, Rarity rarity) {
-		return Optional.ofNullable(TreasureLootTableRegistry.getLootTableMaster().getLootTableByKeyRarity(TreasureLootTableMaster2.ManagedTableType.INJECT, key, rarity));
+		return Optional.ofNullable(TreasureLootTableRegistry.getLootPlan().getInjectLootTables(key, rarity));
 	}
 	
 	/**
@@ -209,12 +206,13 @@ public interface IChestGenerator {
 		}
 		Treasure.LOGGER.debug("loot table resource -> {}", lootTableResourceLocation); 
 		
-		LootTable lootTable = world.getLootTableManager().getLootTableFromLocation(lootTableResourceLocation);
-		if (lootTable == null) {
+		// the loot table and its pools are resolved once, by the loot plan
+		LootPlan.ChestLoot chestLoot = TreasureLootTableRegistry.getLootPlan().getChestLoot(lootTableResourceLocation);
+		if (chestLoot == null) {
 			LOGGER.warn("Unable to select a lootTable.");
 			return;
 		}		
-		Treasure.LOGGER.debug("selected loot table -> {} from resource -> {}", lootTable, lootTableResourceLocation);
+		Treasure.LOGGER.debug("selected loot table -> {} from resource -> {}", chestLoot.getLootTable(), lootTableResourceLocation);
 		
 		// update rarity from lootTableShell		
 		Rarity effectiveRarity = TreasureLootTableRegistry.getLootTableMaster().getEffectiveRarity(lootTableShell.get(), rarity);		
@@ -224,15 +222,6 @@ public interface IChestGenerator {
 		List<ItemStack> treasureStacks = new ArrayList<>();
 		List<ItemStack> itemStacks = new ArrayList<>();
 		
-		/*
-		 * Using per loot table file - category strategy (instead of per pool strategy)
-		 */
-		// get a list of loot pools
-		List<LootPoolShell> lootPoolShells = lootTableShell.get().getPools();
-		if (lootPoolShells != null && lootPoolShells.size() > 0) {
-			LOGGER.debug("# of pools -> {}", lootPoolShells.size());
-		}
-		
 		// setup context
 		LootContext lootContext = null;
 		if (player == null) {
@@ -245,20 +234,11 @@ public interface IChestGenerator {
 				.build();
 		}
 		
-		for (LootPoolShell pool : lootPoolShells) {
-			LOGGER.debug("processing pool -> {}", pool.getName());
-			// go get the vanilla managed pool
-			LootPool lootPool = lootTable.getPool(pool.getName());
-			
-			// geneate loot from pools
-			if (pool.getName().equalsIgnoreCase("treasure") || pool.getName().equalsIgnoreCase("charms")) {
-				LOGGER.debug("processing 'treasure|charm' pool -> {}", pool.getName());
-				lootPool.generateLoot(treasureStacks, random, lootContext);
-			}
-			else {
-				lootPool.generateLoot(itemStacks, random, lootContext);
-			}
-		}
+		/*
+		 * Using per loot table file - category strategy (instead of per pool strategy)
+		 */
+		// geneate loot from pools. the 'treasure' and 'charms' pools generate the treasure stacks
+		chestLoot.generateLoot(random, lootContext, treasureStacks, itemStacks);
 		LOGGER.debug("size of treasure stacks -> {}", treasureStacks.size());
 		LOGGER.debug("size of item stacks -> {}", itemStacks.size());
 		
@@ -268,11 +248,14 @@ public interface IChestGenerator {
 		// TODO move to separate method
 		// fetch all injected loot tables by category/rarity
 		LOGGER.debug("searching for injectable tables for category ->{}, rarity -> {}", lootTableShell.get().getCategory(), effectiveRarity);
-		Optional<List<LootTableShell>> injectLootTableShells = buildInjectedLootTableList(lootTableShell.get().getCategory(), effectiveRarity);
-		if (injectLootTableShells.isPresent()) {
+		// the inject loot tables and their pools are resolved once, by the loot plan
+		List<LootPlan.ChestLoot> injectLoot = TreasureLootTableRegistry.getLootPlan().getInjectLoot(lootTableShell.get().getCategory(), effectiveRarity);
+		if (!injectLoot.isEmpty()) {
 			LOGGER.debug("found injectable tables for category ->{}, rarity -> {}", lootTableShell.get().getCategory(), effectiveRarity);
-			LOGGER.debug("size of injectable tables -> {}", injectLootTableShells.get().size());
-			itemStacks.addAll(TreasureLootTableRegistry.getLootTableMaster().getInjectedLootItems(world, random, injectLootTableShells.get(), lootContext));
+			LOGGER.debug("size of injectable tables -> {}", injectLoot.size());
+			for (LootPlan.ChestLoot loot : injectLoot) {
+				loot.generateLoot(random, lootContext, itemStacks);
+			}
 		}
 		
 		// add the treasure items to the chest
@@ -44,10 +44,7 @@ public class RareChestGenerator implements IChestGenerator {
 	@Override
 	public List<LootTableShell> buildLootTableList2(final Rarity chestRarity) {
 		// get all loot tables by column key
-		List<LootTableShell> tables = new ArrayList<>();
-		tables.addAll(TreasureLootTableRegistry.getLootTableMaster().getLootTableByRarity(Rarity.SCARCE));
-		tables.addAll(TreasureLootTableRegistry.getLootTableMaster().getLootTableByRarity(Rarity.RARE));
-		return tables;
+		return TreasureLootTableRegistry.getLootPlan().getChestLootTables(Rarity.SCARCE, Rarity.RARE);
 	}	
 	
 	/**
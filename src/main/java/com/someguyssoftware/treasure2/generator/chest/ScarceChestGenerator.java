@@ -47,10 +47,7 @@ public class ScarceChestGenerator implements IChestGenerator {
 	@Override
 	public List<LootTableShell> buildLootTableList2(final Rarity chestRarity) {
 		// get all loot tables by column key
-		List<LootTableShell> tables = new ArrayList<>();
-		tables.addAll(TreasureLootTableRegistry.getLootTableMaster().getLootTableByRarity(Rarity.UNCOMMON));
-		tables.addAll(TreasureLootTableRegistry.getLootTableMaster().getLootTableByRarity(Rarity.SCARCE));
-		return tables;
+		return TreasureLootTableRegistry.getLootPlan().getChestLootTables(Rarity.UNCOMMON, Rarity.SCARCE);
 	}	
 	
 	/**
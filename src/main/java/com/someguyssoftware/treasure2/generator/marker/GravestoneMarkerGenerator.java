@@ -22,6 +22,7 @@ import com.someguyssoftware.treasure2.generator.GenUtil;
 import com.someguyssoftware.treasure2.generator.GeneratorData;
 import com.someguyssoftware.treasure2.generator.GeneratorResult;
 import com.someguyssoftware.treasure2.tileentity.GravestoneProximitySpawnerTileEntity;
+import com.someguyssoftware.treasure2.worldgen.ColumnCache;
 
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockContainer;
@@ -79,7 +80,7 @@ public class GravestoneMarkerGenerator implements IMarkerGenerator<GeneratorResu
 			int zSpawn = z + (random.nextInt(gridSize) * (random.nextInt(3) - 1)); // -1|0|1
 
 			// get the "surface" y
-			int ySpawn = WorldInfo.getHeightValue(world, new Coords(xSpawn, 0, zSpawn));
+			int ySpawn = ColumnCache.getHeightValue(world, xSpawn, zSpawn);
 			ICoords spawnCoords = new Coords(xSpawn, ySpawn, zSpawn);
 
 			// determine if valid y
@@ -89,7 +90,7 @@ public class GravestoneMarkerGenerator implements IMarkerGenerator<GeneratorResu
 			}
 
 			// get a valid surface location
-			spawnCoords = WorldInfo.getDryLandSurfaceCoords(world, spawnCoords);
+			spawnCoords = ColumnCache.getDryLandSurfaceCoords(world, spawnCoords);
 			if (spawnCoords == null) {
 				LOGGER.debug(String.format("Not a valid surface @ %s", coords));
 				continue;
@@ -133,8 +134,10 @@ public class GravestoneMarkerGenerator implements IMarkerGenerator<GeneratorResu
 			if (marker instanceof SkeletonBlock) {
 				LOGGER.debug("should be placing skeleton block -> {}", spawnCoords.toShortString());
 				GenUtil.placeSkeleton(world, random, spawnCoords);
+				ColumnCache.invalidate();
 			} else {
 				world.setBlockState(spawnCoords.toPos(), marker.getDefaultState().withProperty(AbstractChestBlock.FACING, facing));
+				ColumnCache.invalidate(spawnCoords);
 			}
 
 			// update the tile entity if any
@@ -42,6 +42,8 @@ import net.minecraftforge.common.DungeonHooks;
  *
  */
 public class StructureMarkerGenerator implements IMarkerGenerator<GeneratorResult<GeneratorData>> {
+	// shared by all structure markers
+	private static final TemplateGenerator TEMPLATE_GENERATOR = new TemplateGenerator();
 
 	/**
 	 * 
@@ -103,7 +105,7 @@ public class StructureMarkerGenerator implements IMarkerGenerator<GeneratorResul
 		}
 
 		// generate the structure
-		GeneratorResult<TemplateGeneratorData> genResult = new TemplateGenerator().generate(world, random, holder, placement, spawnCoords);
+		GeneratorResult<TemplateGeneratorData> genResult = TEMPLATE_GENERATOR.generate(world, random, holder, placement, spawnCoords);
 		if (!genResult.isSuccess()) return result.fail();
 
 		// interrogate info for spawners and any other special block processing (except chests that are handler by caller
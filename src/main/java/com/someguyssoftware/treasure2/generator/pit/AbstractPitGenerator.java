@@ -2,17 +2,17 @@ package com.someguyssoftware.treasure2.generator.pit;
 
 import java.util.Random;
 
-import com.someguyssoftware.gottschcore.cube.Cube;
 import com.someguyssoftware.gottschcore.measurement.Quantity;
 import com.someguyssoftware.gottschcore.positional.Coords;
 import com.someguyssoftware.gottschcore.positional.ICoords;
 import com.someguyssoftware.gottschcore.random.RandomWeightedCollection;
 import com.someguyssoftware.treasure2.Treasure;
 import com.someguyssoftware.treasure2.block.TreasureBlocks;
+import com.someguyssoftware.treasure2.generator.BlockPlacementBuffer;
 import com.someguyssoftware.treasure2.generator.ChestGeneratorData;
-import com.someguyssoftware.treasure2.generator.GenUtil;
 import com.someguyssoftware.treasure2.generator.GeneratorResult;
 import com.someguyssoftware.treasure2.tileentity.ProximitySpawnerTileEntity;
+import com.someguyssoftware.treasure2.worldgen.ColumnCache;
 
 import net.minecraft.block.Block;
 import net.minecraft.block.material.Material;
@@ -54,28 +54,28 @@ public abstract class AbstractPitGenerator implements IPitGenerator<GeneratorRes
 	 * 
 	 */
 	@Override
-	public boolean generateBase(World world, Random random, ICoords surfaceCorods, ICoords spawnCoords) {
+	public boolean generateBase(BlockPlacementBuffer buffer, Random random, ICoords surfaceCorods, ICoords spawnCoords) {
 		// at chest level
-		buildLayer(world, spawnCoords, Blocks.AIR);
+		buildLayer(buffer, spawnCoords, Blocks.AIR);
 		
 		// above the chest
-		buildAboveChestLayers(world, random, spawnCoords);
+		buildAboveChestLayers(buffer, random, spawnCoords);
 		
 		return true;
 	}
 	
 	@Override
-	public boolean generatePit(World world, Random random, ICoords surfaceCoords, ICoords spawnCoords) {
-		buildPit(world, random, spawnCoords, surfaceCoords, getBlockLayers());
+	public boolean generatePit(BlockPlacementBuffer buffer, Random random, ICoords surfaceCoords, ICoords spawnCoords) {
+		buildPit(buffer, random, spawnCoords, surfaceCoords, getBlockLayers());
 		return true;
 	}
 	
 	@Override
-	public boolean generateEntrance(World world, Random random, ICoords surfaceCoords, ICoords spawnCoords) {
+	public boolean generateEntrance(BlockPlacementBuffer buffer, Random random, ICoords surfaceCoords, ICoords spawnCoords) {
 		// pit enterance
-		buildLogLayer(world, random, surfaceCoords.add(0, -3, 0), Blocks.LOG);
-		buildLayer(world, surfaceCoords.add(0, -4, 0), Blocks.SAND);
-		buildLogLayer(world, random, surfaceCoords.add(0, -5, 0), Blocks.LOG);
+		buildLogLayer(buffer, random, surfaceCoords.add(0, -3, 0), Blocks.LOG);
+		buildLayer(buffer, surfaceCoords.add(0, -4, 0), Blocks.SAND);
+		buildLogLayer(buffer, random, surfaceCoords.add(0, -5, 0), Blocks.LOG);
 		return true;
 	}
 	
@@ -107,7 +107,7 @@ public abstract class AbstractPitGenerator implements IPitGenerator<GeneratorRes
 
 		if (inCavern) {
 			Treasure.LOGGER.debug("Shaft is in cavern... finding ceiling.");
-			spawnCoords = GenUtil.findUndergroundCeiling(world, spawnCoords.add(0, 1, 0));
+			spawnCoords = ColumnCache.findUndergroundCeiling(world, spawnCoords.add(0, 1, 0));
 			if (spawnCoords == null) {
 				Treasure.LOGGER.warn("Exiting: Unable to locate cavern ceiling.");
 				return result.fail();
@@ -123,14 +123,16 @@ public abstract class AbstractPitGenerator implements IPitGenerator<GeneratorRes
 	
 		if (yDist > getMinSurfaceToSpawnDistance()) {			
 			Treasure.LOGGER.debug("Generating shaft @ " + spawnCoords.toShortString());
+			BlockPlacementBuffer buffer = new BlockPlacementBuffer(world);
 
-			generateBase(world, random, surfaceCoords, spawnCoords);
+			generateBase(buffer, random, surfaceCoords, spawnCoords);
 			
 			// pit enterance
-			generateEntrance(world, random, surfaceCoords, spawnCoords);
+			generateEntrance(buffer, random, surfaceCoords, spawnCoords);
 
 			// build the pit
-			generatePit(world, random, surfaceCoords, spawnCoords);
+			generatePit(buffer, random, surfaceCoords, spawnCoords);
+			buffer.flush();
 		}			
 		// shaft is only 2-6 blocks long - can only support small covering
 		else if (yDist >= 2) {
@@ -151,25 +153,26 @@ public abstract class AbstractPitGenerator implements IPitGenerator<GeneratorRes
 
 	/**
 	 * 
-	 * @param world
+	 * @param buffer
 	 * @param spawnCoords
 	 */
-	public void buildAboveChestLayers(World world, Random random, ICoords spawnCoords) {
-		buildLayer(world, spawnCoords.add(0, 1, 0), Blocks.AIR);
-		buildLayer(world, spawnCoords.add(0, 2, 0), Blocks.AIR);
-		buildLogLayer(world, random, spawnCoords.add(0, 3, 0), Blocks.LOG);
-		buildLayer(world, spawnCoords.add(0, 4, 0), Blocks.SAND);
+	public void buildAboveChestLayers(BlockPlacementBuffer buffer, Random random, ICoords spawnCoords) {
+		buildLayer(buffer, spawnCoords.add(0, 1, 0), Blocks.AIR);
+		buildLayer(buffer, spawnCoords.add(0, 2, 0), Blocks.AIR);
+		buildLogLayer(buffer, random, spawnCoords.add(0, 3, 0), Blocks.LOG);
+		buildLayer(buffer, spawnCoords.add(0, 4, 0), Blocks.SAND);
 	}
 
 	/**
-	 * 
-	 * @param world
+	 * Queues the pit into the buffer.
+	 * @param buffer
 	 * @param random
-	 * @param spawnCoords
+	 * @param coords
 	 * @param surfaceCoords
+	 * @param col
 	 * @return
 	 */
-	public ICoords buildPit(World world, Random random, ICoords coords, ICoords surfaceCoords, RandomWeightedCollection<Block> col) {
+	public ICoords buildPit(BlockPlacementBuffer buffer, Random random, ICoords coords, ICoords surfaceCoords, RandomWeightedCollection<Block> col) {
 		ICoords nextCoords = null;
 		ICoords expectedCoords = null;
 		
@@ -177,8 +180,8 @@ public abstract class AbstractPitGenerator implements IPitGenerator<GeneratorRes
 		for (int yIndex = coords.getY() + getOffsetY(); yIndex <= surfaceCoords.getY() - SURFACE_OFFSET_Y; yIndex++) {
 			
 			// if the block to be replaced is air block then skip to the next pos
-			Cube cube = new Cube(world, new Coords(coords.getX(), yIndex, coords.getZ()));
-			if (cube.isAir()) {
+			ICoords layerCoords = new Coords(coords.getX(), yIndex, coords.getZ());
+			if (buffer.isAir(layerCoords)) {
 				continue;
 			}
 			
@@ -186,13 +189,13 @@ public abstract class AbstractPitGenerator implements IPitGenerator<GeneratorRes
 			Block block = col.next();
 			if (block == Blocks.LOG) {
 				// special log build layer
-				nextCoords = buildLogLayer(world, random, cube.getCoords(), block); // could have difference classes and implement buildLayer differently
+				nextCoords = buildLogLayer(buffer, random, layerCoords, block); // could have difference classes and implement buildLayer differently
 				// ie. LayerBuilder.build(world, coords, block)
 			}
 			else {
-				nextCoords = buildLayer(world, cube.getCoords(), block);
+				nextCoords = buildLayer(buffer, layerCoords, block);
 			}
-			expectedCoords = cube.getCoords().add(0, 1, 0);
+			expectedCoords = layerCoords.add(0, 1, 0);
 			
 			// check if the return coords is different than the anticipated coords and resolve
 			yIndex = autoCorrectIndex(yIndex, nextCoords, expectedCoords);
@@ -223,30 +226,31 @@ public abstract class AbstractPitGenerator implements IPitGenerator<GeneratorRes
 	}
 	
 	/**
-	 * 
-	 * @param world
+	 * Queues the layer into the buffer.
+	 * @param buffer
 	 * @param coords
 	 * @param block
 	 * @return
 	 */
-	public ICoords buildLayer(World world, ICoords coords, Block block) {
+	public ICoords buildLayer(BlockPlacementBuffer buffer, ICoords coords, Block block) {
 //		Treasure.logger.debug("Building layer from {} @ {} ", block.getLocalizedName(), coords.toShortString());
-		GenUtil.replaceWithBlock(world, coords, block);
-		GenUtil.replaceWithBlock(world, coords.add(1, 0, 0), block);
-		GenUtil.replaceWithBlock(world, coords.add(0, 0, 1), block);
-		GenUtil.replaceWithBlock(world, coords.add(1, 0, 1), block);
+		buffer.replaceWithBlock(coords, block);
+		buffer.replaceWithBlock(coords.add(1, 0, 0), block);
+		buffer.replaceWithBlock(coords.add(0, 0, 1), block);
+		buffer.replaceWithBlock(coords.add(1, 0, 1), block);
 		
 		return coords.add(0, 1, 0);
 	}
 
 	/**
-	 * 
-	 * @param world
+	 * Queues the log layer into the buffer.
+	 * @param buffer
+	 * @param random
 	 * @param coords
 	 * @param block
 	 * @return
 	 */
-	public ICoords buildLogLayer(final World world, final Random random, final ICoords coords, final Block block) {
+	public ICoords buildLogLayer(final BlockPlacementBuffer buffer, final Random random, final ICoords coords, final Block block) {
 //		Treasure.logger.debug("Building log layer from {} @ {} ", block.getLocalizedName(), coords.toShortString());
 		// ensure that block is of type LOG/LOG2
 		if (block != Blocks.LOG && block != Blocks.LOG2) return coords;
@@ -257,27 +261,27 @@ public abstract class AbstractPitGenerator implements IPitGenerator<GeneratorRes
 		IBlockState blockState = block.getStateFromMeta(meta);
 				
 		// core 4-square
-		GenUtil.replaceWithBlockState(world, coords, blockState);
-		GenUtil.replaceWithBlockState(world, coords.add(1, 0, 0), blockState);
-		GenUtil.replaceWithBlockState(world, coords.add(0, 0, 1), blockState);
-		GenUtil.replaceWithBlockState(world, coords.add(1, 0, 1), blockState);
+		buffer.replaceWithBlockState(coords, blockState);
+		buffer.replaceWithBlockState(coords.add(1, 0, 0), blockState);
+		buffer.replaceWithBlockState(coords.add(0, 0, 1), blockState);
+		buffer.replaceWithBlockState(coords.add(1, 0, 1), blockState);
 		
 		if (meta == 8) {			
 			// north of
-			GenUtil.replaceWithBlockState(world, coords.add(0, 0, -1), blockState);
-			GenUtil.replaceWithBlockState(world, coords.add(1, 0, -1), blockState);
+			buffer.replaceWithBlockState(coords.add(0, 0, -1), blockState);
+			buffer.replaceWithBlockState(coords.add(1, 0, -1), blockState);
 			
 			// south of
-			GenUtil.replaceWithBlockState(world, coords.add(0, 0, 2), blockState);
-			GenUtil.replaceWithBlockState(world, coords.add(1, 0, 2), blockState);
+			buffer.replaceWithBlockState(coords.add(0, 0, 2), blockState);
+			buffer.replaceWithBlockState(coords.add(1, 0, 2), blockState);
 		}
 		else {
 			// west of
-			GenUtil.replaceWithBlockState(world, coords.add(-1, 0, 0), blockState);
-			GenUtil.replaceWithBlockState(world, coords.add(-1, 0, 1), blockState);
+			buffer.replaceWithBlockState(coords.add(-1, 0, 0), blockState);
+			buffer.replaceWithBlockState(coords.add(-1, 0, 1), blockState);
 			// east of 
-			GenUtil.replaceWithBlockState(world, coords.add(2, 0, 0), blockState);
-			GenUtil.replaceWithBlockState(world, coords.add(2, 0, 1), blockState);
+			buffer.replaceWithBlockState(coords.add(2, 0, 0), blockState);
+			buffer.replaceWithBlockState(coords.add(2, 0, 1), blockState);
 		}
 		return coords.add(0, 1, 0);
 	}
@@ -303,18 +307,20 @@ public abstract class AbstractPitGenerator implements IPitGenerator<GeneratorRes
 	}
 	
 	/**
-	 * 
-	 * @param world
+	 * Queues a proximity spawner. Its tile entity is set up when the buffer is flushed.
+	 * @param buffer
 	 * @param random
 	 * @param spawnCoords
 	 */
-	public void spawnRandomMob(World world, Random random, ICoords spawnCoords) {
-    	world.setBlockState(spawnCoords.toPos(), TreasureBlocks.PROXIMITY_SPAWNER.getDefaultState());
-    	ProximitySpawnerTileEntity te = (ProximitySpawnerTileEntity) world.getTileEntity(spawnCoords.toPos());
-    	ResourceLocation r = DungeonHooks.getRandomDungeonMob(random);
-    	te.setMobName(r);
-    	te.setMobNum(new Quantity(1, 1));
-    	te.setProximity(3D);
+	public void spawnRandomMob(BlockPlacementBuffer buffer, Random random, ICoords spawnCoords) {
+		buffer.setBlockState(spawnCoords, TreasureBlocks.PROXIMITY_SPAWNER.getDefaultState());
+		ResourceLocation r = DungeonHooks.getRandomDungeonMob(random);
+		buffer.onFlush(() -> {
+			ProximitySpawnerTileEntity te = (ProximitySpawnerTileEntity) buffer.getWorld().getTileEntity(spawnCoords.toPos());
+			te.setMobName(r);
+			te.setMobNum(new Quantity(1, 1));
+			te.setProximity(3D);
+		});
 	}
 	
 	/**
@@ -7,10 +7,11 @@ import com.someguyssoftware.gottschcore.positional.Coords;
 import com.someguyssoftware.gottschcore.positional.ICoords;
 import com.someguyssoftware.treasure2.Treasure;
 import com.someguyssoftware.treasure2.block.TreasureBlocks;
+import com.someguyssoftware.treasure2.generator.BlockPlacementBuffer;
 import com.someguyssoftware.treasure2.generator.ChestGeneratorData;
-import com.someguyssoftware.treasure2.generator.GenUtil;
 import com.someguyssoftware.treasure2.generator.GeneratorResult;
 import com.someguyssoftware.treasure2.tileentity.ProximitySpawnerTileEntity;
+import com.someguyssoftware.treasure2.worldgen.ColumnCache;
 
 import net.minecraft.block.Block;
 import net.minecraft.block.material.Material;
@@ -66,7 +67,7 @@ public class BigBottomMobTrapPitGenerator extends AbstractPitGenerator {
 		
 		if (inCavern) {
 			Treasure.LOGGER.debug("Shaft is in cavern... finding ceiling.");
-			spawnCoords = GenUtil.findUndergroundCeiling(world, spawnCoords.add(0, 1, 0));
+			spawnCoords = ColumnCache.findUndergroundCeiling(world, spawnCoords.add(0, 1, 0));
 			if (spawnCoords == null) {
 				Treasure.LOGGER.warn("Exiting: Unable to locate cavern ceiling.");
 				return result.fail();
@@ -83,26 +84,28 @@ public class BigBottomMobTrapPitGenerator extends AbstractPitGenerator {
 		ICoords nextCoords = null;
 		if (yDist > 6) {			
 			Treasure.LOGGER.debug("Generating shaft @ " + spawnCoords.toShortString());
+			BlockPlacementBuffer buffer = new BlockPlacementBuffer(world);
 			// at chest level
-			nextCoords = build6WideLayer(world, random, spawnCoords, Blocks.AIR);
+			nextCoords = build6WideLayer(buffer, random, spawnCoords, Blocks.AIR);
 			
 			// above the chest
-			nextCoords = build6WideLayer(world, random, nextCoords, Blocks.AIR);
-			nextCoords = build6WideLayer(world, random, nextCoords, Blocks.AIR);
-			nextCoords = buildLogLayer(world, random, nextCoords, Blocks.LOG);
-			nextCoords = buildLayer(world, nextCoords, Blocks.SAND);
+			nextCoords = build6WideLayer(buffer, random, nextCoords, Blocks.AIR);
+			nextCoords = build6WideLayer(buffer, random, nextCoords, Blocks.AIR);
+			nextCoords = buildLogLayer(buffer, random, nextCoords, Blocks.LOG);
+			nextCoords = buildLayer(buffer, nextCoords, Blocks.SAND);
 			
 			// shaft enterance
-			buildLogLayer(world, random, surfaceCoords.add(0, -3, 0), Blocks.LOG);
-			buildLayer(world, surfaceCoords.add(0, -4, 0), Blocks.SAND);
-			buildLogLayer(world, random, surfaceCoords.add(0, -5, 0), Blocks.LOG);
+			buildLogLayer(buffer, random, surfaceCoords.add(0, -3, 0), Blocks.LOG);
+			buildLayer(buffer, surfaceCoords.add(0, -4, 0), Blocks.SAND);
+			buildLogLayer(buffer, random, surfaceCoords.add(0, -5, 0), Blocks.LOG);
 
 			// build the trap
-			buildTrapLayer(world, random, spawnCoords, null);
+			buildTrapLayer(buffer, random, spawnCoords, null);
 			
 			// build the pit
 			// NOTE must add nextCoords by Y_OFFSET, because the AbstractPitGen.buildPit() starts with the Y_OFFSET, which is above the standard chest area.
-			buildPit(world, random, nextCoords.down(OFFSET_Y), surfaceCoords, getBlockLayers());
+			buildPit(buffer, random, nextCoords.down(OFFSET_Y), surfaceCoords, getBlockLayers());
+			buffer.flush();
 		}			
 		// shaft is only 2-6 blocks long - can only support small covering
 		else if (yDist >= 2) {
@@ -115,52 +118,58 @@ public class BigBottomMobTrapPitGenerator extends AbstractPitGenerator {
 
 	/**
 	 * 
-	 * @param world
+	 * @param buffer
 	 * @param random
 	 * @param coords
 	 * @param block
 	 * @return
 	 */
-	private ICoords build6WideLayer(World world, Random random, ICoords coords, Block block) {
+	private ICoords build6WideLayer(BlockPlacementBuffer buffer, Random random, ICoords coords, Block block) {
 		ICoords startCoords = coords.add(-2, 0, -2);
 		for (int x = startCoords.getX(); x < startCoords.getX() + 6; x++) {
 			for (int z = startCoords.getZ(); z < startCoords.getZ() + 6; z++) {
-				GenUtil.replaceWithBlockState(world, new Coords(x, coords.getY(), z), block.getDefaultState());
+				buffer.replaceWithBlockState(new Coords(x, coords.getY(), z), block.getDefaultState());
 			}
 		}
 		return coords.add(0, 1, 0);
 	}
 	
 	/**
-	 * 
-	 * @param world
+	 * Queues the spawners. Their tile entities are set up when the buffer is flushed.
+	 * @param buffer
 	 * @param random
 	 * @param coords
 	 * @param block
 	 * @return
 	 */
-	public ICoords buildTrapLayer(final World world, final Random random, final ICoords coords, final Block block) {
+	public ICoords buildTrapLayer(final BlockPlacementBuffer buffer, final Random random, final ICoords coords, final Block block) {
   	
 		// spawn random registered mobs on either side of the chest
-    	world.setBlockState(coords.add(-1, 0, 0).toPos(), TreasureBlocks.PROXIMITY_SPAWNER.getDefaultState());
-    	ProximitySpawnerTileEntity te = (ProximitySpawnerTileEntity) world.getTileEntity(coords.add(-1, 0, 0).toPos());
-    	ResourceLocation r = DungeonHooks.getRandomDungeonMob(random);
-    	te.setMobName(r);
-    	te.setMobNum(new Quantity(2, 4));
-    	te.setProximity(5D);
-    	te.setSpawnRange(1.5D);
-    	Treasure.LOGGER.debug("placed proximity spawner @ {}", coords.add(-1,0,0).toShortString());
-    	
-    	world.setBlockState(coords.add(1, 0, 0).toPos(), TreasureBlocks.PROXIMITY_SPAWNER.getDefaultState());
-    	te = (ProximitySpawnerTileEntity) world.getTileEntity(coords.add(1, 0, 0).toPos());
-    	r = DungeonHooks.getRandomDungeonMob(random);
-    	te.setMobName(r);
-    	te.setMobNum(new Quantity(2, 4));
-    	te.setProximity(5.5D);		// slightly larger proximity to fire first without entity collision
-    	te.setSpawnRange(2D);
-    	Treasure.LOGGER.debug("placed proximity spawner @ {}", coords.add(1,0,0).toShortString());
+		queueSpawner(buffer, coords.add(-1, 0, 0), DungeonHooks.getRandomDungeonMob(random), 5D, 1.5D);
+		// slightly larger proximity to fire first without entity collision
+		queueSpawner(buffer, coords.add(1, 0, 0), DungeonHooks.getRandomDungeonMob(random), 5.5D, 2D);
     	
 		return coords;
 	}
+
+	/**
+	 * 
+	 * @param buffer
+	 * @param coords
+	 * @param mobName
+	 * @param proximity
+	 * @param spawnRange
+	 */
+	private void queueSpawner(BlockPlacementBuffer buffer, ICoords coords, ResourceLocation mobName, double proximity, double spawnRange) {
+		buffer.setBlockState(coords, TreasureBlocks.PROXIMITY_SPAWNER.getDefaultState());
+		buffer.onFlush(() -> {
+			ProximitySpawnerTileEntity te = (ProximitySpawnerTileEntity) buffer.getWorld().getTileEntity(coords.toPos());
+			te.setMobName(mobName);
+			te.setMobNum(new Quantity(2, 4));
+			te.setProximity(proximity);
+			te.setSpawnRange(spawnRange);
+			Treasure.LOGGER.debug("placed proximity spawner @ {}", coords.toShortString());
+		});
+	}
 	
 }
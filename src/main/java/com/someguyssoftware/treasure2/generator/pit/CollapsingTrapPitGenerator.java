@@ -9,8 +9,8 @@ import com.someguyssoftware.gottschcore.random.RandomWeightedCollection;
 import com.someguyssoftware.gottschcore.world.WorldInfo;
 import com.someguyssoftware.treasure2.Treasure;
 import com.someguyssoftware.treasure2.block.TreasureBlocks;
+import com.someguyssoftware.treasure2.generator.BlockPlacementBuffer;
 import com.someguyssoftware.treasure2.generator.ChestGeneratorData;
-import com.someguyssoftware.treasure2.generator.GenUtil;
 import com.someguyssoftware.treasure2.generator.GeneratorResult;
 
 import net.minecraft.block.Block;
@@ -51,14 +51,14 @@ public class CollapsingTrapPitGenerator extends AbstractPitGenerator {
 
 	/**
 	 * 
-	 * @param world
+	 * @param buffer
 	 * @param random
 	 * @param spawnCoords
 	 * @param surfaceCoords
 	 * @return
 	 */
 	@Override
-	public ICoords buildPit(World world, Random random, ICoords coords, ICoords surfaceCoords, RandomWeightedCollection<Block> col) {
+	public ICoords buildPit(BlockPlacementBuffer buffer, Random random, ICoords coords, ICoords surfaceCoords, RandomWeightedCollection<Block> col) {
 
 		// replace surface and build air shaft
 		int minCoordsX = coords.getX() - 2;
@@ -68,30 +68,30 @@ public class CollapsingTrapPitGenerator extends AbstractPitGenerator {
 
 		for (int x = minCoordsX; x <= maxCoordsX; x++) {
 			for (int z = minCoordsZ; z <= maxCoordsZ; z++ ) {
-				ICoords spawnCoords = WorldInfo.getSurfaceCoords(world, new Coords(x, 255, z));
+				ICoords spawnCoords = WorldInfo.getSurfaceCoords(buffer.getWorld(), new Coords(x, 255, z));
 				spawnCoords = spawnCoords.down(1);
 
 				// skip the corners
 
-				IBlockState state = world.getBlockState(spawnCoords.toPos());
+				IBlockState state = buffer.getBlockState(spawnCoords);
 				if (state.getBlock() == Blocks.GRASS) {	
 					if ((x == minCoordsX || x == maxCoordsX) && (z == minCoordsZ || z == maxCoordsZ)) {
 					}
 					else {
-						GenUtil.replaceWithBlockState(world, spawnCoords, TreasureBlocks.FALLING_GRASS.getDefaultState());	
+						buffer.replaceWithBlockState(spawnCoords, TreasureBlocks.FALLING_GRASS.getDefaultState());	
 					}
 				}
 				else if (state.getBlock() == Blocks.SAND)  {
 					if (state.getValue(BlockSand.VARIANT) == BlockSand.EnumType.SAND) {
-						GenUtil.replaceWithBlockState(world, spawnCoords, TreasureBlocks.FALLING_SAND.getDefaultState());	
+						buffer.replaceWithBlockState(spawnCoords, TreasureBlocks.FALLING_SAND.getDefaultState());	
 					}
 					else {
-						GenUtil.replaceWithBlockState(world, spawnCoords, TreasureBlocks.FALLING_RED_SAND.getDefaultState());	
+						buffer.replaceWithBlockState(spawnCoords, TreasureBlocks.FALLING_RED_SAND.getDefaultState());	
 					}
 				}
 				spawnCoords = spawnCoords.down(1);
 				while (spawnCoords.getY() >= coords.getY()) {
-					GenUtil.replaceWithBlockState(world, spawnCoords,  Blocks.AIR.getDefaultState());
+					buffer.replaceWithBlockState(spawnCoords,  Blocks.AIR.getDefaultState());
 					spawnCoords = spawnCoords.down(1);
 				}
 			}
@@ -101,32 +101,32 @@ public class CollapsingTrapPitGenerator extends AbstractPitGenerator {
 
 	/**
 	 * TODO could make this into a generic method in abstract buildXWideLayer
-	 * @param world
+	 * @param buffer
 	 * @param coords
 	 * @param block
 	 * @return
 	 */
-	private ICoords build5WideLayer(World world, Random random, ICoords coords, Block block) {
+	private ICoords build5WideLayer(BlockPlacementBuffer buffer, Random random, ICoords coords, Block block) {
 		IBlockState blockState = block.getDefaultState();
 		if (block == Blocks.LOG || block == Blocks.LOG2) {
 			int meta = random.nextInt() % 2 == 0 ? 8 : 4;
 			blockState = block.getStateFromMeta(meta);
 		}
 
-		GenUtil.replaceWithBlockState(world, coords, blockState);
-		GenUtil.replaceWithBlockState(world, coords.add(1, 0, 0), blockState);
-		GenUtil.replaceWithBlockState(world, coords.add(-1, 0, 0), blockState);
-		GenUtil.replaceWithBlockState(world, coords.add(0, 0, 1), blockState);
-		GenUtil.replaceWithBlockState(world, coords.add(0, 0, -1), blockState);
-		GenUtil.replaceWithBlockState(world, coords.add(-1, 0, 1), blockState);
-		GenUtil.replaceWithBlockState(world, coords.add(1, 0, 1), blockState);
-		GenUtil.replaceWithBlockState(world, coords.add(-1, 0, -1), blockState);
-		GenUtil.replaceWithBlockState(world, coords.add(1, 0, -1), blockState);	
+		buffer.replaceWithBlockState(coords, blockState);
+		buffer.replaceWithBlockState(coords.add(1, 0, 0), blockState);
+		buffer.replaceWithBlockState(coords.add(-1, 0, 0), blockState);
+		buffer.replaceWithBlockState(coords.add(0, 0, 1), blockState);
+		buffer.replaceWithBlockState(coords.add(0, 0, -1), blockState);
+		buffer.replaceWithBlockState(coords.add(-1, 0, 1), blockState);
+		buffer.replaceWithBlockState(coords.add(1, 0, 1), blockState);
+		buffer.replaceWithBlockState(coords.add(-1, 0, -1), blockState);
+		buffer.replaceWithBlockState(coords.add(1, 0, -1), blockState);	
 
 		for (int x = coords.getX() - 2; x <= coords.getX() + 2; x++) {
 			for (int z = coords.getZ() -2; z <=coords.getZ() + 2; z++ ) {
 				// fill with AIR
-				GenUtil.replaceWithBlockState(world, coords.add(x, 0, z), blockState);	
+				buffer.replaceWithBlockState(coords.add(x, 0, z), blockState);	
 			}
 		}
 		return coords.add(0, 1, 0);
@@ -3,6 +3,7 @@ package com.someguyssoftware.treasure2.generator.pit;
 import java.util.Random;
 
 import com.someguyssoftware.gottschcore.positional.ICoords;
+import com.someguyssoftware.treasure2.generator.BlockPlacementBuffer;
 import com.someguyssoftware.treasure2.generator.ChestGeneratorData;
 import com.someguyssoftware.treasure2.generator.GeneratorResult;
 import com.someguyssoftware.treasure2.generator.IGeneratorResult;
@@ -21,11 +22,14 @@ public interface IPitGenerator<RESULT extends IGeneratorResult<?>> {
 	 */
 	public GeneratorResult<ChestGeneratorData> generate(World world, Random random, ICoords surfaceCoords, ICoords spawnCoords);
 	
-	public boolean generateBase(World world, Random random, ICoords surfaceCoords, ICoords spawnCoords);
+	/*
+	 * The parts of the pit are queued into the buffer of the generate() call, which places them all at once.
+	 */
+	public boolean generateBase(BlockPlacementBuffer buffer, Random random, ICoords surfaceCoords, ICoords spawnCoords);
 
-	public boolean generatePit(World world, Random random, ICoords surfaceCoords, ICoords spawnCoords);
+	public boolean generatePit(BlockPlacementBuffer buffer, Random random, ICoords surfaceCoords, ICoords spawnCoords);
 	
-	public boolean generateEntrance(World world, Random random, ICoords surfaceCoords, ICoords spawnCoords);
+	public boolean generateEntrance(BlockPlacementBuffer buffer, Random random, ICoords surfaceCoords, ICoords spawnCoords);
 
 	public int getOffsetY();
 	public void setOffsetY(int i);
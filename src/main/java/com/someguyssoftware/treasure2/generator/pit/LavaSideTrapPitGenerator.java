@@ -2,14 +2,13 @@ package com.someguyssoftware.treasure2.generator.pit;
 
 import java.util.Random;
 
-import com.someguyssoftware.gottschcore.cube.Cube;
 import com.someguyssoftware.gottschcore.positional.Coords;
 import com.someguyssoftware.gottschcore.positional.ICoords;
 import com.someguyssoftware.gottschcore.random.RandomHelper;
 import com.someguyssoftware.gottschcore.random.RandomWeightedCollection;
 import com.someguyssoftware.treasure2.Treasure;
+import com.someguyssoftware.treasure2.generator.BlockPlacementBuffer;
 import com.someguyssoftware.treasure2.generator.ChestGeneratorData;
-import com.someguyssoftware.treasure2.generator.GenUtil;
 import com.someguyssoftware.treasure2.generator.GeneratorResult;
 
 import net.minecraft.block.Block;
@@ -52,14 +51,14 @@ public class LavaSideTrapPitGenerator extends AbstractPitGenerator {
 	
 	/**
 	 * 
-	 * @param world
+	 * @param buffer
 	 * @param random
 	 * @param spawnCoords
 	 * @param surfaceCoords
 	 * @return
 	 */
 	@Override
-	public ICoords buildPit(World world, Random random, ICoords coords, ICoords surfaceCoords, RandomWeightedCollection<Block> col) {
+	public ICoords buildPit(BlockPlacementBuffer buffer, Random random, ICoords coords, ICoords surfaceCoords, RandomWeightedCollection<Block> col) {
 		ICoords nextCoords = null;
 		ICoords expectedCoords = null;
 		
@@ -67,8 +66,8 @@ public class LavaSideTrapPitGenerator extends AbstractPitGenerator {
 		for (int yIndex = coords.getY() + OFFSET_Y; yIndex <= surfaceCoords.getY() - SURFACE_OFFSET_Y; yIndex++) {
 			
 			// if the block to be replaced is air block then skip to the next pos
-			Cube cube = new Cube(world, new Coords(coords.getX(), yIndex, coords.getZ()));
-			if (cube.isAir()) {
+			ICoords layerCoords = new Coords(coords.getX(), yIndex, coords.getZ());
+			if (buffer.isAir(layerCoords)) {
 				continue;
 			}
 
@@ -76,10 +75,10 @@ public class LavaSideTrapPitGenerator extends AbstractPitGenerator {
 			Block block = col.next();
 			if (block == Blocks.LOG) {
 				// special log build layer
-				nextCoords = buildLogLayer(world, random, cube.getCoords(), block); // could have difference classes and implement buildLayer differently
+				nextCoords = buildLogLayer(buffer, random, layerCoords, block); // could have difference classes and implement buildLayer differently
 			}
 			else {
-				nextCoords = buildLayer(world, cube.getCoords(), block);
+				nextCoords = buildLayer(buffer, layerCoords, block);
 			}
 	
 			// select random - 30% chance of lava layer
@@ -88,11 +87,11 @@ public class LavaSideTrapPitGenerator extends AbstractPitGenerator {
 			// check for midpoint and that there is enough room to build the trap
 			if (isLava) {
 				// build trap layer
-				buildTrapLayer(world, random, cube.getCoords(), Blocks.LAVA); // could have difference classes and implement buildLayer differently
+				buildTrapLayer(buffer, random, layerCoords, Blocks.LAVA); // could have difference classes and implement buildLayer differently
 			}
 			
 			// get the expected coords
-			expectedCoords = cube.getCoords().add(0, 1, 0);
+			expectedCoords = layerCoords.add(0, 1, 0);
 			
 			// check if the return coords is different than the anticipated coords and resolve
 			yIndex = autoCorrectIndex(yIndex, nextCoords, expectedCoords);
@@ -102,13 +101,13 @@ public class LavaSideTrapPitGenerator extends AbstractPitGenerator {
 	
 	/**
 	 * 
-	 * @param world
+	 * @param buffer
 	 * @param random
 	 * @param coords
 	 * @param block
 	 * @return
 	 */
-	public ICoords buildTrapLayer(final World world, final Random random, final ICoords coords, final Block block) {
+	public ICoords buildTrapLayer(final BlockPlacementBuffer buffer, final Random random, final ICoords coords, final Block block) {
 		final int MAX_REPLACES = 5;
 		
 		ICoords[] matrix = {
@@ -132,7 +131,7 @@ public class LavaSideTrapPitGenerator extends AbstractPitGenerator {
 		for (int i =0; i < MAX_REPLACES; i++) {
 			// randomly select a coord from the array
 			int x = RandomHelper.randomInt(0, matrix.length-1);
-			GenUtil.replaceWithBlockState(world, matrix[x], block.getDefaultState());
+			buffer.replaceWithBlockState(matrix[x], block.getDefaultState());
 		}		
 		return coords;
 	}
@@ -2,13 +2,12 @@ package com.someguyssoftware.treasure2.generator.pit;
 
 import java.util.Random;
 
-import com.someguyssoftware.gottschcore.cube.Cube;
 import com.someguyssoftware.gottschcore.positional.Coords;
 import com.someguyssoftware.gottschcore.positional.ICoords;
 import com.someguyssoftware.gottschcore.random.RandomWeightedCollection;
 import com.someguyssoftware.treasure2.Treasure;
+import com.someguyssoftware.treasure2.generator.BlockPlacementBuffer;
 import com.someguyssoftware.treasure2.generator.ChestGeneratorData;
-import com.someguyssoftware.treasure2.generator.GenUtil;
 import com.someguyssoftware.treasure2.generator.GeneratorResult;
 
 import net.minecraft.block.Block;
@@ -53,14 +52,14 @@ public class LavaTrapPitGenerator extends AbstractPitGenerator {
 	
 	/**
 	 * 
-	 * @param world
+	 * @param buffer
 	 * @param random
 	 * @param spawnCoords
 	 * @param surfaceCoords
 	 * @return
 	 */
 	@Override
-	public ICoords buildPit(World world, Random random, ICoords coords, ICoords surfaceCoords, RandomWeightedCollection<Block> col) {
+	public ICoords buildPit(BlockPlacementBuffer buffer, Random random, ICoords coords, ICoords surfaceCoords, RandomWeightedCollection<Block> col) {
 		ICoords nextCoords = null;
 		ICoords expectedCoords = null;
 		
@@ -70,22 +69,22 @@ public class LavaTrapPitGenerator extends AbstractPitGenerator {
 //		int deltaY = surfaceCoords.delta(midCoords).getY();
 		
 		// build lava around base
-		buildLavaBaseLayer(world, coords.down(1));
+		buildLavaBaseLayer(buffer, coords.down(1));
 		
 		// build @ chest layer (overwrites what abstract pit gen does
-		build3WideLayer(world, random, coords, Blocks.AIR);
+		build3WideLayer(buffer, random, coords, Blocks.AIR);
 		
 		// fill shaft will air to mid-point
 		for (int yIndex = coords.getY() + OFFSET_Y; yIndex <= midY; yIndex++) {
-			nextCoords = build3WideLayer(world, random, new Coords(coords.getX(), yIndex, coords.getZ()), Blocks.AIR);
+			nextCoords = build3WideLayer(buffer, random, new Coords(coords.getX(), yIndex, coords.getZ()), Blocks.AIR);
 		}		
-		nextCoords = build3WideLayer(world, random, new Coords(coords.getX(), midY+1, coords.getZ()), Blocks.LOG);
+		nextCoords = build3WideLayer(buffer, random, new Coords(coords.getX(), midY+1, coords.getZ()), Blocks.LOG);
 		
 		for (int yIndex = nextCoords.getY(); yIndex <= surfaceCoords.getY() - SURFACE_OFFSET_Y; yIndex++) {
 			
 			// if the block to be replaced is air block then skip to the next pos
-			Cube cube = new Cube(world, new Coords(coords.getX(), yIndex, coords.getZ()));
-			if (cube.isAir()) {
+			ICoords layerCoords = new Coords(coords.getX(), yIndex, coords.getZ());
+			if (buffer.isAir(layerCoords)) {
 				continue;
 			}
 
@@ -93,14 +92,14 @@ public class LavaTrapPitGenerator extends AbstractPitGenerator {
 			Block block = col.next();
 			if (block == Blocks.LOG) {
 				// special log build layer
-				nextCoords = buildLogLayer(world, random, cube.getCoords(), block); // could have difference classes and implement buildLayer differently
+				nextCoords = buildLogLayer(buffer, random, layerCoords, block); // could have difference classes and implement buildLayer differently
 			}
 			else {
-				nextCoords = buildLayer(world, cube.getCoords(), block);
+				nextCoords = buildLayer(buffer, layerCoords, block);
 			}
 
 			// get the expected coords
-			expectedCoords = cube.getCoords().add(0, 1, 0);
+			expectedCoords = layerCoords.add(0, 1, 0);
 			
 			// check if the return coords is different than the anticipated coords and resolve
 			yIndex = autoCorrectIndex(yIndex, nextCoords, expectedCoords);
@@ -112,21 +111,21 @@ public class LavaTrapPitGenerator extends AbstractPitGenerator {
 	 * 
 	 */
 	@Override
-	public void buildAboveChestLayers(World world, Random random, ICoords spawnCoords) {
-		build3WideLayer(world, random, spawnCoords.add(0, 1, 0), Blocks.AIR);
-		build3WideLayer(world, random, spawnCoords.add(0, 2, 0), Blocks.AIR);	
-		build3WideLayer(world, random, spawnCoords.add(0, 3, 0), Blocks.AIR);	
-		build3WideLayer(world, random, spawnCoords.add(0, 4, 0), Blocks.AIR);	
+	public void buildAboveChestLayers(BlockPlacementBuffer buffer, Random random, ICoords spawnCoords) {
+		build3WideLayer(buffer, random, spawnCoords.add(0, 1, 0), Blocks.AIR);
+		build3WideLayer(buffer, random, spawnCoords.add(0, 2, 0), Blocks.AIR);	
+		build3WideLayer(buffer, random, spawnCoords.add(0, 3, 0), Blocks.AIR);	
+		build3WideLayer(buffer, random, spawnCoords.add(0, 4, 0), Blocks.AIR);	
 	}
 	
 	/**
 	 * 
-	 * @param world
+	 * @param buffer
 	 * @param coords
 	 * @param block
 	 * @return
 	 */
-	private ICoords build3WideLayer(World world, Random random, ICoords coords, Block block) {
+	private ICoords build3WideLayer(BlockPlacementBuffer buffer, Random random, ICoords coords, Block block) {
 //		Treasure.logger.debug("Building 3 wide layer from {} @ {} ", block.getUnlocalizedName(), coords.toShortString());
 		IBlockState blockState = block.getDefaultState();
 		if (block == Blocks.LOG || block == Blocks.LOG2) {
@@ -134,33 +133,33 @@ public class LavaTrapPitGenerator extends AbstractPitGenerator {
 			blockState = block.getStateFromMeta(meta);
 		}
 		
-		GenUtil.replaceWithBlockState(world, coords, blockState);
-		GenUtil.replaceWithBlockState(world, coords.add(1, 0, 0), blockState);
-		GenUtil.replaceWithBlockState(world, coords.add(-1, 0, 0), blockState);
-		GenUtil.replaceWithBlockState(world, coords.add(0, 0, 1), blockState);
-		GenUtil.replaceWithBlockState(world, coords.add(0, 0, -1), blockState);
-		GenUtil.replaceWithBlockState(world, coords.add(-1, 0, 1), blockState);
-		GenUtil.replaceWithBlockState(world, coords.add(1, 0, 1), blockState);
-		GenUtil.replaceWithBlockState(world, coords.add(-1, 0, -1), blockState);
-		GenUtil.replaceWithBlockState(world, coords.add(1, 0, -1), blockState);	
+		buffer.replaceWithBlockState(coords, blockState);
+		buffer.replaceWithBlockState(coords.add(1, 0, 0), blockState);
+		buffer.replaceWithBlockState(coords.add(-1, 0, 0), blockState);
+		buffer.replaceWithBlockState(coords.add(0, 0, 1), blockState);
+		buffer.replaceWithBlockState(coords.add(0, 0, -1), blockState);
+		buffer.replaceWithBlockState(coords.add(-1, 0, 1), blockState);
+		buffer.replaceWithBlockState(coords.add(1, 0, 1), blockState);
+		buffer.replaceWithBlockState(coords.add(-1, 0, -1), blockState);
+		buffer.replaceWithBlockState(coords.add(1, 0, -1), blockState);	
 		
 		return coords.add(0, 1, 0);
 	}
 
 	/**
 	 * 
-	 * @param world
+	 * @param buffer
 	 * @param coords
 	 */
-	private void buildLavaBaseLayer(World world, ICoords coords) {
+	private void buildLavaBaseLayer(BlockPlacementBuffer buffer, ICoords coords) {
 		Treasure.LOGGER.debug("Building lava baselayer from @ {} ", coords.toShortString());
-		GenUtil.replaceWithBlock(world, coords.add(1, 0, 0), Blocks.LAVA);
-		GenUtil.replaceWithBlock(world, coords.add(-1, 0, 0), Blocks.LAVA);
-		GenUtil.replaceWithBlock(world, coords.add(0, 0, 1), Blocks.LAVA);
-		GenUtil.replaceWithBlock(world, coords.add(0, 0, -1), Blocks.LAVA);
-		GenUtil.replaceWithBlock(world, coords.add(-1, 0, 1), Blocks.LAVA);
-		GenUtil.replaceWithBlock(world, coords.add(1, 0, 1), Blocks.LAVA);
-		GenUtil.replaceWithBlock(world, coords.add(-1, 0, -1), Blocks.LAVA);
-		GenUtil.replaceWithBlock(world, coords.add(1, 0, -1), Blocks.LAVA);		
+		buffer.replaceWithBlock(coords.add(1, 0, 0), Blocks.LAVA);
+		buffer.replaceWithBlock(coords.add(-1, 0, 0), Blocks.LAVA);
+		buffer.replaceWithBlock(coords.add(0, 0, 1), Blocks.LAVA);
+		buffer.replaceWithBlock(coords.add(0, 0, -1), Blocks.LAVA);
+		buffer.replaceWithBlock(coords.add(-1, 0, 1), Blocks.LAVA);
+		buffer.replaceWithBlock(coords.add(1, 0, 1), Blocks.LAVA);
+		buffer.replaceWithBlock(coords.add(-1, 0, -1), Blocks.LAVA);
+		buffer.replaceWithBlock(coords.add(1, 0, -1), Blocks.LAVA);		
 	}
 }
@@ -2,13 +2,12 @@ package com.someguyssoftware.treasure2.generator.pit;
 
 import java.util.Random;
 
-import com.someguyssoftware.gottschcore.cube.Cube;
 import com.someguyssoftware.gottschcore.positional.Coords;
 import com.someguyssoftware.gottschcore.positional.ICoords;
 import com.someguyssoftware.gottschcore.random.RandomWeightedCollection;
 import com.someguyssoftware.treasure2.Treasure;
+import com.someguyssoftware.treasure2.generator.BlockPlacementBuffer;
 import com.someguyssoftware.treasure2.generator.ChestGeneratorData;
-import com.someguyssoftware.treasure2.generator.GenUtil;
 import com.someguyssoftware.treasure2.generator.GeneratorResult;
 
 import net.minecraft.block.Block;
@@ -50,14 +49,14 @@ public class MobTrapPitGenerator extends AbstractPitGenerator {
 	
 	/**
 	 * 
-	 * @param world
+	 * @param buffer
 	 * @param random
 	 * @param spawnCoords
 	 * @param surfaceCoords
 	 * @return
 	 */
 	@Override
-	public ICoords buildPit(World world, Random random, ICoords coords, ICoords surfaceCoords, RandomWeightedCollection<Block> col) {
+	public ICoords buildPit(BlockPlacementBuffer buffer, Random random, ICoords coords, ICoords surfaceCoords, RandomWeightedCollection<Block> col) {
 		ICoords nextCoords = null;
 		ICoords expectedCoords = null;
 		
@@ -71,29 +70,29 @@ public class MobTrapPitGenerator extends AbstractPitGenerator {
 		for (int yIndex = coords.getY() + getOffsetY(); yIndex <= surfaceCoords.getY() - SURFACE_OFFSET_Y; yIndex++) {
 			
 			// if the block to be replaced is air block then skip to the next pos
-			Cube cube = new Cube(world, new Coords(coords.getX(), yIndex, coords.getZ()));
-			if (cube.isAir()) {
+			ICoords layerCoords = new Coords(coords.getX(), yIndex, coords.getZ());
+			if (buffer.isAir(layerCoords)) {
 				continue;
 			}
 
 			// check for midpoint and that there is enough room to build the trap
 			if (yIndex == midCoords.getY() && deltaY > 4) {
 				// build trap layer
-				nextCoords = buildTrapLayer(world, random, cube.getCoords(), Blocks.LOG); // could have difference classes and implement buildLayer differently
+				nextCoords = buildTrapLayer(buffer, random, layerCoords, Blocks.LOG); // could have difference classes and implement buildLayer differently
 			}
 			else {
 				// get the next type of block layer to build
 				Block block = col.next();
 				if (block == Blocks.LOG) {
 					// special log build layer
-					nextCoords = buildLogLayer(world, random, cube.getCoords(), block); // could have difference classes and implement buildLayer differently
+					nextCoords = buildLogLayer(buffer, random, layerCoords, block); // could have difference classes and implement buildLayer differently
 				}
 				else {
-					nextCoords = buildLayer(world, cube.getCoords(), block);
+					nextCoords = buildLayer(buffer, layerCoords, block);
 				}
 			}
 			// get the expected coords
-			expectedCoords = cube.getCoords().add(0, 1, 0);
+			expectedCoords = layerCoords.add(0, 1, 0);
 			
 			// check if the return coords is different than the anticipated coords and resolve
 			yIndex = autoCorrectIndex(yIndex, nextCoords, expectedCoords);
@@ -104,19 +103,19 @@ public class MobTrapPitGenerator extends AbstractPitGenerator {
 	
 	/**
 	 * 
-	 * @param world
+	 * @param buffer
 	 * @param random
 	 * @param coords
 	 * @param block
 	 * @return
 	 */
-	public ICoords buildTrapLayer(final World world, final Random random, final ICoords coords, final Block block) {
+	public ICoords buildTrapLayer(final BlockPlacementBuffer buffer, final Random random, final ICoords coords, final Block block) {
 		ICoords nextCoords = null;
 		if (block == Blocks.LOG) {
-			nextCoords = buildLogLayer(world, random, coords, block);
+			nextCoords = buildLogLayer(buffer, random, coords, block);
 		}
 		else {
-			nextCoords = buildLayer(world, coords, block);
+			nextCoords = buildLayer(buffer, coords, block);
 		}
 //		Treasure.logger.debug("Coords for trap base layer: {}", coords.toShortString());
 //		Treasure.logger.debug("Next Coords after base log: {}", nextCoords.toShortString());
@@ -124,27 +123,27 @@ public class MobTrapPitGenerator extends AbstractPitGenerator {
 		// ensure that the difference is only 1 between nextCoords and coords
 //		if (nextCoords.delta(coords).getY() > 1) return nextCoords;
 		ICoords spawnCoords = nextCoords;
-		GenUtil.replaceWithBlock(world, nextCoords.add(0, 0, 0), Blocks.AIR);
-		GenUtil.replaceWithBlock(world, nextCoords.add(1, 0, 0), Blocks.AIR);
-		GenUtil.replaceWithBlock(world, nextCoords.add(0, 0, 1), Blocks.AIR);
-		GenUtil.replaceWithBlock(world, nextCoords.add(1, 0, 1), Blocks.AIR);
+		buffer.replaceWithBlock(nextCoords.add(0, 0, 0), Blocks.AIR);
+		buffer.replaceWithBlock(nextCoords.add(1, 0, 0), Blocks.AIR);
+		buffer.replaceWithBlock(nextCoords.add(0, 0, 1), Blocks.AIR);
+		buffer.replaceWithBlock(nextCoords.add(1, 0, 1), Blocks.AIR);
 		
 		nextCoords = nextCoords.up(1);
 
 		// add another air layer
-		GenUtil.replaceWithBlock(world, nextCoords.add(0, 0, 0), Blocks.AIR);
-		GenUtil.replaceWithBlock(world, nextCoords.add(1, 0, 0), Blocks.AIR);
-		GenUtil.replaceWithBlock(world, nextCoords.add(0, 0, 1), Blocks.AIR);
-		GenUtil.replaceWithBlock(world, nextCoords.add(1, 0, 1), Blocks.AIR);
+		buffer.replaceWithBlock(nextCoords.add(0, 0, 0), Blocks.AIR);
+		buffer.replaceWithBlock(nextCoords.add(1, 0, 0), Blocks.AIR);
+		buffer.replaceWithBlock(nextCoords.add(0, 0, 1), Blocks.AIR);
+		buffer.replaceWithBlock(nextCoords.add(1, 0, 1), Blocks.AIR);
 		
 		// add aother  log layer
-		nextCoords = buildLogLayer(world, random, nextCoords, block);
+		nextCoords = buildLogLayer(buffer, random, nextCoords, block);
 
 		// spawn the mobs
-    	spawnRandomMob(world, random, spawnCoords);
-    	spawnRandomMob(world, random, spawnCoords.add(1, 0, 0));
-    	spawnRandomMob(world, random, spawnCoords.add(0, 0, 1));
-    	spawnRandomMob(world, random, spawnCoords.add(1, 0, 1));
+    	spawnRandomMob(buffer, random, spawnCoords);
+    	spawnRandomMob(buffer, random, spawnCoords.add(1, 0, 0));
+    	spawnRandomMob(buffer, random, spawnCoords.add(0, 0, 1));
+    	spawnRandomMob(buffer, random, spawnCoords.add(1, 0, 1));
     	
 		// get the next coords
 		nextCoords = nextCoords.up(1);
@@ -4,6 +4,7 @@ import java.util.Random;
 
 import com.someguyssoftware.gottschcore.positional.ICoords;
 import com.someguyssoftware.treasure2.Treasure;
+import com.someguyssoftware.treasure2.generator.BlockPlacementBuffer;
 import com.someguyssoftware.treasure2.generator.ChestGeneratorData;
 import com.someguyssoftware.treasure2.generator.GeneratorResult;
 
@@ -33,29 +34,31 @@ public class SimpleShortPitGenerator extends AbstractPitGenerator {
 		result.getData().setSpawnCoords(spawnCoords);
 		result.getData().getChestContext().setCoords(spawnCoords);
 		
+		BlockPlacementBuffer buffer = new BlockPlacementBuffer(world);
 		ICoords checkCoords = null;
 		// check each position if already not air and generate
 
 		checkCoords = spawnCoords.add(0, 1, 0);
 		IBlockState blockState = world.getBlockState(checkCoords.toPos());
 		if (blockState.getMaterial() != Material.AIR) {
-			buildLogLayer(world, random, checkCoords, Blocks.LOG);
+			buildLogLayer(buffer, random, checkCoords, Blocks.LOG);
 		}
 		
 		checkCoords = spawnCoords.add(0, 2, 0);
 		if (blockState.getMaterial() != Material.AIR) {
-			buildLayer(world, checkCoords, Blocks.SAND);
+			buildLayer(buffer, checkCoords, Blocks.SAND);
 		}
 		
 		checkCoords = surfaceCoords.add(0, -2, 0);
 		if (blockState.getMaterial() != Material.AIR) {
-			buildLayer(world, checkCoords, Blocks.SAND);
+			buildLayer(buffer, checkCoords, Blocks.SAND);
 		}
 		
 		checkCoords = surfaceCoords.add(0, -3, 0);
 		if (blockState.getMaterial() != Material.AIR) {
-			buildLogLayer(world, random, checkCoords, Blocks.LOG);
+			buildLogLayer(buffer, random, checkCoords, Blocks.LOG);
 		}
+		buffer.flush();
 		
 		Treasure.LOGGER.debug("Generated Simple Short Shaft Chamber at " + spawnCoords.toShortString());
 		return result.success();
@@ -11,6 +11,7 @@ import com.someguyssoftware.gottschcore.world.gen.structure.GottschTemplate;
 import com.someguyssoftware.gottschcore.world.gen.structure.StructureMarkers;
 import com.someguyssoftware.treasure2.Treasure;
 import com.someguyssoftware.treasure2.block.TreasureBlocks;
+import com.someguyssoftware.treasure2.generator.BlockPlacementBuffer;
 import com.someguyssoftware.treasure2.generator.ChestGeneratorData;
 import com.someguyssoftware.treasure2.generator.GenUtil;
 import com.someguyssoftware.treasure2.generator.GeneratorResult;
@@ -21,6 +22,7 @@ import com.someguyssoftware.treasure2.registry.TreasureTemplateRegistry;
 import com.someguyssoftware.treasure2.tileentity.ProximitySpawnerTileEntity;
 import com.someguyssoftware.treasure2.world.gen.structure.TemplateGenerator;
 import com.someguyssoftware.treasure2.world.gen.structure.TemplateHolder;
+import com.someguyssoftware.treasure2.worldgen.ColumnCache;
 
 import net.minecraft.block.material.Material;
 import net.minecraft.block.state.IBlockState;
@@ -41,6 +43,8 @@ import net.minecraftforge.common.DungeonHooks;
  *
  */
 public class StructurePitGenerator extends AbstractPitGenerator {
+	// shared by all structure pits
+	private static final TemplateGenerator TEMPLATE_GENERATOR = new TemplateGenerator();
 	
 	private IPitGenerator<GeneratorResult<ChestGeneratorData>> generator;
 	
@@ -62,14 +66,14 @@ public class StructurePitGenerator extends AbstractPitGenerator {
 	}
 	
 	@Override
-	public boolean generateEntrance(World world, Random random, ICoords surfaceCoords, ICoords spawnCoords) {
-		return getGenerator().generateEntrance(world, random, surfaceCoords, spawnCoords);
+	public boolean generateEntrance(BlockPlacementBuffer buffer, Random random, ICoords surfaceCoords, ICoords spawnCoords) {
+		return getGenerator().generateEntrance(buffer, random, surfaceCoords, spawnCoords);
 	}
 	
 	@Override
-	public boolean generatePit(World world, Random random, ICoords surfaceCoords, ICoords spawnCoords) {
+	public boolean generatePit(BlockPlacementBuffer buffer, Random random, ICoords surfaceCoords, ICoords spawnCoords) {
 		getGenerator().setOffsetY(0);
-		return getGenerator().generatePit(world, random, surfaceCoords, spawnCoords);
+		return getGenerator().generatePit(buffer, random, surfaceCoords, spawnCoords);
 	}
 	
 	/**
@@ -98,7 +102,7 @@ public class StructurePitGenerator extends AbstractPitGenerator {
 		
 		if (inCavern) {
 			Treasure.LOGGER.debug("Shaft is in cavern... finding ceiling.");
-			spawnCoords = GenUtil.findUndergroundCeiling(world, spawnCoords.add(0, 1, 0));
+			spawnCoords = ColumnCache.findUndergroundCeiling(world, spawnCoords.add(0, 1, 0));
 			if (spawnCoords == null) {
 				Treasure.LOGGER.warn("Exiting: Unable to locate cavern ceiling.");
 				return result.fail();
@@ -115,21 +119,11 @@ public class StructurePitGenerator extends AbstractPitGenerator {
 			Treasure.LOGGER.debug("generating structure room at -> {}", spawnCoords.toShortString());
 			
 			// get structure by archetype (subterranean) and type (room)
-			String key = StructureArchetype.SUBTERRANEAN.getName()
-					+ ":" + StructureType.ROOM.getName();
-			
-			// get the biome
 			Biome biome = world.getBiome(spawnCoords.toPos());
-			Integer biomeID = Biome.getIdForBiome(biome);
-			List<TemplateHolder> templateHolders = TreasureTemplateRegistry.getManager().getTemplatesByArchetypeTypeBiomeTable().get(key, biomeID);
-			if (templateHolders == null || templateHolders.isEmpty()) {
-				Treasure.LOGGER.debug("could not find template holders for archetype:type, biome -> {} [{}]:{}", key, biomeID, biome.toString());
-				return result.fail();
-			}
-			
-			TemplateHolder holder = templateHolders.get(random.nextInt(templateHolders.size()));
+			TemplateHolder holder = TreasureTemplateRegistry.get(world, random, StructureArchetype.SUBTERRANEAN, StructureType.ROOM, biome);
 			if (holder == null) {
-				Treasure.LOGGER.debug("could not find random template holder.");
+				Treasure.LOGGER.debug("could not find template holder for archetype:type, biome -> {}:{} {}", 
+						StructureArchetype.SUBTERRANEAN, StructureType.ROOM, biome);
 				return result.fail();
 			}
 			
@@ -192,7 +186,7 @@ public class StructurePitGenerator extends AbstractPitGenerator {
 			Treasure.LOGGER.debug("aligned room coords -> {}", roomCoords.toShortString());
 			
 			// generate the structure
-			GeneratorResult<TemplateGeneratorData> genResult = new TemplateGenerator().generate(world, random, holder, placement, roomCoords);
+			GeneratorResult<TemplateGeneratorData> genResult = TEMPLATE_GENERATOR.generate(world, random, holder, placement, roomCoords);
 			if (!genResult.isSuccess()) return result.fail();
 			
 			result.getData().setSpawnCoords(genResult.getData().getSpawnCoords());
@@ -232,11 +226,13 @@ public class StructurePitGenerator extends AbstractPitGenerator {
 		    	te.setProximity(5D);
 			}
 
+			BlockPlacementBuffer buffer = new BlockPlacementBuffer(world);
 			// shaft enterance
-			generateEntrance(world, random, surfaceCoords, spawnCoords.add(0, size.getY()+1, 0));
+			generateEntrance(buffer, random, surfaceCoords, spawnCoords.add(0, size.getY()+1, 0));
 			
 			// build the pit
-			generatePit(world, random, surfaceCoords, spawnCoords.add(0, size.getY(), 0));
+			generatePit(buffer, random, surfaceCoords, spawnCoords.add(0, size.getY(), 0));
+			buffer.flush();
 		}			
 		// shaft is only 2-6 blocks long - can only support small covering
 		else if (yDist >= 2) {
@@ -3,16 +3,14 @@ package com.someguyssoftware.treasure2.generator.pit;
 import java.util.Random;
 
 import static com.someguyssoftware.treasure2.Treasure.LOGGER;
-import com.someguyssoftware.gottschcore.cube.Cube;
 import com.someguyssoftware.gottschcore.positional.Coords;
 import com.someguyssoftware.gottschcore.positional.ICoords;
 import com.someguyssoftware.gottschcore.random.RandomHelper;
 import com.someguyssoftware.gottschcore.random.RandomWeightedCollection;
 import com.someguyssoftware.treasure2.block.TreasureBlocks;
+import com.someguyssoftware.treasure2.generator.BlockPlacementBuffer;
 import com.someguyssoftware.treasure2.generator.ChestGeneratorData;
-import com.someguyssoftware.treasure2.generator.GenUtil;
 import com.someguyssoftware.treasure2.generator.GeneratorResult;
-import com.sun.media.jfxmedia.logging.Logger;
 
 import net.minecraft.block.Block;
 import net.minecraft.init.Blocks;
@@ -60,14 +58,14 @@ public class VolcanoPitGenerator extends AbstractPitGenerator {
 	
 	/**
 	 * 
-	 * @param world
+	 * @param buffer
 	 * @param random
 	 * @param spawnCoords
 	 * @param surfaceCoords
 	 * @return
 	 */
 	@Override
-	public ICoords buildPit(World world, Random random, ICoords coords, ICoords surfaceCoords, RandomWeightedCollection<Block> col) {
+	public ICoords buildPit(BlockPlacementBuffer buffer, Random random, ICoords coords, ICoords surfaceCoords, RandomWeightedCollection<Block> col) {
 		ICoords nextCoords = null;
 		ICoords expectedCoords = null;
         
@@ -78,26 +76,26 @@ public class VolcanoPitGenerator extends AbstractPitGenerator {
 		int shaftStartY = coords.getY() + ((surfaceCoords.getY() - coords.getY()) / 3 * 2);
 
 		// build lava around base
-		buildLavaBaseLayer(world, coords.down(1), radius);
+		buildLavaBaseLayer(buffer, coords.down(1), radius);
 
         nextCoords = coords;
         while (nextCoords.getY() < (shaftStartY - 4)) {
-            nextCoords = buildLayer(world, nextCoords, radius, Blocks.AIR, true);
+            nextCoords = buildLayer(buffer, nextCoords, radius, Blocks.AIR, true);
         }
 
         // taper in until 2/3 point is reached
         while (nextCoords.getY() < shaftStartY && radius > 1) {
-            nextCoords = buildLayer(world, nextCoords, radius--, Blocks.AIR, false);
+            nextCoords = buildLayer(buffer, nextCoords, radius--, Blocks.AIR, false);
         }
 
         // build one layer of logs
-        nextCoords = buildLogLayer(world, random, nextCoords, Blocks.LOG);
+        nextCoords = buildLogLayer(buffer, random, nextCoords, Blocks.LOG);
         
         // build shaft
 		for (int yIndex = nextCoords.getY() + 1; yIndex <= surfaceCoords.getY() - SURFACE_OFFSET_Y; yIndex++) {
 			// if the block to be replaced is air block then skip to the next pos
-			Cube cube = new Cube(world, new Coords(coords.getX(), yIndex, coords.getZ()));
-			if (cube.isAir()) {
+			ICoords layerCoords = new Coords(coords.getX(), yIndex, coords.getZ());
+			if (buffer.isAir(layerCoords)) {
 				continue;
 			}
 
@@ -105,14 +103,14 @@ public class VolcanoPitGenerator extends AbstractPitGenerator {
 			Block block = col.next();
 			if (block == Blocks.LOG) {
 				// special log build layer
-				nextCoords = buildLogLayer(world, random, cube.getCoords(), block); // could have difference classes and implement buildLayer differently
+				nextCoords = buildLogLayer(buffer, random, layerCoords, block); // could have difference classes and implement buildLayer differently
 			}
 			else {
-				nextCoords = buildLayer(world, cube.getCoords(), block);
+				nextCoords = buildLayer(buffer, layerCoords, block);
 			}
 
 			// get the expected coords
-			expectedCoords = cube.getCoords().add(0, 1, 0);
+			expectedCoords = layerCoords.add(0, 1, 0);
 			
 			// check if the return coords is different than the anticipated coords and resolve
 			yIndex = autoCorrectIndex(yIndex, nextCoords, expectedCoords);
@@ -124,14 +122,14 @@ public class VolcanoPitGenerator extends AbstractPitGenerator {
 	 * 
 	 */
 	@Override
-	public void buildAboveChestLayers(World world, Random random, ICoords spawnCoords) {
+	public void buildAboveChestLayers(BlockPlacementBuffer buffer, Random random, ICoords spawnCoords) {
 		
 	}
 	
     /**
      * 
      */
-    private ICoords buildLayer(World world, ICoords coords, int radius, Block block, boolean addDecorations) {
+    private ICoords buildLayer(BlockPlacementBuffer buffer, ICoords coords, int radius, Block block, boolean addDecorations) {
 		int radiusSquared = radius * radius;
 		Integer[] distancesMet = new Integer[radius + 1];
 		ICoords spawnCoords = null;
@@ -153,25 +151,25 @@ public class VolcanoPitGenerator extends AbstractPitGenerator {
 
 				if (isDistanceMet) {
 					Random random = new Random();
-                    GenUtil.replaceWithBlock(world, spawnCoords, block);
+                    buffer.replaceWithBlock(spawnCoords, block);
                     
                     if (addDecorations) {
 	                    if (xOffset < 0) {
 	                        ICoords replaceCoords = spawnCoords.west(1);
-	                        addDecorations(world, random, replaceCoords);
+	                        addDecorations(buffer, random, replaceCoords);
 	                    }
 	                    else if (xOffset > 0) {
 	                        ICoords replaceCoords = spawnCoords.east(1);
-	                        addDecorations(world, random, replaceCoords);
+	                        addDecorations(buffer, random, replaceCoords);
 	                    }
 	
 	                    if (zOffset < 0) {
 	                        ICoords replaceCoords = spawnCoords.north(1);
-	                        addDecorations(world, random, replaceCoords);
+	                        addDecorations(buffer, random, replaceCoords);
 	                    }
 	                    else if (zOffset > 0) {
 	                        ICoords replaceCoords = spawnCoords.south(1);
-	                        addDecorations(world, random, replaceCoords);
+	                        addDecorations(buffer, random, replaceCoords);
 	                    }
                     }
                 }
@@ -184,30 +182,30 @@ public class VolcanoPitGenerator extends AbstractPitGenerator {
     /**
      * 
      */
-    private void addDecorations(World world, Random random, ICoords coords) {
-        if (world.getBlockState(coords.toPos()).getBlock() != Blocks.AIR) {
+    private void addDecorations(BlockPlacementBuffer buffer, Random random, ICoords coords) {
+        if (buffer.getBlockState(coords).getBlock() != Blocks.AIR) {
             if (RandomHelper.checkProbability(random, 30)) {
-                world.setBlockState(coords.toPos(), TreasureBlocks.BLACKSTONE.getDefaultState());
+                buffer.setBlockState(coords, TreasureBlocks.BLACKSTONE.getDefaultState());
             }
             else if (RandomHelper.checkProbability(random, 10)) {
-            	world.setBlockState(coords.toPos(), Blocks.LAVA.getDefaultState());
+            	buffer.setBlockState(coords, Blocks.LAVA.getDefaultState());
             }
         }
     }
 
 	/**
 	 * 
-	 * @param world
+	 * @param buffer
 	 * @param coords
 	 */
-	private void buildLavaBaseLayer(World world, ICoords coords, int radius) {
+	private void buildLavaBaseLayer(BlockPlacementBuffer buffer, ICoords coords, int radius) {
         LOGGER.debug("Building lava baselayer from @ {} ", coords.toShortString());
 
         // for circular chamber
-        buildLayer(world, coords, radius, Blocks.LAVA, false);
+        buildLayer(buffer, coords, radius, Blocks.LAVA, false);
 
         // add the chest
-        GenUtil.replaceWithBlock(world, coords, Blocks.STONE);	
+        buffer.replaceWithBlock(coords, Blocks.STONE);	
 	}
 	
 	@Override
@@ -25,8 +25,10 @@ import com.someguyssoftware.treasure2.meta.StructureMeta;
 import com.someguyssoftware.treasure2.meta.StructureType;
 import com.someguyssoftware.treasure2.registry.TreasureDecayRegistry;
 import com.someguyssoftware.treasure2.registry.TreasureMetaRegistry;
+import com.someguyssoftware.treasure2.world.gen.structure.DecayProcessorCache;
 import com.someguyssoftware.treasure2.world.gen.structure.TemplateGenerator;
 import com.someguyssoftware.treasure2.world.gen.structure.TemplateHolder;
+import com.someguyssoftware.treasure2.worldgen.ColumnCache;
 
 import net.minecraft.init.Blocks;
 import net.minecraft.util.Rotation;
@@ -41,6 +43,14 @@ public class SubmergedRuinGenerator implements IRuinGenerator<GeneratorResult<Ch
 
 	private static final double REQUIRED_BASE_SIZE = 50;
 
+	// shared by all submerged ruins
+	private static final TemplateGenerator TEMPLATE_GENERATOR = new TemplateGenerator(Blocks.AIR);
+	private static final DecayProcessorCache DECAY_PROCESSORS = new DecayProcessorCache(ruleSet -> {
+		IDecayProcessor decayProcessor = new DecayProcessor(Treasure.instance.getInstance(), ruleSet);
+		decayProcessor.setBackFillBlockLayer1(Blocks.GRAVEL.getDefaultState());
+		return decayProcessor;
+	});
+
 	/**
 	 * 
 	 */
@@ -74,9 +84,8 @@ public class SubmergedRuinGenerator implements IRuinGenerator<GeneratorResult<Ch
 		/*
 		 * Setup
 		 */
-		// create the generator
-		TemplateGenerator generator = new TemplateGenerator();
-		generator.setNullBlock(Blocks.AIR);
+		// get the generator
+		TemplateGenerator generator = TEMPLATE_GENERATOR;
 
 		// get the template holder from the given archetype, type and biome
 		if (holder == null) {
@@ -101,7 +110,7 @@ public class SubmergedRuinGenerator implements IRuinGenerator<GeneratorResult<Ch
 		/**
 		 * Environment Checks
 		 */
-		actualSpawnCoords = WorldInfo.getOceanFloorSurfaceCoords(world, actualSpawnCoords);
+		actualSpawnCoords = ColumnCache.getOceanFloorSurfaceCoords(world, actualSpawnCoords);
 		Treasure.LOGGER.debug("ocean floor coords -> {}", actualSpawnCoords.toShortString());
 
 		// check if it has % land
@@ -137,19 +146,21 @@ public class SubmergedRuinGenerator implements IRuinGenerator<GeneratorResult<Ch
 		}
 
 		// setup the decay ruleset and processor
-		IDecayProcessor decayProcessor = null;
 		if (decayRuleSet == null && holder.getDecayRuleSetLocation() != null && holder.getDecayRuleSetLocation().size() > 0) {
 			// create a decay processor with a random rule set
 			decayRuleSet = TreasureDecayRegistry.getManager().getRuleSetMap().get(holder.getDecayRuleSetLocation().get(random.nextInt(holder.getDecayRuleSetLocation().size())).toString());
 			Treasure.LOGGER.debug("decayRuleSet -> {}", decayRuleSet.getName());
 			// if decayRuleSet is null the processor should be null
 		}
-		if (decayRuleSet != null) {
-			decayProcessor = new DecayProcessor(Treasure.instance.getInstance(), decayRuleSet);
-			decayProcessor.setBackFillBlockLayer1(Blocks.GRAVEL.getDefaultState());
+		// the thread's processor of the rule set, if it isn't used by an enclosing generation
+		IDecayProcessor decayProcessor = DECAY_PROCESSORS.take(decayRuleSet);
+		GeneratorResult<TemplateGeneratorData> genResult;
+		try {
+			genResult = generator.generate(world, random, decayProcessor, holder, placement, originalSpawnCoords);
+		}
+		finally {
+			DECAY_PROCESSORS.release(decayRuleSet, decayProcessor);
 		}
-
-		GeneratorResult<TemplateGeneratorData> genResult = generator.generate(world, random, decayProcessor, holder, placement, originalSpawnCoords);
 		if (!genResult.isSuccess()) return result.fail();
 
 		Treasure.LOGGER.debug("submerged gen result -> {}", genResult);
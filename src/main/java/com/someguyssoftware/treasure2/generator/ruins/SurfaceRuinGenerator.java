@@ -26,8 +26,10 @@ import com.someguyssoftware.treasure2.meta.StructureMeta;
 import com.someguyssoftware.treasure2.meta.StructureType;
 import com.someguyssoftware.treasure2.registry.TreasureDecayRegistry;
 import com.someguyssoftware.treasure2.registry.TreasureMetaRegistry;
+import com.someguyssoftware.treasure2.world.gen.structure.DecayProcessorCache;
 import com.someguyssoftware.treasure2.world.gen.structure.TemplateGenerator;
 import com.someguyssoftware.treasure2.world.gen.structure.TemplateHolder;
+import com.someguyssoftware.treasure2.worldgen.ColumnCache;
 
 import net.minecraft.block.material.Material;
 import net.minecraft.util.Rotation;
@@ -44,6 +46,11 @@ public class SurfaceRuinGenerator implements IRuinGenerator<GeneratorResult<Ches
 	private static final double REQUIRED_BASE_SIZE = 45;
 	private static final double REQUIRED_AIR_SIZE = 30;
 
+	// shared by all surface ruins
+	private static final TemplateGenerator TEMPLATE_GENERATOR = new TemplateGenerator();
+	private static final DecayProcessorCache DECAY_PROCESSORS = new DecayProcessorCache(
+			ruleSet -> new DecayProcessor(Treasure.instance.getInstance(), ruleSet));
+
 	/**
 	 * 
 	 */
@@ -75,8 +82,8 @@ public class SurfaceRuinGenerator implements IRuinGenerator<GeneratorResult<Ches
 		/*
 		 * Setup
 		 */
-		// create the generator
-		TemplateGenerator generator = new TemplateGenerator();
+		// get the generator
+		TemplateGenerator generator = TEMPLATE_GENERATOR;
 		
 		// get the template holder from the given archetype, type and biome
 		if (holder == null) {
@@ -104,7 +111,7 @@ public class SurfaceRuinGenerator implements IRuinGenerator<GeneratorResult<Ches
 		/**
 		 * Environment Checks
 		 */
-		actualSpawnCoords = WorldInfo.getDryLandSurfaceCoords(world, actualSpawnCoords);
+		actualSpawnCoords = ColumnCache.getDryLandSurfaceCoords(world, actualSpawnCoords);
 		Treasure.LOGGER.debug("surface coords -> {}", actualSpawnCoords.toShortString());
 		if (actualSpawnCoords == WorldInfo.EMPTY_COORDS) {
 			return result.fail();
@@ -154,19 +161,27 @@ public class SurfaceRuinGenerator implements IRuinGenerator<GeneratorResult<Ches
 		Treasure.LOGGER.debug("meta -> {}", meta);
 		
 		// setup the decay ruleset and processor
-		IDecayProcessor decayProcessor = null;
 		if (decayRuleSet == null && holder.getDecayRuleSetLocation() != null && holder.getDecayRuleSetLocation().size() > 0) {
 			// create a decay processor
 			Treasure.LOGGER.debug("decayRuleSet location -> {}", holder.getDecayRuleSetLocation().get(0));
 			decayRuleSet = TreasureDecayRegistry.getManager().getRuleSetMap().get(holder.getDecayRuleSetLocation().get(random.nextInt(holder.getDecayRuleSetLocation().size())).toString());
 			// if decayRuleSet is null the processor should be null
 		}
+		// the thread's processor of the rule set, if it isn't used by an enclosing generation
+		IDecayProcessor decayProcessor = null;
 		if (decayRuleSet != null) {
 			Treasure.LOGGER.debug("decayRuleSet -> {}", decayRuleSet.getName());
-			decayProcessor = new DecayProcessor(Treasure.instance.getInstance(), decayRuleSet);
+			decayProcessor = DECAY_PROCESSORS.take(decayRuleSet);
 		}
 		
-		GeneratorResult<TemplateGeneratorData> genResult = generator.generate(world, random, decayProcessor, holder, placement, originalSpawnCoords);
+		GeneratorResult<TemplateGeneratorData> genResult;
+		try {
+			genResult = generator.generate(world, random, decayProcessor, holder, placement, originalSpawnCoords);
+		}
+		finally {
+			DECAY_PROCESSORS.release(decayRuleSet, decayProcessor);
+		}
+		ColumnCache.invalidate();
 		 if (!genResult.isSuccess()) return result.fail();
 
 		Treasure.LOGGER.debug("surface gen result -> {}", genResult);
@@ -213,7 +228,7 @@ public class SurfaceRuinGenerator implements IRuinGenerator<GeneratorResult<Ches
 		ICoords chestCoords = null;
 		if (chestContext != null) {
 			// move the chest coords to the first solid block beneath it.
-			chestCoords = getSolidSurfaceCoords(world, chestContext.getCoords());
+			chestCoords = ColumnCache.getSolidSurfaceCoords(world, chestContext.getCoords());
 			if (chestCoords == WorldInfo.EMPTY_COORDS) chestCoords = null;
 			chestContext.setCoords(chestCoords);
 		}
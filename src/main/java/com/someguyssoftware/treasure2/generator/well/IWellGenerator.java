@@ -5,13 +5,13 @@ package com.someguyssoftware.treasure2.generator.well;
 
 import java.util.Random;
 
-import com.someguyssoftware.gottschcore.cube.Cube;
 import com.someguyssoftware.gottschcore.positional.Coords;
 import com.someguyssoftware.gottschcore.positional.ICoords;
 import com.someguyssoftware.gottschcore.world.WorldInfo;
 import com.someguyssoftware.treasure2.Treasure;
 import com.someguyssoftware.treasure2.config.IWellConfig;
 import com.someguyssoftware.treasure2.config.TreasureConfig;
+import com.someguyssoftware.treasure2.generator.BlockPlacementBuffer;
 import com.someguyssoftware.treasure2.generator.GeneratorData;
 import com.someguyssoftware.treasure2.generator.GeneratorResult;
 import com.someguyssoftware.treasure2.generator.IGeneratorResult;
@@ -56,11 +56,12 @@ public interface IWellGenerator<RESULT extends IGeneratorResult<?>> {
 	
 	/**
 	 * Default implementation based on a 3x3 well structure.
-	 * @param world
+	 * @param buffer the buffer the decorations are placed with
 	 * @param random
 	 * @param coords
 	 */
-	public default void addDecoration(World world, Random random, ICoords coords) {
+	public default void addDecoration(BlockPlacementBuffer buffer, Random random, ICoords coords) {
+		World world = buffer.getWorld();
 		// coords matrix centered around the input coords
 		ICoords[] circle = new Coords[16];
 		circle[0] = coords.add(-2, 0, -2);
@@ -91,13 +92,13 @@ public interface IWellGenerator<RESULT extends IGeneratorResult<?>> {
 					Treasure.LOGGER.debug("Returning due to marker coords == null or EMPTY_COORDS");
 					continue; 
 				}
-				Cube markerCube = new Cube(world, markerCoords.add(0, -1, 0));
-//				Treasure.logger.debug("Marker on block: {}", markerCube.getState());
-				if (markerCube.equalsBlock(Blocks.GRASS)) {
+				IBlockState markerState = buffer.getBlockState(markerCoords.add(0, -1, 0));
+//				Treasure.logger.debug("Marker on block: {}", markerState);
+				if (markerState.getBlock() == Blocks.GRASS) {
 					blockState = getDecorationBlockState(world, Blocks.RED_FLOWER);
 				}
-				else if (markerCube.equalsBlock(Blocks.DIRT)) {
-					DirtType dirtType = markerCube.getState().getValue(BlockDirt.VARIANT);
+				else if (markerState.getBlock() == Blocks.DIRT) {
+					DirtType dirtType = markerState.getValue(BlockDirt.VARIANT);
 					if (dirtType == DirtType.DIRT) {
 						blockState = getDecorationBlockState(world, Blocks.RED_FLOWER);
 					}
@@ -113,7 +114,7 @@ public interface IWellGenerator<RESULT extends IGeneratorResult<?>> {
 						blockState = getDecorationBlockState(world, Blocks.TALLGRASS);
 					}
 				}
-				else if (markerCube.equalsBlock(Blocks.MYCELIUM)) {
+				else if (markerState.getBlock() == Blocks.MYCELIUM) {
 //					Treasure.logger.debug("On mycelium block");
 					Block mushBlock = random.nextInt(2) == 0 ? Blocks.BROWN_MUSHROOM_BLOCK : Blocks.RED_MUSHROOM;
 					blockState = getDecorationBlockState(world, mushBlock);					
@@ -123,7 +124,7 @@ public interface IWellGenerator<RESULT extends IGeneratorResult<?>> {
 					blockState = getDecorationBlockState(world, Blocks.TALLGRASS);
 			}				
 				// set the block state
-				world.setBlockState(circle[i].toPos(), blockState, 3);
+				buffer.setBlockState(circle[i], blockState);
 //				Treasure.logger.debug("Generating blockstate: {}", blockState);
 			}
 		}
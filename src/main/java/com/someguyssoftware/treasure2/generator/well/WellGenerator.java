@@ -5,13 +5,13 @@ package com.someguyssoftware.treasure2.generator.well;
 
 import java.util.Random;
 
-import com.someguyssoftware.gottschcore.cube.Cube;
 import com.someguyssoftware.gottschcore.positional.Coords;
 import com.someguyssoftware.gottschcore.positional.ICoords;
 import com.someguyssoftware.gottschcore.random.RandomHelper;
 import com.someguyssoftware.gottschcore.world.WorldInfo;
 import com.someguyssoftware.treasure2.Treasure;
 import com.someguyssoftware.treasure2.config.IWellConfig;
+import com.someguyssoftware.treasure2.generator.BlockPlacementBuffer;
 import com.someguyssoftware.treasure2.generator.GeneratorData;
 import com.someguyssoftware.treasure2.generator.GeneratorResult;
 import com.someguyssoftware.treasure2.generator.TemplateGeneratorData;
@@ -20,6 +20,7 @@ import com.someguyssoftware.treasure2.meta.StructureType;
 import com.someguyssoftware.treasure2.registry.TreasureTemplateRegistry;
 import com.someguyssoftware.treasure2.world.gen.structure.TemplateGenerator;
 import com.someguyssoftware.treasure2.world.gen.structure.TemplateHolder;
+import com.someguyssoftware.treasure2.worldgen.ColumnCache;
 
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockDirt;
@@ -36,6 +37,8 @@ import net.minecraft.world.gen.structure.template.PlacementSettings;
  *
  */
 public class WellGenerator implements IWellGenerator<GeneratorResult<GeneratorData>> {
+	// shared by all wells
+	private static final TemplateGenerator TEMPLATE_GENERATOR = new TemplateGenerator(Blocks.BEDROCK);
 
 	@Override
 	public GeneratorResult<GeneratorData> generate(World world, Random random,
@@ -54,9 +57,8 @@ public class WellGenerator implements IWellGenerator<GeneratorResult<GeneratorDa
 		// get the biome ID
 		Biome biome = world.getBiome(originalSpawnCoords.toPos());
 		
-		// create the generator
-		TemplateGenerator generator = new TemplateGenerator();
-		generator.setNullBlock(Blocks.BEDROCK);
+		// get the generator
+		TemplateGenerator generator = TEMPLATE_GENERATOR;
 		
 		// get the template
 		if (templateHolder == null) {
@@ -79,7 +81,7 @@ public class WellGenerator implements IWellGenerator<GeneratorResult<GeneratorDa
 		 */
 		// 1. determine y-coord of land surface for the actual spawn coords
 //		actualSpawnCoords = WorldInfo.getDryLandSurfaceCoords(world, new Coords(actualSpawnCoords.getX(), 255, actualSpawnCoords.getZ()));
-		actualSpawnCoords = WorldInfo.getDryLandSurfaceCoords(world, actualSpawnCoords.withY(255));
+		actualSpawnCoords = ColumnCache.getDryLandSurfaceCoords(world, actualSpawnCoords.withY(255));
 		if (actualSpawnCoords == null || actualSpawnCoords == WorldInfo.EMPTY_COORDS) {
 			Treasure.LOGGER.debug("Returning due to marker coords == null or EMPTY_COORDS");
 			return result.fail(); 
@@ -126,7 +128,7 @@ public class WellGenerator implements IWellGenerator<GeneratorResult<GeneratorDa
 	}
 
 	/**
-	 * 
+	 * The decorations are placed together, when all have been chosen.
 	 * @param world
 	 * @param random
 	 * @param coords
@@ -134,6 +136,7 @@ public class WellGenerator implements IWellGenerator<GeneratorResult<GeneratorDa
 	 * @param depth
 	 */
 	public void addDecorations(World world, Random random, ICoords coords, int width, int depth) {
+		BlockPlacementBuffer buffer = new BlockPlacementBuffer(world);
 		ICoords startCoords = coords.add(-1, 0, -1);
 	
 		// TODO change to scan the entire size (x,z) of well footprint and detect the edges ... place flowers adjacent to edge blocks. 
@@ -142,7 +145,7 @@ public class WellGenerator implements IWellGenerator<GeneratorResult<GeneratorDa
 		for (int widthIndex = 0; widthIndex <= width + 1; widthIndex++) {
 			if (RandomHelper.randomInt(0, 1) == 0) {
 //				ICoords decoCoords = startCoords.add(widthIndex, 0, 0);
-				addDecoration(world, random, startCoords.add(widthIndex, 0, 0));
+				addDecoration(buffer, random, startCoords.add(widthIndex, 0, 0));
 			}
 		}
 		
@@ -150,7 +153,7 @@ public class WellGenerator implements IWellGenerator<GeneratorResult<GeneratorDa
 		startCoords = coords.add(-1, 0, depth);
 		for (int widthIndex = 0; widthIndex <= width + 1; widthIndex++) {
 			if (RandomHelper.randomInt(0,  1) == 0) {
-				addDecoration(world, random, startCoords.add(widthIndex, 0, 0));
+				addDecoration(buffer, random, startCoords.add(widthIndex, 0, 0));
 			}
 		}
 		
@@ -158,7 +161,7 @@ public class WellGenerator implements IWellGenerator<GeneratorResult<GeneratorDa
 		startCoords = coords.add(-1, 0, 0);
 		for (int depthIndex = 0; depthIndex < depth-1; depthIndex++) {
 			if (RandomHelper.randomInt(0,  1) == 0) {
-				addDecoration(world, random, startCoords.add(0, 0, depthIndex));
+				addDecoration(buffer, random, startCoords.add(0, 0, depthIndex));
 			}
 		}
 		
@@ -166,59 +169,59 @@ public class WellGenerator implements IWellGenerator<GeneratorResult<GeneratorDa
 		startCoords = coords.add(width, 0, 0);
 		for (int depthIndex = 0; depthIndex < depth-1; depthIndex++) {
 			if (RandomHelper.randomInt(0,  1) == 0) {
-				addDecoration(world, random, startCoords.add(0, 0, depthIndex));
+				addDecoration(buffer, random, startCoords.add(0, 0, depthIndex));
 			}
 		}
+		buffer.flush();
 	}
 
 	@Override
-	public void addDecoration(World world, Random random, ICoords coords) {
+	public void addDecoration(BlockPlacementBuffer buffer, Random random, ICoords coords) {
 		IBlockState blockState = null;
-		ICoords markerCoords = WorldInfo.getDryLandSurfaceCoords(world, coords);
+		ICoords markerCoords = WorldInfo.getDryLandSurfaceCoords(buffer.getWorld(), coords);
 		
 		if (markerCoords == null || markerCoords == WorldInfo.EMPTY_COORDS) {
 			Treasure.LOGGER.debug("Returning due to marker coords == null or EMPTY_COORDS");
 			return;
 		}
-		Cube markerCube = new Cube(world, markerCoords);
-		if (!markerCube.isAir() && !markerCube.isReplaceable()) {
+		if (!buffer.isAir(markerCoords) && !buffer.isReplaceable(markerCoords)) {
 			Treasure.LOGGER.debug("Returning due to marker coords is not air nor replaceable.");
 			return;
 		}
 		
-		markerCube = new Cube(world, markerCoords.add(0, -1, 0));
-//		Treasure.logger.debug("Marker on block: {}", markerCube.getState());
-		if (markerCube.equalsBlock(Blocks.GRASS)) {
-			blockState = getDecorationBlockState(world, Blocks.RED_FLOWER);
+		IBlockState markerState = buffer.getBlockState(markerCoords.add(0, -1, 0));
+//		Treasure.logger.debug("Marker on block: {}", markerState);
+		if (markerState.getBlock() == Blocks.GRASS) {
+			blockState = getDecorationBlockState(buffer.getWorld(), Blocks.RED_FLOWER);
 		}
-		else if (markerCube.equalsBlock(Blocks.DIRT)) {
-			DirtType dirtType = markerCube.getState().getValue(BlockDirt.VARIANT);
+		else if (markerState.getBlock() == Blocks.DIRT) {
+			DirtType dirtType = markerState.getValue(BlockDirt.VARIANT);
 			if (dirtType == DirtType.DIRT) {
-				blockState = getDecorationBlockState(world, Blocks.RED_FLOWER);
+				blockState = getDecorationBlockState(buffer.getWorld(), Blocks.RED_FLOWER);
 			}
 			else if (dirtType == DirtType.PODZOL) {
 //				Treasure.logger.debug("On podzol block");
 				Block mushBlock = random.nextInt(2) == 0 ? Blocks.BROWN_MUSHROOM : Blocks.RED_MUSHROOM;
-				blockState = getDecorationBlockState(world, mushBlock);
+				blockState = getDecorationBlockState(buffer.getWorld(), mushBlock);
 			}
 			else {
 //				Treasure.logger.debug("On coarse dirt block");
 //				Block grassBlock = Blocks.TALLGRASS;
 //				blockState = grassBlock.getDefaultState().withProperty(BlockTallGrass.TYPE, BlockTallGrass.EnumType.values()[meta]);			
-				blockState = getDecorationBlockState(world, Blocks.TALLGRASS);
+				blockState = getDecorationBlockState(buffer.getWorld(), Blocks.TALLGRASS);
 			}
 		}
-		else if (markerCube.equalsBlock(Blocks.MYCELIUM)) {
+		else if (markerState.getBlock() == Blocks.MYCELIUM) {
 //			Treasure.logger.debug("On mycelium block");
 			Block mushBlock = random.nextInt(2) == 0 ? Blocks.BROWN_MUSHROOM : Blocks.RED_MUSHROOM;
-			blockState = getDecorationBlockState(world, mushBlock);					
+			blockState = getDecorationBlockState(buffer.getWorld(), mushBlock);					
 		}
 		else {
 //			Treasure.logger.debug("On other block");
-			blockState = getDecorationBlockState(world, Blocks.TALLGRASS);
+			blockState = getDecorationBlockState(buffer.getWorld(), Blocks.TALLGRASS);
 	}				
 		// set the block state
-		world.setBlockState(coords.toPos(), blockState, 3);
+		buffer.setBlockState(coords, blockState);
 //		Treasure.logger.debug("Generating blockstate: {}", blockState);
 	}
 }
@@ -22,9 +22,9 @@ package com.someguyssoftware.treasure2.inventory;
 import static com.someguyssoftware.treasure2.capability.TreasureCapabilities.CHARMABLE;
 import static com.someguyssoftware.treasure2.capability.TreasureCapabilities.RUNESTONES;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.atomic.AtomicBoolean;
 
 import com.someguyssoftware.gottschcore.world.WorldInfo;
 import com.someguyssoftware.treasure2.Treasure;
@@ -33,7 +33,6 @@ import com.someguyssoftware.treasure2.block.TreasureBlocks;
 import com.someguyssoftware.treasure2.capability.ICharmableCapability;
 import com.someguyssoftware.treasure2.capability.IRunestonesCapability;
 import com.someguyssoftware.treasure2.capability.InventoryType;
-import com.someguyssoftware.treasure2.capability.TreasureCapabilities;
 import com.someguyssoftware.treasure2.charm.ICharmEntity;
 import com.someguyssoftware.treasure2.charm.TreasureCharms;
 import com.someguyssoftware.treasure2.item.Adornment;
@@ -99,6 +98,19 @@ public class CharmingTableContainer extends Container {
 	private IInventory runeInputSlot2;
 	private IInventory runeOutputSlot;
 
+	// fingerprint indices of the inputs that the outputs were last computed from
+	private static final int ADORNMENT_INPUT = 0;
+	private static final int CHARM_INPUT = 1;
+	private static final int CHARM_MODIFIER_INPUT = 2;
+	private static final int RUNE_MODIFIER_INPUT = 6;
+	private static final ResourceLocation SOCKET_CHARM_ITEM = new ResourceLocation(Treasure.MODID, "gold_charm");
+
+	private final long[] inputFingerprints = new long[7];
+	// whether the charm and rune modifiers apply to the adornment input, given the charm input
+	private boolean modifiersEnabled;
+	// whether the charm modifiers applied at the last update, which excludes the rune modifier
+	private boolean charmModifiersApplied;
+
 	private BlockPos selfPosition; // ?
 	private World world;
 	public int maximumCost;
@@ -461,256 +473,325 @@ public class CharmingTableContainer extends Container {
 	}
 
 	/**
-	 * Main method
+	 * Main method.
+	 * Recomputes only the outputs whose inputs have changed since the last update, as identified by the inputs' fingerprints:
+	 * the adornment + charm output and the displayed charms and runestone depend on the adornment and the charm input,
+	 * each modified charm output also on its charm modifier, and the modified rune output also on the rune modifier.
 	 */
 	public void updateOutput() {
-		this.maximumCost = 0;
-		this.materialCost = 1;
-		
-		// check if the adornment slot has an item
 		ItemStack itemStack = this.inputSlots.getStackInSlot(0);
-		if (itemStack.isEmpty()) {
-			this.outputSlot.setInventorySlotContents(0, ItemStack.EMPTY);
-			// clear charms
-			for (int i = 0; i < 4; i++) {
-				this.charmInputSlots1.setInventorySlotContents(i, ItemStack.EMPTY);
-				this.charmOutputSlots[i].setInventorySlotContents(0, ItemStack.EMPTY);
-			}
-			// clear runestone
-			this.runeInputSlot1.setInventorySlotContents(0, ItemStack.EMPTY);
-			this.runeOutputSlot.setInventorySlotContents(0, ItemStack.EMPTY);
-		}
-		else {
-			/*
-			 * setup
-			 */
-			this.maximumCost = 1;
-
-			// get the inputs
-			ItemStack itemStack2 = this.inputSlots.getStackInSlot(1);
-			if (itemStack2.isEmpty()) {
-				this.outputSlot.setInventorySlotContents(0, ItemStack.EMPTY);
-			}
-
-			// populate the charms and runestone if input is an adornment
-			if (itemStack.getItem() instanceof Adornment) {
-				ICharmableCapability charmableCap = itemStack.getCapability(TreasureCapabilities.CHARMABLE, null);
-				if (charmableCap != null) {
-					if (charmableCap.getCharmEntities().get(InventoryType.SOCKET).size() > 0) {
-						// less than 5 socket charms can fit into container gui
-						if (charmableCap.getCharmEntities().get(InventoryType.SOCKET).size() <= 4) {
-							int index = 0;
-							ResourceLocation resource = new ResourceLocation(Treasure.MODID, "gold_charm");
-							for (ICharmEntity charm : charmableCap.getCharmEntities().get(InventoryType.SOCKET)) {
-								// TODO calculate the correct charm to use
-								ItemStack charmStack = new ItemStack(TreasureItems.ITEMS.get(resource));
-								// duplicate the charm entity
-								ICharmEntity entity = charm.getCharm().createEntity(charm);
-								// update the new charmStack with the duplicated charm
-								((List<ICharmEntity>)charmStack.getCapability(CHARMABLE, null).getCharmEntities().get(InventoryType.INNATE)).set(0, entity);
-								this.charmInputSlots1.setInventorySlotContents(index, charmStack);
-								index++;
-							}
-						}
-						else {
-							// TODO select 4 charms with the least charge
-						}
-					}
-				}
+		ItemStack itemStack2 = this.inputSlots.getStackInSlot(1);
 
-				// populate the runestones
-				IRunestonesCapability runestoneCap = itemStack.getCapability(RUNESTONES, null);
-				if (runestoneCap != null) {
-					if (runestoneCap.getEntities(InventoryType.SOCKET).size() > 0) {
-						Optional<Item> item = TreasureRunes.getItem(runestoneCap.getEntities(InventoryType.SOCKET).get(0).getRunestone());
-						// NOTE if item isn't found, something went wrong
-						if (item.isPresent()) {
-							this.runeInputSlot1.setInventorySlotContents(0, new ItemStack(item.get()));
-						}
-					}
-				}
-			}
-			/////
+		this.maximumCost = itemStack.isEmpty() ? 0 : 1;
+		this.materialCost = 1;
 
-			for (int i = 0; i < 4; i++) {
-				if (this.charmInputSlots1.getStackInSlot(i).isEmpty() ||
-						this.charmInputSlots2.getStackInSlot(i).isEmpty()) {
-					this.charmOutputSlots[i].setInventorySlotContents(0, ItemStack.EMPTY);
-				}
+		long adornmentFingerprint = fingerprint(itemStack);
+		boolean adornmentChanged = adornmentFingerprint != this.inputFingerprints[ADORNMENT_INPUT];
+		long fingerprint = fingerprint(itemStack2);
+		boolean inputsChanged = adornmentChanged || fingerprint != this.inputFingerprints[CHARM_INPUT];
+		this.inputFingerprints[ADORNMENT_INPUT] = adornmentFingerprint;
+		this.inputFingerprints[CHARM_INPUT] = fingerprint;
+
+		// populate the charms and runestone if input is an adornment
+		if (adornmentChanged) {
+			updateAdornmentInputs(itemStack);
+		}
+
+		if (inputsChanged) {
+			this.outputSlot.setInventorySlotContents(0, itemStack.isEmpty() ? ItemStack.EMPTY : getOutput(itemStack, itemStack2));
+		}
+
+		/*
+		 *  remove/recharge adornment charm check
+		 */
+		for (int i = 0; i < 4; i++) {
+			fingerprint = fingerprint(this.charmInputSlots2.getStackInSlot(i));
+			if (inputsChanged || fingerprint != this.inputFingerprints[CHARM_MODIFIER_INPUT + i]) {
+				this.inputFingerprints[CHARM_MODIFIER_INPUT + i] = fingerprint;
+				this.charmOutputSlots[i].setInventorySlotContents(0, 
+						itemStack.isEmpty() || !this.modifiersEnabled ? ItemStack.EMPTY : getCharmOutput(itemStack, i));
 			}
+		}
+
+		/*
+		 *  remove runestone check. only if the charm modifiers don't apply
+		 */
+		fingerprint = fingerprint(this.runeInputSlot2.getStackInSlot(0));
+		boolean charmModifiersApply = !this.charmInputSlots1.isEmpty() && !this.charmInputSlots2.isEmpty();
+		if (inputsChanged || fingerprint != this.inputFingerprints[RUNE_MODIFIER_INPUT] || charmModifiersApply != this.charmModifiersApplied) {
+			this.inputFingerprints[RUNE_MODIFIER_INPUT] = fingerprint;
+			this.charmModifiersApplied = charmModifiersApply;
+			this.runeOutputSlot.setInventorySlotContents(0, 
+					itemStack.isEmpty() || !this.modifiersEnabled || charmModifiersApply ? ItemStack.EMPTY : getRuneOutput(itemStack));
+		}
+	}
 
-			ItemStack runeStack = this.runeInputSlot1.getStackInSlot(0);
-			if (runeStack.isEmpty()) {
-				this.runeOutputSlot.setInventorySlotContents(0, ItemStack.EMPTY);
+	/**
+	 * Displays the socketed charms and runestone of the adornment in the read-only input slots.
+	 * @param itemStack the adornment input
+	 */
+	private void updateAdornmentInputs(ItemStack itemStack) {
+		for (int i = 0; i < 4; i++) {
+			this.charmInputSlots1.setInventorySlotContents(i, ItemStack.EMPTY);
+		}
+		this.runeInputSlot1.setInventorySlotContents(0, ItemStack.EMPTY);
+		if (!(itemStack.getItem() instanceof Adornment)) {
+			return;
+		}
+
+		ICharmableCapability charmableCap = itemStack.getCapability(CHARMABLE, null);
+		if (charmableCap != null) {
+			Collection<ICharmEntity> socketCharms = charmableCap.getCharmEntities().get(InventoryType.SOCKET);
+			// less than 5 socket charms can fit into container gui
+			if (!socketCharms.isEmpty() && socketCharms.size() <= 4) {
+				int index = 0;
+				Item charmItem = TreasureItems.ITEMS.get(SOCKET_CHARM_ITEM);
+				for (ICharmEntity charm : socketCharms) {
+					// TODO calculate the correct charm to use
+					ItemStack charmStack = new ItemStack(charmItem);
+					// duplicate the charm entity
+					ICharmEntity entity = charm.getCharm().createEntity(charm);
+					// update the new charmStack with the duplicated charm
+					((List<ICharmEntity>)charmStack.getCapability(CHARMABLE, null).getCharmEntities().get(InventoryType.INNATE)).set(0, entity);
+					this.charmInputSlots1.setInventorySlotContents(index, charmStack);
+					index++;
+				}
 			}
-			ItemStack runeStack2 = this.runeInputSlot2.getStackInSlot(0);
-			if (runeStack2.isEmpty()) {
-				this.runeOutputSlot.setInventorySlotContents(0, ItemStack.EMPTY);
+			else {
+				// TODO select 4 charms with the least charge
 			}
+		}
 
-			/*
-			 *  add charm check
-			 */
-			if (itemStack.hasCapability(CHARMABLE, null) && itemStack2.hasCapability(CHARMABLE, null)
-					&& itemStack.getCapability(CHARMABLE, null).isSocketable()
-					&& itemStack2.getCapability(CHARMABLE, null).isBindable()) {
+		// populate the runestones
+		IRunestonesCapability runestoneCap = itemStack.getCapability(RUNESTONES, null);
+		if (runestoneCap != null && !runestoneCap.getEntities(InventoryType.SOCKET).isEmpty()) {
+			Optional<Item> item = TreasureRunes.getItem(runestoneCap.getEntities(InventoryType.SOCKET).get(0).getRunestone());
+			// NOTE if item isn't found, something went wrong
+			if (item.isPresent()) {
+				this.runeInputSlot1.setInventorySlotContents(0, new ItemStack(item.get()));
+			}
+		}
+	}
 
-				ICharmableCapability cap = itemStack.getCapability(CHARMABLE, null);
+	/**
+	 * Computes the adornment + charm output and whether the charm and rune modifiers apply to the adornment.
+	 * @param itemStack the adornment input
+	 * @param itemStack2 the charm input
+	 * @return the output or EMPTY
+	 */
+	private ItemStack getOutput(ItemStack itemStack, ItemStack itemStack2) {
+		this.modifiersEnabled = false;
+		ICharmableCapability cap = itemStack.getCapability(CHARMABLE, null);
+		ICharmableCapability cap2 = itemStack2.getCapability(CHARMABLE, null);
+		ItemStack output = ItemStack.EMPTY;
+
+		/*
+		 *  add charm check
+		 */
+		if (cap != null && cap2 != null && cap.isSocketable() && cap2.isBindable()) {
+			// check that they charm type doesn't already exist on the adornment
+			if (cap.hasCharmType(itemStack2, itemStack, InventoryType.INNATE, InventoryType.SOCKET)) {
+				// TODO nice-to-have, flag to display message indicating the charm type already exists on dest.
+				return ItemStack.EMPTY;
+			}
+			// check that there is room to add charms
+			if (cap.getCharmEntities().get(InventoryType.SOCKET).size() < cap.getMaxSocketSize()) {
+				// build the output item, add the charm to the adornment
+				output = getTransferOutput(itemStack2, itemStack, InventoryType.SOCKET);
+			}
+		}
 
-				// check that they charm type doesn't already exist on the adornment
-				if (cap.hasCharmType(itemStack2, itemStack, InventoryType.INNATE, InventoryType.SOCKET)) {
-					// TODO nice-to-have, flag to display message indicating the charm type already exists on dest.
-					return;
-				}
-				// check that there is room to add charms
-				if (cap.getCharmEntities().get(InventoryType.SOCKET).size() < cap.getMaxSocketSize()) {
-					// build the output item, add the charm to the adornment
-					Optional<ItemStack> outStack = TreasureAdornmentRegistry.transferCapabilities(itemStack2, itemStack, InventoryType.INNATE, InventoryType.SOCKET);
-					if (outStack.isPresent()) {
-						if (outStack.get().hasCapability(RUNESTONES, null)) {
-							outStack.get().getCapability(RUNESTONES, null).getEntities(InventoryType.SOCKET).forEach(entity -> {
-								entity.getRunestone().apply(outStack.get(), entity);
-							});
-						}
-						this.outputSlot.setInventorySlotContents(0, outStack.get());    					
-					}
-				}            
-			}
-			/*
-			 * add charm book (imbuing) check
-			 */
-			if (itemStack.hasCapability(CHARMABLE, null) && itemStack2.hasCapability(CHARMABLE, null)
-					&& itemStack.getCapability(CHARMABLE, null).isImbuable()
-					&& itemStack2.getCapability(CHARMABLE, null).isImbuing()) {
-				ICharmableCapability cap = itemStack.getCapability(CHARMABLE, null);
-
-				// check that they charm type doesn't already exist on the adornment
-				if (cap.hasCharmType(itemStack2, itemStack, InventoryType.INNATE, InventoryType.IMBUE)) {
-					return;
+		/*
+		 * add charm book (imbuing) check
+		 */
+		if (cap != null && cap2 != null && cap.isImbuable() && cap2.isImbuing()) {
+			// check that they charm type doesn't already exist on the adornment
+			if (cap.hasCharmType(itemStack2, itemStack, InventoryType.INNATE, InventoryType.IMBUE)) {
+				return output;
+			}
+			// check that there is room to add charms
+			if (cap.getCharmEntities().get(InventoryType.IMBUE).size() < cap.getMaxImbueSize()) {
+				// build the output item, add the charm book to the adornment
+				ItemStack imbueOutput = getTransferOutput(itemStack2, itemStack, InventoryType.IMBUE);
+				if (!imbueOutput.isEmpty()) {
+					output = imbueOutput;
 				}
-				// check that there is room to add charms
-				if (cap.getCharmEntities().get(InventoryType.IMBUE).size() < cap.getMaxImbueSize()) {
-					// build the output item, add the charm book to the adornment
-					Optional<ItemStack> outStack = TreasureAdornmentRegistry.transferCapabilities(itemStack2, itemStack, InventoryType.INNATE, InventoryType.IMBUE);
-					if (outStack.isPresent()) {
-						if (outStack.get().hasCapability(RUNESTONES, null)) {
-							outStack.get().getCapability(RUNESTONES, null).getEntities(InventoryType.SOCKET).forEach(entity -> {
-								entity.getRunestone().apply(outStack.get(), entity);
-							});
-						}
-						this.outputSlot.setInventorySlotContents(0, outStack.get());    					
-					}
-				}  
-			}
-			
-			/*
-			 *  add runestone check. uses the assumption that runestones only contain 1 rune entity
-			 */
-			else if (itemStack.hasCapability(RUNESTONES, null) && itemStack2.hasCapability(RUNESTONES, null)
-					&& itemStack.getCapability(RUNESTONES, null).isSocketable()
-					&& itemStack2.getCapability(RUNESTONES, null).isBindable()) {
-
-				IRunestonesCapability cap = itemStack.getCapability(RUNESTONES, null);
-				// check that there is room to add charms
-				if (cap.getEntities(InventoryType.SOCKET).size() < cap.getMaxSize(InventoryType.SOCKET)) {
-					Optional<ItemStack> stack = TreasureAdornmentRegistry.transferCapabilities(itemStack2, itemStack, InventoryType.INNATE, InventoryType.SOCKET);
-					if (stack.isPresent()) {
-						AtomicBoolean isStackValid = new AtomicBoolean(true);
-						stack.get().getCapability(RUNESTONES, null).getEntities(InventoryType.SOCKET).forEach(entity -> {
-							if (!entity.getRunestone().isValid(stack.get())) {
-								isStackValid.set(false);
-								return;
-							}
-							entity.getRunestone().apply(stack.get(), entity);
-						});
-						if (isStackValid.get()) {
-							this.outputSlot.setInventorySlotContents(0, stack.get());
+			}
+			return output;
+		}
+
+		/*
+		 *  add runestone check. uses the assumption that runestones only contain 1 rune entity
+		 */
+		IRunestonesCapability runesCap = itemStack.getCapability(RUNESTONES, null);
+		IRunestonesCapability runesCap2 = itemStack2.getCapability(RUNESTONES, null);
+		if (runesCap != null && runesCap2 != null && runesCap.isSocketable() && runesCap2.isBindable()) {
+			// check that there is room to add charms
+			if (runesCap.getEntities(InventoryType.SOCKET).size() < runesCap.getMaxSize(InventoryType.SOCKET)) {
+				Optional<ItemStack> stack = TreasureAdornmentRegistry.transferCapabilities(itemStack2, itemStack, InventoryType.INNATE, InventoryType.SOCKET);
+				if (stack.isPresent()) {
+					for (IRuneEntity entity : stack.get().getCapability(RUNESTONES, null).getEntities(InventoryType.SOCKET)) {
+						if (!entity.getRunestone().isValid(stack.get())) {
+							return output;
 						}
+						entity.getRunestone().apply(stack.get(), entity);
 					}
+					output = stack.get();
 				}
 			}
-			
-			/*
-			 * recharge charm check
-			 * input1 = charm, input2 = source item
-			 */
-			else if (itemStack.hasCapability(CHARMABLE, null) 
-					&& itemStack.getCapability(CHARMABLE, null).isBindable()
-					&& TreasureCharmableMaterials.isSourceItemRegistered(itemStack2.getItem().getRegistryName())) {
-				// make a copy of CharmItem
-				ItemStack stack = TreasureCharms.copyStack(itemStack, itemStack);
-				ICharmableCapability cap = stack.getCapability(CHARMABLE, null);
-				// get the charm
-				ICharmEntity entity = ((List<ICharmEntity>) cap.getCharmEntities().get(InventoryType.INNATE)).get(0);
-				if (entity.getRecharges() > 0 && entity.getMana() < entity.getMaxMana()) {
-					entity.setRecharges(entity.getRecharges() - 1);
-					entity.setMana(entity.getMaxMana());
-					// TODO apply runes
-					this.outputSlot.setInventorySlotContents(0, stack);
+			return output;
+		}
+
+		/*
+		 * recharge charm check
+		 * input1 = charm, input2 = source item
+		 */
+		if (cap != null && cap.isBindable() && TreasureCharmableMaterials.isSourceItemRegistered(itemStack2.getItem().getRegistryName())) {
+			// make a copy of CharmItem
+			ItemStack stack = TreasureCharms.copyStack(itemStack, itemStack);
+			// get the charm
+			ICharmEntity entity = ((List<ICharmEntity>) stack.getCapability(CHARMABLE, null).getCharmEntities().get(InventoryType.INNATE)).get(0);
+			if (entity.getRecharges() > 0 && entity.getMana() < entity.getMaxMana()) {
+				entity.setRecharges(entity.getRecharges() - 1);
+				entity.setMana(entity.getMaxMana());
+				// TODO apply runes
+				output = stack;
+			}
+			return output;
+		}
+
+		// none of the above apply, so the charm and rune modifiers do
+		this.modifiersEnabled = true;
+		return output;
+	}
+
+	/**
+	 * 
+	 * @param source
+	 * @param dest
+	 * @param destType
+	 * @return the dest with the charm of the source added and its runes applied or EMPTY
+	 */
+	private ItemStack getTransferOutput(ItemStack source, ItemStack dest, InventoryType destType) {
+		Optional<ItemStack> outStack = TreasureAdornmentRegistry.transferCapabilities(source, dest, InventoryType.INNATE, destType);
+		if (!outStack.isPresent()) {
+			return ItemStack.EMPTY;
+		}
+		IRunestonesCapability runesCap = outStack.get().getCapability(RUNESTONES, null);
+		if (runesCap != null) {
+			for (IRuneEntity entity : runesCap.getEntities(InventoryType.SOCKET)) {
+				entity.getRunestone().apply(outStack.get(), entity);
+			}
+		}
+		return outStack.get();
+	}
+
+	/**
+	 * 
+	 * @param itemStack the adornment input
+	 * @param i the line
+	 * @return the recharged or removed charm output of the line or EMPTY
+	 */
+	private ItemStack getCharmOutput(ItemStack itemStack, int i) {
+		ItemStack charmStack = this.charmInputSlots1.getStackInSlot(i);
+		ItemStack modifierStack = this.charmInputSlots2.getStackInSlot(i);
+		if (charmStack.isEmpty() || modifierStack.isEmpty()) {
+			return ItemStack.EMPTY;
+		}
+
+		// recharge check
+		if (TreasureCharmableMaterials.isSourceItemRegistered(modifierStack.getItem().getRegistryName())) {
+			// make a copy of the adornment stack
+			ItemStack stack = TreasureAdornmentRegistry.copyStack(itemStack, itemStack);
+			// get the charm
+			ICharmEntity entity = ((List<ICharmEntity>) stack.getCapability(CHARMABLE, null).getCharmEntities().get(InventoryType.SOCKET)).get(i);
+			if (entity.getRecharges() > 0 && entity.getMana() < entity.getMaxMana()) {
+				entity.setRecharges(entity.getRecharges() - 1);
+				entity.setMana(entity.getMaxMana());
+				// TODO apply runes
+				return stack;
+			}
+		}
+		else if (modifierStack.getItem() == TreasureItems.TREASURE_TOOL) {
+			// make a copy of the adornment stack
+			ItemStack stack = itemStack.copy();
+			ItemStack newStack = TreasureAdornmentRegistry.copyStack(itemStack, stack);
+			// remove the charm
+			newStack.getCapability(CHARMABLE, null).remove(InventoryType.SOCKET, i);
+			// apply any runes
+			IRunestonesCapability runesCap = newStack.getCapability(RUNESTONES, null);
+			if (runesCap != null) {
+				for (IRuneEntity entity : runesCap.getEntities(InventoryType.SOCKET)) {
+					entity.getRunestone().apply(newStack, entity);
 				}
 			}
-			/*
-			 *  remove/recharge adornment charm check
-			 */
-			else if (!this.charmInputSlots1.isEmpty() && !this.charmInputSlots2.isEmpty()) {
-				// now check if the inputs line up and using correct items
-				for (int i = 0; i < 4; i++) {
-					// recharge check
-					if (!this.charmInputSlots1.getStackInSlot(i).isEmpty()
-							&& !this.charmInputSlots2.getStackInSlot(i).isEmpty()
-							&& TreasureCharmableMaterials.isSourceItemRegistered(this.charmInputSlots2.getStackInSlot(i).getItem().getRegistryName())) {
-
-						// make a copy of the adornment stack
-						ItemStack stack = TreasureAdornmentRegistry.copyStack(itemStack, itemStack);
-						ICharmableCapability cap = stack.getCapability(CHARMABLE, null);
-						
-						// get the charm
-						ICharmEntity entity = ((List<ICharmEntity>) cap.getCharmEntities().get(InventoryType.SOCKET)).get(i);
-						if (entity.getRecharges() > 0 && entity.getMana() < entity.getMaxMana()) {
-							entity.setRecharges(entity.getRecharges() - 1);
-							entity.setMana(entity.getMaxMana());
-							// TODO apply runes
-							this.charmOutputSlots[i].setInventorySlotContents(0, stack);
-						}						
-					}
-					else if (!this.charmInputSlots1.getStackInSlot(i).isEmpty()
-							&& !this.charmInputSlots2.getStackInSlot(i).isEmpty()
-							&& this.charmInputSlots2.getStackInSlot(i).getItem() == TreasureItems.TREASURE_TOOL) {
-
-						// make a copy of the adornment stack
-						ItemStack stack = itemStack.copy();
-						ItemStack newStack = TreasureAdornmentRegistry.copyStack(itemStack, stack);
-						ICharmableCapability cap = newStack.getCapability(CHARMABLE, null);
-						// remove the charm
-						cap.remove(InventoryType.SOCKET, i);
-						// apply any runes
-						if (newStack.hasCapability(RUNESTONES, null)) {
-							newStack.getCapability(RUNESTONES, null).getEntities(InventoryType.SOCKET).forEach(entity -> {
-								entity.getRunestone().apply(newStack, entity);
-							});
-						}
-						this.charmOutputSlots[i].setInventorySlotContents(0, newStack);
-					}
+			return newStack;
+		}
+		return ItemStack.EMPTY;
+	}
+
+	/**
+	 * 
+	 * @param itemStack the adornment input
+	 * @return the adornment with its runestone removed or EMPTY
+	 */
+	private ItemStack getRuneOutput(ItemStack itemStack) {
+		ItemStack runeStack = this.runeInputSlot1.getStackInSlot(0);
+		if (runeStack.isEmpty() || this.runeInputSlot2.getStackInSlot(0).getItem() != TreasureItems.TREASURE_TOOL) {
+			return ItemStack.EMPTY;
+		}
+		// make a copy of the adornment stack
+		ItemStack stack = itemStack.copy();
+		stack = TreasureAdornmentRegistry.copyStack(itemStack, stack);
+		IRunestonesCapability cap = stack.getCapability(RUNESTONES, null);
+		if (cap != null) {
+			// get the rune entity
+			IRuneEntity entity = runeStack.getCapability(RUNESTONES, null).getEntities(InventoryType.INNATE).get(0);
+			// remove the entity from adornment
+			if (cap.remove(InventoryType.SOCKET, entity)) {
+				// undo the effects
+				entity.getRunestone().undo(stack, entity);
+			}
+		}
+		return stack;
+	}
+
+	/**
+	 * A hash of the stack's identity, item, count, damage and charm and rune entities,
+	 * which changes when the stack is replaced or modified in place. 0 if the stack is empty.
+	 * @param stack
+	 * @return
+	 */
+	private static long fingerprint(ItemStack stack) {
+		if (stack.isEmpty()) {
+			return 0L;
+		}
+		long hash = System.identityHashCode(stack);
+		hash = 31 * hash + Item.getIdFromItem(stack.getItem());
+		hash = 31 * hash + stack.getCount();
+		hash = 31 * hash + stack.getItemDamage();
+		ICharmableCapability charmCap = stack.getCapability(CHARMABLE, null);
+		if (charmCap != null) {
+			for (InventoryType type : InventoryType.values()) {
+				for (ICharmEntity entity : charmCap.getCharmEntities().get(type)) {
+					hash = 31 * hash + entity.getCharm().getName().hashCode();
+					hash = 31 * hash + Double.doubleToLongBits(entity.getMana());
+					hash = 31 * hash + entity.getRecharges();
 				}
+				hash = 31 * hash + type.ordinal();
 			}
-			// remove runestone check
-			else if (runeStack != ItemStack.EMPTY && (runeStack2.getItem() == TreasureItems.TREASURE_TOOL)) {
-				// make a copy of the adornment stack
-				ItemStack stack = itemStack.copy();
-				stack = TreasureAdornmentRegistry.copyStack(itemStack, stack);
-				IRunestonesCapability cap = stack.getCapability(RUNESTONES, null);
-				if (cap != null) {
-					// get the rune entity
-					IRuneEntity entity = runeStack.getCapability(RUNESTONES, null).getEntities(InventoryType.INNATE).get(0);
-					// remove the entity from adornment
-					if (cap.remove(InventoryType.SOCKET, entity)) {
-						// undo the effects
-						entity.getRunestone().undo(stack, entity);
-					}
-				}				
-				this.runeOutputSlot.setInventorySlotContents(0, stack);
+			hash = 31 * hash + charmCap.getMaxSocketSize();
+		}
+		IRunestonesCapability runesCap = stack.getCapability(RUNESTONES, null);
+		if (runesCap != null) {
+			for (InventoryType type : InventoryType.values()) {
+				for (IRuneEntity entity : runesCap.getEntities(type)) {
+					hash = 31 * hash + entity.getRunestone().getName().hashCode();
+				}
+				hash = 31 * hash + type.ordinal();
 			}
 		}
+		return hash == 0L ? 1L : hash;
 	}
 
 	@Override
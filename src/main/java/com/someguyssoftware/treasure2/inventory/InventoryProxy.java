@@ -168,7 +168,9 @@ public class InventoryProxy implements IInventory {
 	public void closeInventory(EntityPlayer player) {
 		if (!player.isSpectator() && this.getTileEntity().getBlockType() instanceof TreasureChestBlock) {
 			AbstractTreasureChestTileEntity te = getTileEntity();
-			--te.numPlayersUsing;
+			if (te.numPlayersUsing > 0) {
+				--te.numPlayersUsing;
+			}
 			te.getWorld().addBlockEvent(te.getPos(), te.getBlockType(), 1, te.numPlayersUsing);
 			te.getWorld().notifyNeighborsOfStateChange(te.getPos(), te.getBlockType(), false);
 		}
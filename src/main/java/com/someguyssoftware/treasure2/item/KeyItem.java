@@ -285,7 +285,7 @@ public class KeyItem extends ModItem implements IKeyEffects {
 						lockState.setLock(null);
 						
 						// update the client
-                        chestTileEntity.sendUpdates();
+                        chestTileEntity.sendLockUpdate(lockState);
                         if(!breaksLock(lock)) {
                             // spawn the lock
                             if (TreasureConfig.KEYS_LOCKS.enableLockDrops) {
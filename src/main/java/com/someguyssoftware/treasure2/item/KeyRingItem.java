@@ -161,7 +161,7 @@ public class KeyRingItem extends ModItem implements IKeyEffects {
 								lockState.setLock(null);
 
 								// update the client
-								tcte.sendUpdates();
+								tcte.sendLockUpdate(lockState);
 								// spawn the lock
 								if (TreasureConfig.KEYS_LOCKS.enableLockDrops) {
 									InventoryHelper.spawnItemStack(worldIn, (double)pos.getX(), (double)pos.getY(), (double)pos.getZ(), new ItemStack(lock));
@@ -163,7 +163,7 @@ public class LockItem extends ModItem {
 		for (LockState lockState : tileEntity.getLockStates()) {
 			if (lockState != null && lockState.getLock() == null) {
 				lockState.setLock(lock);
-				tileEntity.sendUpdates();
+				tileEntity.sendLockUpdate(lockState);
 				// decrement item in hand
 				heldItem.shrink(1);
 				lockedAdded = true;
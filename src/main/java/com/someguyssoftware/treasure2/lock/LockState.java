@@ -7,6 +7,7 @@ import com.someguyssoftware.treasure2.Treasure;
 import com.someguyssoftware.treasure2.chest.ILockSlot;
 import com.someguyssoftware.treasure2.item.LockItem;
 
+import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraftforge.common.util.Constants;
@@ -83,6 +84,42 @@ public class LockState {
 		return lockState;
 	}
 
+	/**
+	 * Writes the state for the client, with the lock as its item ID instead of a full item stack.
+	 * 
+	 * @param nbt
+	 * @return
+	 */
+	public NBTTagCompound writeSyncToNBT(NBTTagCompound nbt) {
+		if (this.getSlot() != null) {
+			nbt.setTag("slot", this.getSlot().writeToNBT(new NBTTagCompound()));
+		}
+		if (this.getLock() != null) {
+			nbt.setInteger("lock", Item.getIdFromItem(this.getLock()));
+		}
+		return nbt;
+	}
+
+	/**
+	 * Reads a state written by writeSyncToNBT().
+	 * 
+	 * @param tag
+	 * @return
+	 */
+	public static LockState readSyncFromNBT(NBTTagCompound tag) {
+		LockState lockState = new LockState();
+		if (tag.hasKey("slot", Constants.NBT.TAG_COMPOUND)) {
+			lockState.setSlot(ILockSlot.readFromNBT(tag.getCompoundTag("slot")));
+		}
+		if (tag.hasKey("lock", Constants.NBT.TAG_INT)) {
+			Item item = Item.getItemById(tag.getInteger("lock"));
+			if (item instanceof LockItem) {
+				lockState.setLock((LockItem) item);
+			}
+		}
+		return lockState;
+	}
+
 	/**
 	 * @return the slot
 	 */
@@ -0,0 +1,249 @@
+/**
+ *
+ */
+package com.someguyssoftware.treasure2.loot;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import com.google.common.collect.Table;
+import com.someguyssoftware.gottschcore.loot.LootPoolShell;
+import com.someguyssoftware.gottschcore.loot.LootTableShell;
+import com.someguyssoftware.treasure2.Treasure;
+import com.someguyssoftware.treasure2.enums.Rarity;
+
+import net.minecraft.item.ItemStack;
+import net.minecraft.util.ResourceLocation;
+import net.minecraft.world.storage.loot.LootContext;
+import net.minecraft.world.storage.loot.LootPool;
+import net.minecraft.world.storage.loot.LootTable;
+import net.minecraft.world.storage.loot.LootTableManager;
+
+/**
+ * An immutable view of the loot table master that is compiled once after the loot tables have been registered,
+ * so that selecting and filling a chest doesn't merge the master's tables or resolve loot tables and pools.
+ * Holds, per rarity, the chest loot table shells; per resource location, the chest (and special) loot tables with
+ * their resolved LootTable and pools; and, per category and rarity, the inject loot table shells and the inject
+ * loot tables with their resolved LootTable and pools.
+ * Replaced as a whole by TreasureLootTableRegistry when the loot tables are reloaded.
+ */
+public final class LootPlan {
+	public static final LootPlan EMPTY = new LootPlan();
+
+	private static final String TREASURE_POOL = "treasure";
+	private static final String CHARMS_POOL = "charms";
+
+	// rarity -> chest loot table shells
+	private final Map<Rarity, List<LootTableShell>> chestLootTables = new EnumMap<>(Rarity.class);
+	// rarity bit mask -> chest loot table shells of the rarities, in rarity order. filled on demand
+	private final List<LootTableShell>[] mergedChestLootTables;
+	// resource location -> chest or special loot
+	private final Map<ResourceLocation, ChestLoot> chestLoot = new HashMap<>();
+	// category -> rarity -> inject loot table shells
+	private final Map<String, Map<Rarity, List<LootTableShell>>> injectLootTables = new HashMap<>();
+	// category -> rarity -> inject loot, in the order of the shells
+	private final Map<String, Map<Rarity, List<ChestLoot>>> injectLoot = new HashMap<>();
+
+	/**
+	 *
+	 */
+	@SuppressWarnings("unchecked")
+	private LootPlan() {
+		mergedChestLootTables = new List[1 << Rarity.values().length];
+	}
+
+	/**
+	 * Compiles the plan from the current contents of the master.
+	 * @param master
+	 * @param lootTableManager resolves the loot tables
+	 * @return
+	 */
+	public static LootPlan compile(TreasureLootTableMaster2 master, LootTableManager lootTableManager) {
+		LootPlan plan = new LootPlan();
+		for (Rarity rarity : Rarity.values()) {
+			List<LootTableShell> shells = master.getLootTableByRarity(TreasureLootTableMaster2.ManagedTableType.CHEST, rarity);
+			plan.chestLootTables.put(rarity, Collections.unmodifiableList(Arrays.asList(shells.toArray(new LootTableShell[shells.size()]))));
+		}
+
+		for (LootTableShell shell : master.getChestLootTableShells().values()) {
+			ChestLoot loot = ChestLoot.compile(shell, lootTableManager);
+			if (loot != null) {
+				plan.chestLoot.put(shell.getResourceLocation(), loot);
+			}
+		}
+
+		for (Table.Cell<String, Rarity, List<LootTableShell>> cell : master.getInjectLootTables().cellSet()) {
+			plan.injectLootTables.computeIfAbsent(cell.getRowKey(), k -> new EnumMap<>(Rarity.class))
+			.put(cell.getColumnKey(), Collections.unmodifiableList(new ArrayList<>(cell.getValue())));
+
+			List<ChestLoot> loot = new ArrayList<>(cell.getValue().size());
+			for (LootTableShell shell : cell.getValue()) {
+				ChestLoot injected = ChestLoot.compile(shell, lootTableManager);
+				if (injected != null) {
+					loot.add(injected);
+				}
+			}
+			plan.injectLoot.computeIfAbsent(cell.getRowKey(), k -> new EnumMap<>(Rarity.class))
+			.put(cell.getColumnKey(), Collections.unmodifiableList(loot));
+		}
+		return plan;
+	}
+
+	/**
+	 *
+	 * @param rarity
+	 * @return the chest loot table shells of the rarity. unmodifiable
+	 */
+	public List<LootTableShell> getChestLootTables(Rarity rarity) {
+		List<LootTableShell> shells = chestLootTables.get(rarity);
+		return shells == null ? Collections.emptyList() : shells;
+	}
+
+	/**
+	 *
+	 * @param rarities
+	 * @return the chest loot table shells of the rarities, in rarity order. unmodifiable
+	 */
+	public List<LootTableShell> getChestLootTables(Rarity... rarities) {
+		int mask = 0;
+		for (Rarity rarity : rarities) {
+			mask |= 1 << rarity.ordinal();
+		}
+		List<LootTableShell> shells = mergedChestLootTables[mask];
+		if (shells == null) {
+			// benign race: every thread builds the same list
+			List<LootTableShell> merged = new ArrayList<>();
+			for (Rarity rarity : Rarity.values()) {
+				if ((mask & (1 << rarity.ordinal())) != 0) {
+					merged.addAll(getChestLootTables(rarity));
+				}
+			}
+			shells = Collections.unmodifiableList(merged);
+			mergedChestLootTables[mask] = shells;
+		}
+		return shells;
+	}
+
+	/**
+	 *
+	 * @param location
+	 * @return the compiled chest or special loot table or null if it isn't known or couldn't be resolved
+	 */
+	public ChestLoot getChestLoot(ResourceLocation location) {
+		return location == null ? null : chestLoot.get(location);
+	}
+
+	/**
+	 *
+	 * @param category
+	 * @param rarity
+	 * @return the inject loot table shells of the category and rarity or null if there are none. unmodifiable
+	 */
+	public List<LootTableShell> getInjectLootTables(String category, Rarity rarity) {
+		Map<Rarity, List<LootTableShell>> byRarity = injectLootTables.get(category);
+		return byRarity == null ? null : byRarity.get(rarity);
+	}
+
+	/**
+	 *
+	 * @param category
+	 * @param rarity
+	 * @return the compiled inject loot tables of the category and rarity, in the order of their shells. unmodifiable
+	 */
+	public List<ChestLoot> getInjectLoot(String category, Rarity rarity) {
+		Map<Rarity, List<ChestLoot>> byRarity = injectLoot.get(category);
+		List<ChestLoot> loot = byRarity == null ? null : byRarity.get(rarity);
+		return loot == null ? Collections.emptyList() : loot;
+	}
+
+	/**
+	 * A chest, special or inject loot table shell with its resolved loot table and pools.
+	 */
+	public static final class ChestLoot {
+		private final LootTableShell shell;
+		private final LootTable lootTable;
+		// the table's pools in the order of the shell's pools
+		private final LootPool[] pools;
+		// whether the pool at the same index generates into the treasure stacks
+		private final boolean[] treasurePools;
+
+		private ChestLoot(LootTableShell shell, LootTable lootTable, LootPool[] pools, boolean[] treasurePools) {
+			this.shell = shell;
+			this.lootTable = lootTable;
+			this.pools = pools;
+			this.treasurePools = treasurePools;
+		}
+
+		/**
+		 *
+		 * @param shell
+		 * @param lootTableManager
+		 * @return the compiled loot or null if the loot table couldn't be resolved
+		 */
+		private static ChestLoot compile(LootTableShell shell, LootTableManager lootTableManager) {
+			if (shell.getResourceLocation() == null) {
+				return null;
+			}
+			LootTable lootTable = lootTableManager.getLootTableFromLocation(shell.getResourceLocation());
+			if (lootTable == null || lootTable == LootTable.EMPTY_LOOT_TABLE) {
+				Treasure.LOGGER.warn("unable to resolve loot table -> {}", shell.getResourceLocation());
+				return null;
+			}
+
+			List<LootPoolShell> poolShells = shell.getPools() == null ? Collections.emptyList() : shell.getPools();
+			List<LootPool> pools = new ArrayList<>(poolShells.size());
+			boolean[] treasurePools = new boolean[poolShells.size()];
+			for (LootPoolShell poolShell : poolShells) {
+				LootPool pool = lootTable.getPool(poolShell.getName());
+				if (pool == null) {
+					Treasure.LOGGER.warn("loot table -> {} has no pool -> {}", shell.getResourceLocation(), poolShell.getName());
+					continue;
+				}
+				treasurePools[pools.size()] = poolShell.getName().equalsIgnoreCase(TREASURE_POOL) || poolShell.getName().equalsIgnoreCase(CHARMS_POOL);
+				pools.add(pool);
+			}
+			return new ChestLoot(shell, lootTable, pools.toArray(new LootPool[pools.size()]), Arrays.copyOf(treasurePools, pools.size()));
+		}
+
+		/**
+		 * Generates the loot of the pools, in the order of the shell's pools. The 'treasure' and 'charms' pools
+		 * generate into the treasure stacks, all others into the item stacks.
+		 * @param random
+		 * @param context
+		 * @param treasureStacks
+		 * @param itemStacks
+		 */
+		public void generateLoot(Random random, LootContext context, List<ItemStack> treasureStacks, List<ItemStack> itemStacks) {
+			for (int index = 0; index < pools.length; index++) {
+				pools[index].generateLoot(treasurePools[index] ? treasureStacks : itemStacks, random, context);
+			}
+		}
+
+		/**
+		 * Generates the loot of all the pools into the stacks, in the order of the shell's pools, as the
+		 * inject loot tables are generated.
+		 * @param random
+		 * @param context
+		 * @param stacks
+		 */
+		public void generateLoot(Random random, LootContext context, List<ItemStack> stacks) {
+			for (LootPool pool : pools) {
+				pool.generateLoot(stacks, random, context);
+			}
+		}
+
+		public LootTableShell getShell() {
+			return shell;
+		}
+
+		public LootTable getLootTable() {
+			return lootTable;
+		}
+	}
+}
@@ -26,6 +26,7 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
@@ -39,6 +40,7 @@ import org.apache.logging.log4j.Logger;
 
 import com.google.common.collect.HashBasedTable;
 import com.google.common.collect.Table;
+import com.google.common.collect.Tables;
 import com.someguyssoftware.gottschcore.loot.LootTableMaster2;
 import com.someguyssoftware.gottschcore.loot.LootTableShell;
 import com.someguyssoftware.gottschcore.mod.IMod;
@@ -423,6 +425,22 @@ public class TreasureLootTableMaster2 extends LootTableMaster2 {
 		return tables;
 	}
 	
+	/**
+	 * 
+	 * @return the chest and special loot table shells by resource location. unmodifiable
+	 */
+	public Map<ResourceLocation, LootTableShell> getChestLootTableShells() {
+		return Collections.unmodifiableMap(CHEST_LOOT_TABLES_MAP);
+	}
+
+	/**
+	 * 
+	 * @return the inject loot table shells by category and rarity. unmodifiable
+	 */
+	public Table<String, Rarity, List<LootTableShell>> getInjectLootTables() {
+		return Tables.unmodifiableTable(INJECT_LOOT_TABLES_TABLE);
+	}
+
 	/**
 	 * 
 	 * @param rarity
@@ -22,6 +22,8 @@ import com.someguyssoftware.treasure2.Treasure;
 import com.someguyssoftware.treasure2.registry.ITreasureResourceRegistry;
 
 import net.minecraft.world.WorldServer;
+import net.minecraft.world.storage.loot.LootTableList;
+import net.minecraftforge.event.LootTableLoadEvent;
 import net.minecraftforge.event.world.WorldEvent;
 
 /**
@@ -40,6 +42,11 @@ public final class TreasureLootTableRegistry {
 	private static LootResources lootResources;
 	private static TreasureLootTableMaster2 lootTableMaster;
 	private static WorldServer world;
+	// compiled from the loot table master. replaced as a whole, never modified
+	private static volatile LootPlan lootPlan = LootPlan.EMPTY;
+	// set when the loot tables that the plan resolved may have been reloaded
+	private static volatile boolean lootPlanStale;
+	private static boolean compiling;
 
 	static {
 		lootTableMaster = new TreasureLootTableMaster2(null);
@@ -90,6 +97,41 @@ public final class TreasureLootTableRegistry {
 				Treasure.LOGGER.debug("registering mod -> {}", mod);
 				load(mod);
 			});
+			compileLootPlan();
+		}
+	}
+
+	/**
+	 * Marks the loot plan to be recompiled when a loot table of a registered mod is (re)loaded by the loot table
+	 * manager, or when the manager reloads its tables (ex. by the /reload command), as the plan holds the resolved
+	 * loot tables. The manager loads all the tables of the LootTableList when it is created, before the plan is
+	 * compiled, so a later load of one of them means a reload. The other loot tables are loaded on first use and
+	 * don't affect the plan.
+	 * @param event
+	 */
+	public static void onLootTableLoad(LootTableLoadEvent event) {
+		if (compiling || world == null) {
+			return;
+		}
+		if (REGISTERED_MODS.contains(event.getName().getResourceDomain()) || LootTableList.getAll().contains(event.getName())) {
+			lootPlanStale = true;
+		}
+	}
+
+	/**
+	 * Compiles the loot plan from the loot table master and replaces the current plan.
+	 */
+	public static synchronized void compileLootPlan() {
+		if (world == null) {
+			return;
+		}
+		compiling = true;
+		try {
+			lootPlanStale = false;
+			lootPlan = LootPlan.compile(lootTableMaster, world.getLootTableManager());
+		}
+		finally {
+			compiling = false;
 		}
 	}
 
@@ -151,6 +193,7 @@ public final class TreasureLootTableRegistry {
 
 		lootTableMaster.registerInjects(modID, lootResources.getInjectResources());
 		lootTableMaster.registerInjectsFromWorldSave(modID, lootResources.getInjectLootTableFolderLocations());
+		lootPlanStale = true;
 	}
 
 	public static List<String> getRegisteredMods() {
@@ -161,6 +204,17 @@ public final class TreasureLootTableRegistry {
 		return lootTableMaster;
 	}
 
+	/**
+	 * 
+	 * @return the compiled loot plan, recompiled first if the loot tables have changed since it was compiled
+	 */
+	public static LootPlan getLootPlan() {
+		if (lootPlanStale) {
+			compileLootPlan();
+		}
+		return lootPlan;
+	}
+
 	public static void setLootTableMaster(TreasureLootTableMaster2 lootTableMaster) {
 		TreasureLootTableRegistry.lootTableMaster = lootTableMaster;
 	}
@@ -36,12 +36,12 @@ import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonPrimitive;
 import com.google.gson.JsonSerializationContext;
-import com.someguyssoftware.gottschcore.random.RandomHelper;
 import com.someguyssoftware.treasure2.Treasure;
 import com.someguyssoftware.treasure2.capability.ICharmableCapability;
 import com.someguyssoftware.treasure2.capability.InventoryType;
 import com.someguyssoftware.treasure2.capability.TreasureCapabilities;
 import com.someguyssoftware.treasure2.charm.Charm;
+import com.someguyssoftware.treasure2.charm.CharmIndex;
 import com.someguyssoftware.treasure2.charm.HealingCharm;
 import com.someguyssoftware.treasure2.charm.ICharm;
 import com.someguyssoftware.treasure2.charm.TreasureCharmRegistry;
@@ -70,11 +70,11 @@ public class CharmRandomly extends LootFunction {
 	private static final String RARITIES = "rarities";
 	private static final String CURSE_CHANCE = "curseChance";
 
-	private List<ICharm> charms;
-	private RandomValueRange levels;
-	private Rarity rarity;
-	private InventoryType type;
-	private RandomValueRange curseChance;
+	private final List<ICharm> charms;
+	private final RandomValueRange levels;
+	private final Rarity rarity;
+	private final InventoryType type;
+	private final RandomValueRange curseChance;
 
 	/**
 	 * 
@@ -83,9 +83,11 @@ public class CharmRandomly extends LootFunction {
 	 */
 	public CharmRandomly(LootCondition[] conditions, @Nullable List<ICharm> charms, RandomValueRange levels, InventoryType type) {
 		super(conditions);
-		this.charms = charms == null ? Collections.emptyList() : charms;
+		this.charms = charms == null ? Collections.emptyList() : Collections.unmodifiableList(new ArrayList<>(charms));
 		this.levels = levels;
+		this.rarity = null;
 		this.type = type;
+		this.curseChance = null;
 	}
 
 	/**
@@ -96,7 +98,7 @@ public class CharmRandomly extends LootFunction {
 	 */
 	public CharmRandomly(LootCondition[] conditions, @Nullable List<ICharm> charms, RandomValueRange levels, Rarity rarity, InventoryType type, RandomValueRange curseChance) {
 		super(conditions);
-		this.charms = charms == null ? Collections.emptyList() : charms;
+		this.charms = charms == null ? Collections.emptyList() : Collections.unmodifiableList(new ArrayList<>(charms));
 		this.levels = levels;
 		this.rarity = rarity;
 		this.type = type;
@@ -118,72 +120,42 @@ public class CharmRandomly extends LootFunction {
 		ICharm charm = defaultCharm;
 
 		ICharmableCapability charmCap = stack.getCapability(TreasureCapabilities.CHARMABLE, null);
-		List<ICharm> tempCharms = new ArrayList<>();
 		int defaultLevel = charmCap.getMaxCharmLevel();
 
-		Optional<List<ICharm>> charmList = Optional.empty();
 		// select random level
 		int level = this.levels == null ? defaultLevel : this.levels.generateInt(rand);
 
 		// explicity charms list is empty
 		if (this.charms.isEmpty()) {
+			// the candidate charms are owned by the charm index. only locals are written, as this function is shared by all evaluations of its loot table
+			ICharm selected;
+			CharmIndex index = TreasureCharmRegistry.getIndex();
 			// check the rarity property
 			if (rarity != null) {
-				// ensure that rarity isn't higher than rarity of adornment
-				if (TreasureCharms.LEVEL_RARITY.get(charmCap.getMaxCharmLevel()).getCode() > rarity.getCode()) {
-					rarity = TreasureCharms.LEVEL_RARITY.get(charmCap.getMaxCharmLevel());
-				}				
-				charmList = TreasureCharmRegistry.get(rarity);
-				if (charmList.isPresent()) {
-					tempCharms.addAll(charmList.get());
-				}
-				else {
-					charm = defaultCharm;
+				// ensure that rarity isn't lower than rarity of adornment
+				Rarity selectedRarity = rarity;
+				Rarity adornmentRarity = TreasureCharms.LEVEL_RARITY.get(charmCap.getMaxCharmLevel());
+				if (adornmentRarity != null && adornmentRarity.getCode() > selectedRarity.getCode()) {
+					selectedRarity = adornmentRarity;
 				}
+				selected = select(index.getByRarity(selectedRarity), rand);
 			}
 			// check the levels property
 			else if(levels != null) {
-				int lambdaLevel = level;
 				// TODO if level > cap's max level, then use the max level
+				// the curse chance enables the curses; the probability of each curse is drawn from the levels
 				double curseProb = this.curseChance != null ? this.levels.generateInt(rand) : 0D;
 				Treasure.LOGGER.debug("curse chance -> {}", curseProb);
 
-				// get all the charms from level
-				Optional<List<ICharm>> levelCharms;
-				if (curseProb > 0.0) {
-					levelCharms = TreasureCharmRegistry.getBy(c -> {
-						if (c.isCurse()) {
-							return c.getLevel() == lambdaLevel && RandomHelper.checkProbability(rand, curseProb);
-						}
-						else {
-							return c.getLevel() == lambdaLevel;
-						}
-					});
-				}
-				else {
-					// get all the charms from level
-					levelCharms = TreasureCharmRegistry.getBy(c -> {
-						return  c.getLevel() == lambdaLevel && !c.isCurse();
-					});
-				}
-
-				if (levelCharms.isPresent()) {
-					tempCharms.addAll(levelCharms.get());
-				}
+				// get a charm from the level, each curse of the level being rolled for with the curse probability
+				selected = index.selectByLevel(level, curseProb, rand);
 			}
 			else {
-				// if charms list is empty and levels are null, create a default list of minor charms
-				Optional<List<ICharm>> defaultCharms = TreasureCharmRegistry.getBy(c -> {
-					return c.getLevel() <= charmCap.getMaxCharmLevel() && !c.isCurse();
-				});
-				if (defaultCharms.isPresent()) {
-					tempCharms.addAll(defaultCharms.get());
-				}
+				// if charms list is empty and levels are null, use the default list of minor charms
+				selected = select(index.getUpToLevel(defaultLevel), rand);
 			}
-			Treasure.LOGGER.debug("temp charms size -> {}", tempCharms.size());
-			if (!tempCharms.isEmpty()) {
-				// select a charm randomly
-				charm = tempCharms.get(rand.nextInt(tempCharms.size()));
+			if (selected != null) {
+				charm = selected;
 				Treasure.LOGGER.debug("selected charm for item -> {}", charm.getName().toString());
 			}
 		}
@@ -208,6 +180,17 @@ public class CharmRandomly extends LootFunction {
 		return stack;
 	}
 
+	/**
+	 * 
+	 * @param candidates
+	 * @param rand
+	 * @return a random candidate or null if there are none
+	 */
+	private static ICharm select(ICharm[] candidates, Random rand) {
+		Treasure.LOGGER.debug("candidate charms size -> {}", candidates.length);
+		return candidates.length == 0 ? null : candidates[rand.nextInt(candidates.length)];
+	}
+
 	/**
 	 * 
 	 * @author Mark Gottschling on May 1, 2020
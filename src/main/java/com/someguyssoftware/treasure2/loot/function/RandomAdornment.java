@@ -23,7 +23,6 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.Random;
-import java.util.stream.Collectors;
 
 import com.google.gson.JsonArray;
 import com.google.gson.JsonDeserializationContext;
@@ -34,8 +33,6 @@ import com.google.gson.JsonSerializationContext;
 import com.someguyssoftware.treasure2.Treasure;
 import com.someguyssoftware.treasure2.adornment.TreasureAdornmentRegistry;
 import com.someguyssoftware.treasure2.capability.TreasureCapabilities;
-import com.someguyssoftware.treasure2.charm.ICharm;
-import com.someguyssoftware.treasure2.charm.TreasureCharmRegistry;
 import com.someguyssoftware.treasure2.charm.TreasureCharms;
 import com.someguyssoftware.treasure2.enums.Rarity;
 import com.someguyssoftware.treasure2.item.Adornment;
@@ -43,7 +40,6 @@ import com.someguyssoftware.treasure2.material.CharmableMaterial;
 import com.someguyssoftware.treasure2.material.TreasureCharmableMaterials;
 import com.someguyssoftware.treasure2.util.ResourceLocationUtil;
 
-import net.minecraft.init.Items;
 import net.minecraft.item.ItemStack;
 import net.minecraft.util.JsonUtils;
 import net.minecraft.util.ResourceLocation;
@@ -63,6 +59,7 @@ public class RandomAdornment extends LootFunction {
 	private static final String MATERIALS = "materials";
 	private static final String RARITY = "rarity";
 	private static final String HAS_GEM = "hasGem";
+	private static final Adornment[] NO_ADORNMENTS = new Adornment[0];
 
 	// the type of adornment - ring, necklace, bracelet, earrings, pocket watch
 	//private String adornmentType;
@@ -105,7 +102,6 @@ public class RandomAdornment extends LootFunction {
 
 	@Override
 	public ItemStack apply(ItemStack stack, Random rand, LootContext context) {
-		Random random = new Random();
 		Treasure.LOGGER.debug("incoming adornment -> {}", stack.getDisplayName());
 		// select material
 		CharmableMaterial material = null;
@@ -114,7 +110,7 @@ public class RandomAdornment extends LootFunction {
 			material = TreasureCharmableMaterials.getBaseMaterial(stack.getCapability(TreasureCapabilities.CHARMABLE, null).getBaseMaterial()).get();
 		}
 		else {
-			material = this.materials.get().get(random.nextInt(materials.get().size()));
+			material = this.materials.get().get(rand.nextInt(materials.get().size()));
 		}
 		Treasure.LOGGER.debug("selected material -> {}", material.getName());
 		
@@ -125,7 +121,7 @@ public class RandomAdornment extends LootFunction {
 			level = material.getMaxLevel();
 		}
 		
-		Treasure.LOGGER.debug("rarity -> {}, code -> {}", rarity, rarity.getCode());
+		Treasure.LOGGER.debug("rarity -> {}", rarity);
 		Treasure.LOGGER.debug("material -> {}, maxLevel -> {}", material.getName(), material.getMaxLevel());
 		Treasure.LOGGER.debug("material rarity -> {}", TreasureCharms.LEVEL_RARITY.get(material.getMaxLevel()));
 		
@@ -133,52 +129,33 @@ public class RandomAdornment extends LootFunction {
 //		if (rarity != null && rarity.getCode() > TreasureCharms.LEVEL_RARITY.get(material.getMaxLevel()).getCode()) {
 //			rarity = TreasureCharms.LEVEL_RARITY.get(material.getMaxLevel());
 //		}
-		Treasure.LOGGER.debug("updated rarity -> {}, code -> {}", rarity, rarity.getCode());
 		
 		Treasure.LOGGER.debug("hasGem -> {}", hasGem);
-		// TODO add "hasGem" property to indicate gem/no-gem adornments
 		/*
-		 *  TODO adornments skip levels in their definition, so it is possible that lambdaLevel != a.level and not return any adornments.
+		 *  TODO adornments skip levels in their definition, so it is possible that level != a.level and not return any adornments.
 		 *  ALL filters should be based on rarity. ie if given a level/levels, the choosen level should be matched against the rarity of maxCharmLevel
 		 *  and not level == maxCharmLevel
 		 */
 
-		final int lambdaLevel = level;
-		List<Adornment> adornmentsByMaterial = TreasureAdornmentRegistry.getByMaterial(material);
-		List<Adornment> 	adornments = adornmentsByMaterial.stream()
-			// filter for source items (gem/stone)
-			.filter(a -> {
-				ItemStack itemStack = new ItemStack(a);
-				boolean hasSource = itemStack.getCapability(TreasureCapabilities.CHARMABLE, null).getSourceItem() != Items.AIR.getRegistryName();
-				if (!hasGem && !hasSource) {
-					Treasure.LOGGER.debug("filter: keeping adornment -> {}", itemStack.getDisplayName());
-					return true;
-				}
-				else if (hasGem && hasSource) {
-					return true;
-				}
-				return false;
-			})
-			.filter(a -> {
-				ItemStack itemStack = new ItemStack(a);
-				if (rarity != null && rarity == TreasureCharms.LEVEL_RARITY.get(itemStack.getCapability(TreasureCapabilities.CHARMABLE, null).getMaxCharmLevel())) {
-					return true;
-				}
-				else if (itemStack.getCapability(TreasureCapabilities.CHARMABLE, null).getMaxCharmLevel() == lambdaLevel) {
-					return true;
-				}
-				return false;
-			})
-			.collect(Collectors.toList());
+		// the adornments of the material and gem whose max charm level is of the rarity or is the level. the arrays are owned by the registry
+		Adornment[] byLevel = TreasureAdornmentRegistry.getAdornments(material.getName(), hasGem, level);
+		Adornment[] byRarity = TreasureAdornmentRegistry.getAdornments(material.getName(), hasGem, rarity);
+		if (rarity != null && rarity == TreasureCharms.LEVEL_RARITY.get(level)) {
+			// the level's adornments are already included in the rarity's
+			byLevel = byRarity;
+			byRarity = NO_ADORNMENTS;
+		}
 
 		// create a new adornment item
 		ItemStack adornment;
-		if (adornments == null || adornments.isEmpty()) {
+		int count = byLevel.length + byRarity.length;
+		if (count == 0) {
 			Treasure.LOGGER.debug("no adornments match criteria, using incoming adornment -> {}", stack.getDisplayName());
 			adornment = stack;
 		}
 		else {
-			adornment = new ItemStack(adornments.get(random.nextInt(adornments.size())));
+			int index = rand.nextInt(count);
+			adornment = new ItemStack(index < byLevel.length ? byLevel[index] : byRarity[index - byLevel.length]);
 		}
 
 		Treasure.LOGGER.debug("selected adornment -> {}", adornment.getDisplayName());
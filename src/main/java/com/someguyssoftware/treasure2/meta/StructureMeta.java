@@ -17,6 +17,8 @@ public class StructureMeta extends Meta {
 	private boolean includeFog;
 	private List<String> decayRuleSetName;
 	private String nullBlockName;
+	// the relative weight of the structure when selecting from the structures of the same archetype, type and biome
+	private Integer weight;
 
 	public StructureMeta() {}
 
@@ -39,7 +41,7 @@ public class StructureMeta extends Meta {
 	@Override
 	public String toString() {
 		return "StructureMeta [verticalOffset=" + verticalOffset + ", includeGraves=" + includeGraves + ", includeFog="
-				+ includeFog + ", decayRuleSetName=" + decayRuleSetName + ", nullBlockName=" + nullBlockName
+				+ includeFog + ", decayRuleSetName=" + decayRuleSetName + ", nullBlockName=" + nullBlockName + ", weight=" + weight
 				+ ", getName()=" + getName() + ", getDescription()=" + getDescription() + ", getAuthor()=" + getAuthor()
 				+ ", getParent()=" + getParent() + ", getArchetypes()=" + getArchetypes() + ", getType()=" + getType()
 				+ ", getThemes()=" + getThemes() + ", getBiomeWhiteList()=" + getBiomeWhiteList()
@@ -70,4 +72,16 @@ public class StructureMeta extends Meta {
 	public void setNullBlockName(String nullBlockName) {
 		this.nullBlockName = nullBlockName;
 	}
+
+	/**
+	 * 
+	 * @return the weight, or 1 if it is not specified
+	 */
+	public int getWeight() {
+		return weight == null || weight < 1 ? 1 : weight;
+	}
+
+	public void setWeight(Integer weight) {
+		this.weight = weight;
+	}
 }
@@ -14,9 +14,11 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Maps;
@@ -37,6 +39,7 @@ import com.someguyssoftware.gottschcore.positional.Coords;
 import com.someguyssoftware.gottschcore.positional.ICoords;
 import com.someguyssoftware.treasure2.Treasure;
 import com.someguyssoftware.treasure2.enums.Rarity;
+import com.someguyssoftware.treasure2.registry.TreasureResourceLoader;
 
 import net.minecraft.util.ResourceLocation;
 
@@ -54,6 +57,11 @@ public class TreasureMetaManager {
 	 */
 	private final Map<String, IMeta> metaMap = Maps.<String, IMeta>newHashMap();
 
+	/*
+	 * metas that are being parsed off-thread and have yet to be tabled
+	 */
+	private final Map<ResourceLocation, CompletableFuture<Optional<StructureMeta>>> pendingMetas = new LinkedHashMap<>();
+
 	static {
 		GsonBuilder gsonBuilder = new GsonBuilder();
 		Type metaArchetype = new TypeToken<List<IMetaArchetype>>() {}.getType();
@@ -90,14 +98,30 @@ public class TreasureMetaManager {
 		Treasure.LOGGER.debug("created meta folder");
 		List<ResourceLocation> resourceLocations = getMetaResourceLocations(modID, resourcePaths);
 		Treasure.LOGGER.debug("acquired resource locations -> {}", resourceLocations);
-		// load each ResourceLocation as Meta and map it.
+		// parse each ResourceLocation as Meta off-thread. they are mapped by tablePending().
 		resourceLocations.forEach(loc -> {
 			// need to test for world save version first
 			Treasure.LOGGER.debug("register metas -> loading meta resource loc -> {}", loc.toString());
-			tableMeta(loc, loadMeta(loc));
+			pendingMetas.put(loc, TreasureResourceLoader.submit(() -> loadMeta(loc)));
 		});
 	}
 
+	/**
+	 * 
+	 * @return the futures of the metas that have yet to be tabled
+	 */
+	public List<CompletableFuture<Optional<StructureMeta>>> getPendingFutures() {
+		return new ArrayList<>(pendingMetas.values());
+	}
+
+	/**
+	 * Maps the parsed metas. Call on the server thread.
+	 */
+	public void tablePending() {
+		pendingMetas.forEach((loc, future) -> tableMeta(loc, TreasureResourceLoader.getParsed(future, Optional.empty())));
+		pendingMetas.clear();
+	}
+
 	private void createMetaFolder(File worldSaveFolder, String modID) {
 		Path folder = Paths.get(worldSaveFolder.getPath(), "data/meta", modID, "structures").toAbsolutePath();
 		if (Files.notExists(folder)) {
@@ -1,10 +1,15 @@
 package com.someguyssoftware.treasure2.model;
 
 import com.someguyssoftware.treasure2.Treasure;
+import com.someguyssoftware.treasure2.block.AbstractChestBlock;
 import com.someguyssoftware.treasure2.block.TreasureBlocks;
+import com.someguyssoftware.treasure2.client.model.BakedChestModel;
+import com.someguyssoftware.treasure2.config.TreasureConfig;
 import com.someguyssoftware.treasure2.item.TreasureItems;
 
+import net.minecraft.block.Block;
 import net.minecraft.block.state.IBlockState;
+import net.minecraft.client.renderer.block.model.IBakedModel;
 import net.minecraft.client.renderer.block.model.ModelResourceLocation;
 import net.minecraft.client.renderer.color.BlockColors;
 import net.minecraft.client.renderer.color.IBlockColor;
@@ -12,13 +17,16 @@ import net.minecraft.client.renderer.color.IItemColor;
 import net.minecraft.client.renderer.color.ItemColors;
 import net.minecraft.item.Item;
 import net.minecraft.item.ItemBlock;
+import net.minecraft.util.ResourceLocation;
 import net.minecraft.world.ColorizerGrass;
 import net.minecraft.world.biome.BiomeColorHelper;
 import net.minecraftforge.client.event.ColorHandlerEvent;
+import net.minecraftforge.client.event.ModelBakeEvent;
 import net.minecraftforge.client.event.ModelRegistryEvent;
 import net.minecraftforge.client.model.ModelLoader;
 import net.minecraftforge.fml.common.Mod;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.registry.ForgeRegistries;
 import net.minecraftforge.fml.relauncher.Side;
 
 @Mod.EventBusSubscriber(modid = Treasure.MODID, value = Side.CLIENT)
@@ -273,4 +281,26 @@ public class TreasureModels {
 
 		itemColors.registerItemColorHandler(itemBlockColourHandler, TreasureBlocks.FALLING_GRASS);
 	}
+
+	/**
+	 * Wraps the block models of the chests, so that closed, idle chests and their locks are baked into the chunk mesh.
+	 *
+	 * @param event The event
+	 */
+	@SubscribeEvent
+	public static void onModelBake(final ModelBakeEvent event) {
+		if (!TreasureConfig.CHESTS.enableBakedChestRendering) {
+			return;
+		}
+		for (ModelResourceLocation location : event.getModelRegistry().getKeys()) {
+			if (!Treasure.MODID.equals(location.getResourceDomain()) || "inventory".equals(location.getVariant())) {
+				continue;
+			}
+			Block block = ForgeRegistries.BLOCKS.getValue(new ResourceLocation(location.getResourceDomain(), location.getResourcePath()));
+			if (block instanceof AbstractChestBlock) {
+				IBakedModel model = event.getModelRegistry().getObject(location);
+				event.getModelRegistry().putObject(location, new BakedChestModel(model, (AbstractChestBlock) block));
+			}
+		}
+	}
 }
@@ -0,0 +1,75 @@
+/**
+ *
+ */
+package com.someguyssoftware.treasure2.network;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.someguyssoftware.treasure2.Treasure;
+import com.someguyssoftware.treasure2.charm.CharmContext;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import net.minecraft.entity.player.EntityPlayerMP;
+
+/**
+ * Coalesces the charm state changes of each player during a tick into a single CharmMessageToClient per player.
+ * Only the latest state of each charm slot is kept. Call flush() at the end of the server tick.
+ * Server thread only.
+ */
+public class CharmMessageBatcher {
+	// player -> latest contexts
+	private final Map<EntityPlayerMP, Batch> pending = new LinkedHashMap<>();
+
+	/**
+	 * Adds the charm state to the player's batch, replacing any earlier state of the same charm slot.
+	 * @param player
+	 * @param context
+	 */
+	public void add(EntityPlayerMP player, CharmContext context) {
+		Batch batch = pending.get(player);
+		if (batch == null) {
+			batch = new Batch();
+			pending.put(player, batch);
+		}
+		batch.add(context);
+	}
+
+	/**
+	 * Sends a batch to each player with pending charm states.
+	 */
+	public void flush() {
+		if (pending.isEmpty()) {
+			return;
+		}
+		for (Map.Entry<EntityPlayerMP, Batch> batch : pending.entrySet()) {
+			EntityPlayerMP player = batch.getKey();
+			if (player.hasDisconnected()) {
+				continue;
+			}
+			Treasure.simpleNetworkWrapper.sendTo(new CharmMessageToClient(batch.getValue().getEntries()), player);
+		}
+		pending.clear();
+	}
+
+	/**
+	 * The charm states of a player during a tick: charm slot key -> latest context, in the order the slots first changed.
+	 */
+	static class Batch {
+		private final Long2ObjectLinkedOpenHashMap<CharmContext> contexts = new Long2ObjectLinkedOpenHashMap<>();
+
+		void add(CharmContext context) {
+			contexts.put(CharmMessageToClient.getSlotKey(context), context);
+		}
+
+		List<CharmMessageToClient.Entry> getEntries() {
+			List<CharmMessageToClient.Entry> entries = new ArrayList<>(contexts.size());
+			for (CharmContext context : contexts.values()) {
+				entries.add(new CharmMessageToClient.Entry(context));
+			}
+			return entries;
+		}
+	}
+}
@@ -20,7 +20,6 @@
 package com.someguyssoftware.treasure2.network;
 
 import java.util.List;
-import java.util.UUID;
 
 import com.someguyssoftware.treasure2.Treasure;
 import com.someguyssoftware.treasure2.capability.ICharmableCapability;
@@ -81,87 +80,88 @@ public class CharmMessageHandlerOnClient implements IMessageHandler<CharmMessage
 	}
 
 	  /*
-	   *  This message is called from the Server thread.
+	   *  This message is called from the Client thread.
+	   *  Applies all the charm states of the batch in one task.
 	   */
 	  void processMessage(WorldClient worldClient, CharmMessageToClient message) {
 		  Treasure.LOGGER.debug("received charm message -> {}", message);
-		  try {
-//	        EntityPlayer player = worldClient.getPlayerEntityByName(message.getPlayerName());
-	        EntityPlayer player = worldClient.getPlayerEntityByUUID(UUID.fromString(message.getPlayerName()));
-	        
-	        if (player != null) {
-//	        	Treasure.logger.debug("valid player -> {}", message.getPlayerName());
-	        	// check hands first
-	        	if (message.getHand() != null) {
-//		        	Treasure.logger.debug("valid hand -> {}", message.getHand());
-	        		// get the item for the hand
-	        		ItemStack heldItemStack = player.getHeldItem(message.getHand());
-	        		// determine what is being held in hand
-	        		if (heldItemStack != null) {
-//	        			Treasure.logger.debug("holding item -> {}", heldItemStack.getItem().getRegistryName());
-	        			if (heldItemStack.hasCapability(TreasureCapabilities.CHARMABLE, null)) {
-	        				updateCharms(heldItemStack, message, heldItemStack.getCapability(TreasureCapabilities.CHARMABLE, null));
-	        			}
-	        		}
-	        	}
-	        	else if (BaublesIntegration.BAUBLES_MOD_ID.equals(message.getSlotProviderId())) {
-//	        		Treasure.logger.debug("it is a baubles slot provider");
-	        		ItemStack stack = BaublesIntegration.getStackInSlot(player, message.getSlot());
-	        		
-//	        		if (stack != null) Treasure.logger.debug("item in baubles slot -> {} -> {}", message.getSlot(), stack.getItem().getRegistryName());
-	        		
-	        		if (stack != null && stack.hasCapability(TreasureCapabilities.CHARMABLE, null)) {
-//		        		Treasure.logger.debug("baubles item has charmable cap");
-	        			updateCharms(stack, message, stack.getCapability(TreasureCapabilities.CHARMABLE, null));
-	        		}
-	        	}
-	        	// hotbar
-	        	else {
-	        		ItemStack stack = player.inventory.getStackInSlot(message.getSlot());
-	        		if (stack != null /*&& stack.getItem() instanceof ICharmable*/) {
-	        			if (stack.hasCapability(TreasureCapabilities.CHARMABLE, null)) {
-	        				updateCharms(stack, message, stack.getCapability(TreasureCapabilities.CHARMABLE, null));
-	        			}
-	        		}
-	        	}	        	
-	        }
+		  // the message is only ever sent to the player whose charms it describes
+		  EntityPlayer player = Minecraft.getMinecraft().player;
+		  if (player == null) {
+			  return;
 		  }
-		  catch(Exception e) {
-			  Treasure.LOGGER.error("Unexpected error ->", e);
+		  for (CharmMessageToClient.Entry entry : message.getEntries()) {
+			  try {
+				  processEntry(player, entry);
+			  }
+			  catch(Exception e) {
+				  Treasure.LOGGER.error("Unexpected error ->", e);
+			  }
+		  }
+	  }
+
+	  /**
+	   * 
+	   * @param player
+	   * @param entry
+	   */
+	  private void processEntry(EntityPlayer player, CharmMessageToClient.Entry entry) {
+		  // check hands first
+		  if (entry.getHand() != null) {
+			  // get the item for the hand
+			  ItemStack heldItemStack = player.getHeldItem(entry.getHand());
+			  // determine what is being held in hand
+			  if (heldItemStack != null) {
+				  if (heldItemStack.hasCapability(TreasureCapabilities.CHARMABLE, null)) {
+					  updateCharms(heldItemStack, entry, heldItemStack.getCapability(TreasureCapabilities.CHARMABLE, null));
+				  }
+			  }
+		  }
+		  else if (BaublesIntegration.BAUBLES_MOD_ID.equals(entry.getSlotProviderId())) {
+			  ItemStack stack = BaublesIntegration.getStackInSlot(player, entry.getSlot());
+			  if (stack != null && stack.hasCapability(TreasureCapabilities.CHARMABLE, null)) {
+				  updateCharms(stack, entry, stack.getCapability(TreasureCapabilities.CHARMABLE, null));
+			  }
+		  }
+		  // hotbar
+		  else {
+			  ItemStack stack = player.inventory.getStackInSlot(entry.getSlot());
+			  if (stack != null) {
+				  if (stack.hasCapability(TreasureCapabilities.CHARMABLE, null)) {
+					  updateCharms(stack, entry, stack.getCapability(TreasureCapabilities.CHARMABLE, null));
+				  }
+			  }
 		  }
 	  }
 
 	  /**
 	   * 
 	   * @param itemStack
-	   * @param message
+	   * @param entry
 	   * @param capability
 	   */
-	private void updateCharms(ItemStack itemStack, CharmMessageToClient message, ICharmableCapability capability) {
+	private void updateCharms(ItemStack itemStack, CharmMessageToClient.Entry entry, ICharmableCapability capability) {
 		// get the charm that is being sent
-		ResourceLocation charmName = new ResourceLocation(message.getCharmName());
+		ResourceLocation charmName = entry.getEntity().getCharm().getName();
 		// cycle through the charm states to find the named charm
-		List<ICharmEntity> entityList = (List<ICharmEntity>) capability.getCharmEntities().get(message.getInventoryType());
-		if (entityList != null && !entityList.isEmpty() && entityList.size() > message.getIndex()) {
-			ICharmEntity entity = entityList.get(message.getIndex());
-//    		Treasure.logger.debug("looking for charm -> {} at index -> {}", entity, message.getIndex());
+		List<ICharmEntity> entityList = (List<ICharmEntity>) capability.getCharmEntities().get(entry.getInventoryType());
+		if (entityList != null && !entityList.isEmpty() && entityList.size() > entry.getIndex()) {
+			ICharmEntity entity = entityList.get(entry.getIndex());
 			if (entity != null && entity.getCharm().getName().equals(charmName)) {
-//	        	Treasure.logger.debug("found charm, updating...");
 				// update entity properties
-				entity.update(message.getEntity());
+				entity.update(entry.getEntity());
 				
 				// NOTE yes, remove innate charms from Adornments - they can't be recharged
-				if (message.getInventoryType() == InventoryType.INNATE && entity.getMana() <= 0.0) {
-					capability.remove(message.getInventoryType(), message.getIndex());
+				if (entry.getInventoryType() == InventoryType.INNATE && entity.getMana() <= 0.0) {
+					capability.remove(entry.getInventoryType(), entry.getIndex());
 				}
 				// TODO probably need to remove imbue as well
 				
 
 				// update Durability 
 				if (itemStack.hasCapability(TreasureCapabilities.DURABILITY, null)) {
-					itemStack.setItemDamage(message.getItemDamage());
+					itemStack.setItemDamage(entry.getItemDamage());
 				}
-//				break;
 			}
 		}
 	}
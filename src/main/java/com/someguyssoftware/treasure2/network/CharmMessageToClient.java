@@ -19,7 +19,8 @@
  */
 package com.someguyssoftware.treasure2.network;
 
-import java.util.Objects;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 import com.someguyssoftware.treasure2.Treasure;
@@ -29,7 +30,7 @@ import com.someguyssoftware.treasure2.charm.ICharm;
 import com.someguyssoftware.treasure2.charm.ICharmEntity;
 import com.someguyssoftware.treasure2.charm.ICooldownCharmEntity;
 import com.someguyssoftware.treasure2.charm.TreasureCharmRegistry;
-import com.someguyssoftware.treasure2.util.ResourceLocationUtil;
+import com.someguyssoftware.treasure2.integration.baubles.BaublesIntegration;
 
 import io.netty.buffer.ByteBuf;
 import net.minecraft.util.EnumHand;
@@ -37,119 +38,64 @@ import net.minecraftforge.fml.common.network.ByteBufUtils;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
 
 /**
+ * The state of the charms of the receiving player that changed during a tick.
+ * Each entry is written as the charm's network ID (varint), a header byte packing the hand, slot provider and
+ * inventory type, the slot, index and item damage (varints), then the charm entity state.
  * @author Mark Gottschling on Feb 17, 2020
  *
  */
 public class CharmMessageToClient implements IMessage {
+	private static final int MAX_VARINT_SIZE = 5;
+
+	// slot provider codes
+	private static final int MINECRAFT = 0;
+	private static final int TREASURE = 1;
+	private static final int BAUBLES = 2;
+	private static final int OTHER = 3;
+
 	private boolean valid;
-	private String playerName;
-	private String charmName;
-	private ICharmEntity entity;
-	// location properties of charm(s) - who, what slot
-	private EnumHand hand;
-	private Integer slot;
-	private String slotProviderId;
-	private InventoryType inventoryType;
-	private int index;
-	private int itemDamage;
-	
+	private List<Entry> entries;
+
 	/**
 	 * 
-	 * @param uuid
-	 * @param context
+	 * @param entries
 	 */
-	public CharmMessageToClient(String playerName, CharmContext context) {
+	public CharmMessageToClient(List<Entry> entries) {
 		valid = true;
-		this.playerName = playerName;
-		this.charmName = context.getEntity().getCharm().getName().toString();
-		this.entity = context.getEntity();
-		this.hand = context.getHand();
-		this.slotProviderId = context.getSlotProviderId();
-		this.slot = context.getSlot();
-		this.inventoryType = context.getType();
-		this.index = context.getIndex();
-		this.itemDamage = context.getItemStack().getItemDamage();
+		this.entries = entries;
 	}
-		
+
 	/**
 	 * 
 	 */
 	public CharmMessageToClient() {
 		valid = false;
 	}
-	
-    // these methods may also be of use for your code:
-    // for Itemstacks - ByteBufUtils.readItemStack()
-    // for NBT tags ByteBufUtils.readTag();
-    // for Strings: ByteBufUtils.readUTF8String();
+
 	@Override
 	public void fromBytes(ByteBuf buf) {
-	    try {
-	    	this.playerName = ByteBufUtils.readUTF8String(buf);
-	    	this.charmName = ByteBufUtils.readUTF8String(buf);
-	    	// create the charm entity
-	    	Optional<ICharm> optionalCharm = TreasureCharmRegistry.get(ResourceLocationUtil.create(charmName));
-	    	if (!optionalCharm.isPresent()) {
-	    		throw new RuntimeException(String.format("Unable to find charm %s in registry.", charmName));
-	    	}
-	    	entity = optionalCharm.get().createEntity();
-	    	entity.setCharm(optionalCharm.get());
-	    	// get entity data
-	    	entity.setMana(buf.readDouble());	    	
-	    	// get class specific entity data
-	    	if (entity instanceof ICooldownCharmEntity) {
-	    		((ICooldownCharmEntity) entity).setCooldownEnd(buf.readDouble());
-	    	}
-	    	
-	    	String handStr = ByteBufUtils.readUTF8String(buf);
-	    	if (!handStr.isEmpty()) {
-	    		this.hand = EnumHand.valueOf(handStr);
-	    	}
-	    	this.slot = buf.readInt();
-	    	this.slotProviderId = ByteBufUtils.readUTF8String(buf);
-			String inventoryType = ByteBufUtils.readUTF8String(buf);
-			if (!inventoryType.isEmpty()) {
-				this.setInventoryType(InventoryType.valueOf(inventoryType.toUpperCase()));
+		try {
+			int size = ByteBufUtils.readVarInt(buf, MAX_VARINT_SIZE);
+			entries = new ArrayList<>(size);
+			for (int i = 0; i < size; i++) {
+				entries.add(Entry.read(buf));
 			}
-			this.setIndex(buf.readInt());
-			this.setItemDamage(buf.readInt());
-	      } catch (RuntimeException e) {
-	        Treasure.LOGGER.error("Exception while reading CharmMessageToClient: ", e);
-	        return;
-	      }
-	      valid = true;
-		
+		} catch (RuntimeException e) {
+			Treasure.LOGGER.error("Exception while reading CharmMessageToClient: ", e);
+			return;
+		}
+		valid = true;
 	}
 
 	@Override
 	public void toBytes(ByteBuf buf) {
-	    if (!valid) {
-	    	return;
-	    }
-	    ByteBufUtils.writeUTF8String(buf, playerName);
-	    ByteBufUtils.writeUTF8String(buf, charmName);
-	    
-	    // write entity data
-	    buf.writeDouble(entity.getMana());
-	    // write specific entity data
-	    if (entity instanceof ICooldownCharmEntity) {
-	    	buf.writeDouble(((ICooldownCharmEntity) entity).getCooldownEnd());
-	    }
-	    
-	    String handStr = "";
-	    if (hand != null) {
-	    	handStr = hand.name();
-	    }
-	    ByteBufUtils.writeUTF8String(buf, handStr);	    
-	    buf.writeInt(this.slot);
-	    ByteBufUtils.writeUTF8String(buf, Objects.toString(slotProviderId, ""));
-		String typeAsString = "";
-		if (inventoryType != null) {
-			typeAsString = inventoryType.name().toLowerCase();
+		if (!valid) {
+			return;
+		}
+		ByteBufUtils.writeVarInt(buf, entries.size(), MAX_VARINT_SIZE);
+		for (Entry entry : entries) {
+			entry.write(buf);
 		}
-		ByteBufUtils.writeUTF8String(buf, typeAsString);
-		buf.writeInt(index);
-		buf.writeInt(this.itemDamage);
 	}
 
 	/**
@@ -157,10 +103,7 @@ public class CharmMessageToClient implements IMessage {
 	 * @return
 	 */
 	public boolean isMessageValid() {
-		if (charmName != null && playerName != null && entity != null) {
-			return true;
-		}
-		return false;
+		return valid && entries != null && !entries.isEmpty();
 	}
 
 	public boolean isMessageIsValid() {
@@ -171,86 +114,183 @@ public class CharmMessageToClient implements IMessage {
 		this.valid = messageIsValid;
 	}
 
-	public ICharmEntity getEntity() {
-		return entity;
-	}
-	
-	public String getPlayerName() {
-		return playerName;
+	public boolean isValid() {
+		return valid;
 	}
 
-	public EnumHand getHand() {
-		return hand;
+	public List<Entry> getEntries() {
+		return entries;
 	}
 
-	public Integer getSlot() {
-		return slot;
+	@Override
+	public String toString() {
+		return "CharmMessageToClient [valid=" + valid + ", entries=" + entries + "]";
 	}
 
-	public String getCharmName() {
-		return charmName;
+	/**
+	 * Packs the location of a charm - hand, slot provider, slot, inventory type and index - into a key,
+	 * so that only the latest state of each charm is sent.
+	 * @param context
+	 * @return
+	 */
+	public static long getSlotKey(CharmContext context) {
+		int provider = getProviderCode(context.getSlotProviderId());
+		long key = (context.getHand() == null ? 0 : context.getHand().ordinal() + 1)
+				| provider << 2
+				| (context.getType() == null ? 0 : context.getType().ordinal()) << 4
+				| (context.getIndex() & 0xFF) << 6
+				| ((context.getSlot() == null ? -1 : context.getSlot()) + 1 & 0xFFFF) << 14;
+		if (provider == OTHER && context.getSlotProviderId() != null) {
+			key |= (long)context.getSlotProviderId().hashCode() << 32;
+		}
+		return key;
 	}
 
-	public String getSlotProviderId() {
-		return slotProviderId;
+	/**
+	 * 
+	 * @param slotProviderId
+	 * @return
+	 */
+	private static int getProviderCode(String slotProviderId) {
+		if (slotProviderId == null || "minecraft".equals(slotProviderId)) {
+			return MINECRAFT;
+		}
+		else if (Treasure.MODID.equals(slotProviderId)) {
+			return TREASURE;
+		}
+		else if (BaublesIntegration.BAUBLES_MOD_ID.equals(slotProviderId)) {
+			return BAUBLES;
+		}
+		return OTHER;
 	}
 
-	public void setSlotProviderId(String slotProviderId) {
-		this.slotProviderId = slotProviderId;
-	}
+	/**
+	 * The state of a single charm.
+	 */
+	public static class Entry {
+		private ICharmEntity entity;
+		// location properties of charm(s) - what slot
+		private EnumHand hand;
+		private Integer slot;
+		private String slotProviderId;
+		private InventoryType inventoryType;
+		private int index;
+		private int itemDamage;
 
-	public boolean isValid() {
-		return valid;
-	}
+		private Entry() {}
 
-	public void setPlayerName(String playerName) {
-		this.playerName = playerName;
-	}
+		/**
+		 * 
+		 * @param context
+		 */
+		public Entry(CharmContext context) {
+			this.entity = context.getEntity();
+			this.hand = context.getHand();
+			this.slotProviderId = context.getSlotProviderId();
+			this.slot = context.getSlot();
+			this.inventoryType = context.getType();
+			this.index = context.getIndex();
+			this.itemDamage = context.getItemStack().getItemDamage();
+		}
 
-	public void setCharmName(String charmName) {
-		this.charmName = charmName;
-	}
+		/**
+		 * 
+		 * @param buf
+		 * @return
+		 */
+		static Entry read(ByteBuf buf) {
+			Entry entry = new Entry();
+			int charmId = ByteBufUtils.readVarInt(buf, MAX_VARINT_SIZE);
+			// create the charm entity
+			Optional<ICharm> optionalCharm = TreasureCharmRegistry.getById(charmId);
+			if (!optionalCharm.isPresent()) {
+				throw new RuntimeException(String.format("Unable to find charm %s in registry.", charmId));
+			}
 
-	public void setEntity(ICharmEntity entity) {
-		this.entity = entity;
-	}
+			int header = buf.readUnsignedByte();
+			int handCode = header & 0x3;
+			entry.hand = handCode == 0 ? null : EnumHand.values()[handCode - 1];
+			int provider = (header >> 2) & 0x3;
+			entry.slotProviderId = provider == MINECRAFT ? "minecraft" : provider == TREASURE ? Treasure.MODID
+					: provider == BAUBLES ? BaublesIntegration.BAUBLES_MOD_ID : ByteBufUtils.readUTF8String(buf);
+			entry.inventoryType = InventoryType.values()[(header >> 4) & 0x3];
+			// a charm without a slot is written as 0
+			int slot = ByteBufUtils.readVarInt(buf, MAX_VARINT_SIZE) - 1;
+			entry.slot = slot < 0 ? null : slot;
+			entry.index = ByteBufUtils.readVarInt(buf, MAX_VARINT_SIZE);
+			entry.itemDamage = ByteBufUtils.readVarInt(buf, MAX_VARINT_SIZE);
 
-	public void setHand(EnumHand hand) {
-		this.hand = hand;
-	}
+			entry.entity = optionalCharm.get().createEntity();
+			entry.entity.setCharm(optionalCharm.get());
+			// get entity data
+			entry.entity.setMana(buf.readDouble());
+			// get class specific entity data
+			if (entry.entity instanceof ICooldownCharmEntity) {
+				((ICooldownCharmEntity) entry.entity).setCooldownEnd(buf.readDouble());
+			}
+			return entry;
+		}
 
-	public void setSlot(Integer slot) {
-		this.slot = slot;
-	}
-	
-	public InventoryType getInventoryType() {
-		return inventoryType;
-	}
+		/**
+		 * 
+		 * @param buf
+		 */
+		void write(ByteBuf buf) {
+			ByteBufUtils.writeVarInt(buf, TreasureCharmRegistry.getId(entity.getCharm()), MAX_VARINT_SIZE);
 
-	public void setInventoryType(InventoryType inventoryType) {
-		this.inventoryType = inventoryType;
-	}
+			int provider = getProviderCode(slotProviderId);
+			int header = (hand == null ? 0 : hand.ordinal() + 1)
+					| provider << 2
+					| (inventoryType == null ? 0 : inventoryType.ordinal()) << 4;
+			buf.writeByte(header);
+			if (provider == OTHER) {
+				ByteBufUtils.writeUTF8String(buf, slotProviderId);
+			}
+			ByteBufUtils.writeVarInt(buf, (slot == null ? -1 : slot) + 1, MAX_VARINT_SIZE);
+			ByteBufUtils.writeVarInt(buf, index, MAX_VARINT_SIZE);
+			ByteBufUtils.writeVarInt(buf, itemDamage, MAX_VARINT_SIZE);
 
-	public int getIndex() {
-		return index;
-	}
+			// write entity data
+			buf.writeDouble(entity.getMana());
+			// write specific entity data
+			if (entity instanceof ICooldownCharmEntity) {
+				buf.writeDouble(((ICooldownCharmEntity) entity).getCooldownEnd());
+			}
+		}
 
-	public void setIndex(int index) {
-		this.index = index;
-	}
-	
-	@Override
-	public String toString() {
-		return "CharmMessageToClient [valid=" + valid + ", playerName=" + playerName + ", charmName=" + charmName
-				+ ", entity=" + entity + ", hand=" + hand + ", slot=" + slot + ", slotProviderId=" + slotProviderId
-				+ ", inventoryType=" + inventoryType + ", index=" + index + ", itemDamage=" + itemDamage + "]";
-	}
+		public ICharmEntity getEntity() {
+			return entity;
+		}
 
-	public int getItemDamage() {
-		return itemDamage;
-	}
+		public EnumHand getHand() {
+			return hand;
+		}
+
+		public Integer getSlot() {
+			return slot;
+		}
+
+		public String getSlotProviderId() {
+			return slotProviderId;
+		}
+
+		public InventoryType getInventoryType() {
+			return inventoryType;
+		}
+
+		public int getIndex() {
+			return index;
+		}
+
+		public int getItemDamage() {
+			return itemDamage;
+		}
 
-	public void setItemDamage(int itemDamage) {
-		this.itemDamage = itemDamage;
+		@Override
+		public String toString() {
+			return "Entry [charm=" + entity.getCharm().getName() + ", entity=" + entity + ", hand=" + hand + ", slot=" + slot
+					+ ", slotProviderId=" + slotProviderId + ", inventoryType=" + inventoryType + ", index=" + index
+					+ ", itemDamage=" + itemDamage + "]";
+		}
 	}
 }
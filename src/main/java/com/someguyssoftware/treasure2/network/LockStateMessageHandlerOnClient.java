@@ -0,0 +1,82 @@
+/*
+ * This file is part of  Treasure2.
+ * Copyright (c) 2021, Mark Gottschling (gottsch)
+ * 
+ * All rights reserved.
+ *
+ * Treasure2 is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Treasure2 is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Treasure2.  If not, see <http://www.gnu.org/licenses/lgpl>.
+ */
+package com.someguyssoftware.treasure2.network;
+
+import java.util.List;
+
+import com.someguyssoftware.treasure2.Treasure;
+import com.someguyssoftware.treasure2.lock.LockState;
+import com.someguyssoftware.treasure2.tileentity.AbstractTreasureChestTileEntity;
+
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.multiplayer.WorldClient;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
+import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
+import net.minecraftforge.fml.relauncher.Side;
+
+/**
+ * 
+ */
+public class LockStateMessageHandlerOnClient implements IMessageHandler<LockStateMessageToClient, IMessage> {
+
+	/**
+	 * Called when a message is received of the appropriate type.
+	 * CALLED BY THE NETWORK THREAD, NOT THE CLIENT THREAD
+	 * @param message The message
+	 */
+	@Override
+	public IMessage onMessage(LockStateMessageToClient message, MessageContext ctx) {
+		if (ctx.side != Side.CLIENT) {
+			Treasure.LOGGER.error("LockStateMessageToClient received on wrong side -> {}", ctx.side);
+			return null;
+		}
+		if (!message.isMessageValid()) {
+			Treasure.LOGGER.warn("LockStateMessageToClient was invalid -> {}", message.toString());
+			return null;
+		}
+
+		Minecraft minecraft = Minecraft.getMinecraft();
+		minecraft.addScheduledTask(() -> processMessage(minecraft.world, message));
+		return null;
+	}
+
+	/*
+	 * This message is called from the Client thread.
+	 */
+	void processMessage(WorldClient worldClient, LockStateMessageToClient message) {
+		if (worldClient == null || !worldClient.isBlockLoaded(message.getPos())) {
+			return;
+		}
+		TileEntity tileEntity = worldClient.getTileEntity(message.getPos());
+		if (!(tileEntity instanceof AbstractTreasureChestTileEntity)) {
+			return;
+		}
+		AbstractTreasureChestTileEntity chestTileEntity = (AbstractTreasureChestTileEntity) tileEntity;
+		List<LockState> lockStates = chestTileEntity.getLockStates();
+		if (lockStates == null || message.getSlotIndex() >= lockStates.size()) {
+			Treasure.LOGGER.warn("no lock slot for -> {}", message);
+			return;
+		}
+		lockStates.get(message.getSlotIndex()).setLock(message.getLock());
+		chestTileEntity.onRenderStateChanged();
+	}
+}
@@ -0,0 +1,119 @@
+/*
+ * This file is part of  Treasure2.
+ * Copyright (c) 2021, Mark Gottschling (gottsch)
+ * 
+ * All rights reserved.
+ *
+ * Treasure2 is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Treasure2 is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Treasure2.  If not, see <http://www.gnu.org/licenses/lgpl>.
+ */
+package com.someguyssoftware.treasure2.network;
+
+import com.someguyssoftware.treasure2.Treasure;
+import com.someguyssoftware.treasure2.item.LockItem;
+
+import io.netty.buffer.ByteBuf;
+import net.minecraft.item.Item;
+import net.minecraft.util.math.BlockPos;
+import net.minecraftforge.fml.common.network.ByteBufUtils;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
+
+/**
+ * A lock that was added to or removed from a slot of a treasure chest.
+ * Sent instead of a full tile entity update, as the other render state of the chest hasn't changed.
+ * Written as the chest's packed position, the lock slot index (varint) and the lock's item ID + 1, or 0 if the slot is empty (varint).
+ */
+public class LockStateMessageToClient implements IMessage {
+	private static final int MAX_VARINT_SIZE = 5;
+
+	private boolean valid;
+	private BlockPos pos;
+	private int slotIndex;
+	private int lockId;
+
+	/**
+	 * 
+	 * @param pos
+	 * @param slotIndex
+	 * @param lock the lock in the slot or null if the slot is empty
+	 */
+	public LockStateMessageToClient(BlockPos pos, int slotIndex, LockItem lock) {
+		valid = true;
+		this.pos = pos;
+		this.slotIndex = slotIndex;
+		this.lockId = lock == null ? 0 : Item.getIdFromItem(lock) + 1;
+	}
+
+	/**
+	 * 
+	 */
+	public LockStateMessageToClient() {
+		valid = false;
+	}
+
+	@Override
+	public void fromBytes(ByteBuf buf) {
+		try {
+			pos = BlockPos.fromLong(buf.readLong());
+			slotIndex = ByteBufUtils.readVarInt(buf, MAX_VARINT_SIZE);
+			lockId = ByteBufUtils.readVarInt(buf, MAX_VARINT_SIZE);
+		} catch (RuntimeException e) {
+			Treasure.LOGGER.error("Exception while reading LockStateMessageToClient: ", e);
+			return;
+		}
+		valid = true;
+	}
+
+	@Override
+	public void toBytes(ByteBuf buf) {
+		if (!valid) {
+			return;
+		}
+		buf.writeLong(pos.toLong());
+		ByteBufUtils.writeVarInt(buf, slotIndex, MAX_VARINT_SIZE);
+		ByteBufUtils.writeVarInt(buf, lockId, MAX_VARINT_SIZE);
+	}
+
+	/**
+	 * 
+	 * @return
+	 */
+	public boolean isMessageValid() {
+		return valid;
+	}
+
+	public BlockPos getPos() {
+		return pos;
+	}
+
+	public int getSlotIndex() {
+		return slotIndex;
+	}
+
+	/**
+	 * 
+	 * @return the lock in the slot or null if the slot is empty
+	 */
+	public LockItem getLock() {
+		if (lockId == 0) {
+			return null;
+		}
+		Item item = Item.getItemById(lockId - 1);
+		return item instanceof LockItem ? (LockItem) item : null;
+	}
+
+	@Override
+	public String toString() {
+		return "LockStateMessageToClient [pos=" + pos + ", slotIndex=" + slotIndex + ", lockId=" + lockId + "]";
+	}
+}
@@ -4,14 +4,8 @@
 package com.someguyssoftware.treasure2.particle;
 
 import com.someguyssoftware.gottschcore.positional.ICoords;
-import com.someguyssoftware.treasure2.Treasure;
-import com.someguyssoftware.treasure2.tileentity.MistEmitterTileEntity;
 
-import net.minecraft.client.Minecraft;
 import net.minecraft.client.particle.Particle;
-import net.minecraft.entity.player.EntityPlayer;
-import net.minecraft.tileentity.TileEntity;
-import net.minecraft.util.math.AxisAlignedBB;
 import net.minecraft.world.World;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
@@ -61,6 +55,29 @@ public abstract class AbstractMistParticle extends Particle implements IMistPart
 
 	}
 
+	/**
+	 * Prepares an expired particle to be spawned again, as if it had just been constructed. Call init() afterwards.
+	 * @param world
+	 * @param posXIn
+	 * @param posYIn
+	 * @param posZIn
+	 * @param parentEmitterCoords
+	 */
+	public void reset(World world, double posXIn, double posYIn, double posZIn, ICoords parentEmitterCoords) {
+		this.world = world;
+		setPosition(posXIn, posYIn, posZIn);
+		this.prevPosX = posXIn;
+		this.prevPosY = posYIn;
+		this.prevPosZ = posZIn;
+		this.motionX = (Math.random() * 2.0D - 1.0D) * 0.0050200D;
+		this.motionZ = (Math.random() * 2.0D - 1.0D) * 0.0050200D;
+		this.motionY = 0;
+		this.onGround = false;
+		this.particleAge = 0;
+		this.isExpired = false;
+		setParentEmitterCoords(parentEmitterCoords);
+	}
+
 	@Override
 	public void init() {
 		/*
@@ -93,8 +110,6 @@ public abstract class AbstractMistParticle extends Particle implements IMistPart
 	 */
 	@Override
 	public void onUpdate() {
-		doPlayerCollisions(Minecraft.getMinecraft().world);
-
 		// save the previous location
 		prevPosX = posX;
 		prevPosY = posY;
@@ -151,40 +166,6 @@ public abstract class AbstractMistParticle extends Particle implements IMistPart
 		}
 	}
 
-	/**
-	 * 
-	 * @param world
-	 */
-	public void doPlayerCollisions(World world) {
-		if (getParentEmitterCoords() == null) {
-			Treasure.LOGGER.debug("emitter coords is null");
-			return;
-		}
-
-		// get the emitter tile entity
-		TileEntity emitterTileEntity = world.getTileEntity(getParentEmitterCoords().toPos());
-		if (emitterTileEntity == null) {
-			return;
-		}
-
-		// create an AxisAlignedBB for the particle
-		AxisAlignedBB aabb = new AxisAlignedBB(posX - 0.125D, posY, posZ - 0.125D, posX + 0.125D, posY + 0.25D,
-				posZ + 0.125D);
-
-		// for all the players in the mist emitter tile entity list
-		for (EntityPlayer player : ((MistEmitterTileEntity) emitterTileEntity).getPlayersWithinProximity()) {
-			if (player.getEntityBoundingBox().intersects(aabb)) {
-				inflictEffectOnPlayer(player);
-			}
-		}
-	}
-
-	/**
-	 * 
-	 * @param player
-	 */
-	public abstract void inflictEffectOnPlayer(EntityPlayer player);
-
 	/**
 	 * Used to control what texture and lighting is used for the EntityFX. Returns
 	 * 1, which means "use a texture from the blocks + items texture sheet" The
@@ -231,6 +212,10 @@ public abstract class AbstractMistParticle extends Particle implements IMistPart
 		this.parentEmitterCoords = parentEmitterCoords;
 	}
 
+	public World getWorld() {
+		return this.world;
+	}
+
 	@Override
 	public float getGravity() {
 		return this.particleGravity;
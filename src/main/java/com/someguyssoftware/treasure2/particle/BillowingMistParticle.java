@@ -5,7 +5,6 @@ import com.someguyssoftware.treasure2.Treasure;
 
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.renderer.texture.TextureAtlasSprite;
-import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.util.ResourceLocation;
 import net.minecraft.world.World;
 import net.minecraftforge.fml.relauncher.Side;
@@ -40,6 +39,12 @@ public class BillowingMistParticle extends AbstractMistParticle {
 		setParticleTexture(sprite);
 	}
 
+	@Override
+	public void reset(World world, double x, double y, double z, ICoords parentCoords) {
+		super.reset(world, x, y, z, parentCoords);
+		isAntiGravity = false;
+	}
+
 	/**
 	 * 
 	 */
@@ -101,16 +106,6 @@ public class BillowingMistParticle extends AbstractMistParticle {
 		}
 	}
 
-	@Override
-	public void doPlayerCollisions(World world) {
-		// do nothing
-	}
-
-	@Override
-	public void inflictEffectOnPlayer(EntityPlayer player) {
-		// do nothing
-	}
-
 	@Override
 	public float provideGravity() {
 		return billowingGravity;
@@ -0,0 +1,277 @@
+/**
+ *
+ */
+package com.someguyssoftware.treasure2.particle;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.someguyssoftware.gottschcore.positional.ICoords;
+import com.someguyssoftware.treasure2.Treasure;
+import com.someguyssoftware.treasure2.block.IMistSupport;
+import com.someguyssoftware.treasure2.config.TreasureConfig;
+
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import net.minecraft.block.BlockTorch;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.client.Minecraft;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.util.SoundCategory;
+import net.minecraft.util.SoundEvent;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.IWorldEventListener;
+import net.minecraft.world.World;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * Spawns the mist particles of all mist emitters (gravestones, wither trees etc.) on the client.
+ * Enforces a global budget of live mist particles (see GeneralProperties.maxMistParticles), recycles expired particles
+ * through a pool per particle class, and caches the torch count around each emitter so that the torch prevention
+ * check doesn't scan its 7x7x7 cube on every spawn. A cached count is dropped when a torch is placed or removed
+ * within range, or after TORCH_COUNT_LIFETIME ticks, which covers chunks that were reloaded in the meantime.
+ * Client thread only.
+ */
+@SideOnly(Side.CLIENT)
+@Mod.EventBusSubscriber(modid = Treasure.MODID, value = Side.CLIENT)
+public class MistParticleManager {
+	private static final int TORCH_COUNT_LIFETIME = 600;
+	private static final int TORCH_RANGE = 3;
+
+	// the particles that have been added to the particle manager and haven't been seen expired yet
+	private static final List<AbstractMistParticle> LIVE = new ArrayList<>();
+	// particle class -> expired particles ready for reuse
+	private static final Map<Class<?>, ArrayDeque<AbstractMistParticle>> POOLS = new HashMap<>();
+	private static int pooled;
+
+	// block pos -> (world time << 2) | torch count
+	private static final Long2LongOpenHashMap TORCH_COUNTS = new Long2LongOpenHashMap();
+	private static final IWorldEventListener TORCH_LISTENER = new TorchListener();
+
+	static {
+		TORCH_COUNTS.defaultReturnValue(-1L);
+	}
+
+	/**
+	 * Creates a particle when the pool of its class is empty.
+	 * @param <T>
+	 */
+	@FunctionalInterface
+	public interface IMistParticleFactory<T extends AbstractMistParticle> {
+		T create(World world, double x, double y, double z, ICoords parentEmitterCoords);
+	}
+
+	/**
+	 *
+	 * @return whether another mist particle can be spawned
+	 */
+	public static boolean hasBudget() {
+		return LIVE.size() < TreasureConfig.WORLD_GEN.getGeneralProperties().maxMistParticles;
+	}
+
+	/**
+	 * Spawns a mist particle of the type, reusing an expired particle of the type if there is one.
+	 * @param type
+	 * @param factory creates a particle of the type when the pool is empty
+	 * @param world
+	 * @param x
+	 * @param y
+	 * @param z
+	 * @param parentEmitterCoords the coords of the emitter or null
+	 * @return false if the budget has been reached
+	 */
+	public static <T extends AbstractMistParticle> boolean spawn(Class<T> type, IMistParticleFactory<T> factory, World world,
+			double x, double y, double z, ICoords parentEmitterCoords) {
+		if (!hasBudget()) {
+			return false;
+		}
+
+		AbstractMistParticle particle = null;
+		ArrayDeque<AbstractMistParticle> pool = POOLS.get(type);
+		if (pool != null && !pool.isEmpty()) {
+			particle = pool.poll();
+			pooled--;
+			particle.reset(world, x, y, z, parentEmitterCoords);
+		}
+		else {
+			particle = factory.create(world, x, y, z, parentEmitterCoords);
+		}
+		// remember to init!
+		particle.init();
+		Minecraft.getMinecraft().effectRenderer.addEffect(particle);
+		LIVE.add(particle);
+		return true;
+	}
+
+	/**
+	 * Gets the number of torches (up to 3) within range of the position, from the cache if possible.
+	 * @param world
+	 * @param x
+	 * @param y
+	 * @param z
+	 * @return
+	 */
+	public static int getTorchCount(World world, int x, int y, int z) {
+		long key = BlockPos.toLong(x, y, z);
+		long time = world.getTotalWorldTime();
+		long entry = TORCH_COUNTS.get(key);
+		if (entry != -1L && time - (entry >> 2) < TORCH_COUNT_LIFETIME) {
+			return (int) (entry & 3L);
+		}
+
+		int numberOfTorches = IMistSupport.countTorches(world, x, y, z);
+		if (numberOfTorches < 0) {
+			// the area isn't loaded yet
+			TORCH_COUNTS.remove(key);
+			return 0;
+		}
+		TORCH_COUNTS.put(key, (time << 2) | Math.min(numberOfTorches, 3));
+		return numberOfTorches;
+	}
+
+	/**
+	 * Drops the cached torch counts of the positions that are within range of a torch change.
+	 * @param pos
+	 */
+	private static void invalidateTorchCounts(BlockPos pos) {
+		if (TORCH_COUNTS.isEmpty()) {
+			return;
+		}
+		LongIterator iterator = TORCH_COUNTS.keySet().iterator();
+		while (iterator.hasNext()) {
+			BlockPos cached = BlockPos.fromLong(iterator.nextLong());
+			if (Math.abs(cached.getX() - pos.getX()) <= TORCH_RANGE && Math.abs(cached.getY() - pos.getY()) <= TORCH_RANGE
+					&& Math.abs(cached.getZ() - pos.getZ()) <= TORCH_RANGE) {
+				iterator.remove();
+			}
+		}
+	}
+
+	/**
+	 * Moves the particles that have expired during this tick to their pools.
+	 * The particle manager has already discarded them, as it updates its particles earlier in the tick.
+	 * @param event
+	 */
+	@SubscribeEvent
+	public static void onClientTick(TickEvent.ClientTickEvent event) {
+		if (event.phase != TickEvent.Phase.END || LIVE.isEmpty()) {
+			return;
+		}
+		World world = Minecraft.getMinecraft().world;
+		int poolLimit = TreasureConfig.WORLD_GEN.getGeneralProperties().maxMistParticles;
+		int live = 0;
+		for (int index = 0; index < LIVE.size(); index++) {
+			AbstractMistParticle particle = LIVE.get(index);
+			if (particle.isAlive()) {
+				LIVE.set(live++, particle);
+			}
+			else if (particle.getWorld() == world && pooled < poolLimit) {
+				POOLS.computeIfAbsent(particle.getClass(), k -> new ArrayDeque<>()).add(particle);
+				pooled++;
+			}
+		}
+		LIVE.subList(live, LIVE.size()).clear();
+	}
+
+	/**
+	 * Listens for torch changes in the client world.
+	 * @param event
+	 */
+	@SubscribeEvent
+	public static void onWorldLoad(WorldEvent.Load event) {
+		if (event.getWorld().isRemote) {
+			event.getWorld().addEventListener(TORCH_LISTENER);
+		}
+	}
+
+	/**
+	 * Forgets the particles and cached torch counts of the client world, as the particle manager clears its particles
+	 * when the world changes.
+	 * @param event
+	 */
+	@SubscribeEvent
+	public static void onWorldUnload(WorldEvent.Unload event) {
+		if (event.getWorld().isRemote) {
+			LIVE.clear();
+			POOLS.clear();
+			pooled = 0;
+			TORCH_COUNTS.clear();
+		}
+	}
+
+	/**
+	 *
+	 * @return the number of live mist particles
+	 */
+	public static int size() {
+		return LIVE.size();
+	}
+
+	/**
+	 * Invalidates the cached torch counts when a torch is placed or removed.
+	 */
+	private static class TorchListener implements IWorldEventListener {
+		@Override
+		public void notifyBlockUpdate(World world, BlockPos pos, IBlockState oldState, IBlockState newState, int flags) {
+			if (oldState.getBlock() instanceof BlockTorch || newState.getBlock() instanceof BlockTorch) {
+				invalidateTorchCounts(pos);
+			}
+		}
+
+		@Override
+		public void notifyLightSet(BlockPos pos) {
+		}
+
+		@Override
+		public void markBlockRangeForRenderUpdate(int x1, int y1, int z1, int x2, int y2, int z2) {
+		}
+
+		@Override
+		public void playSoundToAllNearExcept(EntityPlayer player, SoundEvent sound, SoundCategory category, double x, double y,
+				double z, float volume, float pitch) {
+		}
+
+		@Override
+		public void playRecord(SoundEvent sound, BlockPos pos) {
+		}
+
+		@Override
+		public void spawnParticle(int particleID, boolean ignoreRange, double xCoord, double yCoord, double zCoord,
+				double xSpeed, double ySpeed, double zSpeed, int... parameters) {
+		}
+
+		@Override
+		public void spawnParticle(int id, boolean ignoreRange, boolean minimiseParticleLevel, double x, double y, double z,
+				double xSpeed, double ySpeed, double zSpeed, int... parameters) {
+		}
+
+		@Override
+		public void onEntityAdded(Entity entity) {
+		}
+
+		@Override
+		public void onEntityRemoved(Entity entity) {
+		}
+
+		@Override
+		public void broadcastSound(int soundID, BlockPos pos, int data) {
+		}
+
+		@Override
+		public void playEvent(EntityPlayer player, int type, BlockPos pos, int data) {
+		}
+
+		@Override
+		public void sendBlockBreakProgress(int breakerId, BlockPos pos, int progress) {
+		}
+	}
+}
@@ -3,15 +3,10 @@ package com.someguyssoftware.treasure2.particle;
 import java.util.Random;
 
 import com.someguyssoftware.gottschcore.positional.ICoords;
-import com.someguyssoftware.gottschcore.world.WorldInfo;
 import com.someguyssoftware.treasure2.Treasure;
-import com.someguyssoftware.treasure2.network.WitherMistMessageToServer;
 
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.renderer.texture.TextureAtlasSprite;
-import net.minecraft.entity.player.EntityPlayer;
-import net.minecraft.init.MobEffects;
-import net.minecraft.potion.PotionEffect;
 import net.minecraft.util.ResourceLocation;
 import net.minecraft.world.World;
 import net.minecraftforge.fml.relauncher.Side;
@@ -57,19 +52,6 @@ public class WitherMistParticle extends AbstractMistParticle {
 		setParticleTexture(sprite);
 	}
 
-	@Override
-	public void inflictEffectOnPlayer(EntityPlayer player) {
-		if (WorldInfo.isServerSide(Minecraft.getMinecraft().world)) {
-			return;
-		}
-		PotionEffect potionEffect = player.getActivePotionEffect(MobEffects.WITHER);
-		// if player does not have Wither effect, add it
-		if (potionEffect == null) {
-			WitherMistMessageToServer messageToServer = new WitherMistMessageToServer(player.getName());
-			Treasure.simpleNetworkWrapper.sendToServer(messageToServer);
-		}
-	}
-
 	@Override
 	public int provideMaxAge() {
 		return MAX_AGE;
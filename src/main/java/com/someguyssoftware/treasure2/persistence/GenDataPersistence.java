@@ -3,25 +3,18 @@
  */
 package com.someguyssoftware.treasure2.persistence;
 
-import java.util.Map.Entry;
+import java.util.List;
 
 import com.someguyssoftware.gottschcore.positional.Coords;
+import com.someguyssoftware.gottschcore.positional.ICoords;
 import com.someguyssoftware.treasure2.Treasure;
 import com.someguyssoftware.treasure2.chest.ChestInfo;
 import com.someguyssoftware.treasure2.enums.Rarity;
-import com.someguyssoftware.treasure2.enums.WorldGeneratorType;
 import com.someguyssoftware.treasure2.registry.ChestRegistry;
 import com.someguyssoftware.treasure2.registry.WitherTreeRegistry;
-import com.someguyssoftware.treasure2.worldgen.GemOreWorldGenerator;
-import com.someguyssoftware.treasure2.worldgen.SubmergedChestWorldGenerator;
-import com.someguyssoftware.treasure2.worldgen.SurfaceChestWorldGenerator;
-import com.someguyssoftware.treasure2.worldgen.WellWorldGenerator;
-import com.someguyssoftware.treasure2.worldgen.WitherTreeWorldGenerator;
 
 import net.minecraft.nbt.NBTTagCompound;
-import net.minecraft.nbt.NBTTagInt;
 import net.minecraft.nbt.NBTTagList;
-import net.minecraft.nbt.NBTTagString;
 import net.minecraft.world.World;
 import net.minecraft.world.storage.WorldSavedData;
 
@@ -36,12 +29,13 @@ public class GenDataPersistence extends WorldSavedData {
 	public static final String GEN_DATA_KEY = "treasureGenData";
 
 	private static final String SURFACE_CHEST_GEN_TAG_NAME = "surfaceChestGen";
-	private static final String SUBMERGED_CHEST_GEN_TAG_NAME = "submergedChestGen";
+	// the tags of the generator state saved in the global format
+	private static final String[] LEGACY_GEN_STATE_TAG_NAMES = { SURFACE_CHEST_GEN_TAG_NAME, "submergedChestGen",
+			"chunksSinceLastWell", "chunksSinceLastTree", "chunksSinceLastOre" };
 	private static final String KEY_TAG_NAME = "key";
-	private static final String COUNT_TAG_NAME = "count";
-	private static final String CHUNKS_SINCE_LAST_CHEST_TAG_NAME = "chunksSinceLastChest";
-	private static final String CHUNKS_SINCE_LAST_RARITY_CHEST_TAG_NAME = "chunksSinceLastRarityChest";
 	private static final String CHEST_REGISTRY_TAG_NAME = "chestRegistry";
+	private static final String PACKED_CHEST_REGISTRY_TAG_NAME = "packedChestRegistry";
+	private static final String CHESTS_TAG_NAME = "chests";
 	private static final String WITHER_TREE_REGISTRY_TAG_NAME ="witherTreeRegistry";
 	private static final String COORDS_TAG_NAME = "coords";
 
@@ -51,8 +45,17 @@ public class GenDataPersistence extends WorldSavedData {
 	private static final String BIOME_ID_TAG_NAME = "biomeID";
 	private static final String BIOMES_TAG_NAME = "biomes";
 	
+	// the number of int values per chest in the packed chest registry: x, z, (y << RARITY_BITS) | rarity ordinal
+	private static final int PACKED_CHEST_STRIDE = 3;
+	private static final int RARITY_BITS = 4;
+	private static final int RARITY_MASK = (1 << RARITY_BITS) - 1;
 
+	// the generator state saved in the global format (before GenStateData), if any, until it is migrated
+	private NBTTagCompound legacyGenStateTag;
 	
+	// the registry modification counts as of the last read/write, used to only save when a registry has changed
+	private int savedChestRegistryModCount = -1;
+	private int savedWitherTreeRegistryModCount = -1;
 	
 	/**
 	 * Empty constructor
@@ -76,75 +79,45 @@ public class GenDataPersistence extends WorldSavedData {
 	public void readFromNBT(NBTTagCompound tag) {
 		Treasure.LOGGER.debug("Loading Treasure! saved gen data...");
 
-		// get the world generators
-		SurfaceChestWorldGenerator surfaceChestGen = (SurfaceChestWorldGenerator) Treasure.WORLD_GENERATORS.get(WorldGeneratorType.SURFACE_CHEST);
-		SubmergedChestWorldGenerator submergedChestGen = (SubmergedChestWorldGenerator) Treasure.WORLD_GENERATORS.get(WorldGeneratorType.SUBMERGED_CHEST);
-		WellWorldGenerator wellGen = (WellWorldGenerator) Treasure.WORLD_GENERATORS.get(WorldGeneratorType.WELL);
-		WitherTreeWorldGenerator witherGen = (WitherTreeWorldGenerator) Treasure.WORLD_GENERATORS.get(WorldGeneratorType.WITHER_TREE);
-		GemOreWorldGenerator gemGen = (GemOreWorldGenerator) Treasure.WORLD_GENERATORS.get(WorldGeneratorType.GEM);
-
 		// treasure
 		NBTTagCompound treasureGen = tag.getCompoundTag(TREASURE_GEN_TAG_NAME);
-		NBTTagCompound surfaceTag = treasureGen.getCompoundTag(SURFACE_CHEST_GEN_TAG_NAME);
-		NBTTagCompound submergedTag = treasureGen.getCompoundTag(SUBMERGED_CHEST_GEN_TAG_NAME);
-	
-		///// Chests /////
-		/// Surface Chests ///
-		if (surfaceTag != null) {
-			surfaceChestGen.setChunksSinceLastChest(surfaceTag.getInteger(CHUNKS_SINCE_LAST_CHEST_TAG_NAME));
-			NBTTagList chunksSinceTagList = surfaceTag.getTagList(CHUNKS_SINCE_LAST_RARITY_CHEST_TAG_NAME, 10);
-			// load all the chunks since last rarity chest properites
-			for (int i = 0; i < chunksSinceTagList.tagCount(); i++) {
-				NBTTagCompound chunkTag = chunksSinceTagList.getCompoundTagAt(i);
-				int count = chunkTag.getInteger(COUNT_TAG_NAME);
-				String key = chunkTag.getString(KEY_TAG_NAME);
-				surfaceChestGen.getChunksSinceLastRarityChest().put(Rarity.valueOf(key), count);
-			}
-		}
-		
-		/// Submerged Chests ///
-		if (submergedTag != null) {
-			submergedChestGen.setChunksSinceLastChest(submergedTag.getInteger(CHUNKS_SINCE_LAST_CHEST_TAG_NAME));
-			NBTTagList chunksSinceTagList = submergedTag.getTagList(CHUNKS_SINCE_LAST_RARITY_CHEST_TAG_NAME, 10);
-			// load all the chunks since last rarity chest properites
-			for (int i = 0; i < chunksSinceTagList.tagCount(); i++) {
-				NBTTagCompound chunkTag = chunksSinceTagList.getCompoundTagAt(i);
-				int count = chunkTag.getInteger(COUNT_TAG_NAME);
-				String key = chunkTag.getString(KEY_TAG_NAME);
-				submergedChestGen.getChunksSinceLastRarityChest().put(Rarity.valueOf(key), count);
+
+		///// Legacy Generator State /////
+		// the chunks-since-last counters are now saved per dimension by GenStateData.
+		// hold onto counters saved in the old global format so the overworld's GenStateData can migrate them.
+		// they are saved again as they were read until they are migrated, so that they aren't lost if this is saved first.
+		legacyGenStateTag = null;
+		if (treasureGen.hasKey(SURFACE_CHEST_GEN_TAG_NAME)) {
+			legacyGenStateTag = new NBTTagCompound();
+			for (String name : LEGACY_GEN_STATE_TAG_NAMES) {
+				if (treasureGen.hasKey(name)) {
+					legacyGenStateTag.setTag(name, treasureGen.getTag(name).copy());
+				}
 			}
 		}
-		
-		///// Well /////
-		wellGen.setChunksSinceLastWell(treasureGen.getInteger("chunksSinceLastWell"));
-		
-		///// Wither Tree /////
-		witherGen.setChunksSinceLastTree(treasureGen.getInteger("chunksSinceLastTree"));
-		
-		///// Gem Ore /////
-		gemGen.setChunksSinceLastOre(treasureGen.getInteger("chunksSinceLastOre"));
-		
+
 		///// ChestConfig Registry /////
 		ChestRegistry chestRegistry = ChestRegistry.getInstance();
-		Treasure.LOGGER.debug("ChestConfig Registry size before loading -> {}", chestRegistry.getValues().size());
+		Treasure.LOGGER.debug("ChestConfig Registry size before loading -> {}", chestRegistry.size());
 		chestRegistry.clear();
 		// load the chest registry
-		NBTTagList chestRegistryTagList = treasureGen.getTagList(CHEST_REGISTRY_TAG_NAME, 10);
-		for (int i = 0; i < chestRegistryTagList.tagCount(); i++) {
-			NBTTagCompound chunkTag = chestRegistryTagList.getCompoundTagAt(i);
-			String key = chunkTag.getString(KEY_TAG_NAME);
-			String rarity = chunkTag.getString(RARITY_TAG_NAME);
-			NBTTagCompound coords = chunkTag.getCompoundTag(COORDS_TAG_NAME);
-			int x = coords.getInteger("x");
-			int y = coords.getInteger("y");
-			int z = coords.getInteger("z");
-			chestRegistry.register(key, new ChestInfo(Rarity.getByValue(rarity), new Coords(x, y, z)));
+		if (treasureGen.hasKey(PACKED_CHEST_REGISTRY_TAG_NAME)) {
+			readPackedChestRegistry(chestRegistry, treasureGen.getTagList(PACKED_CHEST_REGISTRY_TAG_NAME, 10));
 		}
-		Treasure.LOGGER.debug("ChestConfig Registry size after loading -> {}", chestRegistry.getValues().size());
+		else if (treasureGen.hasKey(CHEST_REGISTRY_TAG_NAME)) {
+			// migrate from the per-entry compound format
+			readLegacyChestRegistry(chestRegistry, treasureGen.getTagList(CHEST_REGISTRY_TAG_NAME, 10));
+			markDirty();
+		}
+		Treasure.LOGGER.debug("ChestConfig Registry size after loading -> {}", chestRegistry.size());
 		
 		// Wither Tree Registry
 		WitherTreeRegistry witherTreeRegistry = WitherTreeRegistry.getInstance();
 		witherTreeRegistry.read(treasureGen);
+		
+		// the registries now match what is saved
+		savedChestRegistryModCount = chestRegistry.getModCount();
+		savedWitherTreeRegistryModCount = witherTreeRegistry.getModCount();
 //		witherTreeRegistry.clear();
 //		NBTTagList witherTreeRegistryDimensionTagList = treasureGen.getTagList(WITHER_TREE_REGISTRY_TAG_NAME, 10);
 //		for (int index = 0; index < witherTreeRegistryDimensionTagList.tagCount(); index++) {
@@ -169,101 +142,26 @@ public class GenDataPersistence extends WorldSavedData {
 			// add main treasure tag
 			tag.setTag(TREASURE_GEN_TAG_NAME, treasureGen);
 			
-			///// Chests //////
-			// get the chest world generators
-			SurfaceChestWorldGenerator surfaceChestGen = (SurfaceChestWorldGenerator) Treasure.WORLD_GENERATORS.get(WorldGeneratorType.SURFACE_CHEST);
-			SubmergedChestWorldGenerator submergedChestGen = (SubmergedChestWorldGenerator) Treasure.WORLD_GENERATORS.get(WorldGeneratorType.SUBMERGED_CHEST);
-			
-			// create a new compounds
-			NBTTagCompound surfaceTag = new NBTTagCompound();
-			NBTTagCompound submergedTag = new NBTTagCompound();
-			
-			/// Surface Chests ///
-			// add the surface chest gen last count to the treasure compound
-			surfaceTag.setInteger(CHUNKS_SINCE_LAST_CHEST_TAG_NAME, surfaceChestGen.getChunksSinceLastChest());			
-			
-			// TODO these 2 blocks could become one method
-			NBTTagList chunksSinceTagList = new NBTTagList();
-			for (Entry<Rarity, Integer> since : surfaceChestGen.getChunksSinceLastRarityChest().entrySet()) {
-				NBTTagCompound entry = new NBTTagCompound();
-				NBTTagString key = new NBTTagString(since.getKey().name());
-				NBTTagInt count = new NBTTagInt(since.getValue());
-				entry.setTag(KEY_TAG_NAME, key);
-				entry.setTag(COUNT_TAG_NAME, count);				
-				// add entry to list
-				chunksSinceTagList.appendTag(entry);
+			///// Legacy Generator State (not yet migrated) /////
+			if (legacyGenStateTag != null) {
+				for (String name : legacyGenStateTag.getKeySet()) {
+					treasureGen.setTag(name, legacyGenStateTag.getTag(name).copy());
+				}
 			}
-			surfaceTag.setTag(CHUNKS_SINCE_LAST_RARITY_CHEST_TAG_NAME, chunksSinceTagList);
-			
-			/// Submerged Chests ///
-			// add the submerged chest gen last count to the treasure compound
-			submergedTag.setInteger(CHUNKS_SINCE_LAST_CHEST_TAG_NAME, submergedChestGen.getChunksSinceLastChest());			
-			chunksSinceTagList = new NBTTagList();
-			for (Entry<Rarity, Integer> since : submergedChestGen.getChunksSinceLastRarityChest().entrySet()) {
-				NBTTagCompound entry = new NBTTagCompound();
-				NBTTagString key = new NBTTagString(since.getKey().name());
-				NBTTagInt count = new NBTTagInt(since.getValue());
-				entry.setTag(KEY_TAG_NAME, key);
-				entry.setTag(COUNT_TAG_NAME, count);				
-				// add entry to list
-				chunksSinceTagList.appendTag(entry);
-			}			
-			submergedTag.setTag(CHUNKS_SINCE_LAST_RARITY_CHEST_TAG_NAME, chunksSinceTagList);
-			
-			// add chest gen tags to main tag
-			treasureGen.setTag(SURFACE_CHEST_GEN_TAG_NAME, surfaceTag);
-			treasureGen.setTag(SUBMERGED_CHEST_GEN_TAG_NAME, submergedTag);
-			
-			///// Well ////
-			// get the well world generator
-			WellWorldGenerator wellGen = (WellWorldGenerator) Treasure.WORLD_GENERATORS.get(WorldGeneratorType.WELL);
-			
-			// add the chest gen last count to the treasure compound
-			treasureGen.setInteger("chunksSinceLastWell", wellGen.getChunksSinceLastWell());
-			
-			//// Wither Tree /////
-			WitherTreeWorldGenerator witherGen = (WitherTreeWorldGenerator) Treasure.WORLD_GENERATORS.get(WorldGeneratorType.WITHER_TREE);
-			
-			// add the chest gen last count to the treasure compound
-			treasureGen.setInteger("chunksSinceLastTree", witherGen.getChunksSinceLastTree());
-			
-			//// Gem Ore ////
-			GemOreWorldGenerator gemGen = (GemOreWorldGenerator) Treasure.WORLD_GENERATORS.get(WorldGeneratorType.GEM);
-			treasureGen.setInteger("chunksSinceLastOre", gemGen.getChunksSinceLastOre());
 			
 			///// ChestConfig Registry /////
-			NBTTagList chestRegistryTagList = new NBTTagList();
 			ChestRegistry chestRegistry = ChestRegistry.getInstance();
-			for (ChestInfo element : chestRegistry.getValues()) {
-				NBTTagCompound entry = new NBTTagCompound();
-				NBTTagString key = new NBTTagString(element.getCoords().toShortString());
-				NBTTagString rarity = new NBTTagString(element.getRarity().getValue());
-				NBTTagCompound coords = new NBTTagCompound();
-				NBTTagInt x = new NBTTagInt(element.getCoords().getX());
-				NBTTagInt y = new NBTTagInt(element.getCoords().getY());
-				NBTTagInt z = new NBTTagInt(element.getCoords().getZ());
-				
-				coords.setTag("x", x);
-				coords.setTag("y", y);
-				coords.setTag("z", z);
-				
-				entry.setTag(KEY_TAG_NAME, key);
-				entry.setTag(RARITY_TAG_NAME, rarity);
-				entry.setTag(COORDS_TAG_NAME, coords);
-				
-				// add entry to list
-				chestRegistryTagList.appendTag(entry);
-			}
-			// delete current tag
-			treasureGen.removeTag(CHEST_REGISTRY_TAG_NAME);
-			// add new values
-			treasureGen.setTag(CHEST_REGISTRY_TAG_NAME, chestRegistryTagList);
-			
+			int chestRegistryModCount = chestRegistry.getModCount();
+			treasureGen.setTag(PACKED_CHEST_REGISTRY_TAG_NAME, writePackedChestRegistry(chestRegistry));
 			
 			///// Wither Tree Registry (multi-dimensional) /////			
 			WitherTreeRegistry witherTreeRegistry = WitherTreeRegistry.getInstance();
+			int witherTreeRegistryModCount = witherTreeRegistry.getModCount();
 			witherTreeRegistry.write(treasureGen);
 			
+			savedChestRegistryModCount = chestRegistryModCount;
+			savedWitherTreeRegistryModCount = witherTreeRegistryModCount;
+			
 //			NBTTagList witherTreeRegistryDimensionTagList = new NBTTagList();
 //			for (Integer dimensionKey : witherTreeRegistry.getDimensionKeys()) {
 //				LinkedList<WitherTreeInfo> infoList = witherTreeRegistry.getDimensionEntry(dimensionKey);
@@ -304,6 +202,99 @@ public class GenDataPersistence extends WorldSavedData {
 		return tag;
 	}
 
+	/**
+	 * Reads the chest registry from packed int arrays, one compound per dimension.
+	 * @param chestRegistry
+	 * @param dimensionTagList
+	 */
+	private void readPackedChestRegistry(ChestRegistry chestRegistry, NBTTagList dimensionTagList) {
+		for (int index = 0; index < dimensionTagList.tagCount(); index++) {
+			NBTTagCompound dimTag = dimensionTagList.getCompoundTagAt(index);
+			int dimensionID = dimTag.getInteger(DIMENSION_ID_TAG_NAME);
+			int[] chests = dimTag.getIntArray(CHESTS_TAG_NAME);
+			for (int i = 0; i + PACKED_CHEST_STRIDE <= chests.length; i += PACKED_CHEST_STRIDE) {
+				int x = chests[i];
+				int z = chests[i + 1];
+				int y = chests[i + 2] >> RARITY_BITS;
+				Rarity rarity = Rarity.values()[chests[i + 2] & RARITY_MASK];
+				ICoords coords = new Coords(x, y, z);
+				chestRegistry.register(dimensionID, coords.toShortString(), new ChestInfo(rarity, coords));
+			}
+		}
+	}
+	
+	/**
+	 * Reads the chest registry from a list of per-entry compounds.
+	 * @param chestRegistry
+	 * @param chestRegistryTagList
+	 */
+	private void readLegacyChestRegistry(ChestRegistry chestRegistry, NBTTagList chestRegistryTagList) {
+		for (int i = 0; i < chestRegistryTagList.tagCount(); i++) {
+			NBTTagCompound chunkTag = chestRegistryTagList.getCompoundTagAt(i);
+			// entries saved before the registry was indexed by dimension belong to the overworld
+			int dimensionID = chunkTag.hasKey(DIMENSION_ID_TAG_NAME) ? chunkTag.getInteger(DIMENSION_ID_TAG_NAME) : 0;
+			String key = chunkTag.getString(KEY_TAG_NAME);
+			String rarity = chunkTag.getString(RARITY_TAG_NAME);
+			NBTTagCompound coords = chunkTag.getCompoundTag(COORDS_TAG_NAME);
+			int x = coords.getInteger("x");
+			int y = coords.getInteger("y");
+			int z = coords.getInteger("z");
+			chestRegistry.register(dimensionID, key, new ChestInfo(Rarity.getByValue(rarity), new Coords(x, y, z)));
+		}
+	}
+	
+	/**
+	 * Writes the chest registry as packed int arrays, one compound per dimension, in registration order.
+	 * @param chestRegistry
+	 * @return
+	 */
+	private NBTTagList writePackedChestRegistry(ChestRegistry chestRegistry) {
+		NBTTagList dimensionTagList = new NBTTagList();
+		for (Integer dimensionID : chestRegistry.getDimensionKeys()) {
+			List<ChestInfo> infos = chestRegistry.getValues(dimensionID);
+			int[] chests = new int[infos.size() * PACKED_CHEST_STRIDE];
+			int i = 0;
+			for (ChestInfo info : infos) {
+				chests[i++] = info.getCoords().getX();
+				chests[i++] = info.getCoords().getZ();
+				chests[i++] = (info.getCoords().getY() << RARITY_BITS) | info.getRarity().ordinal();
+			}
+			NBTTagCompound dimTag = new NBTTagCompound();
+			dimTag.setInteger(DIMENSION_ID_TAG_NAME, dimensionID);
+			dimTag.setIntArray(CHESTS_TAG_NAME, chests);
+			dimensionTagList.appendTag(dimTag);
+		}
+		return dimensionTagList;
+	}
+	
+	/**
+	 * Dirty if marked, or if either registry has changed since it was last read or written.
+	 */
+	@Override
+	public boolean isDirty() {
+		return super.isDirty()
+				|| savedChestRegistryModCount != ChestRegistry.getInstance().getModCount()
+				|| savedWitherTreeRegistryModCount != WitherTreeRegistry.getInstance().getModCount();
+	}
+	
+	/**
+	 * 
+	 * @return the treasureGenerator tag if it was saved with the global generator state, else null
+	 */
+	public NBTTagCompound getLegacyGenStateTag() {
+		return legacyGenStateTag;
+	}
+
+	/**
+	 * Stops saving the generator state in the global format, once GenStateData has migrated it.
+	 */
+	public void clearLegacyGenStateTag() {
+		if (legacyGenStateTag != null) {
+			legacyGenStateTag = null;
+			markDirty();
+		}
+	}
+
 	/**
 	 * NOTE world.loadItemData is cached to a HashMap, so you don't have to worry about performing too many get()s that read from the disk.
 	 * @param world
@@ -0,0 +1,229 @@
+/**
+ *
+ */
+package com.someguyssoftware.treasure2.persistence;
+
+import com.someguyssoftware.treasure2.Treasure;
+import com.someguyssoftware.treasure2.enums.Rarity;
+
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.world.World;
+import net.minecraft.world.storage.MapStorage;
+import net.minecraft.world.storage.WorldSavedData;
+
+/**
+ * Per-dimension world generator state (the chunks-since-last counters).
+ * Stored in the world's per-dimension map storage, so each dimension keeps its own counters.
+ */
+public class GenStateData extends WorldSavedData {
+	public static final String GEN_STATE_KEY = "treasureGenState";
+
+	private static final String DIMENSION_ID_TAG_NAME = "dimensionID";
+	private static final String SURFACE_CHEST_GEN_TAG_NAME = "surfaceChestGen";
+	private static final String SUBMERGED_CHEST_GEN_TAG_NAME = "submergedChestGen";
+	private static final String CHUNKS_SINCE_LAST_CHEST_TAG_NAME = "chunksSinceLastChest";
+	private static final String CHUNKS_SINCE_LAST_RARITY_CHEST_TAG_NAME = "chunksSinceLastRarityChest";
+	private static final String CHUNKS_SINCE_LAST_WELL_TAG_NAME = "chunksSinceLastWell";
+	private static final String CHUNKS_SINCE_LAST_TREE_TAG_NAME = "chunksSinceLastTree";
+	private static final String CHUNKS_SINCE_LAST_ORE_TAG_NAME = "chunksSinceLastOre";
+	// legacy (global) format tag names
+	private static final String KEY_TAG_NAME = "key";
+	private static final String COUNT_TAG_NAME = "count";
+
+	private int dimensionID;
+	private final ChestGenState surfaceChestState = new ChestGenState();
+	private final ChestGenState submergedChestState = new ChestGenState();
+	private int chunksSinceLastWell;
+	private int chunksSinceLastTree;
+	private int chunksSinceLastOre;
+
+	/**
+	 * Empty constructor
+	 */
+	public GenStateData() {
+		super(GEN_STATE_KEY);
+	}
+
+	/**
+	 *
+	 * @param key
+	 */
+	public GenStateData(String key) {
+		super(key);
+	}
+
+	@Override
+	public void readFromNBT(NBTTagCompound tag) {
+		Treasure.LOGGER.debug("Loading Treasure! saved gen state...");
+		dimensionID = tag.getInteger(DIMENSION_ID_TAG_NAME);
+		surfaceChestState.read(tag.getCompoundTag(SURFACE_CHEST_GEN_TAG_NAME));
+		submergedChestState.read(tag.getCompoundTag(SUBMERGED_CHEST_GEN_TAG_NAME));
+		chunksSinceLastWell = tag.getInteger(CHUNKS_SINCE_LAST_WELL_TAG_NAME);
+		chunksSinceLastTree = tag.getInteger(CHUNKS_SINCE_LAST_TREE_TAG_NAME);
+		chunksSinceLastOre = tag.getInteger(CHUNKS_SINCE_LAST_ORE_TAG_NAME);
+	}
+
+	@Override
+	public NBTTagCompound writeToNBT(NBTTagCompound tag) {
+		tag.setInteger(DIMENSION_ID_TAG_NAME, dimensionID);
+		tag.setTag(SURFACE_CHEST_GEN_TAG_NAME, surfaceChestState.write(new NBTTagCompound()));
+		tag.setTag(SUBMERGED_CHEST_GEN_TAG_NAME, submergedChestState.write(new NBTTagCompound()));
+		tag.setInteger(CHUNKS_SINCE_LAST_WELL_TAG_NAME, chunksSinceLastWell);
+		tag.setInteger(CHUNKS_SINCE_LAST_TREE_TAG_NAME, chunksSinceLastTree);
+		tag.setInteger(CHUNKS_SINCE_LAST_ORE_TAG_NAME, chunksSinceLastOre);
+		return tag;
+	}
+
+	/**
+	 * Reads the counters from the pre-dimension, global treasureGenerator tag of GenDataPersistence.
+	 * @param tag
+	 */
+	public void readLegacy(NBTTagCompound tag) {
+		surfaceChestState.readLegacy(tag.getCompoundTag(SURFACE_CHEST_GEN_TAG_NAME));
+		submergedChestState.readLegacy(tag.getCompoundTag(SUBMERGED_CHEST_GEN_TAG_NAME));
+		chunksSinceLastWell = tag.getInteger(CHUNKS_SINCE_LAST_WELL_TAG_NAME);
+		chunksSinceLastTree = tag.getInteger(CHUNKS_SINCE_LAST_TREE_TAG_NAME);
+		chunksSinceLastOre = tag.getInteger(CHUNKS_SINCE_LAST_ORE_TAG_NAME);
+	}
+
+	/**
+	 * NOTE the per world storage is cached, so repeated calls do not read from the disk.
+	 * @param world
+	 * @return
+	 */
+	public static GenStateData get(World world) {
+		MapStorage storage = world.getPerWorldStorage();
+		GenStateData data = (GenStateData) storage.getOrLoadData(GenStateData.class, GEN_STATE_KEY);
+
+		if (data == null) {
+			data = new GenStateData();
+			data.setDimensionID(world.provider.getDimension());
+			// the overworld inherits the counters that were saved before they were indexed by dimension
+			if (data.getDimensionID() == 0) {
+				GenDataPersistence genData = GenDataPersistence.get(world);
+				NBTTagCompound legacyTag = genData.getLegacyGenStateTag();
+				if (legacyTag != null) {
+					Treasure.LOGGER.debug("Migrating Treasure! gen state from legacy gen data.");
+					data.readLegacy(legacyTag);
+					genData.clearLegacyGenStateTag();
+				}
+			}
+			storage.setData(GEN_STATE_KEY, data);
+			data.markDirty();
+		}
+		return data;
+	}
+
+	public int getDimensionID() {
+		return dimensionID;
+	}
+
+	public void setDimensionID(int dimensionID) {
+		this.dimensionID = dimensionID;
+	}
+
+	public ChestGenState getSurfaceChestState() {
+		return surfaceChestState;
+	}
+
+	public ChestGenState getSubmergedChestState() {
+		return submergedChestState;
+	}
+
+	public int getChunksSinceLastWell() {
+		return chunksSinceLastWell;
+	}
+
+	public void setChunksSinceLastWell(int chunksSinceLastWell) {
+		this.chunksSinceLastWell = chunksSinceLastWell;
+	}
+
+	public int getChunksSinceLastTree() {
+		return chunksSinceLastTree;
+	}
+
+	public void setChunksSinceLastTree(int chunksSinceLastTree) {
+		this.chunksSinceLastTree = chunksSinceLastTree;
+	}
+
+	public int getChunksSinceLastOre() {
+		return chunksSinceLastOre;
+	}
+
+	public void setChunksSinceLastOre(int chunksSinceLastOre) {
+		this.chunksSinceLastOre = chunksSinceLastOre;
+	}
+
+	/**
+	 * The counters of a chest world generator. The rarity counters are indexed by Rarity.ordinal().
+	 */
+	public static class ChestGenState {
+		private int chunksSinceLastChest;
+		private final int[] chunksSinceLastRarityChest = new int[Rarity.values().length];
+
+		/**
+		 *
+		 * @param tag
+		 */
+		public void read(NBTTagCompound tag) {
+			chunksSinceLastChest = tag.getInteger(CHUNKS_SINCE_LAST_CHEST_TAG_NAME);
+			int[] counts = tag.getIntArray(CHUNKS_SINCE_LAST_RARITY_CHEST_TAG_NAME);
+			System.arraycopy(counts, 0, chunksSinceLastRarityChest, 0, Math.min(counts.length, chunksSinceLastRarityChest.length));
+		}
+
+		/**
+		 *
+		 * @param tag
+		 * @return
+		 */
+		public NBTTagCompound write(NBTTagCompound tag) {
+			tag.setInteger(CHUNKS_SINCE_LAST_CHEST_TAG_NAME, chunksSinceLastChest);
+			tag.setIntArray(CHUNKS_SINCE_LAST_RARITY_CHEST_TAG_NAME, chunksSinceLastRarityChest.clone());
+			return tag;
+		}
+
+		/**
+		 *
+		 * @param tag
+		 */
+		public void readLegacy(NBTTagCompound tag) {
+			chunksSinceLastChest = tag.getInteger(CHUNKS_SINCE_LAST_CHEST_TAG_NAME);
+			NBTTagList chunksSinceTagList = tag.getTagList(CHUNKS_SINCE_LAST_RARITY_CHEST_TAG_NAME, 10);
+			for (int i = 0; i < chunksSinceTagList.tagCount(); i++) {
+				NBTTagCompound chunkTag = chunksSinceTagList.getCompoundTagAt(i);
+				try {
+					Rarity rarity = Rarity.valueOf(chunkTag.getString(KEY_TAG_NAME));
+					chunksSinceLastRarityChest[rarity.ordinal()] = chunkTag.getInteger(COUNT_TAG_NAME);
+				}
+				catch(IllegalArgumentException e) {
+					Treasure.LOGGER.warn("Unknown rarity in legacy gen data -> {}", chunkTag.getString(KEY_TAG_NAME));
+				}
+			}
+		}
+
+		public int getChunksSinceLastChest() {
+			return chunksSinceLastChest;
+		}
+
+		public void setChunksSinceLastChest(int chunksSinceLastChest) {
+			this.chunksSinceLastChest = chunksSinceLastChest;
+		}
+
+		public int getChunksSinceLastRarityChest(Rarity rarity) {
+			return chunksSinceLastRarityChest[rarity.ordinal()];
+		}
+
+		public void setChunksSinceLastRarityChest(Rarity rarity, int count) {
+			chunksSinceLastRarityChest[rarity.ordinal()] = count;
+		}
+
+		/**
+		 *
+		 * @param rarity
+		 */
+		public void incrementChunksSinceLastRarityChest(Rarity rarity) {
+			chunksSinceLastRarityChest[rarity.ordinal()]++;
+		}
+	}
+}
@@ -0,0 +1,92 @@
+/**
+ *
+ */
+package com.someguyssoftware.treasure2.persistence;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import com.someguyssoftware.treasure2.Treasure;
+import com.someguyssoftware.treasure2.worldgen.GenerationJob;
+
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.world.World;
+import net.minecraft.world.storage.MapStorage;
+import net.minecraft.world.storage.WorldSavedData;
+
+/**
+ * Per-dimension queue of the structures that are waiting to be generated (see GenerationQueue).
+ * Stored in the world's per-dimension map storage, so queued structures are generated after a restart.
+ */
+public class GenerationQueueData extends WorldSavedData {
+	public static final String GENERATION_QUEUE_KEY = "treasureGenerationQueue";
+
+	private static final String JOBS_TAG_NAME = "jobs";
+
+	private final Deque<GenerationJob> jobs = new ArrayDeque<>();
+
+	/**
+	 * Empty constructor
+	 */
+	public GenerationQueueData() {
+		super(GENERATION_QUEUE_KEY);
+	}
+
+	/**
+	 *
+	 * @param key
+	 */
+	public GenerationQueueData(String key) {
+		super(key);
+	}
+
+	@Override
+	public void readFromNBT(NBTTagCompound tag) {
+		Treasure.LOGGER.debug("Loading Treasure! saved generation queue...");
+		jobs.clear();
+		NBTTagList jobsTagList = tag.getTagList(JOBS_TAG_NAME, 10);
+		for (int i = 0; i < jobsTagList.tagCount(); i++) {
+			GenerationJob job = GenerationJob.read(jobsTagList.getCompoundTagAt(i));
+			if (job != null) {
+				jobs.add(job);
+			}
+		}
+	}
+
+	@Override
+	public NBTTagCompound writeToNBT(NBTTagCompound tag) {
+		NBTTagList jobsTagList = new NBTTagList();
+		for (GenerationJob job : jobs) {
+			jobsTagList.appendTag(job.write(new NBTTagCompound()));
+		}
+		tag.setTag(JOBS_TAG_NAME, jobsTagList);
+		return tag;
+	}
+
+	/**
+	 * NOTE the per world storage is cached, but a missing file is looked up on every call.
+	 * @param world
+	 * @param create whether to create the queue if it wasn't saved
+	 * @return the queue of the world's dimension, or null if it wasn't saved and isn't created
+	 */
+	public static GenerationQueueData get(World world, boolean create) {
+		MapStorage storage = world.getPerWorldStorage();
+		GenerationQueueData data = (GenerationQueueData) storage.getOrLoadData(GenerationQueueData.class, GENERATION_QUEUE_KEY);
+
+		if (data == null && create) {
+			data = new GenerationQueueData();
+			storage.setData(GENERATION_QUEUE_KEY, data);
+			data.markDirty();
+		}
+		return data;
+	}
+
+	/**
+	 * Call markDirty() after changing the jobs.
+	 * @return the jobs in the order they are generated
+	 */
+	public Deque<GenerationJob> getJobs() {
+		return jobs;
+	}
+}
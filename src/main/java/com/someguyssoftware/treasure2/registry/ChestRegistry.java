@@ -1,107 +1,224 @@
 /**
- * 
+ *
  */
 package com.someguyssoftware.treasure2.registry;
 
 import java.util.ArrayList;
-import java.util.Collection;
-import java.util.HashSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Map.Entry;
+import java.util.Map;
+import java.util.Set;
 
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.LinkedListMultimap;
 import com.google.common.collect.ListMultimap;
-import com.google.common.collect.Sets;
+import com.someguyssoftware.gottschcore.positional.ICoords;
 import com.someguyssoftware.treasure2.Treasure;
 import com.someguyssoftware.treasure2.chest.ChestInfo;
 import com.someguyssoftware.treasure2.config.TreasureConfig;
 
 /**
- * 
+ *
  * @author Mark Gottschling on Jan 22, 2018
  *
  */
 public class ChestRegistry {
+	// the max. number of chests across all dimensions
 	private static final int MAX_SIZE = TreasureConfig.CHESTS.chestRegistrySize;
-	
+
 	private static ChestRegistry instance = new ChestRegistry();
-	// TODO this does not need to be a ListMultimap, can be just a LinkedList to preserve order
-	private ListMultimap<String, ChestInfo> registry;
-	
+	// dimension -> ordered registry of chests and the proximity index of the same chests
+	private Map<Integer, DimensionEntry> registry;
+	// the keys of all dimensions in registration order, to evict the least recent chest of any dimension
+	private Set<RegistryKey> order;
+	private int size;
+	// incremented on every change, so persistence can tell if the registry needs to be saved
+	private int modCount;
+
 	/**
-	 * 
+	 *
 	 */
 	private ChestRegistry() {
-		registry = LinkedListMultimap.create();
+		registry = new HashMap<>();
+		order = new LinkedHashSet<>();
 	}
-	
+
 	/**
-	 * 
+	 *
 	 * @return
 	 */
 	public static ChestRegistry getInstance() {
 		return instance;
 	}
-	
+
 	/**
-	 * 
+	 *
+	 * @param dimensionID
 	 * @param key
 	 * @return
 	 */
-	public boolean isRegistered(final String key) {
-		return registry.containsKey(key);
+	public boolean isRegistered(final Integer dimensionID, final String key) {
+		DimensionEntry entry = registry.get(dimensionID);
+		return entry != null && entry.chests.containsKey(key);
 	}
-	
+
 	/**
 	 * Registers a ChestInfo with a key.
+	 * When the registry is full, the least recent chest of any dimension is unregistered.
+	 * @param dimensionID
 	 * @param key
 	 * @param info
 	 */
-	public synchronized void register(final String key, final ChestInfo info) {	
-		Treasure.LOGGER.debug("Registering chest using key: " + key);
+	public synchronized void register(final Integer dimensionID, final String key, final ChestInfo info) {
+		Treasure.LOGGER.debug("Registering chest in dimension -> {} using key: {}", dimensionID, key);
+		DimensionEntry entry = registry.get(dimensionID);
+		if (entry == null) {
+			entry = new DimensionEntry();
+			registry.put(dimensionID, entry);
+		}
 		// test the size
-		if (registry.size() >= MAX_SIZE) {
+		if (size >= MAX_SIZE && !order.isEmpty()) {
 			// remove the first element
-			String headKey = registry.keySet().iterator().next();
-			unregister(headKey);
+			RegistryKey headKey = order.iterator().next();
+			unregister(headKey.dimensionID, headKey.key);
 		}
 		// register by the unique key
-		registry.put(key, info);
+		entry.chests.put(key, info);
+		entry.index.add(info);
+		order.add(new RegistryKey(dimensionID, key));
+		size++;
+		modCount++;
 	}
-	
+
 	/**
-	 * 
+	 *
+	 * @param dimensionID
 	 * @param key
 	 */
-	public synchronized void unregister(final String key) {
-		if (registry.containsKey(key)) {
-			registry.removeAll(key);
+	public synchronized void unregister(final Integer dimensionID, final String key) {
+		DimensionEntry entry = registry.get(dimensionID);
+		if (entry != null && entry.chests.containsKey(key)) {
+			for (ChestInfo info : entry.chests.removeAll(key)) {
+				entry.index.remove(info);
+				size--;
+			}
+			order.remove(new RegistryKey(dimensionID, key));
+			modCount++;
 		}
 	}
-	
+
 	/**
-	 * 
+	 *
+	 * @param dimensionID
 	 * @param key
 	 * @return
 	 */
-	public List<ChestInfo> get(String key) {
+	public List<ChestInfo> get(final Integer dimensionID, final String key) {
 		List<ChestInfo> info = null;
-		if (registry.containsKey(key)) {
-			info = registry.get(key);
+		DimensionEntry entry = registry.get(dimensionID);
+		if (entry != null && entry.chests.containsKey(key)) {
+			info = entry.chests.get(key);
 		}
 		return info;
 	}
-	
+
+	/**
+	 * Finds the first registered chest in the dimension that is strictly less than the radius away from the coords.
+	 * Does not allocate.
+	 * @param dimensionID
+	 * @param coords
+	 * @param radius
+	 * @return the ChestInfo or null if none is within the radius
+	 */
+	public ChestInfo findWithin(final int dimensionID, final ICoords coords, final int radius) {
+		DimensionEntry entry = registry.get(dimensionID);
+		if (entry == null) {
+			return null;
+		}
+		return entry.index.findWithin(coords, radius);
+	}
+
+	/**
+	 * This will not update parent collection.
+	 * @return
+	 */
+	public Set<Integer> getDimensionKeys() {
+		return ImmutableSet.copyOf(registry.keySet());
+	}
+
 	/**
 	 * This will not update parent collection.
+	 * @param dimensionID
 	 * @return
 	 */
-	public List<ChestInfo> getValues() {
-		HashSet<ChestInfo> set = Sets.newHashSet(registry.values());
-		return new ArrayList<>(set);
+	public List<ChestInfo> getValues(final Integer dimensionID) {
+		DimensionEntry entry = registry.get(dimensionID);
+		if (entry == null) {
+			return new ArrayList<>();
+		}
+		return new ArrayList<>(entry.chests.values());
 	}
-	
-	public void clear() {
+
+	/**
+	 *
+	 * @return the number of chests registered across all dimensions
+	 */
+	public int size() {
+		return size;
+	}
+
+	public synchronized void clear() {
 		registry.clear();
+		order.clear();
+		size = 0;
+		modCount++;
+	}
+
+	/**
+	 * 
+	 * @return the number of changes made to the registry
+	 */
+	public int getModCount() {
+		return modCount;
+	}
+
+	/**
+	 *
+	 */
+	private static class DimensionEntry {
+		// ordered by insertion
+		private final ListMultimap<String, ChestInfo> chests = LinkedListMultimap.create();
+		private final ChestSpatialIndex index = new ChestSpatialIndex();
+	}
+
+	/**
+	 * The key of a chest and its dimension.
+	 */
+	private static final class RegistryKey {
+		private final int dimensionID;
+		private final String key;
+
+		private RegistryKey(int dimensionID, String key) {
+			this.dimensionID = dimensionID;
+			this.key = key;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * dimensionID + key.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof RegistryKey)) {
+				return false;
+			}
+			RegistryKey other = (RegistryKey) obj;
+			return dimensionID == other.dimensionID && key.equals(other.key);
+		}
 	}
 }
@@ -0,0 +1,139 @@
+/**
+ *
+ */
+package com.someguyssoftware.treasure2.registry;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.someguyssoftware.gottschcore.positional.ICoords;
+import com.someguyssoftware.treasure2.chest.ChestInfo;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+
+/**
+ * A region-bucketed grid of ChestInfo for a single dimension.
+ * Chests are bucketed by their x/z position into square cells of CELL_SIZE blocks,
+ * so a proximity query only has to visit the cells that overlap the search radius.
+ */
+public class ChestSpatialIndex {
+	// the number of bits to shift a block position to get the cell position (128 blocks = 8 chunks)
+	private static final int CELL_SHIFT = 7;
+	public static final int CELL_SIZE = 1 << CELL_SHIFT;
+
+	private final Long2ObjectMap<List<ChestInfo>> cells;
+	private int size;
+
+	/**
+	 *
+	 */
+	public ChestSpatialIndex() {
+		cells = new Long2ObjectOpenHashMap<>();
+	}
+
+	/**
+	 *
+	 * @param info
+	 */
+	public void add(final ChestInfo info) {
+		long key = toCellKey(info.getCoords().getX() >> CELL_SHIFT, info.getCoords().getZ() >> CELL_SHIFT);
+		List<ChestInfo> bucket = cells.get(key);
+		if (bucket == null) {
+			bucket = new ArrayList<>(4);
+			cells.put(key, bucket);
+		}
+		bucket.add(info);
+		size++;
+	}
+
+	/**
+	 *
+	 * @param info
+	 * @return
+	 */
+	public boolean remove(final ChestInfo info) {
+		long key = toCellKey(info.getCoords().getX() >> CELL_SHIFT, info.getCoords().getZ() >> CELL_SHIFT);
+		List<ChestInfo> bucket = cells.get(key);
+		if (bucket == null) {
+			return false;
+		}
+		// remove by identity, as different registrations may share the same coords
+		for (int index = 0; index < bucket.size(); index++) {
+			if (bucket.get(index) == info) {
+				bucket.remove(index);
+				size--;
+				if (bucket.isEmpty()) {
+					cells.remove(key);
+				}
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Finds the first ChestInfo whose coords are strictly less than the radius away from the coords.
+	 * Does not allocate.
+	 * @param coords
+	 * @param radius
+	 * @return the ChestInfo or null if none is within the radius
+	 */
+	public ChestInfo findWithin(final ICoords coords, final int radius) {
+		if (size == 0) {
+			return null;
+		}
+
+		final int x = coords.getX();
+		final int y = coords.getY();
+		final int z = coords.getZ();
+		final double radiusSq = (double)radius * radius;
+
+		final int minCellX = (x - radius) >> CELL_SHIFT;
+		final int maxCellX = (x + radius) >> CELL_SHIFT;
+		final int minCellZ = (z - radius) >> CELL_SHIFT;
+		final int maxCellZ = (z + radius) >> CELL_SHIFT;
+
+		for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+			for (int cellZ = minCellZ; cellZ <= maxCellZ; cellZ++) {
+				List<ChestInfo> bucket = cells.get(toCellKey(cellX, cellZ));
+				if (bucket == null) {
+					continue;
+				}
+				// indexed loop to avoid allocating an iterator
+				for (int index = 0; index < bucket.size(); index++) {
+					ChestInfo info = bucket.get(index);
+					double dx = info.getCoords().getX() - x;
+					double dy = info.getCoords().getY() - y;
+					double dz = info.getCoords().getZ() - z;
+					if (dx * dx + dy * dy + dz * dz < radiusSq) {
+						return info;
+					}
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 *
+	 * @param cellX
+	 * @param cellZ
+	 * @return
+	 */
+	private static long toCellKey(final int cellX, final int cellZ) {
+		return ((long)cellX << 32) | (cellZ & 0xFFFFFFFFL);
+	}
+
+	/**
+	 *
+	 */
+	public void clear() {
+		cells.clear();
+		size = 0;
+	}
+
+	public int size() {
+		return size;
+	}
+}
@@ -31,6 +31,7 @@ import com.google.common.collect.Sets;
 import com.google.gson.GsonBuilder;
 import com.someguyssoftware.gottschcore.world.WorldInfo;
 import com.someguyssoftware.treasure2.Treasure;
+import com.someguyssoftware.treasure2.world.gen.structure.DecayProcessorCache;
 import com.someguyssoftware.treasure2.world.gen.structure.TreasureDecayManager;
 
 import net.minecraft.world.WorldServer;
@@ -82,11 +83,15 @@ public class TreasureDecayRegistry {
 		if (WorldInfo.isServerSide(event.getWorld()) && event.getWorld().provider.getDimension() == 0) {
 			Treasure.LOGGER.debug("decay registry world load");
 			TreasureDecayRegistry.create((WorldServer) event.getWorld());
+			// processors of the previous rule sets
+			DecayProcessorCache.invalidate();
 			
 			MODS.forEach(mod -> {
 				Treasure.LOGGER.debug("registering mod -> {}", mod);
 				load(mod);
 			});
+			// the rulesets are parsed off-thread and tabled on the server thread
+			TreasureResourceLoader.addPhase("decay", DECAY_MANAGER.getPendingFutures(), DECAY_MANAGER::tablePending);
 		}
 	}
 	
@@ -150,6 +155,7 @@ public class TreasureDecayRegistry {
 	}
 	
 	public static TreasureDecayManager getManager() {
+		TreasureResourceLoader.await();
 		return DECAY_MANAGER;
 	}
 }
\ No newline at end of file
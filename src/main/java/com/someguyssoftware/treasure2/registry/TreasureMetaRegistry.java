@@ -86,6 +86,8 @@ public class TreasureMetaRegistry {
 				Treasure.LOGGER.debug("registering mod -> {}", mod);
 				load(mod);
 			});
+			// the metas are parsed off-thread and tabled on the server thread
+			TreasureResourceLoader.addPhase("meta", META_MANAGER.getPendingFutures(), META_MANAGER::tablePending);
 		}
 	}
 	
@@ -149,10 +151,12 @@ public class TreasureMetaRegistry {
 	 * @return
 	 */
 	public static StructureMeta get(String key) {
+		TreasureResourceLoader.await();
 		return META_MANAGER.get(key);
 	}
 
 	public static TreasureMetaManager getMetaManager() {
+		TreasureResourceLoader.await();
 		return META_MANAGER;
 	}
 
@@ -0,0 +1,181 @@
+/**
+ *
+ */
+package com.someguyssoftware.treasure2.registry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import com.someguyssoftware.treasure2.Treasure;
+
+/**
+ * Loads the meta, template and decay resources on a bounded pool of worker threads.
+ * The workers only read and parse the resources. The registration of the parsed resources into the managers' tables
+ * is performed on the server thread, either on the first server tick after all the phases have finished parsing,
+ * or on demand by a caller that requires the resources (which then waits for the parsing to finish).
+ * Phases are registered in the order that they were added, so a phase may depend on the registration of an earlier phase.
+ */
+public class TreasureResourceLoader {
+	private static final int POOL_SIZE = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+
+	private static final ThreadPoolExecutor EXECUTOR;
+	private static final List<Phase> PHASES = new ArrayList<>();
+	// set while the phases are being registered to prevent re-entrant registration
+	private static boolean registering;
+
+	static {
+		EXECUTOR = new ThreadPoolExecutor(POOL_SIZE, POOL_SIZE, 30L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), new ThreadFactory() {
+			private final AtomicInteger count = new AtomicInteger(1);
+			@Override
+			public Thread newThread(Runnable runnable) {
+				Thread thread = new Thread(runnable, "Treasure Resource Loader #" + count.getAndIncrement());
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+		// don't keep idle threads around once the resources are loaded
+		EXECUTOR.allowCoreThreadTimeOut(true);
+	}
+
+	private TreasureResourceLoader() {}
+
+	/**
+	 * Executes the supplier on the worker pool.
+	 * @param supplier
+	 * @return
+	 */
+	public static <T> CompletableFuture<T> submit(Supplier<T> supplier) {
+		return CompletableFuture.supplyAsync(supplier, EXECUTOR);
+	}
+
+	/**
+	 * Gets the parsed resource of a finished future, for the registration of a phase.
+	 * A resource that failed to parse is logged and replaced by the given value, so that it doesn't prevent
+	 * the other resources (and phases) from being registered.
+	 * @param future
+	 * @param failed the value of a resource that failed to parse
+	 * @return
+	 */
+	public static <T> T getParsed(CompletableFuture<T> future, T failed) {
+		try {
+			return future.join();
+		}
+		catch(CompletionException | CancellationException e) {
+			Treasure.LOGGER.error("error parsing resource:", e.getCause() != null ? e.getCause() : e);
+			return failed;
+		}
+	}
+
+	/**
+	 * Adds a load phase. Call on the server thread.
+	 * @param name the name of the phase used in logging
+	 * @param futures the futures of the resources being parsed
+	 * @param registration registers the parsed resources. Executed on the server thread.
+	 */
+	public static void addPhase(String name, List<? extends CompletableFuture<?>> futures, Runnable registration) {
+		Phase phase = new Phase(name, CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[futures.size()])), registration);
+		final int count = futures.size();
+		phase.parsed.whenComplete((result, throwable) -> {
+			Treasure.LOGGER.info("parsed {} {} resources in {} ms", count, name, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - phase.startTime));
+		});
+		PHASES.add(phase);
+	}
+
+	/**
+	 * Registers the phases if they have all finished parsing. Does not block. Call on the server thread.
+	 */
+	public static void tick() {
+		if (PHASES.isEmpty() || registering) {
+			return;
+		}
+		for (Phase phase : PHASES) {
+			if (!phase.parsed.isDone()) {
+				return;
+			}
+		}
+		register();
+	}
+
+	/**
+	 * Waits for any pending phases to finish parsing and registers them. Call on the server thread.
+	 */
+	public static void await() {
+		if (PHASES.isEmpty() || registering) {
+			return;
+		}
+		long startTime = System.nanoTime();
+		for (Phase phase : PHASES) {
+			try {
+				phase.parsed.join();
+			}
+			catch(Exception e) {
+				// the individual resources log their own errors
+				Treasure.LOGGER.error("error loading {} resources:", phase.name, e);
+			}
+		}
+		long waitTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+		if (waitTime > 0) {
+			Treasure.LOGGER.info("waited {} ms for resources to finish loading", waitTime);
+		}
+		register();
+	}
+
+	/**
+	 *
+	 */
+	private static void register() {
+		registering = true;
+		try {
+			for (Phase phase : PHASES) {
+				long startTime = System.nanoTime();
+				try {
+					phase.registration.run();
+				}
+				catch(Exception e) {
+					// a later phase may still register without the resources of this one
+					Treasure.LOGGER.error("error registering {} resources:", phase.name, e);
+					continue;
+				}
+				Treasure.LOGGER.info("registered {} resources in {} ms", phase.name, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+			}
+		}
+		finally {
+			PHASES.clear();
+			registering = false;
+		}
+	}
+
+	/**
+	 *
+	 * @return whether there are phases that have not been registered yet
+	 */
+	public static boolean isPending() {
+		return !PHASES.isEmpty();
+	}
+
+	/**
+	 *
+	 */
+	private static class Phase {
+		private final String name;
+		private final long startTime;
+		private final CompletableFuture<Void> parsed;
+		private final Runnable registration;
+
+		Phase(String name, CompletableFuture<Void> parsed, Runnable registration) {
+			this.name = name;
+			this.startTime = System.nanoTime();
+			this.parsed = parsed;
+			this.registration = registration;
+		}
+	}
+}
@@ -96,6 +96,8 @@ public class TreasureTemplateRegistry {
 				Treasure.LOGGER.debug("registering mod -> {}", mod);
 				load(mod);
 			});
+			// the templates are read off-thread and tabled on the server thread, after the metas
+			TreasureResourceLoader.addPhase("template", TEMPLATE_MANAGER.getPendingFutures(), TEMPLATE_MANAGER::tablePending);
 		}
 	}
 	
@@ -156,10 +158,17 @@ public class TreasureTemplateRegistry {
 	 * @return
 	 */
 	public static TemplateHolder get(World world, Random random, StructureArchetype archetype, StructureType type, Biome biome) {
+		// wait for the templates if they are still loading
+		TreasureResourceLoader.await();
 		return TEMPLATE_MANAGER.getTemplate(world, random, archetype, type, biome);
 	}
 
+	/**
+	 * Waits for the templates to finish loading if they are still loading.
+	 * @return
+	 */
 	public static TreasureTemplateManager getManager() {
+		TreasureResourceLoader.await();
 		return TEMPLATE_MANAGER;
 	}
 }
\ No newline at end of file
@@ -32,6 +32,8 @@ public class WitherTreeRegistry {
 	
 	private static WitherTreeRegistry instance = new WitherTreeRegistry();
 	private Map<Integer, LinkedList<WitherTreeInfo>> registry;
+	// incremented on every change, so persistence can tell if the registry needs to be saved
+	private int modCount;
 	
 	/**
 	 * 
@@ -79,6 +81,7 @@ public class WitherTreeRegistry {
 		
 		// register
 		witherTrees.add(info);
+		modCount++;
 	}
 	
 	/**
@@ -91,6 +94,7 @@ public class WitherTreeRegistry {
 			// remove the head
 			if (witherTrees.size() > 0) {
 				witherTrees.pop();
+				modCount++;
 			}
 		}
 	}
@@ -142,8 +146,17 @@ public class WitherTreeRegistry {
 	/**
 	 * 
 	 */
-	public void clear() {
+	public synchronized void clear() {
 		registry.clear();
+		modCount++;
+	}
+	
+	/**
+	 * 
+	 * @return the number of changes made to the registry
+	 */
+	public int getModCount() {
+		return modCount;
 	}
 	
 	/**
@@ -8,19 +8,17 @@ import java.util.Random;
 import com.someguyssoftware.gottschcore.GottschCore;
 import com.someguyssoftware.gottschcore.positional.Coords;
 import com.someguyssoftware.gottschcore.tileentity.AbstractModTileEntity;
-import com.someguyssoftware.gottschcore.world.WorldInfo;
 import com.someguyssoftware.treasure2.Treasure;
 
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.nbt.NBTTagCompound;
-import net.minecraft.util.ITickable;
 import net.minecraft.world.World;
 
 /**
  * @author Mark Gottschling on Jan 17, 2019
  *
  */
-public abstract class AbstractProximityTileEntity extends AbstractModTileEntity implements IProximityTileEntity, ITickable {
+public abstract class AbstractProximityTileEntity extends AbstractModTileEntity implements IProximityTileEntity {
 	private double proximity;
 	private boolean isDead = false;
 	
@@ -63,40 +61,66 @@ public abstract class AbstractProximityTileEntity extends AbstractModTileEntity
 	    return tag;
 	}
 	
-	/* (non-Javadoc)
-	 * @see net.minecraft.util.ITickable#update()
+	/**
+	 * Registers with the proximity trigger service of the world.
 	 */
 	@Override
-	public void update() {
-        if (WorldInfo.isClientSide()) {
-        	return;
-        }      
-        
-    	// get all players within range
-        EntityPlayer player = null;
+	public void onLoad() {
+		super.onLoad();
+		if (!getWorld().isRemote) {
+			ProximityTriggerService.get(getWorld()).register(this);
+		}
+	}
 
-        boolean isTriggered = false;         
-        double proximitySq = getProximity() * getProximity();
-        if (proximitySq < 1) proximitySq = 1;
-        
-        // for each player
-        for (int playerIndex = 0; playerIndex < getWorld().playerEntities.size(); ++playerIndex) {
-            player = (EntityPlayer)getWorld().playerEntities.get(playerIndex);
-            // get the distance
-            double distanceSq = player.getDistanceSq(this.getPos().add(0.5D, 0.5D, 0.5D));
-//            GottschCore.logger.debug("PTE @ -> {}, proximity -> {}, distance -> {}, triggered -> {}, dead -> {}, result -> {}", 
-//            		this.pos, proximitySq, distanceSq, isTriggered, this.isDead, (!isTriggered && !this.isDead && (distanceSq < proximitySq)) ? "met" : "not met");
-            if (!isTriggered && !this.isDead && (distanceSq < proximitySq)) {
-            	GottschCore.logger.debug("PTE proximity was met.");
-            	isTriggered = true;
-            	// exectute action
-            	execute(this.getWorld(), new Random(), new Coords(this.getPos()), new Coords(player.getPosition()));
+	/**
+	 * 
+	 */
+	@Override
+	public void invalidate() {
+		super.invalidate();
+		unregister();
+	}
 
-            	// NOTE: does not self-destruct that is up to the execute action to perform
-            }
-            
-            if (this.isDead) break;            
-        }
+	/**
+	 * 
+	 */
+	@Override
+	public void onChunkUnload() {
+		super.onChunkUnload();
+		unregister();
+	}
+
+	/**
+	 * 
+	 */
+	private void unregister() {
+		if (getWorld() != null && !getWorld().isRemote) {
+			ProximityTriggerService.get(getWorld()).unregister(this);
+		}
+	}
+
+	/**
+	 * Called by the proximity trigger service when a player is within the proximity.
+	 * @param player
+	 * @return whether the proximity action was executed
+	 */
+	public boolean onProximity(EntityPlayer player) {
+		if (this.isDead || !isTriggerable()) {
+			return false;
+		}
+		GottschCore.logger.debug("PTE proximity was met.");
+		// exectute action
+		execute(this.getWorld(), this.getWorld().rand, new Coords(this.getPos()), new Coords(player.getPosition()));
+		// NOTE: does not self-destruct that is up to the execute action to perform
+		return true;
+	}
+
+	/**
+	 * 
+	 * @return whether the proximity action can currently be executed
+	 */
+	protected boolean isTriggerable() {
+		return true;
 	}
 
 	@Override
@@ -116,6 +140,10 @@ public abstract class AbstractProximityTileEntity extends AbstractModTileEntity
 	@Override
 	public void setProximity(double proximity) {
 		this.proximity = proximity;
+		// the proximity is usually set after the tile entity has been loaded, ex. by a generator
+		if (getWorld() != null && !getWorld().isRemote) {
+			ProximityTriggerService.get(getWorld()).onProximityChanged(this);
+		}
 	}
 
 	/**
@@ -5,6 +5,7 @@ package com.someguyssoftware.treasure2.tileentity;
 
 import static com.someguyssoftware.treasure2.Treasure.LOGGER;
 
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -14,11 +15,11 @@ import com.someguyssoftware.gottschcore.tileentity.AbstractModTileEntity;
 import com.someguyssoftware.gottschcore.world.WorldInfo;
 import com.someguyssoftware.treasure2.Treasure;
 import com.someguyssoftware.treasure2.block.TreasureChestBlock;
+import com.someguyssoftware.treasure2.config.TreasureConfig;
 import com.someguyssoftware.treasure2.enums.ChestGeneratorType;
 import com.someguyssoftware.treasure2.enums.Rarity;
-import com.someguyssoftware.treasure2.inventory.AbstractChestContainer;
-import com.someguyssoftware.treasure2.inventory.StandardChestContainer;
 import com.someguyssoftware.treasure2.lock.LockState;
+import com.someguyssoftware.treasure2.network.LockStateMessageToClient;
 
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.entity.player.EntityPlayer;
@@ -31,17 +32,18 @@ import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.nbt.NBTTagList;
 import net.minecraft.network.NetworkManager;
 import net.minecraft.network.play.server.SPacketUpdateTileEntity;
+import net.minecraft.server.management.PlayerChunkMapEntry;
 import net.minecraft.util.EnumFacing;
-import net.minecraft.util.ITickable;
 import net.minecraft.util.NonNullList;
 import net.minecraft.util.ResourceLocation;
 import net.minecraft.util.SoundCategory;
-import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.util.SoundEvent;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.text.ITextComponent;
 import net.minecraft.util.text.TextComponentString;
 import net.minecraft.util.text.TextComponentTranslation;
 import net.minecraft.world.World;
+import net.minecraft.world.WorldServer;
 import net.minecraftforge.common.util.Constants;
 
 /**
@@ -49,7 +51,7 @@ import net.minecraftforge.common.util.Constants;
  * @author Mark Gottschling onDec 22, 2017
  *
  */
-public abstract class AbstractTreasureChestTileEntity extends AbstractModTileEntity implements ITreasureChestTileEntity, ITickable {
+public abstract class AbstractTreasureChestTileEntity extends AbstractModTileEntity implements ITreasureChestTileEntity {
 	public class GenerationContext {
 		/*
 		 * The rarity level of the loot that the chest will contain
@@ -118,8 +120,14 @@ public abstract class AbstractTreasureChestTileEntity extends AbstractModTileEnt
 	public float prevLidAngle;
 	/** The number of players currently using this chest */
 	public int numPlayersUsing;
-	/** Server sync counter (once per 20 ticks) */
-	public int ticksSinceSync;
+
+	/*
+	 * Client render state
+	 */
+	// whether the ChestLidAnimator is animating the lid
+	private boolean lidAnimating;
+	// snapshot of the locks that are baked into the chunk mesh. rebuilt after the locks change
+	private LockState[] renderLocks;
 
 	/** IInventory properties */
 	private NonNullList<ItemStack> items = NonNullList.<ItemStack>withSize(getNumberOfSlots(), ItemStack.EMPTY);
@@ -134,48 +142,14 @@ public abstract class AbstractTreasureChestTileEntity extends AbstractModTileEnt
 	}
 
 	/**
-	 * Like the old updateEntity(), except more generic.
+	 * Advances the lid animation by one tick. Called on the client by the ChestLidAnimator while the lid is moving.
+	 * @return whether the lid is still moving
 	 */
-    @Override
-	public void update() {
-		int i = this.pos.getX();
-		int j = this.pos.getY();
-		int k = this.pos.getZ();
-		++this.ticksSinceSync;
-		
-		if (WorldInfo.isServerSide(getWorld()) && this.numPlayersUsing != 0
-				&& (this.ticksSinceSync + i + j + k) % 200 == 0) {
-			this.numPlayersUsing = 0;
-			float f = 5.0F;
-			for (EntityPlayer player : this.world.getEntitiesWithinAABB(EntityPlayer.class,
-					new AxisAlignedBB((double) ((float) i - 5.0F), (double) ((float) j - 5.0F),
-							(double) ((float) k - 5.0F), (double) ((float) (i + 1) + 5.0F),
-							(double) ((float) (j + 1) + 5.0F), (double) ((float) (k + 1) + 5.0F)))) {
-				// TODO create interface for ChestContainer or make StandardChestContainer extend AbstractChestContainer or both
-				if (player.openContainer instanceof AbstractChestContainer) {
-					IInventory inventory = ((AbstractChestContainer) player.openContainer).getChestInventory();					
-					if (inventory == this) {
-						++this.numPlayersUsing;
-					}
-				}				
-				// TEMP fix
-				else if (player.openContainer instanceof StandardChestContainer) {
-					IInventory inventory = ((StandardChestContainer) player.openContainer).getChestInventory();
-					if (inventory == this) {
-						++this.numPlayersUsing;
-					}
-				}				
-			}
-		}
-
+	public boolean updateLidAnimation() {
 		this.prevLidAngle = this.lidAngle;
 
 		if (this.numPlayersUsing > 0 && this.lidAngle == 0.0F) {
-			double d1 = (double) i + 0.5D;
-			double d2 = (double) k + 0.5D;
-
-			this.world.playSound((EntityPlayer) null, d1, (double) j + 0.5D, d2, SoundEvents.BLOCK_CHEST_OPEN,
-					SoundCategory.BLOCKS, 0.5F, this.world.rand.nextFloat() * 0.1F + 0.9F);
+			playLidSound(SoundEvents.BLOCK_CHEST_OPEN);
 		}
 
 		if (this.numPlayersUsing == 0 && this.lidAngle > 0.0F || this.numPlayersUsing > 0 && this.lidAngle < 1.0F) {
@@ -192,16 +166,107 @@ public abstract class AbstractTreasureChestTileEntity extends AbstractModTileEnt
 			}
 
 			if (this.lidAngle < 0.5F && f2 >= 0.5F) {
-				double d3 = (double) i + 0.5D;
-				double d0 = (double) k + 0.5D;
-				this.world.playSound((EntityPlayer) null, d3, (double) j + 0.5D, d0, SoundEvents.BLOCK_CHEST_CLOSE,
-						SoundCategory.BLOCKS, 0.5F, this.world.rand.nextFloat() * 0.1F + 0.9F);
+				playLidSound(SoundEvents.BLOCK_CHEST_CLOSE);
 			}
 
 			if (this.lidAngle < 0.0F) {
 				this.lidAngle = 0.0F;
 			}
 		}
+		// keep going for one more tick after the lid comes to rest, so that the previous angle catches up
+		return this.lidAngle != this.prevLidAngle;
+	}
+
+	/**
+	 * Plays the sound at the chest for the local player only, as each client animates its own lid.
+	 * @param sound
+	 */
+	protected void playLidSound(SoundEvent sound) {
+		this.world.playSound((double) this.pos.getX() + 0.5D, (double) this.pos.getY() + 0.5D, (double) this.pos.getZ() + 0.5D,
+				sound, SoundCategory.BLOCKS, 0.5F, this.world.rand.nextFloat() * 0.1F + 0.9F, false);
+	}
+
+	/**
+	 * Called by the ChestLidAnimator when it starts and stops animating the lid.
+	 * The chunk is re-rendered when the chest switches between the chunk mesh and the TESR.
+	 * @param lidAnimating
+	 */
+	public void setLidAnimating(boolean lidAnimating) {
+		boolean renderedAsModel = isRenderedAsModel();
+		this.lidAnimating = lidAnimating;
+		if (renderedAsModel != isRenderedAsModel()) {
+			markForRenderUpdate();
+		}
+	}
+
+	/**
+	 * 
+	 * @return whether the chest is rendered by its baked model as part of the chunk mesh, instead of by its TESR every frame.
+	 * Only a chest whose lid is closed and not moving is.
+	 */
+	public boolean isRenderedAsModel() {
+		return TreasureConfig.CHESTS.enableBakedChestRendering && !lidAnimating && numPlayersUsing <= 0 && lidAngle == 0.0F;
+	}
+
+	/**
+	 * 
+	 * @return a snapshot of the locks, to be baked into the chunk mesh
+	 */
+	public LockState[] getRenderLocks() {
+		LockState[] locks = renderLocks;
+		if (locks == null) {
+			List<LockState> snapshot = new ArrayList<>();
+			if (getLockStates() != null) {
+				for (LockState lockState : getLockStates()) {
+					if (lockState != null && lockState.getLock() != null && lockState.getSlot() != null) {
+						LockState copy = new LockState();
+						copy.setSlot(lockState.getSlot());
+						copy.setLock(lockState.getLock());
+						snapshot.add(copy);
+					}
+				}
+			}
+			locks = snapshot.toArray(new LockState[snapshot.size()]);
+			renderLocks = locks;
+		}
+		return locks;
+	}
+
+	/**
+	 * Re-renders the chest after its facing or locks have changed on the client.
+	 */
+	public void onRenderStateChanged() {
+		renderLocks = null;
+		markForRenderUpdate();
+	}
+
+	/**
+	 * 
+	 */
+	private void markForRenderUpdate() {
+		if (this.world != null && this.world.isRemote) {
+			this.world.markBlockRangeForRenderUpdate(this.pos, this.pos);
+		}
+	}
+
+	/**
+	 * Receives the number of players using the chest, sent by openInventory() and closeInventory(),
+	 * and starts the lid animation on the client.
+	 */
+	@Override
+	public boolean receiveClientEvent(int id, int type) {
+		if (id == 1) {
+			boolean renderedAsModel = isRenderedAsModel();
+			this.numPlayersUsing = type;
+			if (WorldInfo.isClientSide(getWorld())) {
+				ChestLidAnimator.start(this);
+				if (renderedAsModel != isRenderedAsModel()) {
+					markForRenderUpdate();
+				}
+			}
+			return true;
+		}
+		return super.receiveClientEvent(id, type);
 	}
 
 	/**
@@ -414,15 +479,77 @@ public abstract class AbstractTreasureChestTileEntity extends AbstractModTileEnt
 		}
 	}
 
+	/**
+	 * Writes only the state that the client needs to render the chest: the facing, the name and the locks.
+	 * The inventory is sent by the container when a player opens the chest.
+	 * 
+	 * @param sourceTag
+	 * @return
+	 */
+	public NBTTagCompound writeRenderStateToNBT(NBTTagCompound sourceTag) {
+		try {
+			sourceTag.setInteger("facing", getFacing());
+			if (this.hasCustomName()) {
+				sourceTag.setString("CustomName", this.customName);
+			}
+			if (getLockStates() != null && !getLockStates().isEmpty()) {
+				NBTTagList list = new NBTTagList();
+				for (LockState state : getLockStates()) {
+					list.appendTag(state.writeSyncToNBT(new NBTTagCompound()));
+				}
+				sourceTag.setTag("syncLockStates", list);
+			}
+		} catch (Exception e) {
+			LOGGER.error("Error writing Render State to NBT:", e);
+		}
+		return sourceTag;
+	}
+
+	/**
+	 * 
+	 * @param sourceTag
+	 */
+	public void readRenderStateFromNBT(NBTTagCompound sourceTag) {
+		try {
+			if (sourceTag.hasKey("facing")) {
+				this.setFacing(sourceTag.getInteger("facing"));
+			}
+			if (sourceTag.hasKey("CustomName", 8)) {
+				this.customName = sourceTag.getString("CustomName");
+			}
+			if (sourceTag.hasKey("syncLockStates")) {
+				List<LockState> states = new LinkedList<LockState>();
+				NBTTagList list = sourceTag.getTagList("syncLockStates", Constants.NBT.TAG_COMPOUND);
+				for (int i = 0; i < list.tagCount(); i++) {
+					LockState lockState = LockState.readSyncFromNBT(list.getCompoundTagAt(i));
+					states.add(lockState.getSlot().getIndex(), lockState);
+				}
+				setLockStates(states);
+			}
+			onRenderStateChanged();
+		} catch (Exception e) {
+			LOGGER.error("Error reading Render State from NBT:", e);
+		}
+	}
+
 	@Override
 	@Nullable
 	public SPacketUpdateTileEntity getUpdatePacket() {
 		return new SPacketUpdateTileEntity(this.pos, 3, this.getUpdateTag());
 	}
 
+	/**
+	 * Sent with the chunk and on notifyBlockUpdate(). Only the render state, not the full writeToNBT() output.
+	 */
 	@Override
 	public NBTTagCompound getUpdateTag() {
-		return this.writeToNBT(new NBTTagCompound());
+		return writeRenderStateToNBT(super.writeToNBT(new NBTTagCompound()));
+	}
+
+	@Override
+	public void handleUpdateTag(NBTTagCompound tag) {
+		super.readFromNBT(tag);
+		readRenderStateFromNBT(tag);
 	}
 
 	@Override
@@ -453,6 +580,28 @@ public abstract class AbstractTreasureChestTileEntity extends AbstractModTileEnt
 		markDirty();
 	}
 
+	/**
+	 * Sends a lock that was added or removed to the clients that are tracking the chest,
+	 * instead of a full update with sendUpdates().
+	 * 
+	 * @param lockState
+	 */
+	@Override
+	public void sendLockUpdate(LockState lockState) {
+		markDirty();
+		if (!(world instanceof WorldServer) || getLockStates() == null) {
+			return;
+		}
+		int index = getLockStates().indexOf(lockState);
+		if (index < 0) {
+			return;
+		}
+		PlayerChunkMapEntry entry = ((WorldServer) world).getPlayerChunkMap().getEntry(pos.getX() >> 4, pos.getZ() >> 4);
+		if (entry != null) {
+			entry.sendPacket(Treasure.simpleNetworkWrapper.getPacketFrom(new LockStateMessageToClient(pos, index, lockState.getLock())));
+		}
+	}
+
 	/*
 	 * Get the corresponding block state
 	 */
@@ -652,7 +801,9 @@ public abstract class AbstractTreasureChestTileEntity extends AbstractModTileEnt
 	@Override
 	public void closeInventory(EntityPlayer player) {
 		if (!player.isSpectator() && this.getBlockType() instanceof TreasureChestBlock) {
-			--this.numPlayersUsing;
+			if (this.numPlayersUsing > 0) {
+				--this.numPlayersUsing;
+			}
 			this.world.addBlockEvent(this.pos, this.getBlockType(), 1, this.numPlayersUsing);
 			this.world.notifyNeighborsOfStateChange(this.pos, this.getBlockType(), false);
 		}
@@ -0,0 +1,78 @@
+/**
+ *
+ */
+package com.someguyssoftware.treasure2.tileentity;
+
+import java.util.Iterator;
+import java.util.Set;
+
+import com.someguyssoftware.treasure2.Treasure;
+
+import it.unimi.dsi.fastutil.objects.ReferenceLinkedOpenHashSet;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+import net.minecraftforge.fml.relauncher.Side;
+
+/**
+ * Drives the lid animation of the treasure chests on the client.
+ * Chests don't tick. A chest is added when it receives the open/close block event of its viewers
+ * and is advanced once per client tick until its lid has come to rest, so only the chests with a moving lid are visited.
+ * Client thread only.
+ */
+@Mod.EventBusSubscriber(modid = Treasure.MODID, value = Side.CLIENT)
+public class ChestLidAnimator {
+	private static final Set<AbstractTreasureChestTileEntity> ANIMATING = new ReferenceLinkedOpenHashSet<>();
+
+	/**
+	 * Starts animating the chest's lid towards its open or closed position.
+	 * @param tileEntity
+	 */
+	public static void start(AbstractTreasureChestTileEntity tileEntity) {
+		if (ANIMATING.add(tileEntity)) {
+			tileEntity.setLidAnimating(true);
+		}
+	}
+
+	/**
+	 *
+	 * @param event
+	 */
+	@SubscribeEvent
+	public static void onClientTick(TickEvent.ClientTickEvent event) {
+		if (event.phase != TickEvent.Phase.END || ANIMATING.isEmpty()) {
+			return;
+		}
+		Iterator<AbstractTreasureChestTileEntity> iterator = ANIMATING.iterator();
+		while (iterator.hasNext()) {
+			AbstractTreasureChestTileEntity tileEntity = iterator.next();
+			if (tileEntity.isInvalid() || tileEntity.getWorld() == null) {
+				iterator.remove();
+			}
+			else if (!tileEntity.updateLidAnimation()) {
+				iterator.remove();
+				tileEntity.setLidAnimating(false);
+			}
+		}
+	}
+
+	/**
+	 * Drops the chests of the client world that is unloaded.
+	 * @param event
+	 */
+	@SubscribeEvent
+	public static void onWorldUnload(WorldEvent.Unload event) {
+		if (event.getWorld().isRemote) {
+			ANIMATING.removeIf(tileEntity -> tileEntity.getWorld() == event.getWorld());
+		}
+	}
+
+	/**
+	 *
+	 * @return the number of chests with a moving lid
+	 */
+	public static int size() {
+		return ANIMATING.size();
+	}
+}
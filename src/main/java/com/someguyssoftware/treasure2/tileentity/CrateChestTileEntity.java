@@ -1,13 +1,6 @@
 package com.someguyssoftware.treasure2.tileentity;
 
-import com.someguyssoftware.gottschcore.world.WorldInfo;
-
-import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.init.SoundEvents;
-import net.minecraft.inventory.ContainerChest;
-import net.minecraft.inventory.IInventory;
-import net.minecraft.util.SoundCategory;
-import net.minecraft.util.math.AxisAlignedBB;
 import net.minecraft.util.text.translation.I18n;
 
 /**
@@ -31,41 +24,15 @@ public class CrateChestTileEntity extends AbstractTreasureChestTileEntity {
 	}
 
 	/**
-	 * Like the old updateEntity(), except more generic.
+	 * Advances the lid animation by one tick. Called on the client by the ChestLidAnimator while the lid is moving.
+	 * @return whether the lid is still moving
 	 */
 	@Override
-	public void update() {
-		int i = this.pos.getX();
-		int j = this.pos.getY();
-		int k = this.pos.getZ();
-		++this.ticksSinceSync;
-
-		if (WorldInfo.isServerSide(getWorld()) && this.numPlayersUsing != 0
-				&& (this.ticksSinceSync + i + j + k) % 200 == 0) {
-			this.numPlayersUsing = 0;
-
-			for (EntityPlayer entityplayer : this.world.getEntitiesWithinAABB(EntityPlayer.class,
-					new AxisAlignedBB((double) ((float) i - 5.0F), (double) ((float) j - 5.0F),
-							(double) ((float) k - 5.0F), (double) ((float) (i + 1) + 5.0F),
-							(double) ((float) (j + 1) + 5.0F), (double) ((float) (k + 1) + 5.0F)))) {
-				if (entityplayer.openContainer instanceof ContainerChest) {
-					IInventory iinventory = ((ContainerChest) entityplayer.openContainer).getLowerChestInventory();
-
-					if (iinventory == this) {
-						++this.numPlayersUsing;
-					}
-				}
-			}
-		}
-
+	public boolean updateLidAnimation() {
 		this.prevLidAngle = this.lidAngle;
 
 		if (this.numPlayersUsing > 0 && this.lidAngle == 0.0F) {
-			double d1 = (double) i + 0.5D;
-			double d2 = (double) k + 0.5D;
-
-			this.world.playSound((EntityPlayer) null, d1, (double) j + 0.5D, d2, SoundEvents.BLOCK_CHEST_OPEN,
-					SoundCategory.BLOCKS, 0.5F, this.world.rand.nextFloat() * 0.1F + 0.9F);
+			playLidSound(SoundEvents.BLOCK_CHEST_OPEN);
 		}
 
 		if (this.numPlayersUsing == 0 && this.lidAngle > 0.0F || this.numPlayersUsing > 0 && this.lidAngle < .125F) {
@@ -82,16 +49,14 @@ public class CrateChestTileEntity extends AbstractTreasureChestTileEntity {
 			}
 
 			if (this.lidAngle < 0.06F && f2 >= 0.06F) {
-				double d3 = (double) i + 0.5D;
-				double d0 = (double) k + 0.5D;
-
-				this.world.playSound((EntityPlayer) null, d3, (double) j + 0.5D, d0, SoundEvents.BLOCK_CHEST_CLOSE,
-						SoundCategory.BLOCKS, 0.5F, this.world.rand.nextFloat() * 0.1F + 0.9F);
+				playLidSound(SoundEvents.BLOCK_CHEST_CLOSE);
 			}
 
 			if (this.lidAngle < 0.0F) {
 				this.lidAngle = 0.0F;
 			}
 		}
+		// keep going for one more tick after the lid comes to rest, so that the previous angle catches up
+		return this.lidAngle != this.prevLidAngle;
 	}
 }
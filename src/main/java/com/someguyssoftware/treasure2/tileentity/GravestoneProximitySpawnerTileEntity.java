@@ -8,7 +8,6 @@ import java.util.Random;
 import com.someguyssoftware.gottschcore.measurement.Quantity;
 import com.someguyssoftware.gottschcore.positional.Coords;
 import com.someguyssoftware.gottschcore.random.RandomHelper;
-import com.someguyssoftware.gottschcore.world.WorldInfo;
 import com.someguyssoftware.treasure2.Treasure;
 import com.someguyssoftware.treasure2.config.TreasureConfig;
 import com.someguyssoftware.treasure2.entity.monster.BoundSoulEntity;
@@ -16,7 +15,6 @@ import com.someguyssoftware.treasure2.entity.monster.BoundSoulEntity;
 import net.minecraft.entity.EntityList;
 import net.minecraft.entity.EntityLiving;
 import net.minecraft.entity.IEntityLivingData;
-import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.util.ResourceLocation;
 import net.minecraft.util.math.BlockPos;
@@ -43,42 +41,11 @@ public class GravestoneProximitySpawnerTileEntity extends ProximitySpawnerTileEn
 	}
 
 	/**
-	 * NOTE this was not working when calling the super.update()
+	 * Only triggers while the gravestone has a bound soul and spawning is allowed.
 	 */
 	@Override
-	public void update() {
-		boolean hasEntity = hasEntity();
-		if (hasEntity && TreasureConfig.WORLD_GEN.getMarkerProperties().isGravestoneSpawnMobAllowed) {
-
-			// this is copied fromt he abstract
-			if (WorldInfo.isClientSide()) {
-				return;
-			}
-
-			// get all players within range
-			EntityPlayer player = null;
-
-			boolean isTriggered = false;
-			double proximitySq = getProximity() * getProximity();
-			if (proximitySq < 1)
-				proximitySq = 1;
-
-			// for each player
-			for (int playerIndex = 0; playerIndex < getWorld().playerEntities.size(); ++playerIndex) {
-				player = (EntityPlayer) getWorld().playerEntities.get(playerIndex);
-				// get the distance
-				double distanceSq = player.getDistanceSq(this.getPos().add(0.5D, 0.5D, 0.5D));
-				if (!isTriggered && !this.isDead() && (distanceSq < proximitySq)) {
-//					Treasure.logger.debug("PTE proximity @ -> {} was met.", new Coords(this.pos).toShortString());
-					isTriggered = true;
-					// exectute action
-					execute(this.getWorld(), new Random(), new Coords(this.getPos()), new Coords(player.getPosition()));
-					// NOTE: does not self-destruct that is up to the execute action to perform
-				}
-				if (this.isDead())
-					break;
-			}
-		}
+	protected boolean isTriggerable() {
+		return hasEntity() && TreasureConfig.WORLD_GEN.getMarkerProperties().isGravestoneSpawnMobAllowed;
 	}
 
 	/**
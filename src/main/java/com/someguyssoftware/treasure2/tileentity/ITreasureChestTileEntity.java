@@ -28,5 +28,6 @@ public interface ITreasureChestTileEntity extends IInventory {
 	int getNumberOfSlots();
 	void setNumberOfSlots(int numberOfSlots);
 	void sendUpdates();
+	void sendLockUpdate(LockState lockState);
     
 }
\ No newline at end of file
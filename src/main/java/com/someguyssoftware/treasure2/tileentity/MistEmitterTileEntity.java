@@ -3,101 +3,105 @@
  */
 package com.someguyssoftware.treasure2.tileentity;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-
 import com.someguyssoftware.gottschcore.tileentity.AbstractModTileEntity;
-import com.someguyssoftware.gottschcore.world.WorldInfo;
-import com.someguyssoftware.treasure2.Treasure;
+import com.someguyssoftware.treasure2.block.IMistSupport;
 
-import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.block.Block;
+import net.minecraft.block.state.IBlockState;
 import net.minecraft.nbt.NBTTagCompound;
-import net.minecraft.util.ITickable;
 
 /**
+ * A block whose mist affects the players within it. The mist particles are only rendered on the client;
+ * the effect is applied on the server by the MistHazardService, which this tile entity registers with.
  * @author Mark Gottschling on Feb 16, 2020
  *
  */
-public class MistEmitterTileEntity extends AbstractModTileEntity implements ITickable {
-	public static final float DEFAULT_PROXIMITY = 5.0F;
-	private float proximity = DEFAULT_PROXIMITY;
-	private boolean active = false;
-	private List<EntityPlayer> playersWithinProximity;
+public class MistEmitterTileEntity extends AbstractModTileEntity {
+	// the hazard of the emitter's block, resolved on first use
+	private MistHazard hazard;
+	private boolean hazardResolved;
 
 	/**
 	 * 
 	 */
 	public MistEmitterTileEntity() {
-		playersWithinProximity = Collections.synchronizedList(new ArrayList<>());
 	}
-	
-	@Override
-	public void update() {
-        if (WorldInfo.isServerSide()) {
-        	return;
-        }
 
-    	// get all players within range
-        EntityPlayer player = null;
-        double proximitySq = getProximity() * getProximity();
-
-        // clear list
-        getPlayersWithinProximity().clear();
-        setActive(false);
-        
-        // for each player
-        for (int playerIndex = 0; playerIndex < getWorld().playerEntities.size(); ++playerIndex) {
-            player = (EntityPlayer)getWorld().playerEntities.get(playerIndex);
-            // get the distance
-            double distanceSq = player.getDistanceSq(this.getPos().add(0.5D, 0.5D, 0.5D));
-           
-            if (distanceSq < proximitySq) {
-            	// add player to list
-            	getPlayersWithinProximity().add(player); // TODO this should be wrapped in a synchronized block
-            	setActive(true);
-            }
-        }
-	}
-	
 	/**
-	 * 
+	 * Registers with the mist hazard service of the world.
 	 */
 	@Override
-	public void readFromNBT(NBTTagCompound parentNBT) {
-		super.readFromNBT(parentNBT);
+	public void onLoad() {
+		super.onLoad();
+		if (!getWorld().isRemote) {
+			MistHazardService.get(getWorld()).register(this);
+		}
 	}
-	
+
 	/**
 	 * 
 	 */
 	@Override
-	public NBTTagCompound writeToNBT(NBTTagCompound tag) {
-	    super.writeToNBT(tag);
-	    return tag;
+	public void invalidate() {
+		super.invalidate();
+		unregister();
 	}
 
-	public synchronized List<EntityPlayer> getPlayersWithinProximity() {
-		return playersWithinProximity;
+	/**
+	 * 
+	 */
+	@Override
+	public void onChunkUnload() {
+		super.onChunkUnload();
+		unregister();
 	}
 
-	private synchronized void setPlayersWithinProximity(List<EntityPlayer> playersWithinProximity) {
-		this.playersWithinProximity = playersWithinProximity;
+	/**
+	 * 
+	 */
+	private void unregister() {
+		if (getWorld() != null && !getWorld().isRemote) {
+			MistHazardService.get(getWorld()).unregister(this);
+		}
 	}
 
-	public synchronized boolean isActive() {
-		return active;
+	/**
+	 * 
+	 */
+	@Override
+	public void updateContainingBlockInfo() {
+		super.updateContainingBlockInfo();
+		hazardResolved = false;
 	}
 
-	public synchronized void setActive(boolean active) {
-		this.active = active;
+	/**
+	 * 
+	 * @return the hazard defined by the emitter's block or null if it doesn't have one
+	 */
+	public MistHazard getHazard() {
+		if (!hazardResolved) {
+			hazardResolved = true;
+			IBlockState state = getWorld().getBlockState(getPos());
+			Block block = state.getBlock();
+			hazard = block instanceof IMistSupport ? ((IMistSupport) block).getMistHazard(state, getPos()) : null;
+		}
+		return hazard;
 	}
 
-	public float getProximity() {
-		return proximity;
+	/**
+	 * 
+	 */
+	@Override
+	public void readFromNBT(NBTTagCompound parentNBT) {
+		super.readFromNBT(parentNBT);
 	}
-
-	public void setProximity(float proximity) {
-		this.proximity = proximity;
+	
+	/**
+	 * 
+	 */
+	@Override
+	public NBTTagCompound writeToNBT(NBTTagCompound tag) {
+	    super.writeToNBT(tag);
+	    return tag;
 	}
 }
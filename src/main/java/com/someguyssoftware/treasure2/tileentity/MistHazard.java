@@ -0,0 +1,67 @@
+/**
+ *
+ */
+package com.someguyssoftware.treasure2.tileentity;
+
+import net.minecraft.potion.Potion;
+import net.minecraft.potion.PotionEffect;
+import net.minecraft.util.math.AxisAlignedBB;
+
+/**
+ * The area covered by the mist of an emitter and the effect that the mist inflicts on the players within it.
+ */
+public class MistHazard {
+	public static final int DEFAULT_DURATION = 300;
+
+	private final AxisAlignedBB volume;
+	private final Potion potion;
+	private final int duration;
+	private final int amplifier;
+
+	/**
+	 *
+	 * @param volume
+	 * @param potion
+	 */
+	public MistHazard(AxisAlignedBB volume, Potion potion) {
+		this(volume, potion, DEFAULT_DURATION, 0);
+	}
+
+	/**
+	 *
+	 * @param volume
+	 * @param potion
+	 * @param duration
+	 * @param amplifier
+	 */
+	public MistHazard(AxisAlignedBB volume, Potion potion, int duration, int amplifier) {
+		this.volume = volume;
+		this.potion = potion;
+		this.duration = duration;
+		this.amplifier = amplifier;
+	}
+
+	/**
+	 *
+	 * @return a new effect to add to a player
+	 */
+	public PotionEffect createEffect() {
+		return new PotionEffect(potion, duration, amplifier);
+	}
+
+	public AxisAlignedBB getVolume() {
+		return volume;
+	}
+
+	public Potion getPotion() {
+		return potion;
+	}
+
+	public int getDuration() {
+		return duration;
+	}
+
+	public int getAmplifier() {
+		return amplifier;
+	}
+}
@@ -0,0 +1,167 @@
+/**
+ *
+ */
+package com.someguyssoftware.treasure2.tileentity;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.someguyssoftware.treasure2.block.IMistSupport;
+import com.someguyssoftware.treasure2.config.TreasureConfig;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.World;
+
+/**
+ * Applies the effects of the mist emitters (ex. the poison and wither mist of wither trees) to the players of a world.
+ * Mist emitters register when they are loaded and unregister when they are unloaded or removed. Every HAZARD_INTERVAL
+ * ticks of world time, each player is tested against the hazard volumes in the chunks around it, and a player
+ * within a volume that doesn't already have the volume's effect is given it, unless the emitter is surrounded by
+ * 3 or more torches, which stop it from emitting mist on the client (see IMistSupport.checkTorchPrevention()).
+ * The result doesn't depend on the client, its frame rate or the particles it renders.
+ * Server thread only.
+ */
+public class MistHazardService {
+	// dimension -> service
+	private static final Map<Integer, MistHazardService> SERVICES = new HashMap<>();
+
+	public static final int HAZARD_INTERVAL = 20;
+	// hazard volumes are expected to lie within this distance of their emitter
+	private static final double MAX_REACH = 8D;
+
+	// chunk key -> emitters
+	private final Long2ObjectOpenHashMap<List<MistEmitterTileEntity>> buckets = new Long2ObjectOpenHashMap<>();
+	private int size;
+
+	/**
+	 *
+	 * @param world
+	 * @return the service of the world's dimension
+	 */
+	public static MistHazardService get(World world) {
+		int dimensionID = world.provider.getDimension();
+		MistHazardService service = SERVICES.get(dimensionID);
+		if (service == null) {
+			service = new MistHazardService();
+			SERVICES.put(dimensionID, service);
+		}
+		return service;
+	}
+
+	/**
+	 * Discards the service of the world's dimension.
+	 * @param world
+	 */
+	public static void unload(World world) {
+		SERVICES.remove(world.provider.getDimension());
+	}
+
+	/**
+	 *
+	 * @param emitter
+	 */
+	public void register(MistEmitterTileEntity emitter) {
+		long key = ChunkPos.asLong(emitter.getPos().getX() >> 4, emitter.getPos().getZ() >> 4);
+		List<MistEmitterTileEntity> bucket = buckets.get(key);
+		if (bucket == null) {
+			bucket = new ArrayList<>(2);
+			buckets.put(key, bucket);
+		}
+		if (!bucket.contains(emitter)) {
+			bucket.add(emitter);
+			size++;
+		}
+	}
+
+	/**
+	 *
+	 * @param emitter
+	 */
+	public void unregister(MistEmitterTileEntity emitter) {
+		long key = ChunkPos.asLong(emitter.getPos().getX() >> 4, emitter.getPos().getZ() >> 4);
+		List<MistEmitterTileEntity> bucket = buckets.get(key);
+		if (bucket != null && bucket.remove(emitter)) {
+			size--;
+			if (bucket.isEmpty()) {
+				buckets.remove(key);
+			}
+		}
+	}
+
+	/**
+	 * Applies the hazards to the players on every HAZARD_INTERVAL'th tick of world time. Call once per world tick.
+	 * @param world
+	 */
+	public void tick(World world) {
+		if (size == 0 || world.getTotalWorldTime() % HAZARD_INTERVAL != 0) {
+			return;
+		}
+		if (!TreasureConfig.WORLD_GEN.getGeneralProperties().enablePoisonFog) {
+			return;
+		}
+		for (int playerIndex = 0; playerIndex < world.playerEntities.size(); playerIndex++) {
+			EntityPlayer player = world.playerEntities.get(playerIndex);
+			if (player.isSpectator() || player.isDead) {
+				continue;
+			}
+			evaluate(world, player);
+		}
+	}
+
+	/**
+	 * Tests the player against the hazards in the chunks within reach.
+	 * @param world
+	 * @param player
+	 */
+	private void evaluate(World world, EntityPlayer player) {
+		AxisAlignedBB playerBox = player.getEntityBoundingBox();
+		int minChunkX = MathHelper.floor(playerBox.minX - MAX_REACH) >> 4;
+		int maxChunkX = MathHelper.floor(playerBox.maxX + MAX_REACH) >> 4;
+		int minChunkZ = MathHelper.floor(playerBox.minZ - MAX_REACH) >> 4;
+		int maxChunkZ = MathHelper.floor(playerBox.maxZ + MAX_REACH) >> 4;
+		for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+			for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+				List<MistEmitterTileEntity> bucket = buckets.get(ChunkPos.asLong(chunkX, chunkZ));
+				if (bucket == null) {
+					continue;
+				}
+				for (int index = 0; index < bucket.size(); index++) {
+					MistEmitterTileEntity emitter = bucket.get(index);
+					MistHazard hazard = emitter.getHazard();
+					if (hazard != null && hazard.getVolume().intersects(playerBox)
+							&& player.getActivePotionEffect(hazard.getPotion()) == null
+							&& !isTorchPrevented(world, emitter)) {
+						player.addPotionEffect(hazard.createEffect());
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * The server side of the torch prevention: 3 or more torches around the emitter stop all of its mist.
+	 * Only made for a player within the volume, so the 7x7x7 scan is made at most once per HAZARD_INTERVAL per player.
+	 * @param world
+	 * @param emitter
+	 * @return
+	 */
+	private static boolean isTorchPrevented(World world, MistEmitterTileEntity emitter) {
+		BlockPos pos = emitter.getPos();
+		return IMistSupport.countTorches(world, pos.getX(), pos.getY(), pos.getZ()) >= 3;
+	}
+
+	/**
+	 *
+	 * @return the number of registered emitters
+	 */
+	public int size() {
+		return size;
+	}
+}
@@ -5,18 +5,15 @@ package com.someguyssoftware.treasure2.tileentity;
 
 import java.util.Random;
 
-import com.someguyssoftware.gottschcore.GottschCore;
 import com.someguyssoftware.gottschcore.measurement.Quantity;
 import com.someguyssoftware.gottschcore.positional.Coords;
 import com.someguyssoftware.gottschcore.random.RandomHelper;
-import com.someguyssoftware.gottschcore.world.WorldInfo;
 import com.someguyssoftware.treasure2.Treasure;
 
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityList;
 import net.minecraft.entity.EntityLiving;
 import net.minecraft.entity.IEntityLivingData;
-import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.util.ResourceLocation;
 import net.minecraft.util.StringUtils;
@@ -113,43 +110,6 @@ public class ProximitySpawnerTileEntity extends AbstractProximityTileEntity {
         setMobNum(new Quantity(1, 1));
         setSpawnRange(5.0D);
     }
-
-    ///// TEMP
-	@Override
-	public void update() {
-        if (WorldInfo.isClientSide()) {
-        	return;
-        }      
-        
-    	// get all players within range
-        EntityPlayer player = null;
-
-        boolean isTriggered = false;         
-        double proximitySq = getProximity() * getProximity();
-        if (proximitySq < 1) proximitySq = 1;
-        
-        // for each player
-        for (int playerIndex = 0; playerIndex < getWorld().playerEntities.size(); ++playerIndex) {
-            player = (EntityPlayer)getWorld().playerEntities.get(playerIndex);
-            // get the distance
-            double distanceSq = player.getDistanceSq(this.getPos().add(0.5D, 0.5D, 0.5D));
-            if (this.getMobName().getResourcePath().equals("bound_soul")) {
-            Treasure.LOGGER.debug("PTE for mob -> {} @ -> {}, proximity -> {}, distance -> {}, triggered -> {}, dead -> {}, result -> {}", this.getMobName(),
-            		this.pos, proximitySq, distanceSq, isTriggered, this.isDead(), (!isTriggered && !this.isDead() && (distanceSq < proximitySq)) ? "met" : "not met");
-            }
-            if (!isTriggered && !this.isDead() && (distanceSq < proximitySq)) {
-            	Treasure.LOGGER.debug("PTE proximity was met.");
-            	isTriggered = true;
-            	// exectute action
-            	execute(this.getWorld(), new Random(), new Coords(this.getPos()), new Coords(player.getPosition()));
-
-            	// NOTE: does not self-destruct that is up to the execute action to perform
-            }
-            
-            if (this.isDead()) break;
-        }
-	}
-    ///////
     
 	/**
 	 * 
@@ -0,0 +1,241 @@
+/**
+ *
+ */
+package com.someguyssoftware.treasure2.tileentity;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.World;
+
+/**
+ * Evaluates the players of a world against the proximity tile entities of the world, instead of each proximity tile entity
+ * checking every player on every tick.
+ * Proximity tile entities register their trigger sphere when they are loaded and unregister when they are unloaded or removed.
+ * The triggers are bucketed by chunk, so a player is only tested against the triggers in the chunks within reach of the
+ * largest registered proximity. A player is re-evaluated when it has moved, when triggers have been added, or otherwise
+ * every EVALUATION_INTERVAL ticks.
+ * Server thread only.
+ */
+public class ProximityTriggerService {
+	// dimension -> service
+	private static final Map<Integer, ProximityTriggerService> SERVICES = new HashMap<>();
+
+	private static final int EVALUATION_INTERVAL = 20;
+	// a player is re-evaluated once it has moved this distance (squared)
+	private static final double MOVE_DISTANCE_SQ = 0.5 * 0.5;
+
+	// chunk key -> triggers
+	private final Long2ObjectOpenHashMap<List<AbstractProximityTileEntity>> buckets = new Long2ObjectOpenHashMap<>();
+	private int size;
+	// the largest proximity registered, which determines how many chunks around a player are searched
+	private double maxProximity = 1D;
+	// incremented when a trigger is added, so that stationary players are re-evaluated against it
+	private int version;
+	private final Map<UUID, PlayerState> players = new HashMap<>();
+
+	// changes made while evaluating are deferred until the evaluation has finished
+	private boolean evaluating;
+	private final List<AbstractProximityTileEntity> pendingAdds = new ArrayList<>();
+	private final List<AbstractProximityTileEntity> pendingRemovals = new ArrayList<>();
+	// the triggers that have fired during the current tick. a trigger fires at most once per tick
+	private final ReferenceOpenHashSet<AbstractProximityTileEntity> fired = new ReferenceOpenHashSet<>();
+
+	private long tickCount;
+
+	/**
+	 *
+	 * @param world
+	 * @return the service of the world's dimension
+	 */
+	public static ProximityTriggerService get(World world) {
+		int dimensionID = world.provider.getDimension();
+		ProximityTriggerService service = SERVICES.get(dimensionID);
+		if (service == null) {
+			service = new ProximityTriggerService();
+			SERVICES.put(dimensionID, service);
+		}
+		return service;
+	}
+
+	/**
+	 * Discards the service of the world's dimension.
+	 * @param world
+	 */
+	public static void unload(World world) {
+		SERVICES.remove(world.provider.getDimension());
+	}
+
+	/**
+	 *
+	 * @param trigger
+	 */
+	public void register(AbstractProximityTileEntity trigger) {
+		if (evaluating) {
+			pendingAdds.add(trigger);
+			return;
+		}
+		long key = ChunkPos.asLong(trigger.getPos().getX() >> 4, trigger.getPos().getZ() >> 4);
+		List<AbstractProximityTileEntity> bucket = buckets.get(key);
+		if (bucket == null) {
+			bucket = new ArrayList<>(2);
+			buckets.put(key, bucket);
+		}
+		if (!bucket.contains(trigger)) {
+			bucket.add(trigger);
+			size++;
+			maxProximity = Math.max(maxProximity, trigger.getProximity());
+			version++;
+		}
+	}
+
+	/**
+	 *
+	 * @param trigger
+	 */
+	public void unregister(AbstractProximityTileEntity trigger) {
+		if (evaluating) {
+			pendingRemovals.add(trigger);
+			return;
+		}
+		long key = ChunkPos.asLong(trigger.getPos().getX() >> 4, trigger.getPos().getZ() >> 4);
+		List<AbstractProximityTileEntity> bucket = buckets.get(key);
+		if (bucket != null && bucket.remove(trigger)) {
+			size--;
+			if (bucket.isEmpty()) {
+				buckets.remove(key);
+			}
+		}
+	}
+
+	/**
+	 * Widens the search to a trigger's new proximity.
+	 * @param trigger
+	 */
+	public void onProximityChanged(AbstractProximityTileEntity trigger) {
+		if (trigger.getProximity() > maxProximity) {
+			maxProximity = trigger.getProximity();
+		}
+		version++;
+	}
+
+	/**
+	 * Evaluates the players that need to be evaluated. Call once per world tick.
+	 * @param world
+	 */
+	public void tick(World world) {
+		tickCount++;
+		if (size == 0) {
+			return;
+		}
+		boolean interval = tickCount % EVALUATION_INTERVAL == 0;
+		evaluating = true;
+		try {
+			for (int playerIndex = 0; playerIndex < world.playerEntities.size(); playerIndex++) {
+				EntityPlayer player = world.playerEntities.get(playerIndex);
+				PlayerState state = players.get(player.getUniqueID());
+				if (state == null) {
+					state = new PlayerState();
+					players.put(player.getUniqueID(), state);
+				}
+				else if (!interval && state.version == version && player.getDistanceSq(state.x, state.y, state.z) < MOVE_DISTANCE_SQ) {
+					// hasn't moved and there is nothing new to be triggered
+					continue;
+				}
+				state.x = player.posX;
+				state.y = player.posY;
+				state.z = player.posZ;
+				state.version = version;
+				evaluate(player);
+			}
+		}
+		finally {
+			evaluating = false;
+			fired.clear();
+		}
+
+		// apply the deferred changes
+		if (!pendingRemovals.isEmpty()) {
+			for (AbstractProximityTileEntity trigger : pendingRemovals) {
+				unregister(trigger);
+			}
+			pendingRemovals.clear();
+		}
+		if (!pendingAdds.isEmpty()) {
+			for (AbstractProximityTileEntity trigger : pendingAdds) {
+				register(trigger);
+			}
+			pendingAdds.clear();
+		}
+
+		// forget players that have left the world
+		if (interval && players.size() > world.playerEntities.size()) {
+			players.keySet().removeIf(uuid -> world.getPlayerEntityByUUID(uuid) == null);
+		}
+	}
+
+	/**
+	 * Tests the player against the triggers in the chunks within reach.
+	 * @param player
+	 */
+	private void evaluate(EntityPlayer player) {
+		int minChunkX = MathHelper.floor(player.posX - maxProximity) >> 4;
+		int maxChunkX = MathHelper.floor(player.posX + maxProximity) >> 4;
+		int minChunkZ = MathHelper.floor(player.posZ - maxProximity) >> 4;
+		int maxChunkZ = MathHelper.floor(player.posZ + maxProximity) >> 4;
+		for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+			for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+				List<AbstractProximityTileEntity> bucket = buckets.get(ChunkPos.asLong(chunkX, chunkZ));
+				if (bucket == null) {
+					continue;
+				}
+				for (int index = 0; index < bucket.size(); index++) {
+					AbstractProximityTileEntity trigger = bucket.get(index);
+					if (trigger.isDead()) {
+						pendingRemovals.add(trigger);
+						continue;
+					}
+					if (fired.contains(trigger)) {
+						continue;
+					}
+					double proximitySq = Math.max(1D, trigger.getProximity() * trigger.getProximity());
+					BlockPos pos = trigger.getPos();
+					if (player.getDistanceSq(pos.getX() + 0.5D, pos.getY() + 0.5D, pos.getZ() + 0.5D) < proximitySq
+							&& trigger.onProximity(player)) {
+						fired.add(trigger);
+						if (trigger.isDead()) {
+							pendingRemovals.add(trigger);
+						}
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 *
+	 * @return the number of registered triggers
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * The position of a player when it was last evaluated.
+	 */
+	private static class PlayerState {
+		private double x;
+		private double y;
+		private double z;
+		private int version = -1;
+	}
+}
@@ -1,13 +1,6 @@
 package com.someguyssoftware.treasure2.tileentity;
 
-import com.someguyssoftware.gottschcore.world.WorldInfo;
-
-import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.init.SoundEvents;
-import net.minecraft.inventory.ContainerChest;
-import net.minecraft.inventory.IInventory;
-import net.minecraft.util.SoundCategory;
-import net.minecraft.util.math.AxisAlignedBB;
 import net.minecraft.util.text.translation.I18n;
 
 /**
@@ -37,36 +30,11 @@ public class SafeTileEntity extends AbstractTreasureChestTileEntity {
 	}
 
 	/**
-	 * Like the old updateEntity(), except more generic.
+	 * Advances the lid animation by one tick. Called on the client by the ChestLidAnimator while the lid is moving.
+	 * @return whether the lid is still moving
 	 */
 	@Override
-	public void update() {
-		int x = this.pos.getX();
-		int y = this.pos.getY();
-		int z = this.pos.getZ();
-		++this.ticksSinceSync;
-
-		/*
-		 * recalculating if the chest is in use by any players
-		 */
-		if (WorldInfo.isServerSide(getWorld()) && this.numPlayersUsing != 0
-				&& (this.ticksSinceSync + x + y + z) % 200 == 0) {
-			this.numPlayersUsing = 0;
-
-			for (EntityPlayer entityplayer : this.world.getEntitiesWithinAABB(EntityPlayer.class,
-					new AxisAlignedBB((double) ((float) x - 5.0F), (double) ((float) y - 5.0F),
-							(double) ((float) z - 5.0F), (double) ((float) (x + 1) + 5.0F),
-							(double) ((float) (y + 1) + 5.0F), (double) ((float) (z + 1) + 5.0F)))) {
-				if (entityplayer.openContainer instanceof ContainerChest) {
-					IInventory iinventory = ((ContainerChest) entityplayer.openContainer).getLowerChestInventory();
-
-					if (iinventory == this) {
-						++this.numPlayersUsing;
-					}
-				}
-			}
-		}
-
+	public boolean updateLidAnimation() {
 		// save the previous positions and angles of safe components
 		this.prevLidAngle = this.lidAngle;
 		this.prevHandleAngle = this.handleAngle;
@@ -89,10 +57,7 @@ public class SafeTileEntity extends AbstractTreasureChestTileEntity {
 			if (isHandleOpen) {
 				// play the opening chest sound the at the beginning of opening
 				if (this.lidAngle == 0.0F) {
-					double d1 = (double) x + 0.5D;
-					double d2 = (double) z + 0.5D;
-					this.world.playSound((EntityPlayer) null, d1, (double) y + 0.5D, d2, SoundEvents.BLOCK_CHEST_OPEN,
-							SoundCategory.BLOCKS, 0.5F, this.world.rand.nextFloat() * 0.1F + 0.9F);
+					playLidSound(SoundEvents.BLOCK_CHEST_OPEN);
 				}
 
 				// test the lid
@@ -128,11 +93,7 @@ public class SafeTileEntity extends AbstractTreasureChestTileEntity {
 
 			// play the closing sound
 			if (this.lidAngle < 0.06F && f2 >= 0.06F) {
-				double d3 = (double) x + 0.5D;
-				double d0 = (double) z + 0.5D;
-
-				this.world.playSound((EntityPlayer) null, d3, (double) y + 0.5D, d0, SoundEvents.BLOCK_CHEST_CLOSE,
-						SoundCategory.BLOCKS, 0.5F, this.world.rand.nextFloat() * 0.1F + 0.9F);
+				playLidSound(SoundEvents.BLOCK_CHEST_CLOSE);
 			}
 
 			if (isLidClosed) {
@@ -150,6 +111,9 @@ public class SafeTileEntity extends AbstractTreasureChestTileEntity {
 			}
 
 		}
+		// keep going for one more tick after the handle and lid come to rest, so that the previous angles catch up
+		return this.lidAngle != this.prevLidAngle || this.handleAngle != this.prevHandleAngle
+				|| (this.numPlayersUsing > 0 ? !isLidOpen : !isHandleClosed);
 	}
 
 	/**
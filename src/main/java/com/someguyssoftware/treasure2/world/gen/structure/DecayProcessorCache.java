@@ -0,0 +1,83 @@
+/**
+ *
+ */
+package com.someguyssoftware.treasure2.world.gen.structure;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import com.someguyssoftware.gottschcore.world.gen.structure.IDecayProcessor;
+import com.someguyssoftware.gottschcore.world.gen.structure.IDecayRuleSet;
+
+/**
+ * Caches a decay processor per generator thread and decay rule set, so that generating a structure doesn't create
+ * a processor, and build the rule state of its rule set, every time.
+ * A processor is taken for one generation and released after it, so a nested generation on the same thread
+ * creates its own processor. The decay start y of a generation is set by TemplateGenerator.
+ * Rule sets are held by identity. The processors of every thread are dropped when the rule sets are reloaded.
+ */
+public class DecayProcessorCache {
+	// incremented on the server thread when the rule sets are reloaded
+	private static volatile int version;
+
+	private final Function<IDecayRuleSet, IDecayProcessor> factory;
+	private final ThreadLocal<Processors> processors = ThreadLocal.withInitial(Processors::new);
+
+	/**
+	 *
+	 * @param factory creates a processor of a rule set
+	 */
+	public DecayProcessorCache(Function<IDecayRuleSet, IDecayProcessor> factory) {
+		this.factory = factory;
+	}
+
+	/**
+	 * Takes the thread's processor of the rule set, or creates one if it has none or its processor is in use.
+	 * @param ruleSet
+	 * @return the processor, or null if the rule set is null
+	 */
+	public IDecayProcessor take(IDecayRuleSet ruleSet) {
+		if (ruleSet == null) {
+			return null;
+		}
+		IDecayProcessor processor = getProcessors().map.remove(ruleSet);
+		return processor == null ? factory.apply(ruleSet) : processor;
+	}
+
+	/**
+	 * Returns a processor taken for the rule set, to be reused by the next generation on this thread.
+	 * @param ruleSet
+	 * @param processor
+	 */
+	public void release(IDecayRuleSet ruleSet, IDecayProcessor processor) {
+		if (ruleSet != null && processor != null) {
+			getProcessors().map.put(ruleSet, processor);
+		}
+	}
+
+	/**
+	 * Drops the processors of the previous rule sets. Called when the rule sets are reloaded.
+	 */
+	public static void invalidate() {
+		version++;
+	}
+
+	private Processors getProcessors() {
+		Processors current = processors.get();
+		int currentVersion = version;
+		if (current.version != currentVersion) {
+			current.map.clear();
+			current.version = currentVersion;
+		}
+		return current;
+	}
+
+	/**
+	 * The idle processors of a thread.
+	 */
+	private static final class Processors {
+		private final Map<IDecayRuleSet, IDecayProcessor> map = new IdentityHashMap<>();
+		private int version = DecayProcessorCache.version;
+	}
+}
@@ -0,0 +1,185 @@
+/**
+ *
+ */
+package com.someguyssoftware.treasure2.world.gen.structure;
+
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Optional;
+
+import com.someguyssoftware.treasure2.Treasure;
+
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.util.ResourceLocation;
+
+/**
+ * An on-disk cache of data-fixed template NBT, stored uncompressed so that it can be read back
+ * without decompressing or data fixing the source template.
+ * Each entry is stored at [folder]/[domain]/cache/[path].bin and is only valid while the hash of the source template
+ * and the mod version match those recorded in the entry's header.
+ * Safe to use from multiple threads as long as each thread works on different templates.
+ */
+public class TemplateCache {
+	private static final int MAGIC = 0x54324354; // "T2CT"
+	private static final int FORMAT_VERSION = 1;
+	private static final String CACHE_FOLDER = "cache";
+	private static final String EXTENSION = ".bin";
+
+	private final Path folder;
+	private final String modVersion;
+
+	/**
+	 *
+	 * @param folder the structures folder of the world save
+	 * @param modVersion
+	 */
+	public TemplateCache(Path folder, String modVersion) {
+		this.folder = folder;
+		this.modVersion = modVersion;
+	}
+
+	/**
+	 *
+	 * @param source the bytes of the source template
+	 * @return the SHA-1 hash of the source
+	 */
+	public static byte[] hash(byte[] source) {
+		try {
+			return MessageDigest.getInstance("SHA-1").digest(source);
+		}
+		catch(NoSuchAlgorithmException e) {
+			// every java platform is required to support SHA-1
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Reads the cached template NBT if the cache entry matches the hash of the source template.
+	 * @param location
+	 * @param hash
+	 * @return
+	 */
+	public Optional<NBTTagCompound> read(ResourceLocation location, byte[] hash) {
+		Path path = getPath(location);
+		if (!Files.isRegularFile(path)) {
+			return Optional.empty();
+		}
+
+		try {
+			// read into the heap rather than mapped, as a mapped file can't be replaced (on Windows) until the mapping is collected
+			ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+			// validate the header
+			if (buffer.remaining() < 12 || buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+				Treasure.LOGGER.debug("template cache entry has an unknown format -> {}", path);
+				return Optional.empty();
+			}
+			byte[] versionBytes = new byte[buffer.getShort() & 0xFFFF];
+			buffer.get(versionBytes);
+			if (!modVersion.equals(new String(versionBytes, StandardCharsets.UTF_8))) {
+				Treasure.LOGGER.debug("template cache entry is from a different version -> {}", path);
+				return Optional.empty();
+			}
+			byte[] entryHash = new byte[buffer.get() & 0xFF];
+			buffer.get(entryHash);
+			if (!Arrays.equals(hash, entryHash)) {
+				Treasure.LOGGER.debug("template cache entry is stale -> {}", path);
+				return Optional.empty();
+			}
+			// the remainder is the uncompressed nbt
+			try (DataInputStream input = new DataInputStream(new ByteBufferInputStream(buffer))) {
+				return Optional.of(CompressedStreamTools.read(input));
+			}
+		}
+		catch(Exception e) {
+			Treasure.LOGGER.warn("unable to read template cache entry -> {}", path, e);
+			return Optional.empty();
+		}
+	}
+
+	/**
+	 * Writes the data-fixed template NBT to the cache. The entry is written to a temporary file first,
+	 * so a partially written entry is never read.
+	 * @param location
+	 * @param hash
+	 * @param tag
+	 */
+	public void write(ResourceLocation location, byte[] hash, NBTTagCompound tag) {
+		Path path = getPath(location);
+		Path tempPath = path.resolveSibling(path.getFileName().toString() + ".tmp");
+		try {
+			Files.createDirectories(path.getParent());
+			try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempPath)))) {
+				byte[] versionBytes = modVersion.getBytes(StandardCharsets.UTF_8);
+				output.writeInt(MAGIC);
+				output.writeInt(FORMAT_VERSION);
+				output.writeShort(versionBytes.length);
+				output.write(versionBytes);
+				output.writeByte(hash.length);
+				output.write(hash);
+				CompressedStreamTools.write(tag, output);
+			}
+			Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING);
+		}
+		catch(IOException e) {
+			Treasure.LOGGER.warn("unable to write template cache entry -> {}", path, e);
+			try {
+				Files.deleteIfExists(tempPath);
+			}
+			catch(IOException e2) {
+				// nothing to do
+			}
+		}
+	}
+
+	/**
+	 *
+	 * @param location
+	 * @return
+	 */
+	private Path getPath(ResourceLocation location) {
+		return folder.resolve(location.getResourceDomain()).resolve(CACHE_FOLDER).resolve(location.getResourcePath() + EXTENSION);
+	}
+
+	/**
+	 * Reads the remainder of a ByteBuffer.
+	 */
+	private static class ByteBufferInputStream extends InputStream {
+		private final ByteBuffer buffer;
+
+		ByteBufferInputStream(ByteBuffer buffer) {
+			this.buffer = buffer;
+		}
+
+		@Override
+		public int read() {
+			return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+		}
+
+		@Override
+		public int read(byte[] bytes, int offset, int length) {
+			if (!buffer.hasRemaining()) {
+				return -1;
+			}
+			int count = Math.min(length, buffer.remaining());
+			buffer.get(bytes, offset, count);
+			return count;
+		}
+
+		@Override
+		public int available() {
+			return buffer.remaining();
+		}
+	}
+}
@@ -19,6 +19,7 @@
  */
 package com.someguyssoftware.treasure2.world.gen.structure;
 
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Random;
 
@@ -30,6 +31,7 @@ import com.someguyssoftware.gottschcore.world.gen.structure.IDecayProcessor;
 import com.someguyssoftware.gottschcore.world.gen.structure.StructureMarkers;
 import com.someguyssoftware.treasure2.Treasure;
 import com.someguyssoftware.treasure2.block.TreasureBlocks;
+import com.someguyssoftware.treasure2.generator.BlockPlacementBuffer;
 import com.someguyssoftware.treasure2.generator.GenUtil;
 import com.someguyssoftware.treasure2.generator.GeneratorResult;
 import com.someguyssoftware.treasure2.generator.TemplateGeneratorData;
@@ -52,7 +54,8 @@ import net.minecraft.world.gen.structure.template.PlacementSettings;
 // TODO structure gen should probably pass in the replacement map
 
 /**
- * 
+ * Generates templates into the world. Holds no state of a generation (see Context), so one instance
+ * can be shared and used by nested or interleaved generations.
  * @author Mark Gottschling on Jan 24, 2019
  *
  */
@@ -61,13 +64,21 @@ public class TemplateGenerator implements ITemplateGenerator<GeneratorResult<Tem
 	private static final PropertyDirection FACING = BlockHorizontal.FACING;
 	private static final PropertyEnum<EnumFacing> CHEST_FACING = PropertyDirection.create("facing", EnumFacing.class);
 
-	private Block nullBlock;
+	// the default null block, null for the null marker block
+	private volatile Block nullBlock;
 
 	// TODO constructor should probably take in null block or list of null blocks,
 	// markersblocks, and replacement blocks
 	public TemplateGenerator() {
 		// use the default null block
-		setNullBlock(GenUtil.getMarkerBlock(StructureMarkers.NULL));
+	}
+
+	/**
+	 * 
+	 * @param nullBlock the default null block, used unless the meta of a template provides one
+	 */
+	public TemplateGenerator(Block nullBlock) {
+		this.nullBlock = nullBlock;
 	}
 
 	@Override
@@ -88,17 +99,18 @@ public class TemplateGenerator implements ITemplateGenerator<GeneratorResult<Tem
 		GottschTemplate template = (GottschTemplate) templateHolder.getTemplate();
 		Treasure.LOGGER.debug("template size -> {}", template.getSize());
 		// get the meta
-		StructureMeta meta = (StructureMeta) TreasureMetaRegistry.get(templateHolder.getMetaLocation().toString());
+		StructureMeta meta = getMeta(templateHolder);
 		if (meta == null) {
 			Treasure.LOGGER.debug("Unable to locate meta data for template -> {}", templateHolder.getLocation());
 			return result.fail();
 		}
 		Treasure.LOGGER.debug("meta -> {}", meta);
 
-		// if the meta provides a null block, use it
+		// if the meta provides a null block, use it for this generation
+		Block nullBlock = getNullBlock();
 		if (meta.getNullBlockName() != null && !meta.getNullBlockName().equals("")) {
 			Treasure.LOGGER.debug("setting the null block to -> {}", meta.getNullBlockName());
-			setNullBlock(Block.getBlockFromName(meta.getNullBlockName()));
+			nullBlock = Block.getBlockFromName(meta.getNullBlockName());
 		}
 
 		// find the offset block
@@ -112,7 +124,7 @@ public class TemplateGenerator implements ITemplateGenerator<GeneratorResult<Tem
 			offsetCoords = new Coords(0, -meta.getOffset().getY(), 0);
 			Treasure.LOGGER.debug("Using meta offset coords -> {}", offsetCoords);
 		} else {
-			offsetCoords = template.findCoords(random, GenUtil.getMarkerBlock(StructureMarkers.OFFSET));
+			offsetCoords = template.findCoords(random, getMarkerBlock(StructureMarkers.OFFSET));
 		}
 
 		if (offsetCoords != null) {
@@ -120,17 +132,17 @@ public class TemplateGenerator implements ITemplateGenerator<GeneratorResult<Tem
 		}
 
 		// update the spawn coords with the offset
-		ICoords spawnCoords = coords.add(0, offset, 0);
+		Context context = new Context(placement, coords.add(0, offset, 0), offset, nullBlock);
 
 		// generate the structure
 		if (decayProcessor == null) {
 			Treasure.LOGGER.debug("no decay processor found.");
-			template.addBlocksToWorld(world, spawnCoords.toPos(), placement, getNullBlock(),
-					TreasureTemplateRegistry.getManager().getReplacementMap(), 3);
+			template.addBlocksToWorld(world, context.spawnCoords.toPos(), placement, context.nullBlock,
+					getReplacementMap(), BlockPlacementBuffer.GENERATION_FLAGS);
 		} else {
 			decayProcessor.setDecayStartY(Math.abs(offset));
-			template.addBlocksToWorld(world, spawnCoords.toPos(), decayProcessor, placement, getNullBlock(),
-					TreasureTemplateRegistry.getManager().getReplacementMap(), 3);
+			template.addBlocksToWorld(world, context.spawnCoords.toPos(), decayProcessor, placement, context.nullBlock,
+					getReplacementMap(), BlockPlacementBuffer.GENERATION_FLAGS);
 		}
 
 		// process all markers and adding them to the result data (absolute positioned)
@@ -171,10 +183,10 @@ public class TemplateGenerator implements ITemplateGenerator<GeneratorResult<Tem
 
 		// process all strcture markers, positioning absolutely
 		for (Entry<Block, BlockContext> entry : template.getTagBlockMap().entries()) {
-			BlockContext context = getAbsoluteTransformedContext(entry.getValue(), spawnCoords, placement);
-			result.getData().getMap().put(entry.getKey(), context);
+			BlockContext blockContext = getAbsoluteTransformedContext(entry.getValue(), context);
+			result.getData().getMap().put(entry.getKey(), blockContext);
 			Treasure.LOGGER.debug("new: adding to structure info absoluted transformed coords -> {} : {}",
-					entry.getKey().getLocalizedName(), context.getCoords().toShortString());
+					entry.getKey().getLocalizedName(), blockContext.getCoords().toShortString());
 		}
 
 		// get the transformed size
@@ -183,7 +195,7 @@ public class TemplateGenerator implements ITemplateGenerator<GeneratorResult<Tem
 
 		// calculate the new spawn coords - that includes the rotation, and negates the
 		// Y offset
-		spawnCoords = getTransformedSpawnCoords(spawnCoords, new Coords(transformedSize), placement).add(0, -offset, 0);
+		ICoords spawnCoords = getTransformedSpawnCoords(context.spawnCoords, new Coords(transformedSize), placement).add(0, -context.offset, 0);
 
 		Treasure.LOGGER.debug("spawn coords after rotation -> " + spawnCoords);
 		// update result data
@@ -196,17 +208,16 @@ public class TemplateGenerator implements ITemplateGenerator<GeneratorResult<Tem
 	/**
 	 * 
 	 * @param contextIn
-	 * @param spawnCoords
-	 * @param placement
+	 * @param generation
 	 * @return
 	 */
-	private BlockContext getAbsoluteTransformedContext(BlockContext contextIn, ICoords spawnCoords,
-			PlacementSettings placement) {
+	private BlockContext getAbsoluteTransformedContext(BlockContext contextIn, Context generation) {
 		BlockContext context = new BlockContext();
+		PlacementSettings placement = generation.placement;
 
 		// get the absolute coords of chest
 		ICoords coords = new Coords(GottschTemplate.transformedCoords(placement, contextIn.getCoords()));
-		coords = spawnCoords.add(coords);
+		coords = generation.spawnCoords.add(coords);
 		context.setCoords(coords);
 
 		// get the block state of the chest
@@ -260,17 +271,65 @@ public class TemplateGenerator implements ITemplateGenerator<GeneratorResult<Tem
 		return spawnCoords;
 	}
 
+	/**
+	 * 
+	 * @param templateHolder
+	 * @return the meta of the template or null if it has none
+	 */
+	protected StructureMeta getMeta(TemplateHolder templateHolder) {
+		return (StructureMeta) TreasureMetaRegistry.get(templateHolder.getMetaLocation().toString());
+	}
+
+	/**
+	 * 
+	 * @param marker
+	 * @return
+	 */
+	protected Block getMarkerBlock(StructureMarkers marker) {
+		return GenUtil.getMarkerBlock(marker);
+	}
+
+	/**
+	 * 
+	 * @return the blocks of a template that are replaced when it is generated
+	 */
+	protected Map<IBlockState, IBlockState> getReplacementMap() {
+		return TreasureTemplateRegistry.getManager().getReplacementMap();
+	}
+
+	/**
+	 * 
+	 * @return the default null block
+	 */
 	@Override
 	public Block getNullBlock() {
-		if (nullBlock == null) {
-			nullBlock = GenUtil.getMarkerBlock(StructureMarkers.NULL);
-		}
-		return nullBlock;
+		Block block = nullBlock;
+		return block == null ? GenUtil.getMarkerBlock(StructureMarkers.NULL) : block;
 	}
 
+	/**
+	 * Sets the default null block. Not to be called while the generator is shared.
+	 */
 	@Override
 	public void setNullBlock(Block nullBlock) {
 		this.nullBlock = nullBlock;
 	}
 
+	/**
+	 * The state of a single generation.
+	 */
+	private static final class Context {
+		private final PlacementSettings placement;
+		// the spawn coords moved by the offset
+		private final ICoords spawnCoords;
+		private final int offset;
+		private final Block nullBlock;
+
+		private Context(PlacementSettings placement, ICoords spawnCoords, int offset, Block nullBlock) {
+			this.placement = placement;
+			this.spawnCoords = spawnCoords;
+			this.offset = offset;
+			this.nullBlock = nullBlock;
+		}
+	}
 }
\ No newline at end of file
@@ -18,6 +18,7 @@ public class TemplateHolder {
 	private ResourceLocation location;
 	private ResourceLocation metaLocation;
 	private List<ResourceLocation> decayRuleSetLocation;
+	private int weight = 1;
 	
 	public TemplateHolder() {}
 
@@ -80,6 +81,15 @@ public class TemplateHolder {
 		return this;
 	}
 
+	public int getWeight() {
+		return weight;
+	}
+
+	public TemplateHolder setWeight(int weight) {
+		this.weight = weight;
+		return this;
+	}
+
 	@Override
 	public String toString() {
 		return "TemplateHolder [location=" + location.toString() + ", metaLocation=" + metaLocation.toString()
@@ -0,0 +1,206 @@
+/**
+ *
+ */
+package com.someguyssoftware.treasure2.world.gen.structure;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import com.google.common.collect.ImmutableList;
+import com.someguyssoftware.treasure2.meta.StructureArchetype;
+import com.someguyssoftware.treasure2.meta.StructureType;
+
+/**
+ * An immutable index of template holders by archetype, type and biome ID.
+ * The holders of each archetype/type/biome are held in a flat array slot indexed by
+ * (archetype.ordinal * TYPES + type.ordinal) * biomes + biomeID, so a lookup doesn't allocate or box.
+ * Holders are shared between the slots they are mapped to.
+ */
+public class TemplateIndex {
+	private static final int ARCHETYPES = StructureArchetype.values().length;
+	private static final int TYPES = StructureType.values().length;
+
+	public static final TemplateIndex EMPTY = new Builder().build();
+
+	// the number of biome IDs per archetype/type
+	private final int biomes;
+	private final List<TemplateHolder>[] holders;
+	// the cumulative weights of the holders of each slot. null if the holders of the slot are equally weighted.
+	private final int[][] cumulativeWeights;
+
+	/**
+	 *
+	 * @param biomes
+	 * @param holders
+	 * @param cumulativeWeights
+	 */
+	private TemplateIndex(int biomes, List<TemplateHolder>[] holders, int[][] cumulativeWeights) {
+		this.biomes = biomes;
+		this.holders = holders;
+		this.cumulativeWeights = cumulativeWeights;
+	}
+
+	/**
+	 *
+	 * @param archetype
+	 * @param type
+	 * @param biomeID
+	 * @return the holders, or an empty list if there are none
+	 */
+	public List<TemplateHolder> getHolders(StructureArchetype archetype, StructureType type, int biomeID) {
+		int slot = getSlot(archetype, type, biomeID);
+		if (slot < 0 || holders[slot] == null) {
+			return Collections.emptyList();
+		}
+		return holders[slot];
+	}
+
+	/**
+	 * Selects a holder by weight.
+	 * @param random
+	 * @param archetype
+	 * @param type
+	 * @param biomeID
+	 * @return the holder or null if there are none
+	 */
+	public TemplateHolder select(Random random, StructureArchetype archetype, StructureType type, int biomeID) {
+		int slot = getSlot(archetype, type, biomeID);
+		if (slot < 0 || holders[slot] == null) {
+			return null;
+		}
+		List<TemplateHolder> slotHolders = holders[slot];
+		int[] weights = cumulativeWeights[slot];
+		if (weights == null) {
+			return slotHolders.get(random.nextInt(slotHolders.size()));
+		}
+
+		// binary search for the first cumulative weight that is greater than the value
+		int value = random.nextInt(weights[weights.length - 1]);
+		int low = 0;
+		int high = weights.length - 1;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (weights[mid] > value) {
+				high = mid;
+			}
+			else {
+				low = mid + 1;
+			}
+		}
+		return slotHolders.get(low);
+	}
+
+	/**
+	 *
+	 * @param archetype
+	 * @param type
+	 * @param biomeID
+	 * @return the slot or -1 if the biome is out of range
+	 */
+	private int getSlot(StructureArchetype archetype, StructureType type, int biomeID) {
+		if (biomeID < 0 || biomeID >= biomes) {
+			return -1;
+		}
+		return (archetype.ordinal() * TYPES + type.ordinal()) * biomes + biomeID;
+	}
+
+	/**
+	 *
+	 * @return the number of biome IDs in the index
+	 */
+	public int getBiomes() {
+		return biomes;
+	}
+
+	/**
+	 *
+	 */
+	public static class Builder {
+		private final List<Entry> entries = new ArrayList<>();
+		private int maxBiomeID = -1;
+
+		/**
+		 *
+		 * @param archetype
+		 * @param type
+		 * @param biomeID
+		 * @param holder
+		 * @return
+		 */
+		public Builder add(StructureArchetype archetype, StructureType type, int biomeID, TemplateHolder holder) {
+			if (biomeID >= 0) {
+				entries.add(new Entry(archetype, type, biomeID, holder));
+				maxBiomeID = Math.max(maxBiomeID, biomeID);
+			}
+			return this;
+		}
+
+		/**
+		 *
+		 */
+		public void clear() {
+			entries.clear();
+			maxBiomeID = -1;
+		}
+
+		/**
+		 *
+		 * @return
+		 */
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		public TemplateIndex build() {
+			int biomes = maxBiomeID + 1;
+			int size = ARCHETYPES * TYPES * biomes;
+
+			// gather the holders of each slot
+			List<TemplateHolder>[] lists = new List[size];
+			for (Entry entry : entries) {
+				int slot = (entry.archetype.ordinal() * TYPES + entry.type.ordinal()) * biomes + entry.biomeID;
+				if (lists[slot] == null) {
+					lists[slot] = new ArrayList<>(3);
+				}
+				lists[slot].add(entry.holder);
+			}
+
+			// freeze the holders and compute the cumulative weights
+			List<TemplateHolder>[] holders = new List[size];
+			int[][] cumulativeWeights = new int[size][];
+			for (int slot = 0; slot < size; slot++) {
+				if (lists[slot] == null) {
+					continue;
+				}
+				holders[slot] = ImmutableList.copyOf(lists[slot]);
+				boolean weighted = false;
+				int[] weights = new int[lists[slot].size()];
+				int total = 0;
+				for (int index = 0; index < weights.length; index++) {
+					int weight = Math.max(1, lists[slot].get(index).getWeight());
+					weighted |= weight != 1;
+					total += weight;
+					weights[index] = total;
+				}
+				cumulativeWeights[slot] = weighted ? weights : null;
+			}
+			return new TemplateIndex(biomes, holders, cumulativeWeights);
+		}
+
+		/**
+		 *
+		 */
+		private static class Entry {
+			private final StructureArchetype archetype;
+			private final StructureType type;
+			private final int biomeID;
+			private final TemplateHolder holder;
+
+			Entry(StructureArchetype archetype, StructureType type, int biomeID, TemplateHolder holder) {
+				this.archetype = archetype;
+				this.type = type;
+				this.biomeID = biomeID;
+				this.holder = holder;
+			}
+		}
+	}
+}
@@ -29,9 +29,11 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import com.google.common.collect.Maps;
 import com.google.gson.Gson;
@@ -40,6 +42,7 @@ import com.google.gson.JsonParseException;
 import com.someguyssoftware.gottschcore.world.gen.structure.DecayRuleSet;
 import com.someguyssoftware.gottschcore.world.gen.structure.IDecayRuleSet;
 import com.someguyssoftware.treasure2.Treasure;
+import com.someguyssoftware.treasure2.registry.TreasureResourceLoader;
 
 import net.minecraft.util.ResourceLocation;
 
@@ -52,6 +55,8 @@ public class TreasureDecayManager {
 	// set to empty/blank list as there is only one location. current design of methods must take in a location or list of locations.
 	protected static final Gson GSON_INSTANCE = new GsonBuilder().create();
 	private final Map<String, IDecayRuleSet> ruleSetMap = Maps.<String, IDecayRuleSet>newHashMap();
+	// rulesets that are being parsed off-thread and have yet to be tabled
+	private final Map<ResourceLocation, CompletableFuture<Optional<IDecayRuleSet>>> pendingRuleSets = new LinkedHashMap<>();
 
 	private File worldSaveFolder;
 	
@@ -82,13 +87,29 @@ public class TreasureDecayManager {
 		
 		List<ResourceLocation> resourceLocations = getResourceLocations(modID, resourcePaths);
 		Treasure.LOGGER.debug("acquired resource locations -> {}", resourceLocations);
-		// load each ResourceLocation as ruleset and map it.
+		// parse each ResourceLocation as ruleset off-thread. they are mapped by tablePending().
 		resourceLocations.forEach(loc -> {
 			// need to test for world save version first
 			Treasure.LOGGER.debug("register decay -> loading decay resource loc -> {}", loc.toString());						
-			tableDecay(loc, load(loc));
+			pendingRuleSets.put(loc, TreasureResourceLoader.submit(() -> load(loc)));
 		});
 	}
+
+	/**
+	 * 
+	 * @return the futures of the rulesets that have yet to be tabled
+	 */
+	public List<CompletableFuture<Optional<IDecayRuleSet>>> getPendingFutures() {
+		return new ArrayList<>(pendingRuleSets.values());
+	}
+
+	/**
+	 * Maps the parsed rulesets. Call on the server thread.
+	 */
+	public void tablePending() {
+		pendingRuleSets.forEach((loc, future) -> tableDecay(loc, TreasureResourceLoader.getParsed(future, Optional.empty())));
+		pendingRuleSets.clear();
+	}
 	
 	/**
 	 * 
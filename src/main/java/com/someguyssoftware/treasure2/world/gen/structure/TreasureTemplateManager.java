@@ -19,6 +19,7 @@
  */
 package com.someguyssoftware.treasure2.world.gen.structure;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
@@ -33,11 +34,12 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 import javax.annotation.Nullable;
@@ -61,6 +63,7 @@ import com.someguyssoftware.treasure2.meta.StructureArchetype;
 import com.someguyssoftware.treasure2.meta.StructureMeta;
 import com.someguyssoftware.treasure2.meta.StructureType;
 import com.someguyssoftware.treasure2.registry.TreasureMetaRegistry;
+import com.someguyssoftware.treasure2.registry.TreasureResourceLoader;
 
 import net.minecraft.block.Block;
 import net.minecraft.block.state.IBlockState;
@@ -90,7 +93,15 @@ public class TreasureTemplateManager extends GottschTemplateManager {
 	
 	private final Table<IMetaArchetype, IMetaType, List<TemplateHolder>> templatesByArchetypeType = HashBasedTable.create();
 
-	private final Table<String, Integer, List<TemplateHolder>> templatesByArchetypeTypeBiome = HashBasedTable.create();
+	// collects the archetype/type/biome mappings of the tabled templates. rebuilt into the template index after loading.
+	private final TemplateIndex.Builder templateIndexBuilder = new TemplateIndex.Builder();
+
+	private volatile TemplateIndex templateIndex = TemplateIndex.EMPTY;
+
+	/*
+	 * templates that are being read off-thread and have yet to be tabled
+	 */
+	private final Map<ResourceLocation, PendingTemplate> pendingTemplates = new LinkedHashMap<>();
 
 	private static List<String> FOLDER_LOCATIONS = ImmutableList.of("surface", "subterranean", "submerged", "float", "wells");
 	
@@ -100,6 +111,9 @@ public class TreasureTemplateManager extends GottschTemplateManager {
 	private Map<StructureMarkers, Block> waterMarkerMap;
 
 	private File worldSaveFolder;
+
+	// caches the data fixed templates in the world save
+	private TemplateCache templateCache;
 	
 	/**
 	 * 
@@ -127,7 +141,8 @@ public class TreasureTemplateManager extends GottschTemplateManager {
 	 * 
 	 */
 	public void clear() {
-		templatesByArchetypeTypeBiome.clear();
+		templateIndexBuilder.clear();
+		templateIndex = TemplateIndex.EMPTY;
 		templatesByArchetypeType.clear();
 	}
 	
@@ -144,13 +159,44 @@ public class TreasureTemplateManager extends GottschTemplateManager {
 		
 		List<ResourceLocation> resourceLocations = getResourceLocations(modID, resourcePaths);
 		Treasure.LOGGER.debug("acquired template resource locations -> {}", resourceLocations);
-		// load each ResourceLocation as LootTable and map it.
+		final List<Block> markerBlocks = getMarkerScanList();
+		final Map<IBlockState, IBlockState> replacementBlocks = getReplacementMap();
+		// decompress and read each ResourceLocation as Template off-thread. they are mapped by tablePending().
 		resourceLocations.forEach(loc -> {
 			// need to test for world save version first
 			Treasure.LOGGER.debug("loading template resource loc -> {}", loc.toString());
-						
-			tableTemplate(modID, loc, load(loc, getMarkerScanList(), getReplacementMap()));
+			Template cached = getTemplates().get(loc.toString());
+			CompletableFuture<GottschTemplate> future = cached instanceof GottschTemplate
+					? CompletableFuture.completedFuture((GottschTemplate) cached)
+					: TreasureResourceLoader.submit(() -> parseTemplate(loc, markerBlocks, replacementBlocks));
+			pendingTemplates.put(loc, new PendingTemplate(modID, future));
+		});
+	}
+
+	/**
+	 * 
+	 * @return the futures of the templates that have yet to be tabled
+	 */
+	public List<CompletableFuture<GottschTemplate>> getPendingFutures() {
+		List<CompletableFuture<GottschTemplate>> futures = new ArrayList<>(pendingTemplates.size());
+		pendingTemplates.values().forEach(pending -> futures.add(pending.future));
+		return futures;
+	}
+
+	/**
+	 * Maps the read templates. Requires the metas to be tabled first. Call on the server thread.
+	 */
+	public void tablePending() {
+		pendingTemplates.forEach((loc, pending) -> {
+			GottschTemplate template = TreasureResourceLoader.getParsed(pending.future, null);
+			if (template != null) {
+				Treasure.LOGGER.debug("adding template to map with key -> {}", loc);
+				this.getTemplates().put(loc.toString(), template);
+			}
+			tableTemplate(pending.modID, loc, template);
 		});
+		pendingTemplates.clear();
+		templateIndex = templateIndexBuilder.build();
 	}
 	
 	/**
@@ -158,6 +204,24 @@ public class TreasureTemplateManager extends GottschTemplateManager {
 	 */
 	@Override
 	public boolean readTemplate(ResourceLocation location, List<Block> markerBlocks, Map<IBlockState, IBlockState> replacementBlocks) {
+		GottschTemplate template = parseTemplate(location, markerBlocks, replacementBlocks);
+		if (template == null) {
+			return false;
+		}
+		Treasure.LOGGER.debug("adding template to map with key -> {}", location);
+		this.getTemplates().put(location.toString(), template);
+		return true;
+	}
+
+	/**
+	 * Reads a template from the file system or the jar without adding it to the templates map,
+	 * so it is safe to call from a worker thread.
+	 * @param location
+	 * @param markerBlocks
+	 * @param replacementBlocks
+	 * @return the template or null if it could not be read
+	 */
+	private GottschTemplate parseTemplate(ResourceLocation location, List<Block> markerBlocks, Map<IBlockState, IBlockState> replacementBlocks) {
 		Treasure.LOGGER.debug("template path -> {}", location);
 
 		Path path = Paths.get("structures", getMod().getId(), location.getResourcePath());
@@ -169,65 +233,79 @@ public class TreasureTemplateManager extends GottschTemplateManager {
 		} else {
 			Treasure.LOGGER.debug("reading template from file system using file path -> {}", file1.getAbsolutePath());
 			InputStream inputstream = null;
-			boolean flag;
+			GottschTemplate template;
 
 			try {
 				inputstream = new FileInputStream(file1);
-				this.readTemplateFromStream(location.toString(), inputstream, markerBlocks, replacementBlocks);
-				return true;
+				return this.readTemplateFromStream(location, inputstream, markerBlocks, replacementBlocks);
 			} catch (Throwable var10) {
-				flag = false;
+				template = null;
 			} finally {
 				IOUtils.closeQuietly(inputstream);
 			}
 
-			return flag;
+			return template;
 		}
 	}
 	
 	/**
 	 * reads a template from the minecraft jar
 	 */
-	private boolean readTemplateFromJar(ResourceLocation id, List<Block> markerBlocks, Map<IBlockState, IBlockState> replacementBlocks) {
-		String s = id.getResourceDomain();
-		String s1 = id.getResourcePath();
+	private GottschTemplate readTemplateFromJar(ResourceLocation id, List<Block> markerBlocks, Map<IBlockState, IBlockState> replacementBlocks) {
 		InputStream inputstream = null;
-		boolean flag;
+		GottschTemplate template;
 
 		try {
 			Treasure.LOGGER.debug("attempting to open resource stream -> {}", id);
 			String relativePath = "structures/" + id.getResourceDomain() + "/" + id.getResourcePath();
 			Treasure.LOGGER.debug("Attempting to load template {} from jar -> {}", id, relativePath);
 			inputstream = Treasure.instance.getClass().getClassLoader().getResourceAsStream(relativePath);
-			this.readTemplateFromStream(id.toString(), inputstream, markerBlocks, replacementBlocks);
-			return true;
+			return this.readTemplateFromStream(id, inputstream, markerBlocks, replacementBlocks);
 			// TODO change from Throwable
 		} catch (Throwable var10) {
 			Treasure.LOGGER.error("error reading resource: ", var10);
-			flag = false;
+			template = null;
 		} finally {
 			IOUtils.closeQuietly(inputstream);
 		}
 
-		return flag;
+		return template;
 	}
 	
 	/**
-	 * reads a template from an inputstream
+	 * reads a template from an inputstream.
+	 * if the template cache holds the data fixed template for the same source, decompressing and data fixing are skipped.
 	 */
-	private void readTemplateFromStream(String id, InputStream stream, List<Block> markerBlocks, 
+	private GottschTemplate readTemplateFromStream(ResourceLocation id, InputStream stream, List<Block> markerBlocks, 
 			Map<IBlockState, IBlockState> replacementBlocks) throws IOException {
-		
-		NBTTagCompound nbttagcompound = CompressedStreamTools.readCompressed(stream);
 
-		if (!nbttagcompound.hasKey("DataVersion", 99)) {
-			nbttagcompound.setInteger("DataVersion", 500);
+		byte[] source = IOUtils.toByteArray(stream);
+		TemplateCache cache = this.templateCache;
+		byte[] hash = cache != null ? TemplateCache.hash(source) : null;
+
+		NBTTagCompound nbttagcompound = null;
+		if (cache != null) {
+			nbttagcompound = cache.read(id, hash).orElse(null);
+			if (nbttagcompound != null) {
+				Treasure.LOGGER.debug("read template from cache -> {}", id);
+			}
+		}
+
+		if (nbttagcompound == null) {
+			nbttagcompound = CompressedStreamTools.readCompressed(new ByteArrayInputStream(source));
+			if (!nbttagcompound.hasKey("DataVersion", 99)) {
+				nbttagcompound.setInteger("DataVersion", 500);
+			}
+			nbttagcompound = getFixer().process(FixTypes.STRUCTURE, nbttagcompound);
+			if (cache != null) {
+				cache.write(id, hash, nbttagcompound);
+			}
 		}
 
 		GottschTemplate template = new GottschTemplate();
-		template.read(getFixer().process(FixTypes.STRUCTURE, nbttagcompound), markerBlocks, replacementBlocks);
-		Treasure.LOGGER.debug("adding template to map with key -> {}", id);
-		this.getTemplates().put(id, template);
+		template.read(nbttagcompound, markerBlocks, replacementBlocks);
+		Treasure.LOGGER.debug("read template with key -> {}", id);
+		return template;
 	}
 	
 	/**
@@ -288,7 +366,8 @@ public class TreasureTemplateManager extends GottschTemplateManager {
 					.setMetaLocation(metaResourceLocation)
 					.setLocation(resourceLocation)
 					.setDecayRuleSetLocation(decayRuleSetResourceLocation)
-					.setTemplate(template);			
+					.setTemplate(template)
+					.setWeight(meta.getWeight());
 			
 			// map by resource location
 			getTemplatesByResourceLocationMap().put(resourceLocation, holder);
@@ -306,8 +385,7 @@ public class TreasureTemplateManager extends GottschTemplateManager {
 						holder.getMetaLocation(),
 						holder.getDecayRuleSetLocation());
 
-				// TODO could move the wrapping for into this method instead, then could lose the archetype that is passed in. ***!!!
-				mapToTemplatesByArchetypeBiome(metaResourceLocation, resourceLocation, decayRuleSetResourceLocation, archetype, meta.getType(), template);
+				mapToTemplatesByArchetypeBiome(meta, archetype, meta.getType(), holder);
 			}
 		}
 		else {
@@ -410,7 +488,8 @@ public class TreasureTemplateManager extends GottschTemplateManager {
 						.setMetaLocation(metaResourceLocation)
 						.setLocation(loc)
 						.setDecayRuleSetLocation(decayRuleSetResourceLocation)
-						.setTemplate(template);			
+						.setTemplate(template)
+						.setWeight(meta.getWeight());
 				
 				// map by resource location
 				getTemplatesByResourceLocationMap().put(loc, holder);
@@ -428,40 +507,31 @@ public class TreasureTemplateManager extends GottschTemplateManager {
 							holder.getMetaLocation(),
 							holder.getDecayRuleSetLocation());
 
-					// TODO could move the wrapping for into this method instead, then could lose the archetype that is passed in. ***!!!
-					mapToTemplatesByArchetypeBiome(metaResourceLocation, loc, decayRuleSetResourceLocation, archetype, meta.getType(), template);
+					mapToTemplatesByArchetypeBiome(meta, archetype, meta.getType(), holder);
 				}
 			}
 		}
+		templateIndex = templateIndexBuilder.build();
 		if (Treasure.LOGGER.isDebugEnabled()) {
 			dump();
 		}
 	}
 
 	/**
-	 * 
-	 * @param metaResourceLocation
-	 * @param location
+	 * Maps the holder to each of the biomes allowed by the meta.
+	 * @param meta
 	 * @param archetype
-	 * @param template
+	 * @param type
+	 * @param holder
 	 */
-	private void mapToTemplatesByArchetypeBiome(ResourceLocation metaResourceLocation, 
-			ResourceLocation location, List<ResourceLocation> decayResourceLocation, IMetaArchetype archetype, IMetaType type, 
-			Template template) {
+	private void mapToTemplatesByArchetypeBiome(StructureMeta meta, IMetaArchetype archetype, IMetaType type, TemplateHolder holder) {
+		if (!(archetype instanceof StructureArchetype) || !(type instanceof StructureType)) {
+			Treasure.LOGGER.debug("unable to map template with archetype:type -> {}:{}", archetype, type);
+			return;
+		}
+		StructureArchetype structureArchetype = (StructureArchetype) archetype;
+		StructureType structureType = (StructureType) type;
 
-		// build mapping key
-		String key = archetype.getName() + ":" + type.getName();
-		
-		// find the meta for the template
-		StructureMeta meta = (StructureMeta) TreasureMetaRegistry.get(metaResourceLocation.toString());
-		
-		// create a holder for the template
-		TemplateHolder holder = new TemplateHolder()
-				.setMetaLocation(metaResourceLocation)
-				.setDecayRuleSetLocation(decayResourceLocation)
-				.setLocation(location)
-				.setTemplate(template);
-		
 		// map according biomes - @see DungeonConfigManager @ line 55.
 		// TODO somehow extract the indexing of biomes to a helper class
 		if (meta.getBiomeWhiteList().contains("*")
@@ -471,10 +541,7 @@ public class TreasureTemplateManager extends GottschTemplateManager {
 				if (!BiomeDictionary.hasType(biome, Type.END)
 						&& !BiomeDictionary.hasType(biome, Type.NETHER)) {
 					Integer biomeID = Biome.getIdForBiome(biome);
-					if (!templatesByArchetypeTypeBiome.contains(key, biomeID)) {
-						templatesByArchetypeTypeBiome.put(key, biomeID, new ArrayList<>(3));
-					}					
-					templatesByArchetypeTypeBiome.get(key, biomeID).add(holder);
+					templateIndexBuilder.add(structureArchetype, structureType, biomeID, holder);
 				}
 			}
 		} else {
@@ -489,10 +556,7 @@ public class TreasureTemplateManager extends GottschTemplateManager {
 					if (biome != null && !BiomeDictionary.hasType(biome, Type.END)
 							&& !BiomeDictionary.hasType(biome, Type.NETHER)) {
 						Integer biomeID = Biome.getIdForBiome(biome);
-						if (!templatesByArchetypeTypeBiome.contains(key, biomeID)) {
-							templatesByArchetypeTypeBiome.put(key, biomeID, new ArrayList<>(3));
-						}
-						templatesByArchetypeTypeBiome.get(key, biomeID).add(holder);
+						templateIndexBuilder.add(structureArchetype, structureType, biomeID, holder);
 					}
 				}
 			} else if (!meta.getBiomeBlackList().isEmpty()) {
@@ -519,10 +583,7 @@ public class TreasureTemplateManager extends GottschTemplateManager {
 							&& !BiomeDictionary.hasType(biome, Type.END)
 							&& !BiomeDictionary.hasType(biome, Type.NETHER)) {
 						Integer biomeID = Biome.getIdForBiome(biome);
-						if (!templatesByArchetypeTypeBiome.contains(key, biomeID)) {
-							templatesByArchetypeTypeBiome.put(key, biomeID, new ArrayList<>(3));
-						}
-						templatesByArchetypeTypeBiome.get(key, biomeID).add(holder);
+						templateIndexBuilder.add(structureArchetype, structureType, biomeID, holder);
 					}
 				}
 			}
@@ -530,27 +591,20 @@ public class TreasureTemplateManager extends GottschTemplateManager {
 	}
 
 	/**
+	 * Selects a template holder by weight from the index. Does not allocate.
 	 * @param world
 	 * @param random
-	 * @param key
+	 * @param archetype
+	 * @param type
 	 * @param biome
 	 * @return
 	 */
 	public TemplateHolder getTemplate(World world, Random random, StructureArchetype archetype, StructureType type, Biome biome) {
 		// get structure by archetype (subterranean) and type (room)
-		String key =archetype.getName()	+ ":" + type.getName();
-		
-		Integer biomeID = Biome.getIdForBiome(biome);
-		
-		List<TemplateHolder> templateHolders = getTemplatesByArchetypeTypeBiomeTable().get(key, biomeID);
-		if (templateHolders == null || templateHolders.isEmpty()) {
-			Treasure.LOGGER.debug("could not find template holders for archetype:type, biome -> {} {}", key, biomeID);
-			return null;
-		}
-		
-		TemplateHolder holder = templateHolders.get(random.nextInt(templateHolders.size()));
+		int biomeID = Biome.getIdForBiome(biome);
+		TemplateHolder holder = templateIndex.select(random, archetype, type, biomeID);
 		if (holder == null) {
-			Treasure.LOGGER.debug("could not find random template holder.");
+			Treasure.LOGGER.debug("could not find template holders for archetype:type, biome -> {}:{} {}", archetype, type, biomeID);
 			return null;
 		}
 
@@ -641,24 +695,26 @@ public class TreasureTemplateManager extends GottschTemplateManager {
 		}
 		sb.append(div);
 		sb.append(String.format(heading, "[Template by Archetype:Type | Biome]"));
-		Map<String, Map<Integer, List<TemplateHolder>>> map = getTemplatesByArchetypeTypeBiomeTable().rowMap();
-		if (map == null || map.isEmpty()) { Treasure.LOGGER.debug("template biome map is null/empty");}
-		Treasure.LOGGER.debug("biome map.size -> {}", map.size());
-		
-		for (String row : map.keySet()) {
-			Treasure.LOGGER.debug("template biome row key -> {}", row);
-			Map<Integer, List<TemplateHolder>> tmp = map.get(row);
-			for (Entry<Integer, List<TemplateHolder>> entry : tmp.entrySet()) {
-				String templateNames = entry.getValue().stream().map(a -> a.getLocation().toString()).collect(Collectors.joining(", "));
-				Biome biome = Biome.getBiome(entry.getKey());
-				String biomeName = "";
-				if (biome != null) {
-					biomeName = WorldInfo.isClientSide()  ? biome.getBiomeName() : String.valueOf(Biome.getIdForBiome(biome)) ;
-				}
-				else {
-					biomeName = String.format("No biome for {}", entry.getKey());
+		TemplateIndex index = getTemplateIndex();
+		for (StructureArchetype archetype : StructureArchetype.values()) {
+			for (StructureType type : StructureType.values()) {
+				String row = archetype.getName() + ":" + type.getName();
+				for (int biomeID = 0; biomeID < index.getBiomes(); biomeID++) {
+					List<TemplateHolder> holders = index.getHolders(archetype, type, biomeID);
+					if (holders.isEmpty()) {
+						continue;
+					}
+					String templateNames = holders.stream().map(a -> a.getLocation().toString()).collect(Collectors.joining(", "));
+					Biome biome = Biome.getBiome(biomeID);
+					String biomeName = "";
+					if (biome != null) {
+						biomeName = WorldInfo.isClientSide()  ? biome.getBiomeName() : String.valueOf(Biome.getIdForBiome(biome)) ;
+					}
+					else {
+						biomeName = String.format("No biome for %s", biomeID);
+					}
+					sb.append(String.format(format2, row, biomeName, templateNames));
 				}
-				sb.append(String.format(format2, row, biomeName, templateNames));
 			}
 		}
 		
@@ -681,8 +737,8 @@ public class TreasureTemplateManager extends GottschTemplateManager {
 	 * 
 	 * @return
 	 */
-	public Table<String, Integer, List<TemplateHolder>> getTemplatesByArchetypeTypeBiomeTable() {
-		return templatesByArchetypeTypeBiome;
+	public TemplateIndex getTemplateIndex() {
+		return templateIndex;
 	}
 
 	public File getWorldSaveFolder() {
@@ -691,5 +747,20 @@ public class TreasureTemplateManager extends GottschTemplateManager {
 
 	public void setWorldSaveFolder(File worldSaveFolder) {
 		this.worldSaveFolder = worldSaveFolder;
+		this.templateCache = worldSaveFolder == null ? null 
+				: new TemplateCache(Paths.get(worldSaveFolder.getPath(), "data", "structures"), getMod().getVersion());
+	}
+
+	/**
+	 * 
+	 */
+	private static class PendingTemplate {
+		private final String modID;
+		private final CompletableFuture<GottschTemplate> future;
+
+		PendingTemplate(String modID, CompletableFuture<GottschTemplate> future) {
+			this.modID = modID;
+			this.future = future;
+		}
 	}
 }
\ No newline at end of file
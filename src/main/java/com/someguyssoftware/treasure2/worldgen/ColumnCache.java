@@ -0,0 +1,278 @@
+/**
+ *
+ */
+package com.someguyssoftware.treasure2.worldgen;
+
+import com.someguyssoftware.gottschcore.positional.Coords;
+import com.someguyssoftware.gottschcore.positional.ICoords;
+import com.someguyssoftware.gottschcore.world.WorldInfo;
+import com.someguyssoftware.treasure2.Treasure;
+import com.someguyssoftware.treasure2.generator.GenUtil;
+import com.someguyssoftware.treasure2.generator.ruins.SurfaceRuinGenerator;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+
+/**
+ * The column lookups of the Treasure world generators for the chunk being decorated - the height map value,
+ * the dry land surface, the ocean floor, the first solid block and the cavern ceiling - computed on first access
+ * and shared by all the generators of the decoration pass (see TreasureWorldGenerator).
+ * Outside of a pass, or for another world, the lookups are computed directly.
+ * <p>
+ * A generator that changes blocks must call invalidate() before it (or the next generator) reads a column again.
+ * Only used on the server thread.
+ */
+public final class ColumnCache {
+	// marks a cached lookup that found nothing
+	private static final ICoords NOT_FOUND = new Coords(0, -1, 0);
+
+	private enum Lookup {
+		HEIGHT,
+		DRY_LAND_SURFACE,
+		OCEAN_FLOOR,
+		SOLID_SURFACE,
+		UNDERGROUND_CEILING
+	}
+
+	private static ColumnCache current;
+	private static long totalChunks;
+	private static long totalHits;
+	private static long totalBlockStatesSaved;
+
+	private final World world;
+	private final int chunkX;
+	private final int chunkZ;
+	// the pass of the chunk that was being decorated when this pass began (cascading generation)
+	private final ColumnCache parent;
+	// lookup ordinal -> coords of the lookup (packed as a block pos) -> result
+	private final Long2ObjectMap<ICoords>[] results;
+	private int lookups;
+	private int hits;
+	private long blockStatesSaved;
+
+	@SuppressWarnings("unchecked")
+	private ColumnCache(World world, int chunkX, int chunkZ, ColumnCache parent) {
+		this.world = world;
+		this.chunkX = chunkX;
+		this.chunkZ = chunkZ;
+		this.parent = parent;
+		this.results = new Long2ObjectMap[Lookup.values().length];
+		for (int index = 0; index < results.length; index++) {
+			results[index] = new Long2ObjectOpenHashMap<>();
+		}
+	}
+
+	/**
+	 * Begins the decoration pass of a chunk. A chunk that is generated while another one is being decorated
+	 * may change the columns of the other, so the columns of the other chunk's pass are discarded.
+	 * @param world
+	 * @param chunkX
+	 * @param chunkZ
+	 */
+	public static void begin(World world, int chunkX, int chunkZ) {
+		if (current != null) {
+			current.clear();
+		}
+		current = new ColumnCache(world, chunkX, chunkZ, current);
+	}
+
+	/**
+	 * Ends the decoration pass of the current chunk and discards its columns.
+	 */
+	public static void end() {
+		if (current == null) {
+			return;
+		}
+		ColumnCache pass = current;
+		current = pass.parent;
+
+		totalChunks++;
+		totalHits += pass.hits;
+		totalBlockStatesSaved += pass.blockStatesSaved;
+		if (pass.hits > 0 && Treasure.LOGGER.isDebugEnabled()) {
+			Treasure.LOGGER.debug("column cache for chunk [{}, {}] -> lookups: {}, hits: {}, block states saved: {}",
+					pass.chunkX, pass.chunkZ, pass.lookups, pass.hits, pass.blockStatesSaved);
+		}
+	}
+
+	/**
+	 * Discards all the columns of the current pass.
+	 * Called after blocks are changed.
+	 */
+	public static void invalidate() {
+		if (current != null) {
+			current.clear();
+		}
+	}
+
+	/**
+	 * Discards the lookups of a single column of the current pass.
+	 * @param coords any coords of the column
+	 */
+	public static void invalidate(ICoords coords) {
+		if (current == null) {
+			return;
+		}
+		for (Long2ObjectMap<ICoords> map : current.results) {
+			for (LongIterator iterator = map.keySet().iterator(); iterator.hasNext();) {
+				BlockPos pos = BlockPos.fromLong(iterator.nextLong());
+				if (pos.getX() == coords.getX() && pos.getZ() == coords.getZ()) {
+					iterator.remove();
+				}
+			}
+		}
+	}
+
+	/**
+	 *
+	 * @param world
+	 * @param x
+	 * @param z
+	 * @return the height map value of the column (the first surface y - could be leaves, trunk, water, etc)
+	 */
+	public static int getHeightValue(World world, int x, int z) {
+		ColumnCache pass = get(world);
+		ICoords coords = new Coords(x, 0, z);
+		if (pass == null) {
+			return computeHeightValue(world, coords).getY();
+		}
+		return pass.lookup(Lookup.HEIGHT, coords).getY();
+	}
+
+	/**
+	 * See WorldInfo.getDryLandSurfaceCoords().
+	 * @param world
+	 * @param coords
+	 * @return
+	 */
+	public static ICoords getDryLandSurfaceCoords(World world, ICoords coords) {
+		ColumnCache pass = get(world);
+		return pass == null ? WorldInfo.getDryLandSurfaceCoords(world, coords) : pass.lookup(Lookup.DRY_LAND_SURFACE, coords);
+	}
+
+	/**
+	 * See WorldInfo.getOceanFloorSurfaceCoords().
+	 * @param world
+	 * @param coords
+	 * @return
+	 */
+	public static ICoords getOceanFloorSurfaceCoords(World world, ICoords coords) {
+		ColumnCache pass = get(world);
+		return pass == null ? WorldInfo.getOceanFloorSurfaceCoords(world, coords) : pass.lookup(Lookup.OCEAN_FLOOR, coords);
+	}
+
+	/**
+	 * See SurfaceRuinGenerator.getSolidSurfaceCoords().
+	 * @param world
+	 * @param coords
+	 * @return
+	 */
+	public static ICoords getSolidSurfaceCoords(World world, ICoords coords) {
+		ColumnCache pass = get(world);
+		return pass == null ? SurfaceRuinGenerator.getSolidSurfaceCoords(world, coords) : pass.lookup(Lookup.SOLID_SURFACE, coords);
+	}
+
+	/**
+	 * See GenUtil.findUndergroundCeiling().
+	 * @param world
+	 * @param coords
+	 * @return
+	 */
+	public static ICoords findUndergroundCeiling(World world, ICoords coords) {
+		ColumnCache pass = get(world);
+		return pass == null ? GenUtil.findUndergroundCeiling(world, coords) : pass.lookup(Lookup.UNDERGROUND_CEILING, coords);
+	}
+
+	public static long getTotalChunks() {
+		return totalChunks;
+	}
+
+	public static long getTotalHits() {
+		return totalHits;
+	}
+
+	public static long getTotalBlockStatesSaved() {
+		return totalBlockStatesSaved;
+	}
+
+	/**
+	 *
+	 * @param world
+	 * @return the current pass if it belongs to the world, else null
+	 */
+	private static ColumnCache get(World world) {
+		return current != null && current.world == world ? current : null;
+	}
+
+	private static ICoords computeHeightValue(World world, ICoords coords) {
+		int y = world.getChunkFromBlockCoords(coords.toPos()).getHeightValue(coords.getX() & 15, coords.getZ() & 15);
+		return coords.withY(y);
+	}
+
+	/**
+	 *
+	 * @param lookup
+	 * @param coords
+	 * @return the cached result or the computed result, null if the lookup found nothing
+	 */
+	private ICoords lookup(Lookup lookup, ICoords coords) {
+		lookups++;
+		long key = coords.toPos().toLong();
+		Long2ObjectMap<ICoords> map = results[lookup.ordinal()];
+		ICoords result = map.get(key);
+		if (result != null) {
+			hits++;
+			blockStatesSaved += getBlockStateCount(lookup, coords, result);
+			return result == NOT_FOUND ? null : result;
+		}
+
+		switch (lookup) {
+		case HEIGHT:
+			result = computeHeightValue(world, coords);
+			break;
+		case DRY_LAND_SURFACE:
+			result = WorldInfo.getDryLandSurfaceCoords(world, coords);
+			break;
+		case OCEAN_FLOOR:
+			result = WorldInfo.getOceanFloorSurfaceCoords(world, coords);
+			break;
+		case SOLID_SURFACE:
+			result = SurfaceRuinGenerator.getSolidSurfaceCoords(world, coords);
+			break;
+		case UNDERGROUND_CEILING:
+			result = GenUtil.findUndergroundCeiling(world, coords);
+			break;
+		}
+		map.put(key, result == null ? NOT_FOUND : result);
+		return result;
+	}
+
+	/**
+	 * The number of blocks the walk of a lookup reads, ie. the distance from the start to the result.
+	 * A walk may read more than one block state per block, so this is a lower bound of the block states it reads.
+	 * The height map value doesn't read any blocks.
+	 * @param lookup
+	 * @param start
+	 * @param result
+	 * @return
+	 */
+	private static int getBlockStateCount(Lookup lookup, ICoords start, ICoords result) {
+		if (lookup == Lookup.HEIGHT) {
+			return 0;
+		}
+		if (result == NOT_FOUND || !WorldInfo.isValidY(result)) {
+			// walked to the bottom, top or fail safe of the column
+			return lookup == Lookup.UNDERGROUND_CEILING ? 50 : start.getY() + 1;
+		}
+		return Math.abs(start.getY() - result.getY()) + 1;
+	}
+
+	private void clear() {
+		for (Long2ObjectMap<ICoords> map : results) {
+			map.clear();
+		}
+	}
+}
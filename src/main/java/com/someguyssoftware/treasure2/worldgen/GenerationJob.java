@@ -0,0 +1,112 @@
+/**
+ *
+ */
+package com.someguyssoftware.treasure2.worldgen;
+
+import com.someguyssoftware.gottschcore.positional.Coords;
+import com.someguyssoftware.gottschcore.positional.ICoords;
+import com.someguyssoftware.treasure2.Treasure;
+import com.someguyssoftware.treasure2.enums.Rarity;
+import com.someguyssoftware.treasure2.enums.WorldGeneratorType;
+
+import net.minecraft.nbt.NBTTagCompound;
+
+/**
+ * A structure that a world generator has chosen a site for and queued to be generated later (see GenerationQueue).
+ * Holds only what is needed to generate the structure again after a restart: the generator, the site, the rarity
+ * and the seed of the random the structure is generated with.
+ * Immutable.
+ */
+public final class GenerationJob {
+	private static final String TYPE_TAG_NAME = "type";
+	private static final String X_TAG_NAME = "x";
+	private static final String Y_TAG_NAME = "y";
+	private static final String Z_TAG_NAME = "z";
+	private static final String RARITY_TAG_NAME = "rarity";
+	private static final String SEED_TAG_NAME = "seed";
+	private static final String RADIUS_TAG_NAME = "radius";
+
+	private final WorldGeneratorType type;
+	private final ICoords coords;
+	private final Rarity rarity;
+	private final long seed;
+	// the number of blocks around the coords the structure is expected to change
+	private final int radius;
+
+	/**
+	 *
+	 * @param type the world generator that queued the job
+	 * @param coords the site
+	 * @param rarity the rarity of the chest or null if the generator has no rarities
+	 * @param seed
+	 * @param radius the number of blocks around the coords the structure is expected to change
+	 */
+	public GenerationJob(WorldGeneratorType type, ICoords coords, Rarity rarity, long seed, int radius) {
+		this.type = type;
+		this.coords = coords;
+		this.rarity = rarity;
+		this.seed = seed;
+		this.radius = radius;
+	}
+
+	/**
+	 *
+	 * @param tag
+	 * @return the job or null if the tag doesn't hold a known generator type
+	 */
+	public static GenerationJob read(NBTTagCompound tag) {
+		try {
+			WorldGeneratorType type = WorldGeneratorType.valueOf(tag.getString(TYPE_TAG_NAME));
+			Rarity rarity = tag.hasKey(RARITY_TAG_NAME) ? Rarity.valueOf(tag.getString(RARITY_TAG_NAME)) : null;
+			ICoords coords = new Coords(tag.getInteger(X_TAG_NAME), tag.getInteger(Y_TAG_NAME), tag.getInteger(Z_TAG_NAME));
+			return new GenerationJob(type, coords, rarity, tag.getLong(SEED_TAG_NAME), tag.getInteger(RADIUS_TAG_NAME));
+		}
+		catch (IllegalArgumentException e) {
+			Treasure.LOGGER.warn("Unable to read generation job -> {}", tag);
+			return null;
+		}
+	}
+
+	/**
+	 *
+	 * @param tag
+	 * @return
+	 */
+	public NBTTagCompound write(NBTTagCompound tag) {
+		tag.setString(TYPE_TAG_NAME, type.name());
+		tag.setInteger(X_TAG_NAME, coords.getX());
+		tag.setInteger(Y_TAG_NAME, coords.getY());
+		tag.setInteger(Z_TAG_NAME, coords.getZ());
+		if (rarity != null) {
+			tag.setString(RARITY_TAG_NAME, rarity.name());
+		}
+		tag.setLong(SEED_TAG_NAME, seed);
+		tag.setInteger(RADIUS_TAG_NAME, radius);
+		return tag;
+	}
+
+	public WorldGeneratorType getType() {
+		return type;
+	}
+
+	public ICoords getCoords() {
+		return coords;
+	}
+
+	public Rarity getRarity() {
+		return rarity;
+	}
+
+	public long getSeed() {
+		return seed;
+	}
+
+	public int getRadius() {
+		return radius;
+	}
+
+	@Override
+	public String toString() {
+		return "GenerationJob [type=" + type + ", coords=" + coords.toShortString() + ", rarity=" + rarity + "]";
+	}
+}
@@ -0,0 +1,206 @@
+/**
+ *
+ */
+package com.someguyssoftware.treasure2.worldgen;
+
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import com.someguyssoftware.gottschcore.positional.ICoords;
+import com.someguyssoftware.treasure2.Treasure;
+import com.someguyssoftware.treasure2.config.TreasureConfig;
+import com.someguyssoftware.treasure2.enums.WorldGeneratorType;
+import com.someguyssoftware.treasure2.persistence.GenerationQueueData;
+
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.IChunkProvider;
+
+/**
+ * Generates the structures that the world generators of a world have queued, so that a structure that spans several
+ * chunks (ex. a wither tree grove or a ruin) isn't generated inside the decoration of a single chunk, where it loads
+ * the chunks around it and takes the whole tick. Each server tick, the queued jobs whose chunks are loaded and populated
+ * are generated, in the order they were queued, until the configured number of milliseconds has passed (a job is never
+ * split). Jobs whose chunks aren't loaded wait, however long it takes; the queue never loads chunks itself. A job is
+ * only dropped when its generation fails, and then its generator releases what it reserved for it (see
+ * ITreasureWorldGenerator.discardJob).
+ * With a budget of 0 milliseconds, jobs are generated when they are queued, ie. during chunk generation.
+ * The jobs are saved with the world (see GenerationQueueData).
+ * Server thread only.
+ */
+public class GenerationQueue {
+	// dimension -> service
+	private static final Map<Integer, GenerationQueue> SERVICES = new HashMap<>();
+
+	// the saved queue, or null if the dimension hasn't queued any jobs
+	private GenerationQueueData data;
+
+	/**
+	 *
+	 * @param world
+	 * @return the service of the world's dimension
+	 */
+	public static GenerationQueue get(World world) {
+		int dimensionID = world.provider.getDimension();
+		GenerationQueue service = SERVICES.get(dimensionID);
+		if (service == null) {
+			service = new GenerationQueue();
+			service.data = GenerationQueueData.get(world, false);
+			if (service.data != null && !service.data.getJobs().isEmpty()) {
+				Treasure.LOGGER.debug("loaded {} queued generation jobs for dimension {}", service.data.getJobs().size(), dimensionID);
+			}
+			SERVICES.put(dimensionID, service);
+		}
+		return service;
+	}
+
+	/**
+	 * Discards the service of the world's dimension. The jobs remain saved with the world.
+	 * @param world
+	 */
+	public static void unload(World world) {
+		SERVICES.remove(world.provider.getDimension());
+	}
+
+	/**
+	 *
+	 * @return whether jobs are queued, else they are generated when they are submitted
+	 */
+	public static boolean isEnabled() {
+		return TreasureConfig.WORLD_GEN.getGeneralProperties().generationMillisPerTick > 0;
+	}
+
+	/**
+	 * Queues the job, or generates it now if the queue isn't enabled.
+	 * @param world
+	 * @param random the random of the world generator
+	 * @param job
+	 */
+	public void submit(World world, Random random, GenerationJob job) {
+		if (!isEnabled()) {
+			generate(world, random, job);
+			return;
+		}
+		if (data == null) {
+			data = GenerationQueueData.get(world, true);
+		}
+		data.getJobs().add(job);
+		data.markDirty();
+		Treasure.LOGGER.debug("queued {}", job);
+	}
+
+	/**
+	 * Generates the queued jobs whose chunks are loaded, within the configured milliseconds.
+	 * Each job is visited at most once per tick.
+	 * @param world
+	 */
+	public void tick(World world) {
+		if (data == null || data.getJobs().isEmpty()) {
+			return;
+		}
+		// jobs that were queued before the queue was disabled are still generated
+		long budget = TimeUnit.MILLISECONDS.toNanos(Math.max(1, TreasureConfig.WORLD_GEN.getGeneralProperties().generationMillisPerTick));
+		long startTime = System.nanoTime();
+
+		Deque<GenerationJob> jobs = data.getJobs();
+		int remaining = jobs.size();
+		int generated = 0;
+		while (remaining-- > 0 && System.nanoTime() - startTime < budget) {
+			GenerationJob job = jobs.pollFirst();
+			if (!isLoaded(world, job)) {
+				jobs.addLast(job);
+				continue;
+			}
+			generate(world, new Random(job.getSeed()), job);
+			generated++;
+		}
+
+		if (generated > 0) {
+			data.markDirty();
+			Treasure.LOGGER.debug("generated {} queued jobs in {} ms, {} remaining", generated,
+					TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime), jobs.size());
+		}
+	}
+
+	/**
+	 *
+	 * @param type
+	 * @param coords
+	 * @param minDistance
+	 * @return whether a job of the generator type is queued within the distance of the coords
+	 */
+	public boolean isQueuedWithinDistance(WorldGeneratorType type, ICoords coords, int minDistance) {
+		if (data == null) {
+			return false;
+		}
+		double minDistanceSq = minDistance * minDistance;
+		for (GenerationJob job : data.getJobs()) {
+			if (job.getType() == type && coords.getDistanceSq(job.getCoords()) < minDistanceSq) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 *
+	 * @return the number of queued jobs
+	 */
+	public int size() {
+		return data == null ? 0 : data.getJobs().size();
+	}
+
+	/**
+	 *
+	 * @param world
+	 * @param job
+	 * @return whether the chunks within the radius of the job are loaded and populated
+	 */
+	private static boolean isLoaded(World world, GenerationJob job) {
+		IChunkProvider chunkProvider = world.getChunkProvider();
+		ICoords coords = job.getCoords();
+		int radius = job.getRadius();
+		for (int chunkX = (coords.getX() - radius) >> 4; chunkX <= (coords.getX() + radius) >> 4; chunkX++) {
+			for (int chunkZ = (coords.getZ() - radius) >> 4; chunkZ <= (coords.getZ() + radius) >> 4; chunkZ++) {
+				Chunk chunk = chunkProvider.getLoadedChunk(chunkX, chunkZ);
+				if (chunk == null || !chunk.isTerrainPopulated()) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * A job that fails, or fails with an exception, is logged and dropped, so that a saved job can't fail every tick,
+	 * and its generator releases what it reserved for it.
+	 * @param world
+	 * @param random
+	 * @param job
+	 */
+	private static void generate(World world, Random random, GenerationJob job) {
+		ITreasureWorldGenerator generator = Treasure.WORLD_GENERATORS.get(job.getType());
+		if (generator == null) {
+			Treasure.LOGGER.warn("Unable to locate the world generator of {}", job);
+			return;
+		}
+		boolean isGenerated = false;
+		try {
+			isGenerated = generator.generateJob(world, random, job);
+			Treasure.LOGGER.debug("{} generated -> {}", job, isGenerated);
+		}
+		catch (Exception e) {
+			Treasure.LOGGER.error("Unable to generate " + job + ":", e);
+		}
+		finally {
+			ColumnCache.invalidate();
+		}
+		if (!isGenerated) {
+			Treasure.LOGGER.info("{} failed to generate; releasing its site", job);
+			generator.discardJob(world, job);
+		}
+	}
+}
@@ -0,0 +1,121 @@
+/**
+ *
+ */
+package com.someguyssoftware.treasure2.worldgen;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import com.someguyssoftware.treasure2.Treasure;
+import com.someguyssoftware.treasure2.biome.BiomeFilter;
+import com.someguyssoftware.treasure2.config.IChestConfig;
+import com.someguyssoftware.treasure2.config.IWellConfig;
+import com.someguyssoftware.treasure2.config.IWitherTreeConfig;
+import com.someguyssoftware.treasure2.config.TreasureConfig;
+import com.someguyssoftware.treasure2.enums.Rarity;
+import com.someguyssoftware.treasure2.enums.WorldGeneratorType;
+
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import it.unimi.dsi.fastutil.ints.IntSet;
+
+/**
+ * The dimensions and biomes the world generators are allowed in, compiled from the config, so that the per chunk
+ * checks are a set lookup and a table lookup instead of list scans.
+ * Built when frozen (after post init) or on first use, and rebuilt after the config is changed.
+ * Immutable.
+ */
+public final class GeneratorEligibility {
+	private static volatile GeneratorEligibility instance;
+
+	private final IntSet dimensions;
+	// generator type -> biome filter by rarity ordinal, or a single filter if the generator has no rarities
+	private final Map<WorldGeneratorType, BiomeFilter[]> biomeFilters = new EnumMap<>(WorldGeneratorType.class);
+
+	private GeneratorEligibility() {
+		dimensions = new IntOpenHashSet();
+		for (Integer dimension : TreasureConfig.WORLD_GEN.getGeneralProperties().getDimensionsWhiteList()) {
+			if (dimension != null) {
+				dimensions.add(dimension.intValue());
+			}
+		}
+
+		biomeFilters.put(WorldGeneratorType.SURFACE_CHEST, compile(TreasureConfig.CHESTS.surfaceChests.configMap));
+		biomeFilters.put(WorldGeneratorType.SUBMERGED_CHEST, compile(TreasureConfig.CHESTS.submergedChests.configMap));
+		IWellConfig well = TreasureConfig.WELL;
+		biomeFilters.put(WorldGeneratorType.WELL, new BiomeFilter[] {BiomeFilter.compile(well.getBiomeWhiteList(), well.getBiomeBlackList(),
+				well.getBiomeTypeWhiteList(), well.getBiomeTypeBlackList())});
+		IWitherTreeConfig tree = TreasureConfig.WITHER_TREE;
+		biomeFilters.put(WorldGeneratorType.WITHER_TREE, new BiomeFilter[] {BiomeFilter.compile(tree.getBiomeWhiteList(), tree.getBiomeBlackList(),
+				tree.getBiomeTypeWhiteList(), tree.getBiomeTypeBlackList())});
+	}
+
+	private static BiomeFilter[] compile(Map<Rarity, IChestConfig> configs) {
+		BiomeFilter[] filters = new BiomeFilter[Rarity.values().length];
+		for (Entry<Rarity, IChestConfig> entry : configs.entrySet()) {
+			IChestConfig config = entry.getValue();
+			if (config != null) {
+				filters[entry.getKey().ordinal()] = BiomeFilter.compile(config.getBiomeWhiteList(), config.getBiomeBlackList(),
+						config.getBiomeTypeWhiteList(), config.getBiomeTypeBlackList());
+			}
+		}
+		return filters;
+	}
+
+	/**
+	 *
+	 * @return the eligibility of the current config, built first if needed
+	 */
+	public static GeneratorEligibility get() {
+		GeneratorEligibility eligibility = instance;
+		if (eligibility == null) {
+			synchronized (GeneratorEligibility.class) {
+				eligibility = instance;
+				if (eligibility == null) {
+					eligibility = new GeneratorEligibility();
+					instance = eligibility;
+				}
+			}
+		}
+		return eligibility;
+	}
+
+	/**
+	 * Builds the eligibility once the biomes and biome types are registered.
+	 */
+	public static void freeze() {
+		get();
+		Treasure.LOGGER.debug("generator eligibility built for dimensions -> {}", instance.dimensions);
+	}
+
+	/**
+	 * Discards the eligibility after the config has been (re)loaded.
+	 */
+	public static void invalidate() {
+		instance = null;
+	}
+
+	/**
+	 *
+	 * @param dimension
+	 * @return whether world generation is allowed in the dimension
+	 */
+	public boolean isDimensionAllowed(int dimension) {
+		return dimensions.contains(dimension);
+	}
+
+	/**
+	 *
+	 * @param type
+	 * @param rarity the rarity of the chest or null if the generator has no rarities
+	 * @return the biome filter of the generator (and rarity), or a filter that allows all biomes if there isn't a config
+	 */
+	public BiomeFilter getBiomeFilter(WorldGeneratorType type, Rarity rarity) {
+		BiomeFilter[] filters = biomeFilters.get(type);
+		if (filters == null) {
+			return BiomeFilter.NONE;
+		}
+		BiomeFilter filter = filters[rarity == null || filters.length == 1 ? 0 : rarity.ordinal()];
+		return filter == null ? BiomeFilter.NONE : filter;
+	}
+}
@@ -3,6 +3,9 @@
  */
 package com.someguyssoftware.treasure2.worldgen;
 
+import java.util.Random;
+
+import net.minecraft.world.World;
 import net.minecraftforge.fml.common.IWorldGenerator;
 
 /**
@@ -11,4 +14,24 @@ import net.minecraftforge.fml.common.IWorldGenerator;
  */
 public interface ITreasureWorldGenerator extends IWorldGenerator {
 	void init();
+
+	/**
+	 * Generates the structure of a job that this generator submitted to the GenerationQueue.
+	 * @param world
+	 * @param random
+	 * @param job
+	 * @return whether the structure was generated
+	 */
+	default boolean generateJob(World world, Random random, GenerationJob job) {
+		return false;
+	}
+
+	/**
+	 * Releases what this generator reserved for a job whose generation failed, and re-arms the chunk counts that were
+	 * reset when it was queued. Called by the GenerationQueue, which then drops the job.
+	 * @param world
+	 * @param job
+	 */
+	default void discardJob(World world, GenerationJob job) {
+	}
 }
@@ -17,19 +17,20 @@ import java.util.List;
 import java.util.Map;
 import java.util.Random;
 
-import com.someguyssoftware.gottschcore.biome.BiomeHelper;
 import com.someguyssoftware.gottschcore.positional.Coords;
 import com.someguyssoftware.gottschcore.positional.ICoords;
 import com.someguyssoftware.gottschcore.random.RandomHelper;
 import com.someguyssoftware.gottschcore.random.RandomWeightedCollection;
 import com.someguyssoftware.gottschcore.world.WorldInfo;
 import com.someguyssoftware.treasure2.Treasure;
+import com.someguyssoftware.treasure2.biome.BiomeFilter;
 import com.someguyssoftware.treasure2.biome.TreasureBiomeHelper;
 import com.someguyssoftware.treasure2.biome.TreasureBiomeHelper.Result;
 import com.someguyssoftware.treasure2.chest.ChestInfo;
 import com.someguyssoftware.treasure2.config.IChestConfig;
 import com.someguyssoftware.treasure2.config.TreasureConfig;
 import com.someguyssoftware.treasure2.enums.Rarity;
+import com.someguyssoftware.treasure2.enums.WorldGeneratorType;
 import com.someguyssoftware.treasure2.generator.ChestGeneratorData;
 import com.someguyssoftware.treasure2.generator.GeneratorData;
 import com.someguyssoftware.treasure2.generator.GeneratorResult;
@@ -46,7 +47,8 @@ import com.someguyssoftware.treasure2.generator.chest.ScarceChestGenerator;
 import com.someguyssoftware.treasure2.generator.chest.SkullChestGenerator;
 import com.someguyssoftware.treasure2.generator.chest.UncommonChestGenerator;
 import com.someguyssoftware.treasure2.generator.ruins.SubmergedRuinGenerator;
-import com.someguyssoftware.treasure2.persistence.GenDataPersistence;
+import com.someguyssoftware.treasure2.persistence.GenStateData;
+import com.someguyssoftware.treasure2.persistence.GenStateData.ChestGenState;
 import com.someguyssoftware.treasure2.registry.ChestRegistry;
 
 import net.minecraft.init.Biomes;
@@ -62,12 +64,11 @@ import net.minecraftforge.common.BiomeDictionary;
  *
  */
 public class SubmergedChestWorldGenerator implements ITreasureWorldGenerator {
-	private int chunksSinceLastChest;
-	private Map<Rarity, Integer> chunksSinceLastRarityChest;
-
 	private Map<Rarity, RandomWeightedCollection<IChestGenerator>> chestCollectionGeneratorsMap = new HashMap<>();
 
 	private static final List<Rarity> RARITIES = new ArrayList<>();
+	// the chest, its markers or the submerged ruins above it
+	private static final int STRUCTURE_RADIUS = 32;
 	
 	/**
 	 * 
@@ -83,15 +84,6 @@ public class SubmergedChestWorldGenerator implements ITreasureWorldGenerator {
 	public void init() {
 		RARITIES.clear();
 		
-		// initialize chunks since last array
-		chunksSinceLastChest = 0;
-		chunksSinceLastRarityChest = new HashMap<>(Rarity.values().length);
-		
-		// setup temporary rarity-generators map
-		for (Rarity rarity : Rarity.values()) {
-			chunksSinceLastRarityChest.put(rarity, 0);
-		}
-				
 		// setup chest collection generator maps
 		if (TreasureConfig.CHESTS.submergedChests.configMap.get(COMMON).isEnableChest()) {
 			RARITIES.add(COMMON);
@@ -143,7 +135,7 @@ public class SubmergedChestWorldGenerator implements ITreasureWorldGenerator {
 			return;
 		}
 		
-		if (TreasureConfig.WORLD_GEN.getGeneralProperties().getDimensionsWhiteList().contains(Integer.valueOf(world.provider.getDimension()))) {
+		if (GeneratorEligibility.get().isDimensionAllowed(world.provider.getDimension())) {
 			generate(world, random, chunkX, chunkZ);
 		}
 		
@@ -180,18 +172,21 @@ public class SubmergedChestWorldGenerator implements ITreasureWorldGenerator {
 			return;
 		}
 		
+		// get the generator state of the dimension
+		GenStateData genState = GenStateData.get(world);
+		ChestGenState state = genState.getSubmergedChestState();
+
 		// increment the chunk counts
-		chunksSinceLastChest++;
+		state.setChunksSinceLastChest(state.getChunksSinceLastChest() + 1);
 		for (Rarity rarity : RARITIES) {
-			Integer i = chunksSinceLastRarityChest.get(rarity);
-			chunksSinceLastRarityChest.put(rarity, ++i);			
+			state.incrementChunksSinceLastRarityChest(rarity);
 		}
 
 		// test if min chunks was met
-     	if (chunksSinceLastChest > TreasureConfig.CHESTS.submergedChests.minChunksPerChest) {
+     	if (state.getChunksSinceLastChest() > TreasureConfig.CHESTS.submergedChests.minChunksPerChest) {
            
             // the get first surface y (could be leaves, trunk, water, etc)
-            int ySpawn = world.getChunkFromChunkCoords(chunkX, chunkZ).getHeightValue(WorldInfo.CHUNK_RADIUS, WorldInfo.CHUNK_RADIUS);
+            int ySpawn = ColumnCache.getHeightValue(world, xSpawn, zSpawn);
             coords = new Coords(xSpawn, ySpawn, zSpawn);
 
 	    	// determine what type to generate
@@ -202,7 +197,7 @@ public class SubmergedChestWorldGenerator implements ITreasureWorldGenerator {
 				return;
 			}
 			
-    		if (chunksSinceLastRarityChest.get(rarity) >= chestConfig.getChunksPerChest()) {
+    		if (state.getChunksSinceLastRarityChest(rarity) >= chestConfig.getChunksPerChest()) {
 				// 1. test if chest meets the probability criteria
 				if (!RandomHelper.checkProbability(random, chestConfig.getGenProbability())) {
 					Treasure.LOGGER.debug("Submerged chest does not meet generate probability.");
@@ -210,7 +205,8 @@ public class SubmergedChestWorldGenerator implements ITreasureWorldGenerator {
 				}
 				
 				// 2. test if the override (global) biome is allowed
-				TreasureBiomeHelper.Result biomeCheck =TreasureBiomeHelper.isBiomeAllowed(biome, chestConfig.getBiomeWhiteList(), chestConfig.getBiomeBlackList());
+				BiomeFilter biomeFilter = GeneratorEligibility.get().getBiomeFilter(WorldGeneratorType.SUBMERGED_CHEST, rarity);
+				TreasureBiomeHelper.Result biomeCheck = biomeFilter.getResult(biome);
 				if(biomeCheck == Result.BLACK_LISTED ) {
 		    		if (WorldInfo.isClientSide(world)) {
 		    			Treasure.LOGGER.debug("{} is not a valid biome @ {}", biome.getBiomeName(), coords.toShortString());
@@ -221,7 +217,7 @@ public class SubmergedChestWorldGenerator implements ITreasureWorldGenerator {
 					return;
 				}
 				else if (biomeCheck == Result.OK) {
-				    if (!BiomeHelper.isBiomeAllowed(biome, chestConfig.getBiomeTypeWhiteList(), chestConfig.getBiomeTypeBlackList())) {
+				    if (!biomeFilter.isTypeAllowed(biome)) {
 				    	if (Treasure.LOGGER.isDebugEnabled()) {
 				    		if (WorldInfo.isClientSide(world)) {
 				    			Treasure.LOGGER.debug("{} is not a valid biome type @ {}", biome.getBiomeName(), coords.toShortString());
@@ -241,28 +237,51 @@ public class SubmergedChestWorldGenerator implements ITreasureWorldGenerator {
      			}
      			     			
     			// reset chunks since last common chest regardless of successful generation - makes more rare and realistic and configurable generation.
-    			chunksSinceLastRarityChest.put(rarity, 0);
+    			state.setChunksSinceLastRarityChest(rarity, 0);
+    			// reset the chunk count when the chest is queued, so that the next chunks don't queue chests until the min. chunks are met again
+    			state.setChunksSinceLastChest(0);
  			
-    			// generate the chest/pit/chambers
+    			// reserve the chest, so that the chests of the chunks generated before it respect the distance to it
+    			ChestRegistry.getInstance().register(world.provider.getDimension(), coords.toShortString(), new ChestInfo(rarity, coords));
+
+    			// generate the chest/pit/chambers once the chunks around it are loaded
 				Treasure.LOGGER.debug("Attempting to generate pit/chest.");
-				GeneratorResult<GeneratorData> result = null;
-				result = generate(world, random, coords, rarity, chestCollectionGeneratorsMap.get(rarity).next(), TreasureConfig.CHESTS.submergedChests.configMap.get(rarity));
-				
-    			if (result.isSuccess()) {
-    				// add to registry
-    				ChestRegistry.getInstance().register(coords.toShortString(), new ChestInfo(rarity, coords));
-    				// reset the chunk counts
-        			chunksSinceLastChest = 0;
-    			}
+				GenerationQueue.get(world).submit(world, random, new GenerationJob(WorldGeneratorType.SUBMERGED_CHEST, coords, rarity, random.nextLong(), STRUCTURE_RADIUS));
     		}
 
 	     	// save world data
-    		GenDataPersistence savedData = GenDataPersistence.get(world);
-	    	if (savedData != null) {
-	    		savedData.markDirty();
-	    	}
+    		genState.markDirty();
      	}
 	}
+
+	/**
+	 * 
+	 */
+	@Override
+	public boolean generateJob(World world, Random random, GenerationJob job) {
+		ICoords coords = job.getCoords();
+		Rarity rarity = job.getRarity();
+		GeneratorResult<GeneratorData> result = null;
+		if (chestCollectionGeneratorsMap.containsKey(rarity)) {
+			result = generate(world, random, coords, rarity, chestCollectionGeneratorsMap.get(rarity).next(), TreasureConfig.CHESTS.submergedChests.configMap.get(rarity));
+			ColumnCache.invalidate();
+		}
+
+		return result != null && result.isSuccess();
+	}
+
+	/**
+	 * Releases the reserved chest and re-arms the chunk count that was reset when the job was queued, so that the next
+	 * chunk can queue a chest again.
+	 */
+	@Override
+	public void discardJob(World world, GenerationJob job) {
+		ChestRegistry.getInstance().unregister(world.provider.getDimension(), job.getCoords().toShortString());
+		GenStateData genState = GenStateData.get(world);
+		ChestGenState state = genState.getSubmergedChestState();
+		state.setChunksSinceLastChest(Math.max(state.getChunksSinceLastChest(), TreasureConfig.CHESTS.submergedChests.minChunksPerChest));
+		genState.markDirty();
+	}
 	
 	public GeneratorResult<GeneratorData> generate(World world, Random random, ICoords coords, Rarity chestRarity, 
 			IChestGenerator chestSelector, IChestConfig config) {
@@ -273,7 +292,7 @@ public class SubmergedChestWorldGenerator implements ITreasureWorldGenerator {
 		GeneratorResult<ChestGeneratorData> genResult = new GeneratorResult<>(ChestGeneratorData.class);		
 
 		// 1. collect location data points
-		ICoords surfaceCoords = WorldInfo.getOceanFloorSurfaceCoords(world, coords);
+		ICoords surfaceCoords = ColumnCache.getOceanFloorSurfaceCoords(world, coords);
 		Treasure.LOGGER.debug("ocean floor surface coords -> {}", surfaceCoords.toShortString());
 		if (!WorldInfo.isValidY(surfaceCoords)) {
 			Treasure.LOGGER.debug("ocean floor surface coords are invalid @ {}", surfaceCoords.toShortString());
@@ -361,41 +380,8 @@ public class SubmergedChestWorldGenerator implements ITreasureWorldGenerator {
 	 * @return
 	 */
 	public boolean isRegisteredChestWithinDistance(World world, ICoords coords, int minDistance) {
-		
-		double minDistanceSq = minDistance * minDistance;
-		
-		// get a list of dungeons
-		List<ChestInfo> infos = ChestRegistry.getInstance().getValues();
-
-		if (infos == null || infos.size() == 0) {
-			Treasure.LOGGER.debug("Unable to locate the ChestConfig Registry or the Registry doesn't contain any values");
-			return false;
-		}
-		
-		for (ChestInfo info : infos) {
-			// calculate the distance to the poi
-			double distance = coords.getDistanceSq(info.getCoords());
-			if (distance < minDistanceSq) {
-				return true;
-			}
-		}
-		return false;
-	}
-
-	public int getChunksSinceLastChest() {
-		return chunksSinceLastChest;
-	}
-
-	public void setChunksSinceLastChest(int chunksSinceLastChest) {
-		this.chunksSinceLastChest = chunksSinceLastChest;
-	}
-
-	public Map<Rarity, Integer> getChunksSinceLastRarityChest() {
-		return chunksSinceLastRarityChest;
-	}
-
-	public void setChunksSinceLastRarityChest(Map<Rarity, Integer> chunksSinceLastRarityChest) {
-		this.chunksSinceLastRarityChest = chunksSinceLastRarityChest;
+		// query the dimension's proximity index
+		return ChestRegistry.getInstance().findWithin(world.provider.getDimension(), coords, minDistance) != null;
 	}
 
 	public Map<Rarity, RandomWeightedCollection<IChestGenerator>> getChestCollectionGeneratorsMap() {
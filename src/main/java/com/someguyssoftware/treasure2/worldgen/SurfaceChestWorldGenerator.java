@@ -20,7 +20,6 @@ import java.util.stream.Collectors;
 
 import com.google.common.collect.HashBasedTable;
 import com.google.common.collect.Table;
-import com.someguyssoftware.gottschcore.biome.BiomeHelper;
 import com.someguyssoftware.gottschcore.positional.Coords;
 import com.someguyssoftware.gottschcore.positional.ICoords;
 import com.someguyssoftware.gottschcore.random.RandomHelper;
@@ -28,6 +27,7 @@ import com.someguyssoftware.gottschcore.random.RandomWeightedCollection;
 import com.someguyssoftware.gottschcore.world.WorldInfo;
 import com.someguyssoftware.gottschcore.world.gen.structure.IDecayRuleSet;
 import com.someguyssoftware.treasure2.Treasure;
+import com.someguyssoftware.treasure2.biome.BiomeFilter;
 import com.someguyssoftware.treasure2.biome.TreasureBiomeHelper;
 import com.someguyssoftware.treasure2.biome.TreasureBiomeHelper.Result;
 import com.someguyssoftware.treasure2.chest.ChestInfo;
@@ -36,6 +36,7 @@ import com.someguyssoftware.treasure2.config.TreasureConfig;
 import com.someguyssoftware.treasure2.enums.PitTypes;
 import com.someguyssoftware.treasure2.enums.Pits;
 import com.someguyssoftware.treasure2.enums.Rarity;
+import com.someguyssoftware.treasure2.enums.WorldGeneratorType;
 import com.someguyssoftware.treasure2.generator.ChestGeneratorData;
 import com.someguyssoftware.treasure2.generator.GeneratorData;
 import com.someguyssoftware.treasure2.generator.GeneratorResult;
@@ -63,7 +64,8 @@ import com.someguyssoftware.treasure2.generator.pit.StructurePitGenerator;
 import com.someguyssoftware.treasure2.generator.pit.TntTrapPitGenerator;
 import com.someguyssoftware.treasure2.generator.pit.VolcanoPitGenerator;
 import com.someguyssoftware.treasure2.generator.ruins.SurfaceRuinGenerator;
-import com.someguyssoftware.treasure2.persistence.GenDataPersistence;
+import com.someguyssoftware.treasure2.persistence.GenStateData;
+import com.someguyssoftware.treasure2.persistence.GenStateData.ChestGenState;
 import com.someguyssoftware.treasure2.registry.ChestRegistry;
 import com.someguyssoftware.treasure2.world.gen.structure.TemplateHolder;
 
@@ -81,9 +83,8 @@ import net.minecraftforge.common.BiomeDictionary;
  */
 public class SurfaceChestWorldGenerator implements ITreasureWorldGenerator {
 	protected static int UNDERGROUND_OFFSET = 5;
-	
-	private int chunksSinceLastChest;
-	private Map<Rarity, Integer> chunksSinceLastRarityChest;
+	// the pit, its markers or the ruins above it
+	private static final int STRUCTURE_RADIUS = 32;
 	
 	// the chest chestGeneratorsMap
 	private Map<Rarity, RandomWeightedCollection<IChestGenerator>> chestGenMap = new HashMap<>();
@@ -106,16 +107,6 @@ public class SurfaceChestWorldGenerator implements ITreasureWorldGenerator {
 	
 	@Override
 	public void init() {
-		// TODO all these values need to be indexed by dimension
-		// initialize chunks since last array
-		chunksSinceLastChest = 0;
-		chunksSinceLastRarityChest = new HashMap<>(Rarity.values().length);
-		
-		// setup temporary rarity-generators map
-		for (Rarity rarity : Rarity.values()) {
-			chunksSinceLastRarityChest.put(rarity, 0);
-		}
-	
 		// setup chest collection generator maps
 		if (TreasureConfig.CHESTS.surfaceChests.configMap.get(COMMON).isEnableChest()) {
 			RARITIES.add(COMMON);
@@ -191,7 +182,7 @@ public class SurfaceChestWorldGenerator implements ITreasureWorldGenerator {
 	 */
 	@Override
 	public void generate(Random random, int chunkX, int chunkZ, World world, IChunkGenerator chunkGenerator, IChunkProvider chunkProvider) {
-		if (TreasureConfig.WORLD_GEN.getGeneralProperties().getDimensionsWhiteList().contains(Integer.valueOf(world.provider.getDimension()))) {
+		if (GeneratorEligibility.get().isDimensionAllowed(world.provider.getDimension())) {
 			generate(world, random, chunkX, chunkZ);
 		}
 	}
@@ -219,19 +210,21 @@ public class SurfaceChestWorldGenerator implements ITreasureWorldGenerator {
 			return;
 		}
 		
-		// increment the chunk counts
-		chunksSinceLastChest++;
+		// get the generator state of the dimension
+		GenStateData genState = GenStateData.get(world);
+		ChestGenState state = genState.getSurfaceChestState();
 
+		// increment the chunk counts
+		state.setChunksSinceLastChest(state.getChunksSinceLastChest() + 1);
 		for (Rarity rarity : RARITIES) {
-			Integer i = chunksSinceLastRarityChest.get(rarity);
-			chunksSinceLastRarityChest.put(rarity, ++i);			
+			state.incrementChunksSinceLastRarityChest(rarity);
 		}
 
 		// test if min chunks was met
-     	if (chunksSinceLastChest > TreasureConfig.CHESTS.surfaceChests.minChunksPerChest) {
+     	if (state.getChunksSinceLastChest() > TreasureConfig.CHESTS.surfaceChests.minChunksPerChest) {
             
             // the get first surface y (could be leaves, trunk, water, etc)
-            int ySpawn = world.getChunkFromChunkCoords(chunkX, chunkZ).getHeightValue(WorldInfo.CHUNK_RADIUS, WorldInfo.CHUNK_RADIUS);
+            int ySpawn = ColumnCache.getHeightValue(world, xSpawn, zSpawn);
             coords = new Coords(xSpawn, ySpawn, zSpawn);
 
 	    	// determine what type to generate
@@ -243,7 +236,7 @@ public class SurfaceChestWorldGenerator implements ITreasureWorldGenerator {
 			}
 //			Treasure.logger.debug("Chunks since last {} chest: {}", rarity,  chunksSinceLastRarityChest.get(rarity) );
 //			Treasure.logger.debug("Chunks per {} chest: {}", rarity, chestConfig.getChunksPerChest());
-    		if (chunksSinceLastRarityChest.get(rarity) >= chestConfig.getChunksPerChest()) {
+    		if (state.getChunksSinceLastRarityChest(rarity) >= chestConfig.getChunksPerChest()) {
     			    			
 				// 1. test if chest meets the probability criteria
 				if (!RandomHelper.checkProbability(random, chestConfig.getGenProbability())) {
@@ -252,7 +245,8 @@ public class SurfaceChestWorldGenerator implements ITreasureWorldGenerator {
 				}
 				
 				// 2. test if the override (global) biome is allowed
-				TreasureBiomeHelper.Result biomeCheck =TreasureBiomeHelper.isBiomeAllowed(biome, chestConfig.getBiomeWhiteList(), chestConfig.getBiomeBlackList());
+				BiomeFilter biomeFilter = GeneratorEligibility.get().getBiomeFilter(WorldGeneratorType.SURFACE_CHEST, rarity);
+				TreasureBiomeHelper.Result biomeCheck = biomeFilter.getResult(biome);
 				if(biomeCheck == Result.BLACK_LISTED ) {
 		    		if (WorldInfo.isClientSide(world)) {
 		    			Treasure.LOGGER.debug("{} is not a valid biome @ {}", biome.getBiomeName(), coords.toShortString());
@@ -263,7 +257,7 @@ public class SurfaceChestWorldGenerator implements ITreasureWorldGenerator {
 					return;
 				}
 				else if (biomeCheck == Result.OK) {
-				    if (!BiomeHelper.isBiomeAllowed(biome, chestConfig.getBiomeTypeWhiteList(), chestConfig.getBiomeTypeBlackList())) {
+				    if (!biomeFilter.isTypeAllowed(biome)) {
 				    	if (Treasure.LOGGER.isDebugEnabled()) {
 				    		if (WorldInfo.isClientSide(world)) {
 				    			Treasure.LOGGER.debug("{} is not a valid biome type @ {}", biome.getBiomeName(), coords.toShortString());
@@ -283,28 +277,51 @@ public class SurfaceChestWorldGenerator implements ITreasureWorldGenerator {
      			}
      			     			
     			// reset chunks since last common chest regardless of successful generation - makes more rare and realistic and configurable generation.
-    			chunksSinceLastRarityChest.put(rarity, 0);
+    			state.setChunksSinceLastRarityChest(rarity, 0);
+    			// reset the chunk count when the chest is queued, so that the next chunks don't queue chests until the min. chunks are met again
+    			state.setChunksSinceLastChest(0);
  			
-    			// generate the chest/pit/chambers
+    			// reserve the chest, so that the chests of the chunks generated before it respect the distance to it
+    			ChestRegistry.getInstance().register(world.provider.getDimension(), coords.toShortString(), new ChestInfo(rarity, coords));
+
+    			// generate the chest/pit/chambers once the chunks around it are loaded
 				Treasure.LOGGER.debug("Attempting to generate pit/chest.");
-				GeneratorResult<GeneratorData> result = null;
-				result = generate(world, random, coords, rarity, chestGenMap.get(rarity).next(), TreasureConfig.CHESTS.surfaceChests.configMap.get(rarity));
-				
-    			if (result.isSuccess()) {
-    				// add to registry
-    				ChestRegistry.getInstance().register(coords.toShortString(), new ChestInfo(rarity, coords));
-    				// reset the chunk counts
-        			chunksSinceLastChest = 0;
-    			}
+				GenerationQueue.get(world).submit(world, random, new GenerationJob(WorldGeneratorType.SURFACE_CHEST, coords, rarity, random.nextLong(), STRUCTURE_RADIUS));
     		}
 
 	     	// save world data
-    		GenDataPersistence savedData = GenDataPersistence.get(world);
-	    	if (savedData != null) {
-	    		savedData.markDirty();
-	    	}
+    		genState.markDirty();
      	}
 	}
+
+	/**
+	 * 
+	 */
+	@Override
+	public boolean generateJob(World world, Random random, GenerationJob job) {
+		ICoords coords = job.getCoords();
+		Rarity rarity = job.getRarity();
+		GeneratorResult<GeneratorData> result = null;
+		if (chestGenMap.containsKey(rarity)) {
+			result = generate(world, random, coords, rarity, chestGenMap.get(rarity).next(), TreasureConfig.CHESTS.surfaceChests.configMap.get(rarity));
+			ColumnCache.invalidate();
+		}
+
+		return result != null && result.isSuccess();
+	}
+
+	/**
+	 * Releases the reserved chest and re-arms the chunk count that was reset when the job was queued, so that the next
+	 * chunk can queue a chest again.
+	 */
+	@Override
+	public void discardJob(World world, GenerationJob job) {
+		ChestRegistry.getInstance().unregister(world.provider.getDimension(), job.getCoords().toShortString());
+		GenStateData genState = GenStateData.get(world);
+		ChestGenState state = genState.getSurfaceChestState();
+		state.setChunksSinceLastChest(Math.max(state.getChunksSinceLastChest(), TreasureConfig.CHESTS.surfaceChests.minChunksPerChest));
+		genState.markDirty();
+	}
 	
 	/**
 	 * 
@@ -330,7 +347,7 @@ public class SurfaceChestWorldGenerator implements ITreasureWorldGenerator {
 		GeneratorResult<ChestGeneratorData> genResult = new GeneratorResult<>(ChestGeneratorData.class);		
 
 		// 1. collect location data points
-		ICoords surfaceCoords = WorldInfo.getDryLandSurfaceCoords(world, coords);
+		ICoords surfaceCoords = ColumnCache.getDryLandSurfaceCoords(world, coords);
 		Treasure.LOGGER.debug("surface coords -> {}", surfaceCoords.toShortString());
 		if (!WorldInfo.isValidY(surfaceCoords)) {
 			Treasure.LOGGER.debug("surface coords are invalid @ {}", surfaceCoords.toShortString());
@@ -377,6 +394,7 @@ public class SurfaceChestWorldGenerator implements ITreasureWorldGenerator {
 		}
 	
 		GeneratorResult<ChestGeneratorData> chestResult = chestGenerator.generate(world, random, chestCoords, chestRarity, genResult.getData().getChestContext().getState());
+		ColumnCache.invalidate();
 		if (!chestResult.isSuccess()) {
 			return result.fail();
 		}
@@ -424,6 +442,7 @@ public class SurfaceChestWorldGenerator implements ITreasureWorldGenerator {
 
 		// build the structure
 		GeneratorResult<ChestGeneratorData> genResult = generator.generate(world, random, spawnCoords, holder, decayRuleSet);
+		ColumnCache.invalidate();
 		Treasure.LOGGER.debug("surface struct result -> {}", genResult);
 		if (!genResult.isSuccess()) return result.fail();
 
@@ -467,6 +486,7 @@ public class SurfaceChestWorldGenerator implements ITreasureWorldGenerator {
 		
 		// 3. build the pit
 		pitResult = pitGenerator.generate(world, random, markerCoords, spawnCoords);
+		ColumnCache.invalidate();
 
 		if (!pitResult.isSuccess()) return result.fail();
 
@@ -532,7 +552,7 @@ public class SurfaceChestWorldGenerator implements ITreasureWorldGenerator {
 		Treasure.LOGGER.debug("ySpawn -> {}", ySpawn);
 		spawnPos = new Coords(pos.getX(), ySpawn, pos.getZ());
 		// get floor pos (if in a cavern or tunnel etc)
-		spawnPos = WorldInfo.getDryLandSurfaceCoords(world, spawnPos);
+		spawnPos = ColumnCache.getDryLandSurfaceCoords(world, spawnPos);
 
 		return spawnPos;
 	}
@@ -565,41 +585,8 @@ public class SurfaceChestWorldGenerator implements ITreasureWorldGenerator {
 	 * @return
 	 */
 	public boolean isRegisteredChestWithinDistance(World world, ICoords coords, int minDistance) {
-		
-		double minDistanceSq = minDistance * minDistance;
-		
-		// get a list of dungeons
-		List<ChestInfo> infos = ChestRegistry.getInstance().getValues();
-
-		if (infos == null || infos.size() == 0) {
-			Treasure.LOGGER.debug("Unable to locate the ChestConfig Registry or the Registry doesn't contain any values");
-			return false;
-		}
-		
-		for (ChestInfo info : infos) {
-			// calculate the distance to the poi
-			double distance = coords.getDistanceSq(info.getCoords());
-			if (distance < minDistanceSq) {
-				return true;
-			}
-		}
-		return false;
-	}
-
-	public int getChunksSinceLastChest() {
-		return chunksSinceLastChest;
-	}
-
-	public void setChunksSinceLastChest(int chunksSinceLastChest) {
-		this.chunksSinceLastChest = chunksSinceLastChest;
-	}
-
-	public Map<Rarity, Integer> getChunksSinceLastRarityChest() {
-		return chunksSinceLastRarityChest;
-	}
-
-	public void setChunksSinceLastRarityChest(Map<Rarity, Integer> chunksSinceLastRarityChest) {
-		this.chunksSinceLastRarityChest = chunksSinceLastRarityChest;
+		// query the dimension's proximity index
+		return ChestRegistry.getInstance().findWithin(world.provider.getDimension(), coords, minDistance) != null;
 	}
 
 	public Map<Rarity, RandomWeightedCollection<IChestGenerator>> getChestGenMap() {
@@ -0,0 +1,54 @@
+/**
+ *
+ */
+package com.someguyssoftware.treasure2.worldgen;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.IChunkProvider;
+import net.minecraft.world.gen.IChunkGenerator;
+import net.minecraftforge.fml.common.IWorldGenerator;
+
+/**
+ * Runs the Treasure world generators of a chunk as one decoration pass, so that they share the column lookups
+ * of the chunk (see ColumnCache). Registered in place of the individual generators.
+ */
+public class TreasureWorldGenerator implements IWorldGenerator {
+	private final List<ITreasureWorldGenerator> generators;
+
+	/**
+	 *
+	 * @param generators in the order to run them
+	 */
+	public TreasureWorldGenerator(Collection<ITreasureWorldGenerator> generators) {
+		this.generators = new ArrayList<>(generators);
+	}
+
+	@Override
+	public void generate(Random random, int chunkX, int chunkZ, World world, IChunkGenerator chunkGenerator, IChunkProvider chunkProvider) {
+		// each generator gets the random of the chunk as it did when registered on its own (see GameRegistry.generateWorld())
+		long chunkSeed = getChunkSeed(world, chunkX, chunkZ);
+		ColumnCache.begin(world, chunkX, chunkZ);
+		try {
+			for (ITreasureWorldGenerator generator : generators) {
+				random.setSeed(chunkSeed);
+				generator.generate(random, chunkX, chunkZ, world, chunkGenerator, chunkProvider);
+			}
+		}
+		finally {
+			ColumnCache.end();
+		}
+	}
+
+	private static long getChunkSeed(World world, int chunkX, int chunkZ) {
+		long worldSeed = world.getSeed();
+		Random fmlRandom = new Random(worldSeed);
+		long xSeed = fmlRandom.nextLong() >> 2 + 1L;
+		long zSeed = fmlRandom.nextLong() >> 2 + 1L;
+		return (xSeed * chunkX + zSeed * chunkZ) ^ worldSeed;
+	}
+}
@@ -3,26 +3,25 @@
  */
 package com.someguyssoftware.treasure2.worldgen;
 
-import java.util.List;
 import java.util.Random;
 
-import com.someguyssoftware.gottschcore.biome.BiomeHelper;
 import com.someguyssoftware.gottschcore.positional.Coords;
 import com.someguyssoftware.gottschcore.positional.ICoords;
 import com.someguyssoftware.gottschcore.random.RandomHelper;
 import com.someguyssoftware.gottschcore.world.WorldInfo;
 import com.someguyssoftware.treasure2.Treasure;
+import com.someguyssoftware.treasure2.biome.BiomeFilter;
 import com.someguyssoftware.treasure2.biome.TreasureBiomeHelper;
 import com.someguyssoftware.treasure2.biome.TreasureBiomeHelper.Result;
-import com.someguyssoftware.treasure2.chest.ChestInfo;
 import com.someguyssoftware.treasure2.config.IWellConfig;
 import com.someguyssoftware.treasure2.config.TreasureConfig;
 import com.someguyssoftware.treasure2.enums.Wells;
+import com.someguyssoftware.treasure2.enums.WorldGeneratorType;
 import com.someguyssoftware.treasure2.generator.GeneratorData;
 import com.someguyssoftware.treasure2.generator.GeneratorResult;
 import com.someguyssoftware.treasure2.generator.well.IWellGenerator;
 import com.someguyssoftware.treasure2.generator.well.WellGenerator;
-import com.someguyssoftware.treasure2.persistence.GenDataPersistence;
+import com.someguyssoftware.treasure2.persistence.GenStateData;
 import com.someguyssoftware.treasure2.registry.ChestRegistry;
 
 import net.minecraft.init.Biomes;
@@ -40,8 +39,8 @@ import net.minecraftforge.common.BiomeDictionary;
 public class WellWorldGenerator implements ITreasureWorldGenerator {
 	// the number of blocks of half a chunk (radius) (a chunk is 16x16)
 	public static final int CHUNK_RADIUS = 8;
-
-	private int chunksSinceLastWell;
+	// the well and the flowers, trees and blocks around it
+	private static final int WELL_RADIUS = 8;
 
 	// the well geneators
 	private IWellGenerator<GeneratorResult<GeneratorData>> generator = new WellGenerator();
@@ -59,8 +58,7 @@ public class WellWorldGenerator implements ITreasureWorldGenerator {
 
 	@Override
 	public void init() {
-		// intialize chunks since last array
-		chunksSinceLastWell = 0;
+		// the chunks since last well is held per dimension by GenStateData
 	}
 
 	/**
@@ -68,7 +66,7 @@ public class WellWorldGenerator implements ITreasureWorldGenerator {
 	 */
 	@Override
 	public void generate(Random random, int chunkX, int chunkZ, World world, IChunkGenerator chunkGenerator, IChunkProvider chunkProvider) {
-		if (TreasureConfig.WORLD_GEN.getGeneralProperties().getDimensionsWhiteList().contains(Integer.valueOf(world.provider.getDimension()))) {
+		if (GeneratorEligibility.get().isDimensionAllowed(world.provider.getDimension())) {
 			generate(world, random, chunkX, chunkZ);
 		}
 //		switch(world.provider.getDimension()){
@@ -104,17 +102,18 @@ public class WellWorldGenerator implements ITreasureWorldGenerator {
 			return;
 		}
 		
-		// increment the chunk counts
-		chunksSinceLastWell++;
+		// get the generator state of the dimension
+		GenStateData genState = GenStateData.get(world);
 
-		GeneratorResult<GeneratorData> result = new GeneratorResult<>(GeneratorData.class);
+		// increment the chunk counts
+		genState.setChunksSinceLastWell(genState.getChunksSinceLastWell() + 1);
 
 		// test if min chunks was met
-		if (chunksSinceLastWell > TreasureConfig.WELL.chunksPerWell) {
+		if (genState.getChunksSinceLastWell() > TreasureConfig.WELL.chunksPerWell) {
 //			Treasure.logger.debug(String.format("Gen: pass first test: chunksSinceLast: %d, minChunks: %d", chunksSinceLastWell, TreasureConfig.minChunksPerWell));
 
 			// get first surface y (could be leaves, trunk, water, etc)
-			int ySpawn = world.getChunkFromChunkCoords(chunkX, chunkZ).getHeightValue(8, 8);
+			int ySpawn = ColumnCache.getHeightValue(world, xSpawn, zSpawn);
 			coords = new Coords(xSpawn, ySpawn, zSpawn);
 
 			// determine what type to generate
@@ -125,17 +124,18 @@ public class WellWorldGenerator implements ITreasureWorldGenerator {
 				return;
 			}
 
-			if (chunksSinceLastWell >= wellConfig.getChunksPerWell()) {
+			if (genState.getChunksSinceLastWell() >= wellConfig.getChunksPerWell()) {
 
 				// 1. test if correct biome
 				// TODO this whole biome check should be wrapped in a method that returns true/false
-				TreasureBiomeHelper.Result biomeCheck =TreasureBiomeHelper.isBiomeAllowed(biome, wellConfig.getBiomeWhiteList(), wellConfig.getBiomeBlackList());
+				BiomeFilter biomeFilter = GeneratorEligibility.get().getBiomeFilter(WorldGeneratorType.WELL, null);
+				TreasureBiomeHelper.Result biomeCheck = biomeFilter.getResult(biome);
 				if(biomeCheck == Result.BLACK_LISTED ) {
-					chunksSinceLastWell = 0;
+					genState.setChunksSinceLastWell(0);
 					return;
 				}
 				else if (biomeCheck == Result.OK) {
-					if (!BiomeHelper.isBiomeAllowed(biome, wellConfig.getBiomeTypeWhiteList(), wellConfig.getBiomeTypeBlackList())) {
+					if (!biomeFilter.isTypeAllowed(biome)) {
 						if (Treasure.LOGGER.isDebugEnabled()) {
 				    		if (WorldInfo.isClientSide(world)) {
 				    			Treasure.LOGGER.debug("{} is not a valid biome @ {} for Well", biome.getBiomeName(), coords.toShortString());
@@ -144,7 +144,7 @@ public class WellWorldGenerator implements ITreasureWorldGenerator {
 				    			Treasure.LOGGER.debug("Biome is not valid @ {} for Well", coords.toShortString());
 				    		}
 						}
-						chunksSinceLastWell = 0;
+						genState.setChunksSinceLastWell(0);
 						return;
 					}
 				}
@@ -156,28 +156,40 @@ public class WellWorldGenerator implements ITreasureWorldGenerator {
 					return;
 				}
 
-				// increment chunks since last common chest regardless of successful generation - makes more rare and realistic and configurable generation.
-				chunksSinceLastWell++;    	    	
+				// reset the chunk count when the well is queued, so that the next chunks don't queue wells until the chunks per well are met again
+				genState.setChunksSinceLastWell(0);
 
-				// generate the well
+				// generate the well once the chunks around it are loaded
 				Treasure.LOGGER.debug("Attempting to generate a well");
 //				isGenerated = generators.get(well)
-				result = generator.generate(world, random, coords, wellConfig); 
-				Treasure.LOGGER.debug("well world gen result -> {}", result.isSuccess());
-				if (result.isSuccess()) {
-					// add to registry
-					//				ChestRegistry.getInstance().register(coords.toShortString(), new ChestInfo(rarity, coords));
-					chunksSinceLastWell = 0;
-				}
+				GenerationQueue.get(world).submit(world, random, new GenerationJob(WorldGeneratorType.WELL, coords, null, random.nextLong(), WELL_RADIUS));
 			}
 			// save world data
-			GenDataPersistence savedData = GenDataPersistence.get(world);
-			if (savedData != null) {
-				savedData.markDirty();
-			}
+			genState.markDirty();
 		}
 	}
 
+	/**
+	 * 
+	 */
+	@Override
+	public boolean generateJob(World world, Random random, GenerationJob job) {
+		GeneratorResult<GeneratorData> result = generator.generate(world, random, job.getCoords(), TreasureConfig.WELL); 
+		ColumnCache.invalidate();
+		Treasure.LOGGER.debug("well world gen result -> {}", result.isSuccess());
+		return result.isSuccess();
+	}
+
+	/**
+	 * Re-arms the chunk count that was reset when the job was queued, so that the next chunk can queue a well again.
+	 */
+	@Override
+	public void discardJob(World world, GenerationJob job) {
+		GenStateData genState = GenStateData.get(world);
+		genState.setChunksSinceLastWell(Math.max(genState.getChunksSinceLastWell(), TreasureConfig.WELL.getChunksPerWell()));
+		genState.markDirty();
+	}
+
 	/**
 	 * 
 	 * @param world
@@ -206,40 +218,8 @@ public class WellWorldGenerator implements ITreasureWorldGenerator {
 	 * @return
 	 */
 	public boolean isRegisteredChestWithinDistance(World world, ICoords coords, int minDistance) {
-
-		double minDistanceSq = minDistance * minDistance;
-
-		// get a list of dungeons
-		List<ChestInfo> infos = ChestRegistry.getInstance().getValues();
-
-		if (infos == null || infos.size() == 0) {
-			Treasure.LOGGER.debug("Unable to locate the ChestConfig Registry or the Registry doesn't contain any values");
-			return false;
-		}
-
-		for (ChestInfo info : infos) {
-			// calculate the distance to the poi
-			double distance = coords.getDistanceSq(info.getCoords());
-			//		    Dungeons2.log.debug("Dungeon dist^2: " + distance);
-			if (distance < minDistanceSq) {
-				return true;
-			}
-		}
-		return false;
-	}
-
-	/**
-	 * @return the chunksSinceLastWell
-	 */
-	public int getChunksSinceLastWell() {
-		return chunksSinceLastWell;
-	}
-
-	/**
-	 * @param chunksSinceLastWell the chunksSinceLastWell to set
-	 */
-	public void setChunksSinceLastWell(int chunksSinceLastWell) {
-		this.chunksSinceLastWell = chunksSinceLastWell;
+		// query the dimension's proximity index
+		return ChestRegistry.getInstance().findWithin(world.provider.getDimension(), coords, minDistance) != null;
 	}
 
 //	/**
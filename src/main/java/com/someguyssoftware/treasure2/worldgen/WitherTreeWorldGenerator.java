@@ -7,7 +7,6 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
 
-import com.someguyssoftware.gottschcore.biome.BiomeHelper;
 import com.someguyssoftware.gottschcore.cube.Cube;
 import com.someguyssoftware.gottschcore.enums.Direction;
 import com.someguyssoftware.gottschcore.positional.Coords;
@@ -15,6 +14,7 @@ import com.someguyssoftware.gottschcore.positional.ICoords;
 import com.someguyssoftware.gottschcore.random.RandomHelper;
 import com.someguyssoftware.gottschcore.world.WorldInfo;
 import com.someguyssoftware.treasure2.Treasure;
+import com.someguyssoftware.treasure2.biome.BiomeFilter;
 import com.someguyssoftware.treasure2.biome.TreasureBiomeHelper;
 import com.someguyssoftware.treasure2.biome.TreasureBiomeHelper.Result;
 import com.someguyssoftware.treasure2.block.ITreasureBlock;
@@ -27,11 +27,13 @@ import com.someguyssoftware.treasure2.chest.ChestInfo;
 import com.someguyssoftware.treasure2.config.IWitherTreeConfig;
 import com.someguyssoftware.treasure2.config.TreasureConfig;
 import com.someguyssoftware.treasure2.enums.Rarity;
+import com.someguyssoftware.treasure2.enums.WorldGeneratorType;
+import com.someguyssoftware.treasure2.generator.BlockPlacementBuffer;
 import com.someguyssoftware.treasure2.generator.ChestGeneratorData;
 import com.someguyssoftware.treasure2.generator.GeneratorData;
 import com.someguyssoftware.treasure2.generator.GeneratorResult;
 import com.someguyssoftware.treasure2.generator.chest.WitherChestGenerator;
-import com.someguyssoftware.treasure2.persistence.GenDataPersistence;
+import com.someguyssoftware.treasure2.persistence.GenStateData;
 import com.someguyssoftware.treasure2.registry.ChestRegistry;
 import com.someguyssoftware.treasure2.registry.WitherTreeRegistry;
 import com.someguyssoftware.treasure2.registry.WitherTreeRegistry.WitherTreeInfo;
@@ -61,6 +63,8 @@ public class WitherTreeWorldGenerator implements ITreasureWorldGenerator {
 	private static final int DEGREES = 360;
 	private static final double MIN_RADIUS = 5.0;
 	private static final double MAX_RADIUS = 10.0;
+	// the supporting trees with their clearings and branches
+	private static final int GROVE_RADIUS = (int) MAX_RADIUS + CLEARING_RADIUS + 3;
 	private static final int MIN_MAIN_TREE_SIZE = 9;
 	private static final int MIN_TREE_SIZE = 7;
 	private static final int WITHER_ROOT_PROBABILITY = 50;
@@ -102,8 +106,6 @@ public class WitherTreeWorldGenerator implements ITreasureWorldGenerator {
 		topMatrix.add(null);
 	}
 
-	private int chunksSinceLastTree;
-
 	/**
 	 * 
 	 */
@@ -119,8 +121,7 @@ public class WitherTreeWorldGenerator implements ITreasureWorldGenerator {
 	 * 
 	 */
 	public void init() {
-		// intialize chunks since last array
-		chunksSinceLastTree = 0;
+		// the chunks since last tree is held per dimension by GenStateData
 	}
 
 	/**
@@ -129,8 +130,7 @@ public class WitherTreeWorldGenerator implements ITreasureWorldGenerator {
 	@Override
 	public void generate(Random random, int chunkX, int chunkZ, World world, IChunkGenerator chunkGenerator,
 			IChunkProvider chunkProvider) {
-		if (TreasureConfig.WORLD_GEN.getGeneralProperties().getDimensionsWhiteList()
-				.contains(Integer.valueOf(world.provider.getDimension()))) {
+		if (GeneratorEligibility.get().isDimensionAllowed(world.provider.getDimension())) {
 			generate(world, random, chunkX, chunkZ);
 		}
 	}
@@ -159,16 +159,18 @@ public class WitherTreeWorldGenerator implements ITreasureWorldGenerator {
 				|| BiomeDictionary.hasType(biome, BiomeDictionary.Type.OCEAN)) {
 			return;
 		}
-		Integer biomeID = Biome.getIdForBiome(biome);
 		
+		// get the generator state of the dimension
+		GenStateData genState = GenStateData.get(world);
+
 		// increment the chunk counts
-		chunksSinceLastTree++;
+		genState.setChunksSinceLastTree(genState.getChunksSinceLastTree() + 1);
 
 		// test if min chunks was met
-		if (chunksSinceLastTree > TreasureConfig.WITHER_TREE.chunksPerTree) {
+		if (genState.getChunksSinceLastTree() > TreasureConfig.WITHER_TREE.chunksPerTree) {
 
 			// get first surface y (could be leaves, trunk, water, etc)
-			int ySpawn = world.getChunkFromChunkCoords(chunkX, chunkZ).getHeightValue(8, 8);
+			int ySpawn = ColumnCache.getHeightValue(world, xSpawn, zSpawn);
 			coords = new Coords(xSpawn, ySpawn, zSpawn);
 
 			// determine what type to generate
@@ -178,17 +180,16 @@ public class WitherTreeWorldGenerator implements ITreasureWorldGenerator {
 				return;
 			}
 
-			if (chunksSinceLastTree >= treeConfig.getChunksPerTree()) {
+			if (genState.getChunksSinceLastTree() >= treeConfig.getChunksPerTree()) {
 				// 1. test if correct biome
 				// if not the correct biome, reset the count
-				TreasureBiomeHelper.Result biomeCheck = TreasureBiomeHelper.isBiomeAllowed(biome,
-						treeConfig.getBiomeWhiteList(), treeConfig.getBiomeBlackList());
+				BiomeFilter biomeFilter = GeneratorEligibility.get().getBiomeFilter(WorldGeneratorType.WITHER_TREE, null);
+				TreasureBiomeHelper.Result biomeCheck = biomeFilter.getResult(biome);
 				if (biomeCheck == Result.BLACK_LISTED) {
-					chunksSinceLastTree = 0;
+					genState.setChunksSinceLastTree(0);
 					return;
 				} else if (biomeCheck == Result.OK) {
-					if (!BiomeHelper.isBiomeAllowed(biome, treeConfig.getBiomeTypeWhiteList(),
-							treeConfig.getBiomeTypeBlackList())) {
+					if (!biomeFilter.isTypeAllowed(biome)) {
 						if (Treasure.LOGGER.isDebugEnabled()) {
 							if (WorldInfo.isClientSide(world)) {
 								Treasure.LOGGER.debug("{} is not a valid biome @ {} for Wither Tree",
@@ -198,7 +199,7 @@ public class WitherTreeWorldGenerator implements ITreasureWorldGenerator {
 										coords.toShortString());
 							}
 						}
-						chunksSinceLastTree = 0;
+						genState.setChunksSinceLastTree(0);
 						return;
 					}
 				}
@@ -217,32 +218,51 @@ public class WitherTreeWorldGenerator implements ITreasureWorldGenerator {
 				}
 				
 				// 4. check against all wither trees
-				if (isRegisteredWitherTreeWithinDistance(world, coords, dimensionID, TreasureConfig.WITHER_TREE.minDistancePerWitherTree)) {
+				if (isRegisteredWitherTreeWithinDistance(world, coords, dimensionID, TreasureConfig.WITHER_TREE.minDistancePerWitherTree)
+						|| GenerationQueue.get(world).isQueuedWithinDistance(WorldGeneratorType.WITHER_TREE, coords, TreasureConfig.WITHER_TREE.minDistancePerWitherTree)) {
 					Treasure.LOGGER.debug("The distance to the nearest wither tree is less than the minimun required.");
 					return;
 				}
 
 				// increment chunks since last tree regardless of successful generation - makes
 				// more rare and realistic and configurable generation.
-				chunksSinceLastTree = 0;
+				genState.setChunksSinceLastTree(0);
 
-				// generate the well
-				Treasure.LOGGER.debug("Attempting to generate a wither tree");
-				GeneratorResult<GeneratorData> result = generate(world, random, coords, treeConfig);
+				// reserve the chest, so that the chests of the chunks generated before the tree respect the distance to it
+				ChestRegistry.getInstance().register(world.provider.getDimension(), coords.toShortString(), new ChestInfo(Rarity.SCARCE, coords));
 
-				if (result.isSuccess()) {
-					// add to registry
-					ChestRegistry.getInstance().register(coords.toShortString(), new ChestInfo(Rarity.SCARCE, coords));
-    				WitherTreeRegistry.getInstance().register(dimensionID, coords, biomeID);
-				}
+				// generate the wither tree once the chunks of the grove are loaded
+				Treasure.LOGGER.debug("Attempting to generate a wither tree");
+				GenerationQueue.get(world).submit(world, random, new GenerationJob(WorldGeneratorType.WITHER_TREE, coords, null, random.nextLong(), GROVE_RADIUS));
 			}
 			// save world data
-			GenDataPersistence savedData = GenDataPersistence.get(world);
-			if (savedData != null) {
-				savedData.markDirty();
-			}
+			genState.markDirty();
 		}
 	}
+
+	/**
+	 * 
+	 */
+	@Override
+	public boolean generateJob(World world, Random random, GenerationJob job) {
+		ICoords coords = job.getCoords();
+		GeneratorResult<GeneratorData> result = generate(world, random, coords, TreasureConfig.WITHER_TREE);
+		ColumnCache.invalidate();
+
+		if (result.isSuccess()) {
+			// add to registry
+			WitherTreeRegistry.getInstance().register(world.provider.getDimension(), coords, Biome.getIdForBiome(world.getBiome(coords.toPos())));
+		}
+		return result.isSuccess();
+	}
+
+	/**
+	 * Releases the reserved chest. The tree count is reset when a tree is queued, whether or not it generates.
+	 */
+	@Override
+	public void discardJob(World world, GenerationJob job) {
+		ChestRegistry.getInstance().unregister(world.provider.getDimension(), job.getCoords().toShortString());
+	}
 	
 	/**
 	 * 
@@ -261,7 +281,7 @@ public class WitherTreeWorldGenerator implements ITreasureWorldGenerator {
 		ICoords witherTreeCoords = null;
 
 		// 1. determine y-coord of land for markers
-		surfaceCoords = WorldInfo.getDryLandSurfaceCoords(world, coords);
+		surfaceCoords = ColumnCache.getDryLandSurfaceCoords(world, coords);
 		Treasure.LOGGER.debug("Surface Coords @ {}", surfaceCoords.toShortString());
 		if (surfaceCoords == null || surfaceCoords == WorldInfo.EMPTY_COORDS) {
 			Treasure.LOGGER.debug("Returning due to surface coords == null or EMPTY_COORDS");
@@ -474,6 +494,19 @@ public class WitherTreeWorldGenerator implements ITreasureWorldGenerator {
 	 * @param coords
 	 */
 	public void buildTree(World world, Random random, ICoords coords, IWitherTreeConfig config) {
+		BlockPlacementBuffer buffer = new BlockPlacementBuffer(world);
+		buildTree(buffer, random, coords, config);
+		buffer.flush();
+	}
+
+	/**
+	 * Queues a small wither tree into the buffer.
+	 * @param buffer
+	 * @param random
+	 * @param coords
+	 * @param config
+	 */
+	private void buildTree(BlockPlacementBuffer buffer, Random random, ICoords coords, IWitherTreeConfig config) {
 		// build a small wither tree ie one trunk
 
 		// determine the size of the main trunk
@@ -483,32 +516,45 @@ public class WitherTreeWorldGenerator implements ITreasureWorldGenerator {
 		for (int y = 0; y < maxSize; y++) {
 			if (y == 0) {
 				if (!hasLifeBeenAdded) {
-					world.setBlockState(coords.add(0, y, 0).toPos(), TreasureBlocks.WITHER_LOG_SOUL.getDefaultState());
+					buffer.setBlockState(coords.add(0, y, 0), TreasureBlocks.WITHER_LOG_SOUL.getDefaultState());
 					hasLifeBeenAdded = true;
 					continue;
 				}
 			}
 
 			// add the trunk
-			world.setBlockState(coords.add(0, y, 0).toPos(), TreasureBlocks.WITHER_LOG.getDefaultState());
+			buffer.setBlockState(coords.add(0, y, 0), TreasureBlocks.WITHER_LOG.getDefaultState());
 
 			// add the branches/roots
 			if (y == 0) {
-				addRoot(world, random, coords, supportTrunkMatrix);
+				addRoot(buffer, random, coords, supportTrunkMatrix);
 			} else if (y == maxSize - 1) {
-				addTop(world, random, coords, y + 1, supportTrunkMatrix.get(random.nextInt(supportTrunkMatrix.size())));
+				addTop(buffer, random, coords, y + 1, supportTrunkMatrix.get(random.nextInt(supportTrunkMatrix.size())));
 			} else if (y > 3) {
-				addBranch(world, random, coords, y, maxSize, supportTrunkMatrix);
+				addBranch(buffer, random, coords, y, maxSize, supportTrunkMatrix);
 			}
 		}
 	}
 
 	/**
 	 * 
-	 * @param world
+	 * @param buffer
 	 * @param coords
 	 */
 	public void buildMainTree(World world, Random random, ICoords coords, IWitherTreeConfig config) {
+		BlockPlacementBuffer buffer = new BlockPlacementBuffer(world);
+		buildMainTree(buffer, random, coords, config);
+		buffer.flush();
+	}
+
+	/**
+	 * Queues the main wither tree into the buffer.
+	 * @param buffer
+	 * @param random
+	 * @param coords
+	 * @param config
+	 */
+	private void buildMainTree(BlockPlacementBuffer buffer, Random random, ICoords coords, IWitherTreeConfig config) {
 		// setup an array of coords
 		ICoords[] trunkCoords = new Coords[4];
 		trunkCoords[0] = coords;
@@ -527,7 +573,7 @@ public class WitherTreeWorldGenerator implements ITreasureWorldGenerator {
 				if (trunkIndex == 2 && y == 2) { // TODO <-- select the right index and the face facing in the right
 													// direction
 					if (!hasLifeBeenAdded) {
-						world.setBlockState(trunkCoords[trunkIndex].add(0, y, 0).toPos(),
+						buffer.setBlockState(trunkCoords[trunkIndex].add(0, y, 0),
 								TreasureBlocks.WITHER_LOG_SOUL.getDefaultState()
 										.withProperty(WitherLogSoulBlock.APPEARANCE, WitherLogSoulBlock.Appearance.FACE)
 										.withProperty(WitherLogSoulBlock.FACING, EnumFacing.SOUTH));
@@ -537,16 +583,16 @@ public class WitherTreeWorldGenerator implements ITreasureWorldGenerator {
 				}
 
 				// add the trunk
-				world.setBlockState(trunkCoords[trunkIndex].add(0, y, 0).toPos(),
+				buffer.setBlockState(trunkCoords[trunkIndex].add(0, y, 0),
 						TreasureBlocks.WITHER_LOG.getDefaultState());
 
 				// add the decorations (branches, roots, top)
 				if (y == 0) {
-					addRoot(world, random, trunkCoords[trunkIndex], trunkMatrix[trunkIndex]);
+					addRoot(buffer, random, trunkCoords[trunkIndex], trunkMatrix[trunkIndex]);
 				} else if (y == maxSize - 1) {
-					addTop(world, random, trunkCoords[trunkIndex], y + 1, topMatrix.get(trunkIndex));
+					addTop(buffer, random, trunkCoords[trunkIndex], y + 1, topMatrix.get(trunkIndex));
 				} else if (y >= 3) {
-					addBranch(world, random, trunkCoords[trunkIndex], y, maxSize, trunkMatrix[trunkIndex]);
+					addBranch(buffer, random, trunkCoords[trunkIndex], y, maxSize, trunkMatrix[trunkIndex]);
 				}
 			}
 
@@ -561,44 +607,43 @@ public class WitherTreeWorldGenerator implements ITreasureWorldGenerator {
 
 	/**
 	 * 
-	 * @param world
+	 * @param buffer
 	 * @param random
 	 * @param coords
 	 * @param topMatrix2
 	 */
-	private void addTop(World world, Random random, ICoords coords, int y, Direction direction) {
+	private void addTop(BlockPlacementBuffer buffer, Random random, ICoords coords, int y, Direction direction) {
 		if (direction != null) {
 			IBlockState state = TreasureBlocks.WITHER_BROKEN_LOG.getDefaultState().withProperty(WitherRootBlock.FACING,
 					direction.toFacing());
 			// add the top log to the world
-			world.setBlockState(coords.add(0, y, 0).toPos(), state);
+			buffer.setBlockState(coords.add(0, y, 0), state);
 		}
 	}
 
 	/**
 	 * 
-	 * @param world
+	 * @param buffer
 	 * @param random
 	 * @param iCoords
 	 * @param list
 	 */
-	private void addRoot(World world, Random random, ICoords coords, List<Direction> directions) {
+	private void addRoot(BlockPlacementBuffer buffer, Random random, ICoords coords, List<Direction> directions) {
 		// for each direction
 		for (Direction d : directions) {
 			if (RandomHelper.checkProbability(random, WITHER_ROOT_PROBABILITY)) {
 				// update the coords to the correct position
 				ICoords c = coords.add(d, 1);
-				Cube groundCube = new Cube(world, c.down(1));
-				Cube replaceCube = new Cube(world, c);
+				Cube groundCube = new Cube(buffer.getWorld(), c.down(1));
 				if (groundCube.isSolid() && groundCube.isTopSolid()
-						&& (replaceCube.isAir() || replaceCube.isReplaceable())) {
+						&& (buffer.isAir(c) || buffer.isReplaceable(c))) {
 					// rotate the branch in the right direction
 					IBlockState state = TreasureBlocks.WITHER_ROOT.getDefaultState()
 							.withProperty(WitherRootBlock.FACING, d.toFacing())
 							.withProperty(WitherRootBlock.ACTIVATED, true);
 
 					// add the branch to the world
-					world.setBlockState(c.toPos(), state);
+					buffer.setBlockState(c, state);
 //					 Treasure.logger.debug("Wither Tree building root @ " +  coords.toShortString());					
 				}
 			}
@@ -612,7 +657,7 @@ public class WitherTreeWorldGenerator implements ITreasureWorldGenerator {
 	 * @param maxSize
 	 * @param is
 	 */
-	private void addBranch(World world, Random random, ICoords trunkCoords, int y, int maxSize,
+	private void addBranch(BlockPlacementBuffer buffer, Random random, ICoords trunkCoords, int y, int maxSize,
 			List<Direction> directions) {
 		int branchSize = 0;// (y <= (maxSize/3)) ? 3 : (y <= (maxSize * 2/3)) ? 2 : 1;
 		if (y < maxSize / 3 || y > maxSize / 4)
@@ -628,26 +673,24 @@ public class WitherTreeWorldGenerator implements ITreasureWorldGenerator {
 				ICoords c = trunkCoords;
 				for (int segment = 0; segment < branchSize; segment++) {
 					c = c.add(d, 1);
-					Cube replaceCube = new Cube(world, c);
-
 					// if there is a branch directly below, don't build
-					if (world.getBlockState(c.down(1).toPos()).getBlock() instanceof WitherBranchBlock)
+					if (buffer.getBlockState(c.down(1)).getBlock() instanceof WitherBranchBlock)
 						break;
 
 					// if able to place branch here
-					if (replaceCube.isAir() || replaceCube.isReplaceable()) {
+					if (buffer.isAir(c) || buffer.isReplaceable(c)) {
 						// rotate the branch in the right direction
 						IBlockState state = TreasureBlocks.WITHER_BRANCH.getDefaultState()
 								.withProperty(WitherBranchBlock.FACING, d.toFacing());
 
 						// add the branch to the world
-						world.setBlockState(c.add(0, y, 0).toPos(), state);
+						buffer.setBlockState(c.add(0, y, 0), state);
 
 						// add spanish moss
 						if (RandomHelper.checkProbability(random, SPANISH_MOSS_PROBABILITY)) {
-							replaceCube = new Cube(world, c.add(0, y - 1, 0));
-							if (replaceCube.isAir() || replaceCube.isReplaceable()) {
-								world.setBlockState(c.add(0, y - 1, 0).toPos(), TreasureBlocks.SPANISH_MOSS
+							ICoords mossCoords = c.add(0, y - 1, 0);
+							if (buffer.isAir(mossCoords) || buffer.isReplaceable(mossCoords)) {
+								buffer.setBlockState(mossCoords, TreasureBlocks.SPANISH_MOSS
 										.getDefaultState().withProperty(SpanishMossBlock.ACTIVATED, true));
 							}
 						}
@@ -689,26 +732,8 @@ public class WitherTreeWorldGenerator implements ITreasureWorldGenerator {
 	 * @return
 	 */
 	public boolean isRegisteredChestWithinDistance(World world, ICoords coords, int minDistance) {
-
-		double minDistanceSq = minDistance * minDistance;
-
-		// get a list of dungeons
-		List<ChestInfo> infos = ChestRegistry.getInstance().getValues();
-
-		if (infos == null || infos.size() == 0) {
-			Treasure.LOGGER
-					.debug("Unable to locate the ChestConfig Registry or the Registry doesn't contain any values");
-			return false;
-		}
-
-		for (ChestInfo info : infos) {
-			// calculate the distance to the poi
-			double distance = coords.getDistanceSq(info.getCoords());
-			if (distance < minDistanceSq) {
-				return true;
-			}
-		}
-		return false;
+		// query the dimension's proximity index
+		return ChestRegistry.getInstance().findWithin(world.provider.getDimension(), coords, minDistance) != null;
 	}
 
 	/**
@@ -738,18 +763,4 @@ public class WitherTreeWorldGenerator implements ITreasureWorldGenerator {
 		return false;
 	}
 	
-	/**
-	 * @return the chunksSinceLastTree
-	 */
-	public int getChunksSinceLastTree() {
-		return chunksSinceLastTree;
-	}
-
-	/**
-	 * 
-	 * @param chunksSinceLastTree
-	 */
-	public void setChunksSinceLastTree(int chunksSinceLastTree) {
-		this.chunksSinceLastTree = chunksSinceLastTree;
-	}
 }
@@ -0,0 +1,77 @@
+/**
+ *
+ */
+package com.someguyssoftware.treasure2.capability;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.someguyssoftware.treasure2.capability.modifier.GreatAdornmentLevelModifier;
+import com.someguyssoftware.treasure2.capability.modifier.ILevelModifier;
+import com.someguyssoftware.treasure2.charm.cost.EquipmentCostEvaluator;
+
+import net.minecraft.nbt.NBTTagCompound;
+
+/**
+ * The deserialization of the charmable capability of a player inventory of 36 adornments, as on login or on opening a
+ * chest full of them: the legacy format, read through Class.forName() for the level modifier and each cost evaluator,
+ * against the compact format. The capabilities are those of CharmableCapabilityStorageTest, with a charm in the innate
+ * and the socket inventories and a non-default cost evaluator.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CharmableCapabilityReadBenchmark {
+	private static final int STACKS = 36;
+
+	// whether the level modifier is registered with LevelModifiers
+	@Param({ "true", "false" })
+	public boolean registeredModifier;
+
+	private final CharmableCapabilityStorage storage = new CharmableCapabilityStorage();
+	private NBTTagCompound legacy;
+	private NBTTagCompound compact;
+
+	@Setup
+	public void setUp() {
+		CharmableCapabilityStorageTest.setUpClass();
+		ILevelModifier levelModifier = registeredModifier ? new GreatAdornmentLevelModifier() : new CharmableCapabilityStorageTest.TestLevelModifier();
+		ICharmableCapability cap = CharmableCapabilityStorageTest.createCapability(levelModifier);
+		cap.getCharmEntities().get(InventoryType.SOCKET).get(0).setCostEvaluator(new EquipmentCostEvaluator());
+		legacy = CharmableCapabilityStorageTest.writeLegacy(cap);
+		compact = (NBTTagCompound) storage.writeNBT(null, cap, null);
+	}
+
+	@Benchmark
+	public ICharmableCapability legacy() {
+		return read(legacy);
+	}
+
+	@Benchmark
+	public ICharmableCapability compact() {
+		return read(compact);
+	}
+
+	private ICharmableCapability read(NBTTagCompound nbt) {
+		ICharmableCapability cap = null;
+		for (int stack = 0; stack < STACKS; stack++) {
+			cap = CharmableCapabilityStorageTest.createEmptyCapability();
+			storage.readNBT(null, cap, null, nbt);
+		}
+		return cap;
+	}
+}
@@ -0,0 +1,259 @@
+/**
+ *
+ */
+package com.someguyssoftware.treasure2.capability;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.someguyssoftware.treasure2.capability.modifier.GreatAdornmentLevelModifier;
+import com.someguyssoftware.treasure2.capability.modifier.ILevelModifier;
+import com.someguyssoftware.treasure2.capability.modifier.LevelModifiers;
+import com.someguyssoftware.treasure2.charm.HealingCharm;
+import com.someguyssoftware.treasure2.charm.ICharm;
+import com.someguyssoftware.treasure2.charm.ICharmEntity;
+import com.someguyssoftware.treasure2.charm.ShieldingCharm;
+import com.someguyssoftware.treasure2.charm.ShieldingCharmEntity;
+import com.someguyssoftware.treasure2.charm.TreasureCharmRegistry;
+import com.someguyssoftware.treasure2.charm.cost.CostEvaluator;
+import com.someguyssoftware.treasure2.charm.cost.EquipmentCostEvaluator;
+import com.someguyssoftware.treasure2.material.TreasureCharmableMaterials;
+
+import net.minecraft.init.Bootstrap;
+import net.minecraft.init.Items;
+import net.minecraft.nbt.NBTBase;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+
+/**
+ * Tests that the charmable capability reads the same state from the legacy format as from the compact format, and
+ * from the compact format that it writes, including a level modifier that isn't registered with LevelModifiers and
+ * a cost evaluator that isn't the default one.
+ */
+public class CharmableCapabilityStorageTest {
+	private static ICharm healing;
+	private static ICharm shielding;
+
+	private final CharmableCapabilityStorage storage = new CharmableCapabilityStorage();
+
+	@BeforeClass
+	public static void setUpClass() {
+		Bootstrap.register();
+		healing = new HealingCharm.Builder(3).build();
+		shielding = new ShieldingCharm.Builder(4).build();
+		TreasureCharmRegistry.register(healing);
+		TreasureCharmRegistry.register(shielding);
+	}
+
+	@Test
+	public void legacyToCompact() {
+		ICharmableCapability original = createCapability(new GreatAdornmentLevelModifier());
+
+		ICharmableCapability fromLegacy = createEmptyCapability();
+		storage.readNBT(null, fromLegacy, null, writeLegacy(original));
+		assertCapabilityEquals(original, fromLegacy);
+
+		// and written back in the compact format
+		NBTTagCompound compact = (NBTTagCompound) storage.writeNBT(null, fromLegacy, null);
+		assertTrue(compact.hasKey("v"));
+		ICharmableCapability fromCompact = createEmptyCapability();
+		storage.readNBT(null, fromCompact, null, compact);
+		assertCapabilityEquals(original, fromCompact);
+	}
+
+	@Test
+	public void compactToCompact() {
+		ICharmableCapability original = createCapability(new GreatAdornmentLevelModifier());
+		NBTBase nbt = storage.writeNBT(null, original, null);
+
+		ICharmableCapability read = createEmptyCapability();
+		storage.readNBT(null, read, null, nbt);
+		assertCapabilityEquals(original, read);
+		// the registered modifier is shared, not created per stack
+		assertSame(LevelModifiers.get(LevelModifiers.GREAT_ADORNMENT), read.getLevelModifier());
+		assertEquals(nbt, storage.writeNBT(null, read, null));
+	}
+
+	@Test
+	public void unregisteredLevelModifier() {
+		ICharmableCapability original = createCapability(new TestLevelModifier());
+		assertEquals(LevelModifiers.NO_ID, LevelModifiers.getId(original.getLevelModifier()));
+
+		ICharmableCapability fromCompact = createEmptyCapability();
+		storage.readNBT(null, fromCompact, null, storage.writeNBT(null, original, null));
+		assertEquals(TestLevelModifier.class, fromCompact.getLevelModifier().getClass());
+
+		ICharmableCapability fromLegacy = createEmptyCapability();
+		storage.readNBT(null, fromLegacy, null, writeLegacy(original));
+		assertEquals(TestLevelModifier.class, fromLegacy.getLevelModifier().getClass());
+		// instantiated once
+		assertSame(fromCompact.getLevelModifier(), fromLegacy.getLevelModifier());
+	}
+
+	@Test
+	public void nonDefaultCostEvaluator() {
+		ICharmableCapability original = createCapability(new GreatAdornmentLevelModifier());
+		original.getCharmEntities().get(InventoryType.SOCKET).get(0).setCostEvaluator(new EquipmentCostEvaluator());
+
+		ICharmableCapability fromCompact = createEmptyCapability();
+		storage.readNBT(null, fromCompact, null, storage.writeNBT(null, original, null));
+		ICharmableCapability fromLegacy = createEmptyCapability();
+		storage.readNBT(null, fromLegacy, null, writeLegacy(original));
+
+		for (ICharmableCapability read : new ICharmableCapability[] {fromCompact, fromLegacy}) {
+			assertEquals(EquipmentCostEvaluator.class, read.getCharmEntities().get(InventoryType.SOCKET).get(0).getCostEvaluator().getClass());
+			// the others keep the default one
+			assertEquals(CostEvaluator.class, read.getCharmEntities().get(InventoryType.INNATE).get(0).getCostEvaluator().getClass());
+		}
+	}
+
+	@Test
+	public void unknownCharmIsSkipped() {
+		ICharmableCapability original = createCapability(new GreatAdornmentLevelModifier());
+		NBTTagCompound nbt = (NBTTagCompound) storage.writeNBT(null, original, null);
+		NBTTagList innate = nbt.getTagList("c" + InventoryType.INNATE.ordinal(), 10);
+		innate.getCompoundTagAt(0).setString("n", "treasure2:unknown_charm");
+
+		ICharmableCapability read = createEmptyCapability();
+		storage.readNBT(null, read, null, nbt);
+		assertTrue(read.getCharmEntities().get(InventoryType.INNATE).isEmpty());
+		assertEquals(1, read.getCharmEntities().get(InventoryType.SOCKET).size());
+	}
+
+	/**
+	 * A capability with a charm entity of non-default values in the innate and the socket inventories.
+	 * @param levelModifier
+	 * @return
+	 */
+	static ICharmableCapability createCapability(ILevelModifier levelModifier) {
+		ICharmableCapability cap = new CharmableCapability.Builder(2, 2, 2).with($ -> {
+			$.source = true;
+			$.executing = false;
+			$.bindable = true;
+			$.innate = true;
+			$.imbuable = true;
+			$.socketable = true;
+			$.namedByCharm = true;
+			$.baseMaterial = TreasureCharmableMaterials.SILVER.getName();
+			$.sourceItem = Items.DIAMOND.getRegistryName();
+			$.levelModifier = levelModifier;
+		}).build();
+
+		ICharmEntity healingEntity = healing.createEntity();
+		healingEntity.setMana(12.5D);
+		healingEntity.setMaxMana(20D);
+		healingEntity.setRecharges(1);
+		healingEntity.setMaxRecharges(3);
+		healingEntity.setExclusive(true);
+		cap.add(InventoryType.INNATE, healingEntity);
+
+		ICharmEntity shieldingEntity = shielding.createEntity();
+		shieldingEntity.setMana(7.25D);
+		shieldingEntity.setDuration(1200);
+		shieldingEntity.setCooldown(0.3D);
+		((ShieldingCharmEntity) shieldingEntity).setCooldownEnd(4242D);
+		cap.add(InventoryType.SOCKET, shieldingEntity);
+		return cap;
+	}
+
+	static ICharmableCapability createEmptyCapability() {
+		return new CharmableCapability.Builder(2, 2, 2).build();
+	}
+
+	/**
+	 * The former CharmableCapabilityStorage.writeNBT(), the format of the stacks saved before the compact format.
+	 * @param instance
+	 * @return
+	 */
+	static NBTTagCompound writeLegacy(ICharmableCapability instance) {
+		NBTTagCompound nbt = new NBTTagCompound();
+		for (InventoryType type : InventoryType.values()) {
+			List<ICharmEntity> entityList = (List<ICharmEntity>) instance.getCharmEntities().get(type);
+			if (entityList != null && !entityList.isEmpty()) {
+				NBTTagList listNbt = new NBTTagList();
+				for (ICharmEntity entity : entityList) {
+					listNbt.appendTag(entity.save(new NBTTagCompound()));
+				}
+				nbt.setTag(type.name(), listNbt);
+			}
+		}
+		nbt.setBoolean("source", instance.isSource());
+		nbt.setBoolean("executing", instance.isExecuting());
+		nbt.setBoolean("bindable", instance.isBindable());
+		nbt.setBoolean("innate", instance.isInnate());
+		nbt.setBoolean("imbuable", instance.isImbuable());
+		nbt.setBoolean("imbuing", instance.isImbuing());
+		nbt.setBoolean("socketable", instance.isSocketable());
+		nbt.setString("baseMaterial", instance.getBaseMaterial().toString());
+		nbt.setString("sourceItem", instance.getSourceItem().toString());
+		nbt.setBoolean("namedByMaterial", instance.isNamedByMaterial());
+		nbt.setBoolean("namedByCharm", instance.isNamedByCharm());
+		nbt.setString("levelModifier", instance.getLevelModifier().getClass().getName());
+		nbt.setInteger("maxSocketSize", instance.getMaxSocketSize());
+		return nbt;
+	}
+
+	private static void assertCapabilityEquals(ICharmableCapability expected, ICharmableCapability actual) {
+		assertEquals(expected.isSource(), actual.isSource());
+		assertEquals(expected.isExecuting(), actual.isExecuting());
+		assertEquals(expected.isBindable(), actual.isBindable());
+		assertEquals(expected.isInnate(), actual.isInnate());
+		assertEquals(expected.isImbuable(), actual.isImbuable());
+		assertEquals(expected.isImbuing(), actual.isImbuing());
+		assertEquals(expected.isSocketable(), actual.isSocketable());
+		assertEquals(expected.isNamedByMaterial(), actual.isNamedByMaterial());
+		assertEquals(expected.isNamedByCharm(), actual.isNamedByCharm());
+		assertEquals(expected.getBaseMaterial(), actual.getBaseMaterial());
+		assertEquals(expected.getSourceItem(), actual.getSourceItem());
+		assertEquals(expected.getLevelModifier().getClass(), actual.getLevelModifier().getClass());
+		assertEquals(expected.getMaxSocketSize(), actual.getMaxSocketSize());
+
+		for (InventoryType type : InventoryType.values()) {
+			List<ICharmEntity> expectedEntities = (List<ICharmEntity>) expected.getCharmEntities().get(type);
+			List<ICharmEntity> actualEntities = (List<ICharmEntity>) actual.getCharmEntities().get(type);
+			assertEquals(type.name(), expectedEntities.size(), actualEntities.size());
+			for (int index = 0; index < expectedEntities.size(); index++) {
+				ICharmEntity expectedEntity = expectedEntities.get(index);
+				ICharmEntity actualEntity = actualEntities.get(index);
+				assertSame(expectedEntity.getCharm(), actualEntity.getCharm());
+				assertEquals(expectedEntity.getMana(), actualEntity.getMana(), 0D);
+				assertEquals(expectedEntity.getMaxMana(), actualEntity.getMaxMana(), 0D);
+				assertEquals(expectedEntity.getDuration(), actualEntity.getDuration());
+				assertEquals(expectedEntity.getFrequency(), actualEntity.getFrequency(), 0D);
+				assertEquals(expectedEntity.getAmount(), actualEntity.getAmount(), 0D);
+				assertEquals(expectedEntity.getCooldown(), actualEntity.getCooldown(), 0D);
+				assertEquals(expectedEntity.getRange(), actualEntity.getRange(), 0D);
+				assertEquals(expectedEntity.isExclusive(), actualEntity.isExclusive());
+				assertEquals(expectedEntity.getRecharges(), actualEntity.getRecharges());
+				assertEquals(expectedEntity.getMaxRecharges(), actualEntity.getMaxRecharges());
+				assertEquals(expectedEntity.getCostEvaluator().getClass(), actualEntity.getCostEvaluator().getClass());
+				if (expectedEntity instanceof ShieldingCharmEntity) {
+					assertEquals(((ShieldingCharmEntity) expectedEntity).getCooldownEnd(), ((ShieldingCharmEntity) actualEntity).getCooldownEnd(), 0D);
+				}
+			}
+		}
+		assertFalse(actual.getCharmEntities().isEmpty());
+	}
+
+	/**
+	 * A level modifier of another mod, which isn't registered with LevelModifiers.
+	 */
+	public static class TestLevelModifier implements ILevelModifier {
+		@Override
+		public int modifyMaxLevel(int level) {
+			return level + 1;
+		}
+
+		@Override
+		public double modifyLevelMultiplier(double multiplier) {
+			return multiplier;
+		}
+	}
+}
@@ -0,0 +1,179 @@
+/**
+ *
+ */
+package com.someguyssoftware.treasure2.charm;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import net.minecraft.init.Bootstrap;
+
+/**
+ * Tests the charm selection by level of CharmRandomly: a roll per curse with the curse probability, and
+ * the same selections from the same seeds when the index is shared by concurrent loot generation.
+ */
+public class CharmIndexTest {
+	private static final int LEVEL = 3;
+	private static final long SEED = 42L;
+	private static final int THREADS = 8;
+	private static final int SELECTIONS = 50000;
+
+	private static List<ICharm> charms;
+	private static CharmIndex index;
+	// charm -> position in charms
+	private static final Map<ICharm, Integer> POSITIONS = new IdentityHashMap<>();
+
+	@BeforeClass
+	public static void setUpClass() {
+		Bootstrap.register();
+		charms = Arrays.asList(
+				new HealingCharm.Builder(LEVEL).build(),
+				new DecayCurse.Builder(LEVEL).build(),
+				new ShieldingCharm.Builder(LEVEL).build(),
+				new DecrepitCurse.Builder(LEVEL).build(),
+				new AegisCharm.Builder(LEVEL).build(),
+				new RuinCurse.Builder(LEVEL).build(),
+				// other levels are never selected
+				new HealingCharm.Builder(LEVEL - 1).build(),
+				new DecayCurse.Builder(LEVEL + 1).build());
+		index = new CharmIndex(charms, charms);
+		for (int position = 0; position < charms.size(); position++) {
+			POSITIONS.put(charms.get(position), position);
+		}
+	}
+
+	@Test
+	public void noCurseProbabilitySelectsNoCurses() {
+		int[] counts = count(select(new Random(SEED), SELECTIONS, 0D));
+		for (int position = 0; position < charms.size(); position++) {
+			if (charms.get(position).isCurse() || charms.get(position).getLevel() != LEVEL) {
+				assertEquals(0, counts[position]);
+			}
+		}
+	}
+
+	@Test
+	public void certainCursesAreAllCandidates() {
+		int[] counts = count(select(new Random(SEED), SELECTIONS, 100D));
+		for (int position = 0; position < charms.size(); position++) {
+			double expected = charms.get(position).getLevel() == LEVEL ? 1D / 6D : 0D;
+			assertEquals(expected, counts[position] / (double) SELECTIONS, 0.01D);
+		}
+	}
+
+	@Test
+	public void emptyLevelSelectsNothing() {
+		assertNull(index.selectByLevel(LEVEL + 5, 50D, new Random(SEED)));
+	}
+
+	@Test
+	public void concurrentSelectionsAreDeterministicAndRollEachCurse() throws Exception {
+		// the selections of each seed, made sequentially
+		int[][] expected = new int[THREADS][];
+		for (int thread = 0; thread < THREADS; thread++) {
+			expected[thread] = select(new Random(SEED + thread), SELECTIONS, 50D);
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<int[]>> futures = new ArrayList<>();
+		try {
+			for (int thread = 0; thread < THREADS; thread++) {
+				long seed = SEED + thread;
+				futures.add(executor.submit(() -> {
+					start.await();
+					return select(new Random(seed), SELECTIONS, 50D);
+				}));
+			}
+			start.countDown();
+			int[] counts = new int[charms.size()];
+			for (int thread = 0; thread < THREADS; thread++) {
+				int[] selections = futures.get(thread).get();
+				assertArrayEquals(expected[thread], selections);
+				int[] threadCounts = count(selections);
+				for (int position = 0; position < counts.length; position++) {
+					counts[position] += threadCounts[position];
+				}
+			}
+
+			// 3 charms and 3 curses of the level, each curse a candidate half of the time
+			double total = THREADS * SELECTIONS;
+			for (int position = 0; position < charms.size(); position++) {
+				ICharm charm = charms.get(position);
+				double probability = 0D;
+				if (charm.getLevel() == LEVEL) {
+					probability = charm.isCurse() ? 0.5D * expectedShare(4, 2, 0.5D) : expectedShare(3, 3, 0.5D);
+				}
+				assertEquals(charm.getName().toString(), probability, counts[position] / total, 0.005D);
+			}
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 *
+	 * @param random
+	 * @param selections
+	 * @param curseProbability
+	 * @return the position of each selected charm
+	 */
+	private static int[] select(Random random, int selections, double curseProbability) {
+		int[] selected = new int[selections];
+		for (int selection = 0; selection < selections; selection++) {
+			ICharm charm = index.selectByLevel(LEVEL, curseProbability, random);
+			assertFalse(charm == null);
+			selected[selection] = POSITIONS.get(charm);
+		}
+		return selected;
+	}
+
+	private static int[] count(int[] selections) {
+		int[] counts = new int[charms.size()];
+		for (int position : selections) {
+			counts[position]++;
+		}
+		return counts;
+	}
+
+	/**
+	 * The expected share of one of the candidates, E[1 / (fixed + K)], where K, the number of other curses that are
+	 * candidates, is binomial.
+	 * @param fixed the number of candidates that are always candidates, including the one
+	 * @param rolled the number of other curses that are rolled for
+	 * @param p
+	 * @return
+	 */
+	private static double expectedShare(int fixed, int rolled, double p) {
+		double share = 0D;
+		for (int k = 0; k <= rolled; k++) {
+			share += binomial(rolled, k) * Math.pow(p, k) * Math.pow(1D - p, rolled - k) / (fixed + k);
+		}
+		return share;
+	}
+
+	private static double binomial(int n, int k) {
+		double result = 1D;
+		for (int i = 1; i <= k; i++) {
+			result = result * (n - k + i) / i;
+		}
+		return result;
+	}
+}
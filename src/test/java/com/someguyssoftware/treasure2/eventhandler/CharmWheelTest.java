@@ -0,0 +1,152 @@
+/**
+ *
+ */
+package com.someguyssoftware.treasure2.eventhandler;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.someguyssoftware.treasure2.charm.CharmContext;
+import com.someguyssoftware.treasure2.charm.HealingCharm;
+import com.someguyssoftware.treasure2.charm.ICharmEntity;
+import com.someguyssoftware.treasure2.charm.ICooldownCharmEntity;
+import com.someguyssoftware.treasure2.charm.ShieldingCharm;
+
+import net.minecraft.init.Bootstrap;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+
+/**
+ * Tests the scheduling of the update charms by CharmWheel: charms due on multiples of their frequency, cooldown charms,
+ * charms due further ahead than the wheel, polls more than a turn of the wheel apart and world time going backwards,
+ * and the scheduled charm counters of CharmEventHandler.
+ */
+public class CharmWheelTest {
+	private static final int LEVEL = 1;
+
+	@BeforeClass
+	public static void setUpClass() {
+		Bootstrap.register();
+	}
+
+	@Test
+	public void charmIsDueOnMultiplesOfItsFrequency() {
+		CharmWheel wheel = new CharmWheel(new CharmContext[] { healing(20.0) });
+		assertEquals(Arrays.asList(0L, 20L, 40L, 60L, 80L, 100L), poll(wheel, 0, 100));
+	}
+
+	@Test
+	public void cooldownCharmIsRescheduledAfterTheCooldownEnd() {
+		ICharmEntity entity = new ShieldingCharm.Builder(LEVEL).build().createEntity();
+		entity.setCooldown(10.0);
+		CharmWheel wheel = new CharmWheel(new CharmContext[] { context(entity, 0) });
+
+		assertEquals(1, wheel.poll(5));
+		// the charm executed on tick 5 and cools down until 30.5
+		((ICooldownCharmEntity) entity).setCooldownEnd(30.5);
+		wheel.reschedule(wheel.getDue()[0], 5);
+
+		// executable on every tick once the cooldown has ended
+		assertEquals(Arrays.asList(31L, 32L, 33L), poll(wheel, 6, 33));
+	}
+
+	@Test
+	public void charmDueAfterMoreThanATurnIsRelinked() {
+		// due on 300 and 600, so their buckets are visited on earlier turns of the wheel
+		CharmWheel wheel = new CharmWheel(new CharmContext[] { healing(300.0) });
+		assertEquals(Arrays.asList(300L, 600L), poll(wheel, 1, 700));
+	}
+
+	@Test
+	public void charmIsDueWhenNotPolledForMoreThanATurn() {
+		CharmWheel wheel = new CharmWheel(new CharmContext[] { healing(20.0), healing(50.0) });
+		assertEquals(2, wheel.poll(0));
+		wheel.reschedule(0, 0);
+		wheel.reschedule(1, 0);
+
+		// both charms fell due, on 20 and 50, while the player wasn't updated
+		assertEquals(2, wheel.poll(500));
+		assertEquals(0, wheel.getDue()[0]);
+		assertEquals(1, wheel.getDue()[1]);
+		wheel.reschedule(0, 500);
+		wheel.reschedule(1, 500);
+
+		assertEquals(Arrays.asList(520L, 540L), poll(wheel, 501, 549));
+	}
+
+	@Test
+	public void wheelRestartsWhenTimeGoesBackwards() {
+		CharmWheel wheel = new CharmWheel(new CharmContext[] { healing(20.0) });
+		assertEquals(Arrays.asList(1000L, 1020L), poll(wheel, 1000, 1030));
+
+		// e.g. the time of a world set back by a command
+		assertEquals(Arrays.asList(100L, 120L), poll(wheel, 100, 130));
+	}
+
+	@Test
+	public void scheduledCharmsAreCounted() {
+		CharmContext[] contexts = { healing(20.0), healing(20.0), healing(40.0) };
+		CharmWheel wheel = new CharmWheel(contexts);
+		CharmEventHandler handler = new CharmEventHandler(null);
+
+		// every charm is due on 0; one executes
+		int count = wheel.poll(0);
+		assertEquals(3, count);
+		handler.executeDue(wheel, count, 0, context -> context == contexts[1]);
+		handler.onServerTick(new TickEvent.ServerTickEvent(TickEvent.Phase.END));
+		assertEquals(3, handler.getLastTickVisitedCount());
+		assertEquals(1, handler.getLastTickExecutedCount());
+
+		// nothing is due on 1
+		assertEquals(0, wheel.poll(1));
+		handler.onServerTick(new TickEvent.ServerTickEvent(TickEvent.Phase.END));
+		assertEquals(0, handler.getLastTickVisitedCount());
+		assertEquals(0, handler.getLastTickExecutedCount());
+
+		// the charms of frequency 20 are due on 20 and execute
+		count = wheel.poll(20);
+		assertEquals(2, count);
+		handler.executeDue(wheel, count, 20, context -> true);
+		// the counters only roll over at the end of the tick
+		handler.onServerTick(new TickEvent.ServerTickEvent(TickEvent.Phase.START));
+		assertEquals(0, handler.getLastTickVisitedCount());
+		handler.onServerTick(new TickEvent.ServerTickEvent(TickEvent.Phase.END));
+		assertEquals(2, handler.getLastTickVisitedCount());
+		assertEquals(2, handler.getLastTickExecutedCount());
+	}
+
+	/**
+	 * Polls the wheel on every tick from fromTime to toTime, rescheduling the due charms.
+	 * @return the ticks on which a charm was due, once per due charm
+	 */
+	private static List<Long> poll(CharmWheel wheel, long fromTime, long toTime) {
+		List<Long> times = new ArrayList<>();
+		for (long time = fromTime; time <= toTime; time++) {
+			int count = wheel.poll(time);
+			for (int index = 0; index < count; index++) {
+				times.add(time);
+				wheel.reschedule(wheel.getDue()[index], time);
+			}
+		}
+		return times;
+	}
+
+	private static CharmContext healing(double frequency) {
+		ICharmEntity entity = new HealingCharm.Builder(LEVEL).with($ -> {
+			$.frequency = frequency;
+		}).build().createEntity();
+		return context(entity, 0);
+	}
+
+	private static CharmContext context(ICharmEntity entity, int index) {
+		return new CharmContext.Builder().with($ -> {
+			$.entity = entity;
+			$.index = index;
+		}).build();
+	}
+}
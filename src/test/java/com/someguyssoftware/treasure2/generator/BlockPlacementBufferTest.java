@@ -0,0 +1,115 @@
+/**
+ *
+ */
+package com.someguyssoftware.treasure2.generator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.someguyssoftware.gottschcore.positional.Coords;
+import com.someguyssoftware.gottschcore.positional.ICoords;
+
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Blocks;
+import net.minecraft.init.Bootstrap;
+
+/**
+ * Tests that the buffered edits are seen before they are placed and are placed as World.setBlockState() would place them.
+ */
+public class BlockPlacementBufferTest {
+	private static final ICoords UNDERGROUND = new Coords(8, 40, 8);
+	private static final ICoords ABOVE_GROUND = new Coords(8, GenerationTestWorld.SURFACE_Y + 5, 8);
+
+	private GenerationTestWorld world;
+	private BlockPlacementBuffer buffer;
+
+	@BeforeClass
+	public static void setUpClass() {
+		Bootstrap.register();
+	}
+
+	@Before
+	public void setUp() {
+		world = new GenerationTestWorld();
+		buffer = new BlockPlacementBuffer(world);
+	}
+
+	@Test
+	public void readsThroughPendingEdits() {
+		buffer.setBlockState(UNDERGROUND, Blocks.SAND.getDefaultState());
+
+		assertSame(Blocks.SAND.getDefaultState(), buffer.getBlockState(UNDERGROUND));
+		assertSame(Blocks.STONE.getDefaultState(), world.getBlockState(UNDERGROUND.toPos()));
+		assertEquals(0, world.getBlocksSet());
+
+		buffer.setBlockState(UNDERGROUND, Blocks.AIR.getDefaultState());
+		assertTrue(buffer.isAir(UNDERGROUND));
+		assertEquals(1, buffer.size());
+	}
+
+	@Test
+	public void replaceSkipsAir() {
+		assertFalse(buffer.replaceWithBlock(ABOVE_GROUND, Blocks.LOG));
+		assertTrue(buffer.replaceWithBlock(UNDERGROUND, Blocks.LOG));
+		assertEquals(1, buffer.size());
+
+		// a queued air edit is air to the later replaces
+		buffer.setBlockState(UNDERGROUND, Blocks.AIR.getDefaultState());
+		assertFalse(buffer.replaceWithBlock(UNDERGROUND, Blocks.SAND));
+	}
+
+	@Test
+	public void flushPlacesTheLastEditOfEachBlockOnce() {
+		buffer.setBlockState(UNDERGROUND, Blocks.SAND.getDefaultState());
+		buffer.setBlockState(UNDERGROUND, Blocks.GRAVEL.getDefaultState());
+		buffer.setBlockState(UNDERGROUND.add(0, 1, 0), Blocks.LOG.getDefaultState());
+		buffer.flush();
+
+		assertSame(Blocks.GRAVEL.getDefaultState(), world.getBlockState(UNDERGROUND.toPos()));
+		assertSame(Blocks.LOG.getDefaultState(), world.getBlockState(UNDERGROUND.add(0, 1, 0).toPos()));
+		assertEquals(2, world.getBlocksSet());
+		assertTrue(buffer.isEmpty());
+	}
+
+	@Test
+	public void flushChecksLightOnlyWhenTheLightChanges() {
+		// same opacity and light value as stone
+		buffer.setBlockState(UNDERGROUND, Blocks.COBBLESTONE.getDefaultState());
+		// opacity changes
+		buffer.setBlockState(UNDERGROUND.add(1, 0, 0), Blocks.AIR.getDefaultState());
+		// light value changes
+		buffer.setBlockState(UNDERGROUND.add(2, 0, 0), Blocks.GLOWSTONE.getDefaultState());
+		// unchanged
+		buffer.setBlockState(UNDERGROUND.add(3, 0, 0), Blocks.STONE.getDefaultState());
+		buffer.flush();
+
+		assertEquals(3, world.getBlocksSet());
+		assertEquals(2, world.getLightChecks());
+	}
+
+	@Test
+	public void flushActionsRunAfterTheEditsArePlaced() {
+		List<IBlockState> seen = new ArrayList<>();
+		buffer.onFlush(() -> seen.add(world.getBlockState(UNDERGROUND.toPos())));
+		buffer.setBlockState(UNDERGROUND, Blocks.AIR.getDefaultState());
+		assertFalse(buffer.isEmpty());
+
+		buffer.flush();
+		assertEquals(1, seen.size());
+		assertSame(Blocks.AIR.getDefaultState(), seen.get(0));
+		assertTrue(buffer.isEmpty());
+
+		// actions are run once
+		buffer.flush();
+		assertEquals(1, seen.size());
+	}
+}
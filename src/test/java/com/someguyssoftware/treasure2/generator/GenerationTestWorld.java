@@ -0,0 +1,135 @@
+/**
+ *
+ */
+package com.someguyssoftware.treasure2.generator;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Blocks;
+import net.minecraft.profiler.Profiler;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.GameType;
+import net.minecraft.world.World;
+import net.minecraft.world.WorldProviderSurface;
+import net.minecraft.world.WorldSettings;
+import net.minecraft.world.WorldType;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.IChunkProvider;
+import net.minecraft.world.storage.WorldInfo;
+
+/**
+ * A flat world held in memory for the generator tests and benchmarks: stone up to SURFACE_Y, grass at SURFACE_Y and air above.
+ * Counts the blocks that are changed and the light checks that are made. Call Bootstrap.register() before creating one.
+ */
+public class GenerationTestWorld extends World {
+	public static final int SURFACE_Y = 64;
+
+	// the changed blocks by BlockPos.toLong()
+	private final Long2ObjectOpenHashMap<IBlockState> states = new Long2ObjectOpenHashMap<>();
+	private final Long2ObjectOpenHashMap<Chunk> chunks = new Long2ObjectOpenHashMap<>();
+	private int blocksSet;
+	private int lightChecks;
+
+	/**
+	 *
+	 */
+	public GenerationTestWorld() {
+		super(null, new WorldInfo(new WorldSettings(0L, GameType.SURVIVAL, false, false, WorldType.FLAT), "test"),
+				new WorldProviderSurface(), new Profiler(), false);
+	}
+
+	@Override
+	protected IChunkProvider createChunkProvider() {
+		return null;
+	}
+
+	@Override
+	protected boolean isChunkLoaded(int x, int z, boolean allowEmpty) {
+		return true;
+	}
+
+	@Override
+	public IBlockState getBlockState(BlockPos pos) {
+		IBlockState state = states.get(pos.toLong());
+		if (state != null) {
+			return state;
+		}
+		if (pos.getY() < SURFACE_Y) {
+			return Blocks.STONE.getDefaultState();
+		}
+		return pos.getY() == SURFACE_Y ? Blocks.GRASS.getDefaultState() : Blocks.AIR.getDefaultState();
+	}
+
+	@Override
+	public Chunk getChunkFromChunkCoords(int chunkX, int chunkZ) {
+		long key = ChunkPos.asLong(chunkX, chunkZ);
+		Chunk chunk = chunks.get(key);
+		if (chunk == null) {
+			chunk = new TestChunk(this, chunkX, chunkZ);
+			chunks.put(key, chunk);
+		}
+		return chunk;
+	}
+
+	@Override
+	public int getHeight(int x, int z) {
+		return SURFACE_Y + 1;
+	}
+
+	@Override
+	public boolean checkLight(BlockPos pos) {
+		lightChecks++;
+		return true;
+	}
+
+	/**
+	 *
+	 * @return the changed blocks by BlockPos.toLong()
+	 */
+	public Long2ObjectMap<IBlockState> getChangedStates() {
+		return states;
+	}
+
+	public int getBlocksSet() {
+		return blocksSet;
+	}
+
+	public int getLightChecks() {
+		return lightChecks;
+	}
+
+	/**
+	 * Stores its blocks in the world's map.
+	 */
+	private static class TestChunk extends Chunk {
+		private final GenerationTestWorld world;
+
+		TestChunk(GenerationTestWorld world, int x, int z) {
+			super(world, x, z);
+			this.world = world;
+		}
+
+		@Override
+		public IBlockState getBlockState(BlockPos pos) {
+			return world.getBlockState(pos);
+		}
+
+		@Override
+		public IBlockState setBlockState(BlockPos pos, IBlockState state) {
+			IBlockState oldState = world.getBlockState(pos);
+			if (oldState == state) {
+				return null;
+			}
+			world.states.put(pos.toLong(), state);
+			world.blocksSet++;
+			return oldState;
+		}
+
+		@Override
+		public boolean isPopulated() {
+			return true;
+		}
+	}
+}
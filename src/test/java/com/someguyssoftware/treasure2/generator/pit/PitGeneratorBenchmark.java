@@ -0,0 +1,115 @@
+/**
+ *
+ */
+package com.someguyssoftware.treasure2.generator.pit;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.someguyssoftware.gottschcore.positional.Coords;
+import com.someguyssoftware.gottschcore.positional.ICoords;
+import com.someguyssoftware.treasure2.generator.BlockPlacementBuffer;
+import com.someguyssoftware.treasure2.generator.ChestGeneratorData;
+import com.someguyssoftware.treasure2.generator.GenerationTestWorld;
+import com.someguyssoftware.treasure2.generator.GeneratorResult;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Bootstrap;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+
+/**
+ * Placing the blocks of each pit: one World.setBlockState() per block, as the pit generators did, against one buffer
+ * flush. Both place the same blocks, which are recorded from a run of the generator; generate is the whole generator.
+ * Only the pits that place vanilla blocks are included, the mob trap, collapsing and volcano pits need the mod's blocks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PitGeneratorBenchmark {
+	private static final ICoords SURFACE_COORDS = new Coords(8, GenerationTestWorld.SURFACE_Y, 8);
+	private static final ICoords SPAWN_COORDS = new Coords(8, 12, 8);
+	private static final long SEED = 1L;
+
+	@Param({ "SIMPLE_PIT", "TNT_TRAP_PIT", "LAVA_TRAP_PIT", "LAVA_SIDE_TRAP_PIT" })
+	public String pit;
+
+	private IPitGenerator<GeneratorResult<ChestGeneratorData>> generator;
+	// the blocks the generator places, by BlockPos.toLong()
+	private Long2ObjectMap<IBlockState> edits;
+	private GenerationTestWorld world;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		Bootstrap.register();
+		generator = newGenerator(pit);
+		GenerationTestWorld recordWorld = new GenerationTestWorld();
+		generator.generate(recordWorld, new Random(SEED), SURFACE_COORDS, SPAWN_COORDS);
+		edits = new Long2ObjectOpenHashMap<>(recordWorld.getChangedStates());
+	}
+
+	@Setup(Level.Invocation)
+	public void setUpWorld() {
+		world = new GenerationTestWorld();
+	}
+
+	@Benchmark
+	public World perBlock() {
+		for (Long2ObjectMap.Entry<IBlockState> edit : edits.long2ObjectEntrySet()) {
+			world.setBlockState(BlockPos.fromLong(edit.getLongKey()), edit.getValue());
+		}
+		return world;
+	}
+
+	@Benchmark
+	public World buffered() {
+		BlockPlacementBuffer buffer = new BlockPlacementBuffer(world);
+		for (Long2ObjectMap.Entry<IBlockState> edit : edits.long2ObjectEntrySet()) {
+			BlockPos pos = BlockPos.fromLong(edit.getLongKey());
+			buffer.setBlockState(new Coords(pos.getX(), pos.getY(), pos.getZ()), edit.getValue());
+		}
+		buffer.flush();
+		return world;
+	}
+
+	@Benchmark
+	public GeneratorResult<ChestGeneratorData> generate() {
+		return generator.generate(world, new Random(SEED), SURFACE_COORDS, SPAWN_COORDS);
+	}
+
+	/**
+	 *
+	 * @param pit
+	 * @return
+	 */
+	private static IPitGenerator<GeneratorResult<ChestGeneratorData>> newGenerator(String pit) {
+		switch (pit) {
+		case "TNT_TRAP_PIT":
+			return new TntTrapPitGenerator();
+		case "LAVA_TRAP_PIT":
+			return new LavaTrapPitGenerator();
+		case "LAVA_SIDE_TRAP_PIT":
+			return new LavaSideTrapPitGenerator();
+		default:
+			return new SimplePitGenerator();
+		}
+	}
+}
@@ -0,0 +1,685 @@
+/**
+ *
+ */
+package com.someguyssoftware.treasure2.inventory;
+
+import static com.someguyssoftware.treasure2.capability.TreasureCapabilities.CHARMABLE;
+import static com.someguyssoftware.treasure2.capability.TreasureCapabilities.DURABILITY;
+import static com.someguyssoftware.treasure2.capability.TreasureCapabilities.RUNESTONES;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Field;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.objectweb.asm.Type;
+
+import com.mojang.authlib.GameProfile;
+import com.someguyssoftware.treasure2.Treasure;
+import com.someguyssoftware.treasure2.adornment.TreasureAdornmentRegistry;
+import com.someguyssoftware.treasure2.capability.AdornmentCapabilityProvider;
+import com.someguyssoftware.treasure2.capability.CharmableCapability;
+import com.someguyssoftware.treasure2.capability.CharmableCapabilityProvider;
+import com.someguyssoftware.treasure2.capability.DurabilityCapability;
+import com.someguyssoftware.treasure2.capability.ICharmableCapability;
+import com.someguyssoftware.treasure2.capability.IRunestonesCapability;
+import com.someguyssoftware.treasure2.capability.InventoryType;
+import com.someguyssoftware.treasure2.capability.RunestonesCapability;
+import com.someguyssoftware.treasure2.capability.RunestonesCapabilityProvider;
+import com.someguyssoftware.treasure2.capability.TreasureCapabilities;
+import com.someguyssoftware.treasure2.charm.Charm;
+import com.someguyssoftware.treasure2.charm.HealingCharm;
+import com.someguyssoftware.treasure2.charm.ICharmEntity;
+import com.someguyssoftware.treasure2.charm.ShieldingCharm;
+import com.someguyssoftware.treasure2.charm.TreasureCharmRegistry;
+import com.someguyssoftware.treasure2.charm.TreasureCharms;
+import com.someguyssoftware.treasure2.enums.AdornmentType;
+import com.someguyssoftware.treasure2.generator.GenerationTestWorld;
+import com.someguyssoftware.treasure2.item.Adornment;
+import com.someguyssoftware.treasure2.item.CharmBook;
+import com.someguyssoftware.treasure2.item.CharmItem;
+import com.someguyssoftware.treasure2.item.RunestoneItem;
+import com.someguyssoftware.treasure2.item.TreasureItems;
+import com.someguyssoftware.treasure2.item.TreasureToolItem;
+import com.someguyssoftware.treasure2.material.TreasureCharmableMaterials;
+import com.someguyssoftware.treasure2.rune.IRuneEntity;
+import com.someguyssoftware.treasure2.rune.TreasureRunes;
+import com.someguyssoftware.treasure2.util.ResourceLocationUtil;
+
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.init.Bootstrap;
+import net.minecraft.init.Items;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.util.ResourceLocation;
+import net.minecraft.util.math.BlockPos;
+import net.minecraftforge.common.capabilities.CapabilityInject;
+import net.minecraftforge.common.capabilities.CapabilityManager;
+import net.minecraftforge.common.capabilities.ICapabilityProvider;
+import net.minecraftforge.fml.common.discovery.ASMDataTable;
+
+/**
+ * Tests the outputs of the charming table, without a client, against the former updateOutput(), which recomputed
+ * every output on each change of an input: socketing a charm and a runestone, imbuing a charm book, recharging a
+ * charm and a socketed charm, and removing a socketed charm and a runestone.
+ * The outputs and the displayed charms and runestone are the same after each change, except that a stale output or
+ * displayed charm of the previous inputs is now cleared.
+ */
+public class CharmingTableContainerTest {
+	private static final int ADORNMENT_SLOT = 0;
+	private static final int CHARM_SLOT = 1;
+	private static final int OUTPUT_SLOT = 2;
+	private static final int CHARM_DISPLAY_SLOT = 3;
+	private static final int CHARM_MODIFIER_SLOT = 7;
+	private static final int CHARM_OUTPUT_SLOT = 11;
+	private static final int RUNE_DISPLAY_SLOT = 15;
+	private static final int RUNE_MODIFIER_SLOT = 16;
+	private static final int RUNE_OUTPUT_SLOT = 17;
+	private static final int[] OUTPUT_SLOTS = {OUTPUT_SLOT, CHARM_DISPLAY_SLOT, CHARM_DISPLAY_SLOT + 1, CHARM_DISPLAY_SLOT + 2, CHARM_DISPLAY_SLOT + 3,
+			CHARM_OUTPUT_SLOT, CHARM_OUTPUT_SLOT + 1, CHARM_OUTPUT_SLOT + 2, CHARM_OUTPUT_SLOT + 3, RUNE_DISPLAY_SLOT, RUNE_OUTPUT_SLOT};
+
+	private static Adornment ring;
+	private static CharmItem goldCharm;
+	private static CharmItem charmBook;
+	private static RunestoneItem durabilityRunestone;
+
+	private CharmingTableContainer container;
+	private LegacyCharmingTable legacy;
+
+	@BeforeClass
+	public static void setUpClass() {
+		Bootstrap.register();
+		injectCapabilities();
+		TreasureCharms.init();
+
+		ring = new Adornment(Treasure.MODID, "silver_ring", AdornmentType.RING, TreasureAdornmentRegistry.STANDARD) {
+			@Override
+			public ICapabilityProvider initCapabilities(ItemStack stack, NBTTagCompound nbt) {
+				ICharmableCapability cap = new CharmableCapability.Builder(1, 1, 2).with($ -> {
+					$.innate = true;
+					$.imbuable = true;
+					$.socketable = true;
+					$.baseMaterial = TreasureCharmableMaterials.SILVER.getName();
+				}).build();
+				IRunestonesCapability runestonesCap = new RunestonesCapability.Builder(0, 0, 1).with($ -> {
+					$.socketable = true;
+				}).build();
+				return new AdornmentCapabilityProvider(cap, runestonesCap, new DurabilityCapability(100, 100));
+			}
+		};
+		// the item of the displayed socket charms
+		goldCharm = createCharmItem("gold_charm", false);
+		TreasureItems.ITEMS.put(goldCharm.getRegistryName(), goldCharm);
+		charmBook = createCharmItem("charm_book", true);
+		durabilityRunestone = new RunestoneItem(Treasure.MODID, "durability_runestone") {
+			@Override
+			public ICapabilityProvider initCapabilities(ItemStack stack, NBTTagCompound nbt) {
+				IRunestonesCapability cap = new RunestonesCapability.Builder(1, 0, 0).with($ -> {
+					$.bindable = true;
+				}).build();
+				cap.add(InventoryType.INNATE, TreasureRunes.RUNE_OF_DURABILITY.createEntity());
+				return new RunestonesCapabilityProvider(cap);
+			}
+		};
+		TreasureRunes.register(TreasureRunes.RUNE_OF_DURABILITY, durabilityRunestone);
+		TreasureItems.TREASURE_TOOL = new TreasureToolItem(Treasure.MODID, "treasure_tool");
+	}
+
+	@Before
+	public void setUp() {
+		GenerationTestWorld world = new GenerationTestWorld();
+		EntityPlayer player = new EntityPlayer(world, new GameProfile(new UUID(0L, 1L), "player")) {
+			@Override
+			public boolean isSpectator() {
+				return false;
+			}
+
+			@Override
+			public boolean isCreative() {
+				return false;
+			}
+		};
+		container = new CharmingTableContainer(player.inventory, world, BlockPos.ORIGIN, player);
+		legacy = new LegacyCharmingTable();
+	}
+
+	@Test
+	public void socketsACharm() {
+		put(ADORNMENT_SLOT, () -> new ItemStack(ring));
+		put(CHARM_SLOT, () -> new ItemStack(goldCharm));
+		assertSameAsLegacy();
+		assertEquals(1, getCharmable(OUTPUT_SLOT).getCharmEntities().get(InventoryType.SOCKET).size());
+
+		// the charm is taken out
+		put(CHARM_SLOT, () -> ItemStack.EMPTY);
+		assertSameAsLegacy();
+		assertTrue(container.getSlot(OUTPUT_SLOT).getStack().isEmpty());
+	}
+
+	@Test
+	public void imbuesACharmBook() {
+		put(ADORNMENT_SLOT, () -> new ItemStack(ring));
+		put(CHARM_SLOT, () -> new ItemStack(charmBook));
+		assertSameAsLegacy();
+		assertEquals(1, getCharmable(OUTPUT_SLOT).getCharmEntities().get(InventoryType.IMBUE).size());
+	}
+
+	@Test
+	public void socketsARunestone() {
+		put(ADORNMENT_SLOT, () -> new ItemStack(ring));
+		put(CHARM_SLOT, () -> new ItemStack(durabilityRunestone));
+		assertSameAsLegacy();
+		assertEquals(1, container.getSlot(OUTPUT_SLOT).getStack().getCapability(RUNESTONES, null).getEntities(InventoryType.SOCKET).size());
+	}
+
+	@Test
+	public void rechargesACharm() {
+		put(ADORNMENT_SLOT, CharmingTableContainerTest::createDepletedCharm);
+		put(CHARM_SLOT, () -> new ItemStack(Items.DIAMOND));
+		assertSameAsLegacy();
+		ICharmEntity entity = ((List<ICharmEntity>) getCharmable(OUTPUT_SLOT).getCharmEntities().get(InventoryType.INNATE)).get(0);
+		assertEquals(entity.getMaxMana(), entity.getMana(), 0D);
+		assertEquals(0, entity.getRecharges());
+	}
+
+	@Test
+	public void rechargesASocketedCharm() {
+		put(ADORNMENT_SLOT, () -> createSocketedRing(true, false));
+		assertSameAsLegacy();
+		put(CHARM_MODIFIER_SLOT, () -> new ItemStack(Items.DIAMOND));
+		assertSameAsLegacy();
+		ICharmEntity entity = ((List<ICharmEntity>) getCharmable(CHARM_OUTPUT_SLOT).getCharmEntities().get(InventoryType.SOCKET)).get(0);
+		assertEquals(entity.getMaxMana(), entity.getMana(), 0D);
+	}
+
+	@Test
+	public void removesASocketedCharm() {
+		put(ADORNMENT_SLOT, () -> createSocketedRing(false, false));
+		assertSameAsLegacy();
+		assertFalse(container.getSlot(CHARM_DISPLAY_SLOT + 1).getStack().isEmpty());
+		put(CHARM_MODIFIER_SLOT + 1, () -> new ItemStack(TreasureItems.TREASURE_TOOL));
+		assertSameAsLegacy();
+		List<ICharmEntity> entities = (List<ICharmEntity>) getCharmable(CHARM_OUTPUT_SLOT + 1).getCharmEntities().get(InventoryType.SOCKET);
+		assertEquals(1, entities.size());
+		assertEquals(HealingCharm.TYPE, entities.get(0).getCharm().getType());
+	}
+
+	@Test
+	public void removesARunestone() {
+		put(ADORNMENT_SLOT, () -> createSocketedRing(false, true));
+		assertSameAsLegacy();
+		assertFalse(container.getSlot(RUNE_DISPLAY_SLOT).getStack().isEmpty());
+		put(RUNE_MODIFIER_SLOT, () -> new ItemStack(TreasureItems.TREASURE_TOOL));
+		assertSameAsLegacy();
+		assertTrue(container.getSlot(RUNE_OUTPUT_SLOT).getStack().getCapability(RUNESTONES, null).getEntities(InventoryType.SOCKET).isEmpty());
+	}
+
+	@Test
+	public void runestoneRemovalWaitsForTheCharmModifiers() {
+		put(ADORNMENT_SLOT, () -> createSocketedRing(false, true));
+		put(CHARM_MODIFIER_SLOT, () -> new ItemStack(TreasureItems.TREASURE_TOOL));
+		put(RUNE_MODIFIER_SLOT, () -> new ItemStack(TreasureItems.TREASURE_TOOL));
+		// the charm modifier takes precedence over the rune modifier
+		assertSameAsLegacy();
+		assertFalse(container.getSlot(CHARM_OUTPUT_SLOT).getStack().isEmpty());
+		assertTrue(container.getSlot(RUNE_OUTPUT_SLOT).getStack().isEmpty());
+
+		put(CHARM_MODIFIER_SLOT, () -> ItemStack.EMPTY);
+		assertSameAsLegacy();
+		assertFalse(container.getSlot(RUNE_OUTPUT_SLOT).getStack().isEmpty());
+	}
+
+	@Test
+	public void clearsTheDisplayedCharmsOfThePreviousAdornment() {
+		put(ADORNMENT_SLOT, () -> createSocketedRing(false, false));
+		assertSameAsLegacy();
+		put(ADORNMENT_SLOT, () -> new ItemStack(ring));
+		// the former updateOutput() left the charms of the socketed ring displayed
+		assertFalse(legacy.charmDisplay[0].isEmpty());
+		assertTrue(container.getSlot(CHARM_DISPLAY_SLOT).getStack().isEmpty());
+		assertTrue(container.getSlot(CHARM_DISPLAY_SLOT + 1).getStack().isEmpty());
+	}
+
+	@Test
+	public void clearsTheOutputOfThePreviousAdornment() {
+		put(ADORNMENT_SLOT, () -> new ItemStack(ring));
+		put(CHARM_SLOT, () -> new ItemStack(goldCharm));
+		assertSameAsLegacy();
+		// the charm is already socketed into this one
+		put(ADORNMENT_SLOT, () -> createSocketedRing(false, false));
+		// the former updateOutput() returned early and left the output of the empty ring
+		assertFalse(legacy.output.isEmpty());
+		assertTrue(container.getSlot(OUTPUT_SLOT).getStack().isEmpty());
+	}
+
+	/**
+	 * Puts a stack into the slot of the container, which updates its outputs, and a stack from the same supplier into
+	 * the same slot of the former table.
+	 * @param slot
+	 * @param stack
+	 */
+	private void put(int slot, Supplier<ItemStack> stack) {
+		container.getSlot(slot).putStack(stack.get());
+		legacy.put(slot, stack.get());
+	}
+
+	private void assertSameAsLegacy() {
+		for (int slot : OUTPUT_SLOTS) {
+			assertEquals("slot " + slot, describe(legacy.get(slot)), describe(container.getSlot(slot).getStack()));
+		}
+	}
+
+	private ICharmableCapability getCharmable(int slot) {
+		ItemStack stack = container.getSlot(slot).getStack();
+		assertFalse("slot " + slot, stack.isEmpty());
+		return stack.getCapability(CHARMABLE, null);
+	}
+
+	/**
+	 * The item, count, damage and capabilities of the stack, as compared between the tables.
+	 * @param stack
+	 * @return
+	 */
+	private static String describe(ItemStack stack) {
+		if (stack.isEmpty()) {
+			return "EMPTY";
+		}
+		StringBuilder builder = new StringBuilder().append(stack.getItem().getRegistryName()).append(" x").append(stack.getCount())
+				.append(" damage ").append(stack.getItemDamage());
+		if (stack.hasCapability(CHARMABLE, null)) {
+			builder.append(" charmable ").append(CHARMABLE.writeNBT(stack.getCapability(CHARMABLE, null), null));
+		}
+		if (stack.hasCapability(RUNESTONES, null)) {
+			builder.append(" runestones ").append(RUNESTONES.writeNBT(stack.getCapability(RUNESTONES, null), null));
+		}
+		if (stack.hasCapability(DURABILITY, null)) {
+			builder.append(" durability ").append(DURABILITY.writeNBT(stack.getCapability(DURABILITY, null), null));
+		}
+		return builder.toString();
+	}
+
+	/**
+	 * A gold charm of healing that has used its charge and can be recharged once.
+	 * @return
+	 */
+	private static ItemStack createDepletedCharm() {
+		ItemStack stack = new ItemStack(goldCharm);
+		ICharmEntity entity = ((List<ICharmEntity>) stack.getCapability(CHARMABLE, null).getCharmEntities().get(InventoryType.INNATE)).get(0);
+		entity.setMana(1D);
+		entity.setRecharges(1);
+		return stack;
+	}
+
+	/**
+	 * A ring with a healing and a shielding charm in its sockets, and optionally a rune of durability.
+	 * @param depleted whether the healing charm has used its charge and can be recharged once
+	 * @param rune
+	 * @return
+	 */
+	private static ItemStack createSocketedRing(boolean depleted, boolean rune) {
+		ItemStack stack = new ItemStack(ring);
+		ICharmableCapability cap = stack.getCapability(CHARMABLE, null);
+		ICharmEntity healing = TreasureCharmRegistry.get(ResourceLocationUtil.create(Charm.Builder.makeName(HealingCharm.TYPE, 1))).get().createEntity();
+		if (depleted) {
+			healing.setMana(1D);
+			healing.setRecharges(1);
+		}
+		cap.add(InventoryType.SOCKET, healing);
+		cap.add(InventoryType.SOCKET, TreasureCharmRegistry.get(ResourceLocationUtil.create(Charm.Builder.makeName(ShieldingCharm.SHIELDING_TYPE, 1))).get().createEntity());
+		if (rune) {
+			IRuneEntity entity = TreasureRunes.RUNE_OF_DURABILITY.createEntity();
+			stack.getCapability(RUNESTONES, null).add(InventoryType.SOCKET, entity);
+			entity.getRunestone().apply(stack, entity);
+		}
+		return stack;
+	}
+
+	/**
+	 * A charm item of healing, as TreasureItems creates the charms and the charm book.
+	 * @param name
+	 * @param book
+	 * @return
+	 */
+	private static CharmItem createCharmItem(String name, boolean book) {
+		if (book) {
+			return new CharmBook(Treasure.MODID, name) {
+				@Override
+				public ICapabilityProvider initCapabilities(ItemStack stack, NBTTagCompound nbt) {
+					return createCharmProvider(true);
+				}
+			};
+		}
+		return new CharmItem(Treasure.MODID, name) {
+			@Override
+			public ICapabilityProvider initCapabilities(ItemStack stack, NBTTagCompound nbt) {
+				return createCharmProvider(false);
+			}
+		};
+	}
+
+	private static ICapabilityProvider createCharmProvider(boolean book) {
+		ICharmableCapability cap = new CharmableCapability.Builder(1, 0, 0).with($ -> {
+			$.innate = true;
+			$.bindable = !book;
+			$.imbuing = book;
+			$.source = true;
+			$.baseMaterial = book ? TreasureCharmableMaterials.CHARM_BOOK.getName() : TreasureCharmableMaterials.GOLD.getName();
+			$.sourceItem = Items.AIR.getRegistryName();
+		}).build();
+		cap.getCharmEntities().get(InventoryType.INNATE).add(TreasureCharmRegistry.get(ResourceLocationUtil.create(Charm.Builder.makeName(HealingCharm.TYPE, 1))).get().createEntity());
+		return new CharmableCapabilityProvider(cap);
+	}
+
+	/**
+	 * Registers the capabilities and sets the @CapabilityInject fields of TreasureCapabilities, as FML does at start up.
+	 */
+	private static void injectCapabilities() {
+		TreasureCapabilities.register();
+		ASMDataTable table = new ASMDataTable();
+		for (Field field : TreasureCapabilities.class.getFields()) {
+			CapabilityInject inject = field.getAnnotation(CapabilityInject.class);
+			if (inject != null) {
+				Map<String, Object> info = new HashMap<>();
+				info.put("value", Type.getType(inject.value()));
+				table.addASMData(null, CapabilityInject.class.getName(), TreasureCapabilities.class.getName(), field.getName(), info);
+			}
+		}
+		CapabilityManager.INSTANCE.injectCapabilities(table);
+	}
+
+	/**
+	 * The slots of the charming table with the former updateOutput(), which ran every check on each change of an input.
+	 */
+	private static class LegacyCharmingTable {
+		private final ItemStack[] inputs = {ItemStack.EMPTY, ItemStack.EMPTY};
+		private ItemStack output = ItemStack.EMPTY;
+		private final ItemStack[] charmDisplay = {ItemStack.EMPTY, ItemStack.EMPTY, ItemStack.EMPTY, ItemStack.EMPTY};
+		private final ItemStack[] charmModifiers = {ItemStack.EMPTY, ItemStack.EMPTY, ItemStack.EMPTY, ItemStack.EMPTY};
+		private final ItemStack[] charmOutputs = {ItemStack.EMPTY, ItemStack.EMPTY, ItemStack.EMPTY, ItemStack.EMPTY};
+		private ItemStack runeDisplay = ItemStack.EMPTY;
+		private ItemStack runeModifier = ItemStack.EMPTY;
+		private ItemStack runeOutput = ItemStack.EMPTY;
+
+		void put(int slot, ItemStack stack) {
+			if (slot == ADORNMENT_SLOT || slot == CHARM_SLOT) {
+				inputs[slot] = stack;
+			}
+			else if (slot >= CHARM_MODIFIER_SLOT && slot < CHARM_MODIFIER_SLOT + 4) {
+				charmModifiers[slot - CHARM_MODIFIER_SLOT] = stack;
+			}
+			else if (slot == RUNE_MODIFIER_SLOT) {
+				runeModifier = stack;
+			}
+			else {
+				throw new IllegalArgumentException("not an input slot -> " + slot);
+			}
+			updateOutput();
+		}
+
+		ItemStack get(int slot) {
+			if (slot == OUTPUT_SLOT) {
+				return output;
+			}
+			if (slot >= CHARM_DISPLAY_SLOT && slot < CHARM_DISPLAY_SLOT + 4) {
+				return charmDisplay[slot - CHARM_DISPLAY_SLOT];
+			}
+			if (slot >= CHARM_OUTPUT_SLOT && slot < CHARM_OUTPUT_SLOT + 4) {
+				return charmOutputs[slot - CHARM_OUTPUT_SLOT];
+			}
+			return slot == RUNE_DISPLAY_SLOT ? runeDisplay : runeOutput;
+		}
+
+		private static boolean isEmpty(ItemStack[] stacks) {
+			for (ItemStack stack : stacks) {
+				if (!stack.isEmpty()) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		/**
+		 * The former CharmingTableContainer.updateOutput(), with the slots of this table.
+		 */
+		private void updateOutput() {
+			// check if the adornment slot has an item
+			ItemStack itemStack = inputs[0];
+			if (itemStack.isEmpty()) {
+				output = ItemStack.EMPTY;
+				// clear charms
+				for (int i = 0; i < 4; i++) {
+					charmDisplay[i] = ItemStack.EMPTY;
+					charmOutputs[i] = ItemStack.EMPTY;
+				}
+				// clear runestone
+				runeDisplay = ItemStack.EMPTY;
+				runeOutput = ItemStack.EMPTY;
+				return;
+			}
+
+			// get the inputs
+			ItemStack itemStack2 = inputs[1];
+			if (itemStack2.isEmpty()) {
+				output = ItemStack.EMPTY;
+			}
+
+			// populate the charms and runestone if input is an adornment
+			if (itemStack.getItem() instanceof Adornment) {
+				ICharmableCapability charmableCap = itemStack.getCapability(CHARMABLE, null);
+				if (charmableCap != null) {
+					if (charmableCap.getCharmEntities().get(InventoryType.SOCKET).size() > 0) {
+						// less than 5 socket charms can fit into container gui
+						if (charmableCap.getCharmEntities().get(InventoryType.SOCKET).size() <= 4) {
+							int index = 0;
+							ResourceLocation resource = new ResourceLocation(Treasure.MODID, "gold_charm");
+							for (ICharmEntity charm : charmableCap.getCharmEntities().get(InventoryType.SOCKET)) {
+								ItemStack charmStack = new ItemStack(TreasureItems.ITEMS.get(resource));
+								// duplicate the charm entity
+								ICharmEntity entity = charm.getCharm().createEntity(charm);
+								// update the new charmStack with the duplicated charm
+								((List<ICharmEntity>)charmStack.getCapability(CHARMABLE, null).getCharmEntities().get(InventoryType.INNATE)).set(0, entity);
+								charmDisplay[index] = charmStack;
+								index++;
+							}
+						}
+					}
+				}
+
+				// populate the runestones
+				IRunestonesCapability runestoneCap = itemStack.getCapability(RUNESTONES, null);
+				if (runestoneCap != null) {
+					if (runestoneCap.getEntities(InventoryType.SOCKET).size() > 0) {
+						Optional<Item> item = TreasureRunes.getItem(runestoneCap.getEntities(InventoryType.SOCKET).get(0).getRunestone());
+						if (item.isPresent()) {
+							runeDisplay = new ItemStack(item.get());
+						}
+					}
+				}
+			}
+
+			for (int i = 0; i < 4; i++) {
+				if (charmDisplay[i].isEmpty() || charmModifiers[i].isEmpty()) {
+					charmOutputs[i] = ItemStack.EMPTY;
+				}
+			}
+
+			ItemStack runeStack = runeDisplay;
+			if (runeStack.isEmpty()) {
+				runeOutput = ItemStack.EMPTY;
+			}
+			ItemStack runeStack2 = runeModifier;
+			if (runeStack2.isEmpty()) {
+				runeOutput = ItemStack.EMPTY;
+			}
+
+			/*
+			 *  add charm check
+			 */
+			if (itemStack.hasCapability(CHARMABLE, null) && itemStack2.hasCapability(CHARMABLE, null)
+					&& itemStack.getCapability(CHARMABLE, null).isSocketable()
+					&& itemStack2.getCapability(CHARMABLE, null).isBindable()) {
+
+				ICharmableCapability cap = itemStack.getCapability(CHARMABLE, null);
+
+				// check that they charm type doesn't already exist on the adornment
+				if (cap.hasCharmType(itemStack2, itemStack, InventoryType.INNATE, InventoryType.SOCKET)) {
+					return;
+				}
+				// check that there is room to add charms
+				if (cap.getCharmEntities().get(InventoryType.SOCKET).size() < cap.getMaxSocketSize()) {
+					// build the output item, add the charm to the adornment
+					Optional<ItemStack> outStack = TreasureAdornmentRegistry.transferCapabilities(itemStack2, itemStack, InventoryType.INNATE, InventoryType.SOCKET);
+					if (outStack.isPresent()) {
+						if (outStack.get().hasCapability(RUNESTONES, null)) {
+							outStack.get().getCapability(RUNESTONES, null).getEntities(InventoryType.SOCKET).forEach(entity -> {
+								entity.getRunestone().apply(outStack.get(), entity);
+							});
+						}
+						output = outStack.get();
+					}
+				}
+			}
+			/*
+			 * add charm book (imbuing) check
+			 */
+			if (itemStack.hasCapability(CHARMABLE, null) && itemStack2.hasCapability(CHARMABLE, null)
+					&& itemStack.getCapability(CHARMABLE, null).isImbuable()
+					&& itemStack2.getCapability(CHARMABLE, null).isImbuing()) {
+				ICharmableCapability cap = itemStack.getCapability(CHARMABLE, null);
+
+				// check that they charm type doesn't already exist on the adornment
+				if (cap.hasCharmType(itemStack2, itemStack, InventoryType.INNATE, InventoryType.IMBUE)) {
+					return;
+				}
+				// check that there is room to add charms
+				if (cap.getCharmEntities().get(InventoryType.IMBUE).size() < cap.getMaxImbueSize()) {
+					// build the output item, add the charm book to the adornment
+					Optional<ItemStack> outStack = TreasureAdornmentRegistry.transferCapabilities(itemStack2, itemStack, InventoryType.INNATE, InventoryType.IMBUE);
+					if (outStack.isPresent()) {
+						if (outStack.get().hasCapability(RUNESTONES, null)) {
+							outStack.get().getCapability(RUNESTONES, null).getEntities(InventoryType.SOCKET).forEach(entity -> {
+								entity.getRunestone().apply(outStack.get(), entity);
+							});
+						}
+						output = outStack.get();
+					}
+				}
+			}
+			/*
+			 *  add runestone check. uses the assumption that runestones only contain 1 rune entity
+			 */
+			else if (itemStack.hasCapability(RUNESTONES, null) && itemStack2.hasCapability(RUNESTONES, null)
+					&& itemStack.getCapability(RUNESTONES, null).isSocketable()
+					&& itemStack2.getCapability(RUNESTONES, null).isBindable()) {
+
+				IRunestonesCapability cap = itemStack.getCapability(RUNESTONES, null);
+				// check that there is room to add charms
+				if (cap.getEntities(InventoryType.SOCKET).size() < cap.getMaxSize(InventoryType.SOCKET)) {
+					Optional<ItemStack> stack = TreasureAdornmentRegistry.transferCapabilities(itemStack2, itemStack, InventoryType.INNATE, InventoryType.SOCKET);
+					if (stack.isPresent()) {
+						AtomicBoolean isStackValid = new AtomicBoolean(true);
+						stack.get().getCapability(RUNESTONES, null).getEntities(InventoryType.SOCKET).forEach(entity -> {
+							if (!entity.getRunestone().isValid(stack.get())) {
+								isStackValid.set(false);
+								return;
+							}
+							entity.getRunestone().apply(stack.get(), entity);
+						});
+						if (isStackValid.get()) {
+							output = stack.get();
+						}
+					}
+				}
+			}
+			/*
+			 * recharge charm check
+			 * input1 = charm, input2 = source item
+			 */
+			else if (itemStack.hasCapability(CHARMABLE, null)
+					&& itemStack.getCapability(CHARMABLE, null).isBindable()
+					&& TreasureCharmableMaterials.isSourceItemRegistered(itemStack2.getItem().getRegistryName())) {
+				// make a copy of CharmItem
+				ItemStack stack = TreasureCharms.copyStack(itemStack, itemStack);
+				ICharmableCapability cap = stack.getCapability(CHARMABLE, null);
+				// get the charm
+				ICharmEntity entity = ((List<ICharmEntity>) cap.getCharmEntities().get(InventoryType.INNATE)).get(0);
+				if (entity.getRecharges() > 0 && entity.getMana() < entity.getMaxMana()) {
+					entity.setRecharges(entity.getRecharges() - 1);
+					entity.setMana(entity.getMaxMana());
+					output = stack;
+				}
+			}
+			/*
+			 *  remove/recharge adornment charm check
+			 */
+			else if (!isEmpty(charmDisplay) && !isEmpty(charmModifiers)) {
+				// now check if the inputs line up and using correct items
+				for (int i = 0; i < 4; i++) {
+					// recharge check
+					if (!charmDisplay[i].isEmpty()
+							&& !charmModifiers[i].isEmpty()
+							&& TreasureCharmableMaterials.isSourceItemRegistered(charmModifiers[i].getItem().getRegistryName())) {
+
+						// make a copy of the adornment stack
+						ItemStack stack = TreasureAdornmentRegistry.copyStack(itemStack, itemStack);
+						ICharmableCapability cap = stack.getCapability(CHARMABLE, null);
+
+						// get the charm
+						ICharmEntity entity = ((List<ICharmEntity>) cap.getCharmEntities().get(InventoryType.SOCKET)).get(i);
+						if (entity.getRecharges() > 0 && entity.getMana() < entity.getMaxMana()) {
+							entity.setRecharges(entity.getRecharges() - 1);
+							entity.setMana(entity.getMaxMana());
+							charmOutputs[i] = stack;
+						}
+					}
+					else if (!charmDisplay[i].isEmpty()
+							&& !charmModifiers[i].isEmpty()
+							&& charmModifiers[i].getItem() == TreasureItems.TREASURE_TOOL) {
+
+						// make a copy of the adornment stack
+						ItemStack stack = itemStack.copy();
+						ItemStack newStack = TreasureAdornmentRegistry.copyStack(itemStack, stack);
+						ICharmableCapability cap = newStack.getCapability(CHARMABLE, null);
+						// remove the charm
+						cap.remove(InventoryType.SOCKET, i);
+						// apply any runes
+						if (newStack.hasCapability(RUNESTONES, null)) {
+							newStack.getCapability(RUNESTONES, null).getEntities(InventoryType.SOCKET).forEach(entity -> {
+								entity.getRunestone().apply(newStack, entity);
+							});
+						}
+						charmOutputs[i] = newStack;
+					}
+				}
+			}
+			// remove runestone check
+			else if (runeStack != ItemStack.EMPTY && (runeStack2.getItem() == TreasureItems.TREASURE_TOOL)) {
+				// make a copy of the adornment stack
+				ItemStack stack = itemStack.copy();
+				stack = TreasureAdornmentRegistry.copyStack(itemStack, stack);
+				IRunestonesCapability cap = stack.getCapability(RUNESTONES, null);
+				if (cap != null) {
+					// get the rune entity
+					IRuneEntity entity = runeStack.getCapability(RUNESTONES, null).getEntities(InventoryType.INNATE).get(0);
+					// remove the entity from adornment
+					if (cap.remove(InventoryType.SOCKET, entity)) {
+						// undo the effects
+						entity.getRunestone().undo(stack, entity);
+					}
+				}
+				runeOutput = stack;
+			}
+		}
+	}
+}
@@ -0,0 +1,103 @@
+/**
+ *
+ */
+package com.someguyssoftware.treasure2.loot;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.minecraft.init.Bootstrap;
+import net.minecraft.item.ItemStack;
+import net.minecraft.util.ResourceLocation;
+import net.minecraft.world.storage.loot.LootContext;
+import net.minecraft.world.storage.loot.LootPool;
+import net.minecraft.world.storage.loot.LootTable;
+import net.minecraft.world.storage.loot.LootTableList;
+import net.minecraft.world.storage.loot.LootTableManager;
+
+/**
+ * The inject loot of a chest fill: resolving the loot table and the pools of each inject table from the loot table
+ * manager on every fill, as LootTableMaster2.getInjectedLootItems() does, against the pools that the LootPlan has
+ * resolved once. Both generate the same loot from the same pools in the same order.
+ * The vanilla chest loot tables stand in for the inject tables, as they are loaded by the loot table manager from the
+ * Minecraft jar and have several pools each.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InjectLootBenchmark {
+	private static final ResourceLocation[] INJECT_TABLES = {
+			LootTableList.CHESTS_SIMPLE_DUNGEON,
+			LootTableList.CHESTS_ABANDONED_MINESHAFT,
+			LootTableList.CHESTS_DESERT_PYRAMID,
+			LootTableList.CHESTS_JUNGLE_TEMPLE
+	};
+	private static final String[] POOLS = { "main", "pool1", "pool2" };
+
+	private LootTableManager lootTableManager;
+	private LootContext context;
+	// the resolved pools of all the inject tables, in table and pool order
+	private LootPool[] resolvedPools;
+	private final Random random = new Random(1L);
+
+	@Setup
+	public void setUp() {
+		Bootstrap.register();
+		lootTableManager = new LootTableManager(null);
+		context = new LootContext(0F, null, lootTableManager, null, null, null);
+		List<LootPool> pools = new ArrayList<>();
+		for (ResourceLocation location : INJECT_TABLES) {
+			LootTable lootTable = lootTableManager.getLootTableFromLocation(location);
+			for (String name : POOLS) {
+				LootPool pool = lootTable.getPool(name);
+				if (pool != null) {
+					pools.add(pool);
+				}
+			}
+		}
+		resolvedPools = pools.toArray(new LootPool[pools.size()]);
+	}
+
+	@Benchmark
+	public List<ItemStack> perFill() {
+		List<ItemStack> stacks = new ArrayList<>();
+		for (ResourceLocation location : INJECT_TABLES) {
+			LootTable lootTable = lootTableManager.getLootTableFromLocation(location);
+			if (lootTable == null) {
+				continue;
+			}
+			for (String name : POOLS) {
+				LootPool pool = lootTable.getPool(name);
+				if (pool != null) {
+					pool.generateLoot(stacks, random, context);
+				}
+			}
+		}
+		return stacks;
+	}
+
+	@Benchmark
+	public List<ItemStack> planned() {
+		List<ItemStack> stacks = new ArrayList<>();
+		for (LootPool pool : resolvedPools) {
+			pool.generateLoot(stacks, random, context);
+		}
+		return stacks;
+	}
+}
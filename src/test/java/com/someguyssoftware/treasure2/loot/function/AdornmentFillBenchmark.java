@@ -0,0 +1,235 @@
+/**
+ *
+ */
+package com.someguyssoftware.treasure2.loot.function;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.objectweb.asm.Type;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.someguyssoftware.treasure2.Treasure;
+import com.someguyssoftware.treasure2.adornment.AdornmentSize;
+import com.someguyssoftware.treasure2.adornment.TreasureAdornmentRegistry;
+import com.someguyssoftware.treasure2.capability.AdornmentCapabilityProvider;
+import com.someguyssoftware.treasure2.capability.CharmableCapability;
+import com.someguyssoftware.treasure2.capability.DurabilityCapability;
+import com.someguyssoftware.treasure2.capability.ICharmableCapability;
+import com.someguyssoftware.treasure2.capability.RunestonesCapability;
+import com.someguyssoftware.treasure2.capability.TreasureCapabilities;
+import com.someguyssoftware.treasure2.capability.modifier.GreatAdornmentLevelModifier;
+import com.someguyssoftware.treasure2.capability.modifier.NoLevelModifier;
+import com.someguyssoftware.treasure2.charm.TreasureCharms;
+import com.someguyssoftware.treasure2.enums.AdornmentType;
+import com.someguyssoftware.treasure2.enums.Rarity;
+import com.someguyssoftware.treasure2.item.Adornment;
+import com.someguyssoftware.treasure2.material.CharmableMaterial;
+import com.someguyssoftware.treasure2.material.TreasureCharmableMaterials;
+
+import net.minecraft.init.Bootstrap;
+import net.minecraft.init.Items;
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.util.ResourceLocation;
+import net.minecraft.world.storage.loot.RandomValueRange;
+import net.minecraft.world.storage.loot.conditions.LootCondition;
+import net.minecraftforge.common.capabilities.CapabilityInject;
+import net.minecraftforge.common.capabilities.CapabilityManager;
+import net.minecraftforge.common.capabilities.ICapabilityProvider;
+import net.minecraftforge.fml.common.discovery.ASMDataTable;
+
+/**
+ * The adornment selection of filling 1,000 jewelry-heavy chests, 6 random adornments each, with the random_adornment
+ * functions of the epic adornment pool: legacy is the former RandomAdornment.apply(), which created a stack of every
+ * adornment of the material to read its capability, twice, against the descriptor table of the registry.
+ * The standard and great adornments of iron, copper, silver and gold, without a gem and with a diamond or emerald,
+ * are registered as TreasureItems does, and the capabilities are injected as FML does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AdornmentFillBenchmark {
+	private static final int CHESTS = 1000;
+	private static final int ADORNMENTS_PER_CHEST = 6;
+
+	private final List<Roll> rolls = new ArrayList<>();
+	private ItemStack incoming;
+	private final Random random = new Random(1L);
+
+	@Setup
+	public void setUp() throws Exception {
+		Bootstrap.register();
+		injectCapabilities();
+
+		Map<CharmableMaterial, Integer> materialInnates = new HashMap<>();
+		materialInnates.put(TreasureCharmableMaterials.IRON, 0);
+		materialInnates.put(TreasureCharmableMaterials.COPPER, 1);
+		materialInnates.put(TreasureCharmableMaterials.SILVER, 2);
+		materialInnates.put(TreasureCharmableMaterials.GOLD, 3);
+		List<ResourceLocation> sources = Arrays.asList(Items.AIR.getRegistryName(), Items.DIAMOND.getRegistryName(), Items.EMERALD.getRegistryName());
+		Adornment greatGoldRing = null;
+		for (AdornmentType type : Arrays.asList(AdornmentType.BRACELET, AdornmentType.NECKLACE, AdornmentType.RING)) {
+			for (AdornmentSize size : Arrays.asList(TreasureAdornmentRegistry.STANDARD, TreasureAdornmentRegistry.GREAT)) {
+				for (CharmableMaterial material : materialInnates.keySet()) {
+					for (ResourceLocation source : sources) {
+						Adornment adornment = createAdornment(type, size, material, source, materialInnates.get(material));
+						TreasureAdornmentRegistry.register(material.getName(), source, adornment);
+						if (type == AdornmentType.RING && size == TreasureAdornmentRegistry.GREAT
+								&& material == TreasureCharmableMaterials.GOLD && source == Items.AIR.getRegistryName()) {
+							greatGoldRing = adornment;
+						}
+					}
+				}
+			}
+		}
+		TreasureAdornmentRegistry.freeze();
+		incoming = new ItemStack(greatGoldRing);
+
+		// the random_adornment functions of the epic adornment pool, and a levels one of the lower pools
+		rolls.add(new Roll(null, Optional.of(Arrays.asList(TreasureCharmableMaterials.SILVER, TreasureCharmableMaterials.GOLD)), Rarity.EPIC, true));
+		rolls.add(new Roll(null, Optional.empty(), Rarity.EPIC, false));
+		rolls.add(new Roll(new RandomValueRange(2, 4), Optional.of(Arrays.asList(TreasureCharmableMaterials.IRON, TreasureCharmableMaterials.COPPER)), null, false));
+	}
+
+	@Benchmark
+	public int legacy() {
+		int selected = 0;
+		for (int chest = 0; chest < CHESTS; chest++) {
+			for (int index = 0; index < ADORNMENTS_PER_CHEST; index++) {
+				if (rolls.get(index % rolls.size()).applyLegacy(incoming, random) != incoming) {
+					selected++;
+				}
+			}
+		}
+		return selected;
+	}
+
+	@Benchmark
+	public int descriptors() {
+		int selected = 0;
+		for (int chest = 0; chest < CHESTS; chest++) {
+			for (int index = 0; index < ADORNMENTS_PER_CHEST; index++) {
+				if (rolls.get(index % rolls.size()).function.apply(incoming, random, null) != incoming) {
+					selected++;
+				}
+			}
+		}
+		return selected;
+	}
+
+	/**
+	 * A random_adornment function and its properties.
+	 */
+	private static class Roll {
+		private final RandomValueRange levels;
+		private final Optional<List<CharmableMaterial>> materials;
+		private final Rarity rarity;
+		private final boolean hasGem;
+		private final RandomAdornment function;
+
+		Roll(RandomValueRange levels, Optional<List<CharmableMaterial>> materials, Rarity rarity, boolean hasGem) {
+			this.levels = levels;
+			this.materials = materials;
+			this.rarity = rarity;
+			this.hasGem = hasGem;
+			this.function = new RandomAdornment(new LootCondition[0], levels, materials, rarity, hasGem);
+		}
+
+		/**
+		 * The former RandomAdornment.apply(), without its logging and with the loot random.
+		 * @param stack
+		 * @param random
+		 * @return
+		 */
+		ItemStack applyLegacy(ItemStack stack, Random random) {
+			CharmableMaterial material = null;
+			if (!materials.isPresent()) {
+				material = TreasureCharmableMaterials.getBaseMaterial(stack.getCapability(TreasureCapabilities.CHARMABLE, null).getBaseMaterial()).get();
+			}
+			else {
+				material = materials.get().get(random.nextInt(materials.get().size()));
+			}
+			int level = levels == null ? 1 : levels.generateInt(random);
+			if (level > material.getMaxLevel()) {
+				level = material.getMaxLevel();
+			}
+
+			final int lambdaLevel = level;
+			List<Adornment> adornments = TreasureAdornmentRegistry.getByMaterial(material).stream()
+					.filter(a -> {
+						ItemStack itemStack = new ItemStack(a);
+						boolean hasSource = itemStack.getCapability(TreasureCapabilities.CHARMABLE, null).getSourceItem() != Items.AIR.getRegistryName();
+						return hasGem == hasSource;
+					})
+					.filter(a -> {
+						ItemStack itemStack = new ItemStack(a);
+						if (rarity != null && rarity == TreasureCharms.LEVEL_RARITY.get(itemStack.getCapability(TreasureCapabilities.CHARMABLE, null).getMaxCharmLevel())) {
+							return true;
+						}
+						return itemStack.getCapability(TreasureCapabilities.CHARMABLE, null).getMaxCharmLevel() == lambdaLevel;
+					})
+					.collect(Collectors.toList());
+			return adornments.isEmpty() ? stack : new ItemStack(adornments.get(random.nextInt(adornments.size())));
+		}
+	}
+
+	/**
+	 * Creates an adornment with the capabilities of the TreasureItems adornments, without the runestones socket.
+	 */
+	private static Adornment createAdornment(AdornmentType type, AdornmentSize size, CharmableMaterial material, ResourceLocation source, int innateSize) {
+		String name = (size == TreasureAdornmentRegistry.STANDARD ? "" : size.getName() + "_")
+				+ (source == Items.AIR.getRegistryName() ? "" : source.getResourcePath() + "_") + material.getName().getResourcePath() + "_" + type.toString();
+		return new Adornment(Treasure.MODID, name, type, size) {
+			@Override
+			public ICapabilityProvider initCapabilities(ItemStack stack, NBTTagCompound nbt) {
+				ICharmableCapability cap = new CharmableCapability.Builder(innateSize, 1, 1).with($ -> {
+					$.innate = material != TreasureCharmableMaterials.IRON;
+					$.imbuable = material != TreasureCharmableMaterials.IRON && material != TreasureCharmableMaterials.COPPER;
+					$.socketable = true;
+					$.baseMaterial = material.getName();
+					$.levelModifier = size == TreasureAdornmentRegistry.GREAT ? new GreatAdornmentLevelModifier() : new NoLevelModifier();
+					$.sourceItem = source;
+				}).build();
+				return new AdornmentCapabilityProvider(cap, new RunestonesCapability(0, 0, 0), new DurabilityCapability(100, 100));
+			}
+		};
+	}
+
+	/**
+	 * Registers the capabilities and sets the @CapabilityInject fields of TreasureCapabilities, as FML does at start up.
+	 */
+	private static void injectCapabilities() {
+		TreasureCapabilities.register();
+		ASMDataTable table = new ASMDataTable();
+		for (Field field : TreasureCapabilities.class.getFields()) {
+			CapabilityInject inject = field.getAnnotation(CapabilityInject.class);
+			if (inject != null) {
+				Map<String, Object> info = new HashMap<>();
+				info.put("value", Type.getType(inject.value()));
+				table.addASMData(null, CapabilityInject.class.getName(), TreasureCapabilities.class.getName(), field.getName(), info);
+			}
+		}
+		CapabilityManager.INSTANCE.injectCapabilities(table);
+	}
+}
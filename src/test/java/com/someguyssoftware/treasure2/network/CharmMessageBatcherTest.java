@@ -0,0 +1,64 @@
+/**
+ *
+ */
+package com.someguyssoftware.treasure2.network;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.List;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.someguyssoftware.treasure2.capability.InventoryType;
+import com.someguyssoftware.treasure2.charm.CharmContext;
+import com.someguyssoftware.treasure2.charm.HealingCharm;
+import com.someguyssoftware.treasure2.charm.ICharm;
+import com.someguyssoftware.treasure2.charm.ShieldingCharm;
+import com.someguyssoftware.treasure2.charm.TreasureCharmRegistry;
+
+import net.minecraft.init.Bootstrap;
+import net.minecraft.util.EnumHand;
+
+/**
+ * Tests that the batch of a player keeps only the latest state of each charm slot, in the order the slots first changed.
+ */
+public class CharmMessageBatcherTest {
+	private static ICharm healing;
+	private static ICharm shielding;
+
+	@BeforeClass
+	public static void setUpClass() {
+		Bootstrap.register();
+		healing = new HealingCharm.Builder(3).build();
+		shielding = new ShieldingCharm.Builder(4).build();
+		TreasureCharmRegistry.register(healing);
+		TreasureCharmRegistry.register(shielding);
+	}
+
+	@Test
+	public void latestStateOfEachSlotIsKept() {
+		CharmContext mainHand1 = CharmMessageToClientTest.createContext(healing, EnumHand.MAIN_HAND, "minecraft", InventoryType.INNATE, null, 0);
+		CharmContext hotbar1 = CharmMessageToClientTest.createContext(shielding, null, "minecraft", InventoryType.IMBUE, 3, 1);
+		CharmContext mainHand2 = CharmMessageToClientTest.createContext(healing, EnumHand.MAIN_HAND, "minecraft", InventoryType.INNATE, null, 0);
+		// another charm of the same item
+		CharmContext mainHandOther = CharmMessageToClientTest.createContext(healing, EnumHand.MAIN_HAND, "minecraft", InventoryType.INNATE, null, 1);
+		CharmContext hotbar2 = CharmMessageToClientTest.createContext(shielding, null, "minecraft", InventoryType.IMBUE, 3, 1);
+		CharmContext mainHand3 = CharmMessageToClientTest.createContext(healing, EnumHand.MAIN_HAND, "minecraft", InventoryType.INNATE, null, 0);
+
+		CharmMessageBatcher.Batch batch = new CharmMessageBatcher.Batch();
+		batch.add(mainHand1);
+		batch.add(hotbar1);
+		batch.add(mainHand2);
+		batch.add(mainHandOther);
+		batch.add(hotbar2);
+		batch.add(mainHand3);
+
+		List<CharmMessageToClient.Entry> entries = batch.getEntries();
+		assertEquals(3, entries.size());
+		assertSame(mainHand3.getEntity(), entries.get(0).getEntity());
+		assertSame(hotbar2.getEntity(), entries.get(1).getEntity());
+		assertSame(mainHandOther.getEntity(), entries.get(2).getEntity());
+	}
+}
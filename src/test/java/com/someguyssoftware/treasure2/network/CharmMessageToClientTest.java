@@ -0,0 +1,158 @@
+/**
+ *
+ */
+package com.someguyssoftware.treasure2.network;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.someguyssoftware.treasure2.Treasure;
+import com.someguyssoftware.treasure2.capability.InventoryType;
+import com.someguyssoftware.treasure2.charm.CharmContext;
+import com.someguyssoftware.treasure2.charm.HealingCharm;
+import com.someguyssoftware.treasure2.charm.ICharm;
+import com.someguyssoftware.treasure2.charm.ICharmEntity;
+import com.someguyssoftware.treasure2.charm.ICooldownCharmEntity;
+import com.someguyssoftware.treasure2.charm.ShieldingCharm;
+import com.someguyssoftware.treasure2.charm.TreasureCharmRegistry;
+import com.someguyssoftware.treasure2.integration.baubles.BaublesIntegration;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import net.minecraft.init.Bootstrap;
+import net.minecraft.init.Items;
+import net.minecraft.item.ItemStack;
+import net.minecraft.util.EnumHand;
+
+/**
+ * Tests that a CharmMessageToClient reads the entries it writes, for every hand, slot provider and inventory type,
+ * charms with and without a slot and slot providers other than Minecraft, Treasure and Baubles, and that each charm
+ * location has its own slot key.
+ */
+public class CharmMessageToClientTest {
+	private static final EnumHand[] HANDS = { null, EnumHand.MAIN_HAND, EnumHand.OFF_HAND };
+	private static final String[] PROVIDERS = { "minecraft", Treasure.MODID, BaublesIntegration.BAUBLES_MOD_ID, "curios", "other" };
+	private static final Integer[] SLOTS = { null, 0, 40 };
+
+	private static ICharm healing;
+	private static ICharm shielding;
+
+	@BeforeClass
+	public static void setUpClass() {
+		Bootstrap.register();
+		healing = new HealingCharm.Builder(3).build();
+		shielding = new ShieldingCharm.Builder(4).build();
+		TreasureCharmRegistry.register(healing);
+		TreasureCharmRegistry.register(shielding);
+	}
+
+	@Test
+	public void entriesAreReadAsWritten() {
+		List<CharmMessageToClient.Entry> written = new ArrayList<>();
+		int index = 0;
+		for (EnumHand hand : HANDS) {
+			for (String provider : PROVIDERS) {
+				for (InventoryType type : InventoryType.values()) {
+					for (Integer slot : SLOTS) {
+						written.add(new CharmMessageToClient.Entry(createContext(index % 2 == 0 ? healing : shielding, hand, provider, type, slot, index)));
+						index++;
+					}
+				}
+			}
+		}
+
+		ByteBuf buf = Unpooled.buffer();
+		new CharmMessageToClient(written).toBytes(buf);
+		CharmMessageToClient message = new CharmMessageToClient();
+		message.fromBytes(buf);
+
+		assertTrue(message.isMessageValid());
+		assertEquals(0, buf.readableBytes());
+		List<CharmMessageToClient.Entry> read = message.getEntries();
+		assertEquals(written.size(), read.size());
+		for (int i = 0; i < written.size(); i++) {
+			assertEntryEquals(written.get(i), read.get(i));
+		}
+	}
+
+	@Test
+	public void charmWithoutSlotProviderIsReadAsMinecraft() {
+		List<CharmMessageToClient.Entry> written = new ArrayList<>();
+		written.add(new CharmMessageToClient.Entry(createContext(healing, null, null, InventoryType.SOCKET, 8, 1)));
+
+		ByteBuf buf = Unpooled.buffer();
+		new CharmMessageToClient(written).toBytes(buf);
+		CharmMessageToClient message = new CharmMessageToClient();
+		message.fromBytes(buf);
+
+		assertEquals("minecraft", message.getEntries().get(0).getSlotProviderId());
+		assertEquals(Integer.valueOf(8), message.getEntries().get(0).getSlot());
+	}
+
+	@Test
+	public void everyLocationHasItsOwnSlotKey() {
+		Set<Long> keys = new HashSet<>();
+		int count = 0;
+		for (EnumHand hand : HANDS) {
+			for (String provider : PROVIDERS) {
+				for (InventoryType type : InventoryType.values()) {
+					for (Integer slot : SLOTS) {
+						for (int index = 0; index < 3; index++) {
+							keys.add(CharmMessageToClient.getSlotKey(createContext(healing, hand, provider, type, slot, index)));
+							count++;
+						}
+					}
+				}
+			}
+		}
+		assertEquals(count, keys.size());
+
+		// the same location of another charm has the same key
+		assertEquals(CharmMessageToClient.getSlotKey(createContext(healing, null, "curios", InventoryType.IMBUE, 2, 1)),
+				CharmMessageToClient.getSlotKey(createContext(shielding, null, "curios", InventoryType.IMBUE, 2, 1)));
+		assertNotEquals(CharmMessageToClient.getSlotKey(createContext(healing, null, "curios", InventoryType.IMBUE, 2, 1)),
+				CharmMessageToClient.getSlotKey(createContext(healing, null, "other", InventoryType.IMBUE, 2, 1)));
+	}
+
+	static CharmContext createContext(ICharm charm, EnumHand hand, String provider, InventoryType type, Integer slot, int index) {
+		ICharmEntity entity = charm.createEntity();
+		entity.setMana(index + 0.5);
+		if (entity instanceof ICooldownCharmEntity) {
+			((ICooldownCharmEntity) entity).setCooldownEnd(1000.0 + index);
+		}
+		ItemStack itemStack = new ItemStack(Items.DIAMOND_SWORD);
+		itemStack.setItemDamage(index);
+		return new CharmContext.Builder().with($ -> {
+			$.hand = hand;
+			$.slotProviderId = provider;
+			$.type = type;
+			$.slot = slot;
+			$.index = index;
+			$.itemStack = itemStack;
+			$.entity = entity;
+		}).build();
+	}
+
+	private static void assertEntryEquals(CharmMessageToClient.Entry expected, CharmMessageToClient.Entry actual) {
+		assertEquals(expected.getEntity().getCharm().getName(), actual.getEntity().getCharm().getName());
+		assertEquals(expected.getHand(), actual.getHand());
+		assertEquals(expected.getSlotProviderId(), actual.getSlotProviderId());
+		assertEquals(expected.getInventoryType(), actual.getInventoryType());
+		assertEquals(expected.getSlot(), actual.getSlot());
+		assertEquals(expected.getIndex(), actual.getIndex());
+		assertEquals(expected.getItemDamage(), actual.getItemDamage());
+		assertEquals(expected.getEntity().getMana(), actual.getEntity().getMana(), 0.0);
+		if (expected.getEntity() instanceof ICooldownCharmEntity) {
+			assertEquals(((ICooldownCharmEntity) expected.getEntity()).getCooldownEnd(), ((ICooldownCharmEntity) actual.getEntity()).getCooldownEnd(), 0.0);
+		}
+	}
+}
@@ -0,0 +1,115 @@
+/**
+ *
+ */
+package com.someguyssoftware.treasure2.particle;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.someguyssoftware.treasure2.block.IMistSupport;
+import com.someguyssoftware.treasure2.generator.GenerationTestWorld;
+
+import net.minecraft.init.Blocks;
+import net.minecraft.init.Bootstrap;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+
+/**
+ * The mist work of one client frame with 50 gravestones in view: the torch check of each gravestone's spawn and the
+ * per-particle work of the live mist particles. legacy is what the gravestones and particles did before the
+ * MistParticleManager: a 7x7x7 torch scan per spawn, and an emitter tile entity lookup and a bounding box per particle
+ * per tick for the player collisions, which are now made on the server. managed is the cached torch count; the
+ * particles have no per-tick mist work left on the client.
+ * The result is the mist share of a frame, to be compared with the 16,667 us of a frame at 60 fps. The rendering of
+ * the particles isn't included, it needs a client, and is bounded by the max. mist particles setting.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MistFrameBenchmark {
+	private static final int GRAVESTONES = 50;
+
+	// the live mist particles per gravestone; 20 is the default budget of 1024 particles spread over 50 gravestones
+	@Param({ "20" })
+	public int particlesPerGravestone;
+
+	// whether a torch is placed next to every other gravestone
+	@Param({ "false", "true" })
+	public boolean torches;
+
+	private World world;
+	private final BlockPos[] gravestones = new BlockPos[GRAVESTONES];
+	private double[] particles;
+
+	@Setup
+	public void setUp() {
+		Bootstrap.register();
+		Random random = new Random(1L);
+		world = new GenerationTestWorld();
+		for (int i = 0; i < GRAVESTONES; i++) {
+			gravestones[i] = new BlockPos(random.nextInt(64), GenerationTestWorld.SURFACE_Y + 1, random.nextInt(64));
+			if (torches && (i & 1) == 0) {
+				world.setBlockState(gravestones[i].add(2, 0, 0), Blocks.TORCH.getDefaultState());
+			}
+		}
+		// x, y, z of each particle, around its gravestone
+		particles = new double[GRAVESTONES * particlesPerGravestone * 3];
+		for (int i = 0; i < GRAVESTONES * particlesPerGravestone; i++) {
+			BlockPos gravestone = gravestones[i / particlesPerGravestone];
+			particles[i * 3] = gravestone.getX() + random.nextDouble() * 3D - 1D;
+			particles[i * 3 + 1] = gravestone.getY() + random.nextDouble() * 0.5D;
+			particles[i * 3 + 2] = gravestone.getZ() + random.nextDouble() * 3D - 1D;
+		}
+	}
+
+	@Benchmark
+	public int legacy() {
+		int spawning = 0;
+		for (BlockPos gravestone : gravestones) {
+			if (IMistSupport.countTorches(world, gravestone.getX(), gravestone.getY(), gravestone.getZ()) < 3) {
+				spawning++;
+			}
+		}
+		int colliding = 0;
+		for (int i = 0; i < GRAVESTONES * particlesPerGravestone; i++) {
+			// the former AbstractMistParticle.doPlayerCollisions(), without players in the mist
+			TileEntity emitter = world.getTileEntity(gravestones[i / particlesPerGravestone]);
+			double x = particles[i * 3];
+			double y = particles[i * 3 + 1];
+			double z = particles[i * 3 + 2];
+			AxisAlignedBB aabb = new AxisAlignedBB(x - 0.125D, y, z - 0.125D, x + 0.125D, y + 0.25D, z + 0.125D);
+			if (emitter != null || aabb.minY > world.getHeight()) {
+				colliding++;
+			}
+		}
+		return spawning + colliding;
+	}
+
+	@Benchmark
+	public int managed() {
+		int spawning = 0;
+		for (BlockPos gravestone : gravestones) {
+			if (MistParticleManager.getTorchCount(world, gravestone.getX(), gravestone.getY(), gravestone.getZ()) < 3) {
+				spawning++;
+			}
+		}
+		return spawning;
+	}
+}
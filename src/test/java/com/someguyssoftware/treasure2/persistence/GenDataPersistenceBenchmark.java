@@ -0,0 +1,119 @@
+/**
+ * 
+ */
+package com.someguyssoftware.treasure2.persistence;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.someguyssoftware.gottschcore.positional.Coords;
+import com.someguyssoftware.gottschcore.positional.ICoords;
+import com.someguyssoftware.treasure2.chest.ChestInfo;
+import com.someguyssoftware.treasure2.config.TreasureConfig;
+import com.someguyssoftware.treasure2.enums.Rarity;
+import com.someguyssoftware.treasure2.registry.ChestRegistry;
+
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagInt;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.nbt.NBTTagString;
+
+/**
+ * Saving the chest registry, as the world does: building the tag and writing the compressed file.
+ * The former per-entry compound format against the packed format. Each benchmark returns the file size,
+ * which is also printed when the trial ends.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GenDataPersistenceBenchmark {
+	@Param({ "10000" })
+	public int size;
+
+	private int chestRegistrySize;
+	private final GenDataPersistence data = new GenDataPersistence();
+
+	@Setup
+	public void setUp() {
+		chestRegistrySize = TreasureConfig.CHESTS.chestRegistrySize;
+		TreasureConfig.CHESTS.chestRegistrySize = size;
+		ChestRegistry registry = ChestRegistry.getInstance();
+		registry.clear();
+		Random random = new Random(1L);
+		for (int i = 0; i < size; i++) {
+			ICoords coords = new Coords(random.nextInt(200000) - 100000, 40 + random.nextInt(40), random.nextInt(200000) - 100000);
+			registry.register(random.nextInt(4) == 0 ? -1 : 0, coords.toShortString(),
+					new ChestInfo(Rarity.values()[random.nextInt(Rarity.values().length)], coords));
+		}
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		System.out.println();
+		System.out.println("legacy file size (bytes) -> " + legacy());
+		System.out.println("packed file size (bytes) -> " + packed());
+		TreasureConfig.CHESTS.chestRegistrySize = chestRegistrySize;
+		ChestRegistry.getInstance().clear();
+	}
+
+	/**
+	 * The chest registry tag as it was written before it was packed.
+	 */
+	@Benchmark
+	public int legacy() throws IOException {
+		ChestRegistry chestRegistry = ChestRegistry.getInstance();
+		NBTTagList chestRegistryTagList = new NBTTagList();
+		for (Integer dimensionID : chestRegistry.getDimensionKeys()) {
+			for (ChestInfo element : chestRegistry.getValues(dimensionID)) {
+				NBTTagCompound entry = new NBTTagCompound();
+				NBTTagCompound coords = new NBTTagCompound();
+				coords.setTag("x", new NBTTagInt(element.getCoords().getX()));
+				coords.setTag("y", new NBTTagInt(element.getCoords().getY()));
+				coords.setTag("z", new NBTTagInt(element.getCoords().getZ()));
+				entry.setInteger("dimensionID", dimensionID);
+				entry.setTag("key", new NBTTagString(element.getCoords().toShortString()));
+				entry.setTag("rarity", new NBTTagString(element.getRarity().getValue()));
+				entry.setTag("coords", coords);
+				chestRegistryTagList.appendTag(entry);
+			}
+		}
+		NBTTagCompound treasureGen = new NBTTagCompound();
+		treasureGen.setTag("chestRegistry", chestRegistryTagList);
+		NBTTagCompound tag = new NBTTagCompound();
+		tag.setTag("treasureGenerator", treasureGen);
+		return save(tag);
+	}
+
+	@Benchmark
+	public int packed() throws IOException {
+		return save(data.writeToNBT(new NBTTagCompound()));
+	}
+
+	private static int save(NBTTagCompound tag) throws IOException {
+		// as MapStorage.saveData()
+		NBTTagCompound file = new NBTTagCompound();
+		file.setTag("data", tag);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		CompressedStreamTools.writeCompressed(file, out);
+		return out.size();
+	}
+}
@@ -0,0 +1,149 @@
+/**
+ * 
+ */
+package com.someguyssoftware.treasure2.persistence;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.someguyssoftware.gottschcore.positional.Coords;
+import com.someguyssoftware.gottschcore.positional.ICoords;
+import com.someguyssoftware.treasure2.chest.ChestInfo;
+import com.someguyssoftware.treasure2.config.TreasureConfig;
+import com.someguyssoftware.treasure2.enums.Rarity;
+import com.someguyssoftware.treasure2.registry.ChestRegistry;
+
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.nbt.NBTTagString;
+
+/**
+ * The packed chest registry: saving and loading, the migration of the per-entry format and the dirty check.
+ * The generator state of the global format is saved again until it is migrated by GenStateData.
+ */
+public class GenDataPersistenceTest {
+	private final ChestRegistry registry = ChestRegistry.getInstance();
+	private int chestRegistrySize;
+
+	@Before
+	public void setUp() {
+		chestRegistrySize = TreasureConfig.CHESTS.chestRegistrySize;
+		TreasureConfig.CHESTS.chestRegistrySize = 100;
+		registry.clear();
+	}
+
+	@After
+	public void tearDown() {
+		TreasureConfig.CHESTS.chestRegistrySize = chestRegistrySize;
+		registry.clear();
+	}
+
+	@Test
+	public void packedRegistrySurvivesSaveAndLoad() {
+		ICoords[] coords = { new Coords(0, 0, 0), new Coords(-30000000, 255, 29999999), new Coords(1234, 64, -5678) };
+		for (int i = 0; i < Rarity.values().length; i++) {
+			ICoords c = coords[i % coords.length].add(i * 100, 0, 0);
+			registry.register(i % 2 == 0 ? 0 : -1, c.toShortString(), new ChestInfo(Rarity.values()[i], c));
+		}
+		List<ChestInfo> overworld = registry.getValues(0);
+		List<ChestInfo> nether = registry.getValues(-1);
+
+		NBTTagCompound tag = new GenDataPersistence().writeToNBT(new NBTTagCompound());
+		registry.clear();
+		new GenDataPersistence().readFromNBT(tag);
+
+		assertEquals(Rarity.values().length, registry.size());
+		assertSameChests(overworld, registry.getValues(0));
+		assertSameChests(nether, registry.getValues(-1));
+	}
+
+	@Test
+	public void legacyRegistryIsMigrated() {
+		NBTTagList chests = new NBTTagList();
+		// saved before the registry was indexed by dimension
+		chests.appendTag(legacyChestTag(null, new Coords(10, 70, -20), Rarity.RARE));
+		chests.appendTag(legacyChestTag(-1, new Coords(-300, 40, 500), Rarity.EPIC));
+		NBTTagCompound treasureGen = new NBTTagCompound();
+		treasureGen.setTag("chestRegistry", chests);
+		NBTTagCompound tag = new NBTTagCompound();
+		tag.setTag("treasureGenerator", treasureGen);
+
+		GenDataPersistence data = new GenDataPersistence();
+		data.readFromNBT(tag);
+
+		assertEquals(2, registry.size());
+		assertEquals(Rarity.RARE, registry.get(0, new Coords(10, 70, -20).toShortString()).get(0).getRarity());
+		assertEquals(Rarity.EPIC, registry.get(-1, new Coords(-300, 40, 500).toShortString()).get(0).getRarity());
+		// so that it is saved in the packed format
+		assertTrue(data.isDirty());
+	}
+
+	@Test
+	public void legacyGenStateIsSavedUntilMigrated() {
+		NBTTagCompound surfaceChestGen = new NBTTagCompound();
+		surfaceChestGen.setInteger("chunksSinceLastChest", 5);
+		NBTTagCompound treasureGen = new NBTTagCompound();
+		treasureGen.setTag("surfaceChestGen", surfaceChestGen);
+		treasureGen.setInteger("chunksSinceLastWell", 8);
+		NBTTagCompound tag = new NBTTagCompound();
+		tag.setTag("treasureGenerator", treasureGen);
+
+		GenDataPersistence data = new GenDataPersistence();
+		data.readFromNBT(tag);
+		// saved before the overworld's GenStateData is created
+		NBTTagCompound saved = data.writeToNBT(new NBTTagCompound()).getCompoundTag("treasureGenerator");
+		assertEquals(5, saved.getCompoundTag("surfaceChestGen").getInteger("chunksSinceLastChest"));
+		assertEquals(8, saved.getInteger("chunksSinceLastWell"));
+
+		GenDataPersistence reloaded = new GenDataPersistence();
+		reloaded.readFromNBT(data.writeToNBT(new NBTTagCompound()));
+		assertEquals(8, reloaded.getLegacyGenStateTag().getInteger("chunksSinceLastWell"));
+
+		reloaded.clearLegacyGenStateTag();
+		assertTrue(reloaded.isDirty());
+		saved = reloaded.writeToNBT(new NBTTagCompound()).getCompoundTag("treasureGenerator");
+		assertFalse(saved.hasKey("surfaceChestGen"));
+		assertFalse(saved.hasKey("chunksSinceLastWell"));
+	}
+
+	@Test
+	public void isDirtyOnlyAfterRegistryChanges() {
+		GenDataPersistence data = new GenDataPersistence();
+		registry.register(0, "0 64 0", new ChestInfo(Rarity.COMMON, new Coords(0, 64, 0)));
+		data.writeToNBT(new NBTTagCompound());
+		assertFalse(data.isDirty());
+
+		registry.register(0, "100 64 0", new ChestInfo(Rarity.COMMON, new Coords(100, 64, 0)));
+		assertTrue(data.isDirty());
+	}
+
+	private static void assertSameChests(List<ChestInfo> expected, List<ChestInfo> actual) {
+		assertEquals(expected.size(), actual.size());
+		for (int i = 0; i < expected.size(); i++) {
+			assertEquals(expected.get(i).getRarity(), actual.get(i).getRarity());
+			assertEquals(expected.get(i).getCoords().toShortString(), actual.get(i).getCoords().toShortString());
+		}
+	}
+
+	private static NBTTagCompound legacyChestTag(Integer dimensionID, ICoords coords, Rarity rarity) {
+		NBTTagCompound entry = new NBTTagCompound();
+		if (dimensionID != null) {
+			entry.setInteger("dimensionID", dimensionID);
+		}
+		entry.setTag("key", new NBTTagString(coords.toShortString()));
+		entry.setTag("rarity", new NBTTagString(rarity.getValue()));
+		NBTTagCompound coordsTag = new NBTTagCompound();
+		coordsTag.setInteger("x", coords.getX());
+		coordsTag.setInteger("y", coords.getY());
+		coordsTag.setInteger("z", coords.getZ());
+		entry.setTag("coords", coordsTag);
+		return entry;
+	}
+}
@@ -0,0 +1,106 @@
+/**
+ * 
+ */
+package com.someguyssoftware.treasure2.persistence;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import com.someguyssoftware.treasure2.enums.Rarity;
+import com.someguyssoftware.treasure2.persistence.GenStateData.ChestGenState;
+
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+
+/**
+ * The per-dimension generator counters: saving and loading, and the migration of the former global counters.
+ */
+public class GenStateDataTest {
+
+	@Test
+	public void countersSurviveSaveAndLoad() {
+		GenStateData data = new GenStateData();
+		data.setDimensionID(-1);
+		data.getSurfaceChestState().setChunksSinceLastChest(7);
+		data.getSurfaceChestState().setChunksSinceLastRarityChest(Rarity.EPIC, 120);
+		data.getSubmergedChestState().setChunksSinceLastRarityChest(Rarity.COMMON, 3);
+		data.setChunksSinceLastWell(11);
+		data.setChunksSinceLastTree(12);
+		data.setChunksSinceLastOre(13);
+
+		GenStateData loaded = new GenStateData();
+		loaded.readFromNBT(data.writeToNBT(new NBTTagCompound()));
+
+		assertEquals(-1, loaded.getDimensionID());
+		assertEquals(7, loaded.getSurfaceChestState().getChunksSinceLastChest());
+		assertEquals(120, loaded.getSurfaceChestState().getChunksSinceLastRarityChest(Rarity.EPIC));
+		assertEquals(0, loaded.getSurfaceChestState().getChunksSinceLastRarityChest(Rarity.COMMON));
+		assertEquals(3, loaded.getSubmergedChestState().getChunksSinceLastRarityChest(Rarity.COMMON));
+		assertEquals(11, loaded.getChunksSinceLastWell());
+		assertEquals(12, loaded.getChunksSinceLastTree());
+		assertEquals(13, loaded.getChunksSinceLastOre());
+	}
+
+	@Test
+	public void dimensionsKeepTheirOwnCounters() {
+		GenStateData overworld = new GenStateData();
+		GenStateData nether = new GenStateData();
+		overworld.getSurfaceChestState().incrementChunksSinceLastRarityChest(Rarity.RARE);
+		overworld.getSurfaceChestState().incrementChunksSinceLastRarityChest(Rarity.RARE);
+		nether.getSurfaceChestState().incrementChunksSinceLastRarityChest(Rarity.RARE);
+
+		assertEquals(2, overworld.getSurfaceChestState().getChunksSinceLastRarityChest(Rarity.RARE));
+		assertEquals(1, nether.getSurfaceChestState().getChunksSinceLastRarityChest(Rarity.RARE));
+	}
+
+	@Test
+	public void legacyCountersAreMigrated() {
+		NBTTagCompound legacy = new NBTTagCompound();
+		legacy.setTag("surfaceChestGen", legacyChestTag(5, Rarity.SCARCE.name(), 40));
+		legacy.setTag("submergedChestGen", legacyChestTag(6, "UNKNOWN", 50));
+		legacy.setInteger("chunksSinceLastWell", 8);
+		legacy.setInteger("chunksSinceLastTree", 9);
+		legacy.setInteger("chunksSinceLastOre", 10);
+
+		GenStateData data = new GenStateData();
+		data.readLegacy(legacy);
+
+		assertEquals(5, data.getSurfaceChestState().getChunksSinceLastChest());
+		assertEquals(40, data.getSurfaceChestState().getChunksSinceLastRarityChest(Rarity.SCARCE));
+		assertEquals(6, data.getSubmergedChestState().getChunksSinceLastChest());
+		// unknown rarities are skipped
+		for (Rarity rarity : Rarity.values()) {
+			assertEquals(0, data.getSubmergedChestState().getChunksSinceLastRarityChest(rarity));
+		}
+		assertEquals(8, data.getChunksSinceLastWell());
+		assertEquals(9, data.getChunksSinceLastTree());
+		assertEquals(10, data.getChunksSinceLastOre());
+	}
+
+	@Test
+	public void shorterRarityArraysAreRead() {
+		NBTTagCompound tag = new NBTTagCompound();
+		tag.setInteger("chunksSinceLastChest", 1);
+		tag.setIntArray("chunksSinceLastRarityChest", new int[] {4, 5});
+
+		ChestGenState state = new ChestGenState();
+		state.read(tag);
+
+		assertEquals(4, state.getChunksSinceLastRarityChest(Rarity.COMMON));
+		assertEquals(5, state.getChunksSinceLastRarityChest(Rarity.UNCOMMON));
+		assertEquals(0, state.getChunksSinceLastRarityChest(Rarity.MYTHICAL));
+	}
+
+	private static NBTTagCompound legacyChestTag(int chunksSinceLastChest, String rarity, int count) {
+		NBTTagCompound tag = new NBTTagCompound();
+		tag.setInteger("chunksSinceLastChest", chunksSinceLastChest);
+		NBTTagList list = new NBTTagList();
+		NBTTagCompound rarityTag = new NBTTagCompound();
+		rarityTag.setString("key", rarity);
+		rarityTag.setInteger("count", count);
+		list.appendTag(rarityTag);
+		tag.setTag("chunksSinceLastRarityChest", list);
+		return tag;
+	}
+}
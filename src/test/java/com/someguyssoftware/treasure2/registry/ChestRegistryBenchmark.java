@@ -0,0 +1,97 @@
+/**
+ * 
+ */
+package com.someguyssoftware.treasure2.registry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.collect.LinkedListMultimap;
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.Sets;
+import com.someguyssoftware.gottschcore.positional.Coords;
+import com.someguyssoftware.gottschcore.positional.ICoords;
+import com.someguyssoftware.treasure2.chest.ChestInfo;
+import com.someguyssoftware.treasure2.enums.Rarity;
+
+/**
+ * The distance check of the chest world generators: the scan of the former registry, which copied all the chests
+ * and tested each of them, against the spatial index.
+ * The chests are spread at a constant density, so most candidate chunks are not near a chest, as when generating.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChestRegistryBenchmark {
+	// the default min. distance between surface chests
+	private static final int MIN_DISTANCE = 75;
+	private static final int QUERIES = 1024;
+
+	@Param({ "1000", "10000", "100000" })
+	public int size;
+
+	private ListMultimap<String, ChestInfo> registry;
+	private ChestSpatialIndex index;
+	private ICoords[] queries;
+	private int next;
+
+	@Setup
+	public void setUp() {
+		Random random = new Random(1L);
+		int extent = (int) Math.sqrt(size) * MIN_DISTANCE * 2;
+		registry = LinkedListMultimap.create();
+		index = new ChestSpatialIndex();
+		for (int i = 0; i < size; i++) {
+			ICoords coords = new Coords(random.nextInt(extent) - extent / 2, 64, random.nextInt(extent) - extent / 2);
+			ChestInfo info = new ChestInfo(Rarity.values()[random.nextInt(Rarity.values().length)], coords);
+			registry.put(coords.toShortString(), info);
+			index.add(info);
+		}
+		queries = new ICoords[QUERIES];
+		for (int i = 0; i < QUERIES; i++) {
+			queries[i] = new Coords(random.nextInt(extent) - extent / 2, 64, random.nextInt(extent) - extent / 2);
+		}
+	}
+
+	@Benchmark
+	public boolean scan() {
+		ICoords coords = nextQuery();
+		// as ChestRegistry.getValues() and the generators' isRegisteredChestWithinDistance() were
+		List<ChestInfo> infos = new ArrayList<>(Sets.newHashSet(registry.values()));
+		double minDistanceSq = MIN_DISTANCE * MIN_DISTANCE;
+		for (ChestInfo info : infos) {
+			if (coords.getDistanceSq(info.getCoords()) < minDistanceSq) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Benchmark
+	public boolean index() {
+		return index.findWithin(nextQuery(), MIN_DISTANCE) != null;
+	}
+
+	private ICoords nextQuery() {
+		ICoords coords = queries[next];
+		next = (next + 1) & (QUERIES - 1);
+		return coords;
+	}
+}
@@ -0,0 +1,100 @@
+/**
+ * 
+ */
+package com.someguyssoftware.treasure2.registry;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.someguyssoftware.gottschcore.positional.Coords;
+import com.someguyssoftware.gottschcore.positional.ICoords;
+import com.someguyssoftware.treasure2.chest.ChestInfo;
+import com.someguyssoftware.treasure2.config.TreasureConfig;
+import com.someguyssoftware.treasure2.enums.Rarity;
+
+/**
+ * The FIFO eviction and the proximity queries of the chest registry.
+ */
+public class ChestRegistryTest {
+	private static final int MAX_SIZE = TreasureConfig.CHESTS.chestRegistrySize;
+	private static final int SPACING = 1000;
+
+	private final ChestRegistry registry = ChestRegistry.getInstance();
+
+	@Before
+	public void setUp() {
+		registry.clear();
+	}
+
+	@Test
+	public void sizeIsCappedAcrossDimensions() {
+		for (int i = 0; i < MAX_SIZE; i++) {
+			register(i % 2, i);
+		}
+		assertEquals(MAX_SIZE, registry.size());
+
+		register(2, MAX_SIZE);
+		assertEquals(MAX_SIZE, registry.size());
+		// the least recent chest of any dimension is evicted
+		assertFalse(registry.isRegistered(0, key(0)));
+		assertTrue(registry.isRegistered(1, key(1)));
+		assertTrue(registry.isRegistered(2, key(MAX_SIZE)));
+	}
+
+	@Test
+	public void evictedChestIsRemovedFromIndex() {
+		for (int i = 0; i <= MAX_SIZE; i++) {
+			register(0, i);
+		}
+		assertNull(registry.findWithin(0, coords(0), 10));
+		assertNotNull(registry.findWithin(0, coords(1), 10));
+	}
+
+	@Test
+	public void unregisterFreesCapacity() {
+		for (int i = 0; i < MAX_SIZE; i++) {
+			register(0, i);
+		}
+		registry.unregister(0, key(5));
+		assertEquals(MAX_SIZE - 1, registry.size());
+
+		// there is room again, so nothing is evicted
+		register(1, MAX_SIZE);
+		assertTrue(registry.isRegistered(0, key(0)));
+		assertEquals(MAX_SIZE, registry.size());
+	}
+
+	@Test
+	public void findWithinIsLimitedToTheDimensionAndRadius() {
+		register(0, 0);
+		ICoords near = new Coords(9, 64, 0);
+		assertNotNull(registry.findWithin(0, near, 10));
+		// strictly less than the radius
+		assertNull(registry.findWithin(0, near, 9));
+		assertNull(registry.findWithin(1, near, 10));
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void dimensionKeysAreUnmodifiable() {
+		register(0, 0);
+		registry.getDimensionKeys().clear();
+	}
+
+	private void register(int dimensionID, int index) {
+		registry.register(dimensionID, key(index), new ChestInfo(Rarity.COMMON, coords(index)));
+	}
+
+	private static String key(int index) {
+		return coords(index).toShortString();
+	}
+
+	private static ICoords coords(int index) {
+		return new Coords(index * SPACING, 64, 0);
+	}
+}
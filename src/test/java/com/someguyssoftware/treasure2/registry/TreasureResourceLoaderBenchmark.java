@@ -0,0 +1,112 @@
+/**
+ * 
+ */
+package com.someguyssoftware.treasure2.registry;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Loading a set of compressed resources at world load: one after another on the server thread, as before,
+ * against parsing them on the loader's workers and registering them on the server thread.
+ * The resources are gzipped like the structure files, so the work is dominated by decompression as when loading templates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+@Fork(1)
+public class TreasureResourceLoaderBenchmark {
+	// the number of structure files in the default template set
+	@Param({ "100" })
+	public int resources;
+
+	// the uncompressed size of a mid-sized structure
+	@Param({ "262144" })
+	public int resourceSize;
+
+	private List<byte[]> files;
+
+	@Setup
+	public void setUp() throws IOException {
+		Random random = new Random(1L);
+		files = new ArrayList<>(resources);
+		for (int i = 0; i < resources; i++) {
+			// mostly repeated block states, like a structure
+			byte[] data = new byte[resourceSize];
+			for (int j = 0; j < data.length; j++) {
+				data[j] = (byte) (random.nextInt(8) == 0 ? random.nextInt(256) : j % 16);
+			}
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+				gzip.write(data);
+			}
+			files.add(out.toByteArray());
+		}
+	}
+
+	@Benchmark
+	public long sequential() {
+		long total = 0;
+		for (byte[] file : files) {
+			total += parse(file);
+		}
+		return total;
+	}
+
+	@Benchmark
+	public long pooled() {
+		List<CompletableFuture<Long>> futures = new ArrayList<>(resources);
+		for (byte[] file : files) {
+			futures.add(TreasureResourceLoader.submit(() -> parse(file)));
+		}
+		long[] total = new long[1];
+		TreasureResourceLoader.addPhase("benchmark", futures, () -> {
+			for (CompletableFuture<Long> future : futures) {
+				total[0] += future.join();
+			}
+		});
+		TreasureResourceLoader.await();
+		return total[0];
+	}
+
+	private static long parse(byte[] file) {
+		byte[] buffer = new byte[8192];
+		long checksum = 0;
+		try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(file))) {
+			int read;
+			while ((read = in.read(buffer)) > 0) {
+				for (int i = 0; i < read; i++) {
+					checksum += buffer[i];
+				}
+			}
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return checksum;
+	}
+}
@@ -0,0 +1,145 @@
+/**
+ * 
+ */
+package com.someguyssoftware.treasure2.registry;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * The loading pipeline: parsing on the workers, and registration on the calling thread, in phase order.
+ */
+public class TreasureResourceLoaderTest {
+
+	@After
+	public void tearDown() {
+		// don't leak phases into the next test
+		TreasureResourceLoader.await();
+	}
+
+	@Test
+	public void parsesOnWorkersAndRegistersOnCaller() {
+		Thread caller = Thread.currentThread();
+		List<Thread> registeredOn = new ArrayList<>();
+		CompletableFuture<Thread> parsedOn = TreasureResourceLoader.submit(Thread::currentThread);
+		TreasureResourceLoader.addPhase("test", Collections.singletonList(parsedOn), () -> registeredOn.add(Thread.currentThread()));
+
+		TreasureResourceLoader.await();
+
+		assertNotEquals(caller, parsedOn.join());
+		assertEquals(Collections.singletonList(caller), registeredOn);
+		assertFalse(TreasureResourceLoader.isPending());
+	}
+
+	@Test
+	public void phasesRegisterInOrder() {
+		List<String> order = new ArrayList<>();
+		// the first phase finishes parsing last
+		CountDownLatch latch = new CountDownLatch(1);
+		CompletableFuture<Void> slow = TreasureResourceLoader.submit(() -> {
+			await(latch);
+			return null;
+		});
+		TreasureResourceLoader.addPhase("meta", Collections.singletonList(slow), () -> order.add("meta"));
+		TreasureResourceLoader.addPhase("templates", Collections.singletonList(TreasureResourceLoader.submit(() -> 1)), () -> order.add("templates"));
+		TreasureResourceLoader.addPhase("decay", Collections.singletonList(TreasureResourceLoader.submit(() -> 2)), () -> order.add("decay"));
+		latch.countDown();
+
+		TreasureResourceLoader.await();
+
+		assertEquals(Arrays.asList("meta", "templates", "decay"), order);
+	}
+
+	@Test
+	public void tickWaitsForAllPhases() {
+		List<String> registered = new ArrayList<>();
+		CompletableFuture<Integer> parsed = TreasureResourceLoader.submit(() -> 1);
+		TreasureResourceLoader.addPhase("templates", Collections.singletonList(parsed), () -> registered.add("templates"));
+		parsed.join();
+		CountDownLatch latch = new CountDownLatch(1);
+		CompletableFuture<Void> pending = TreasureResourceLoader.submit(() -> {
+			await(latch);
+			return null;
+		});
+		TreasureResourceLoader.addPhase("decay", Collections.singletonList(pending), () -> registered.add("decay"));
+
+		TreasureResourceLoader.tick();
+		assertTrue(registered.isEmpty());
+		assertTrue(TreasureResourceLoader.isPending());
+
+		latch.countDown();
+		pending.join();
+		TreasureResourceLoader.tick();
+		assertEquals(Arrays.asList("templates", "decay"), registered);
+		assertFalse(TreasureResourceLoader.isPending());
+	}
+
+	@Test
+	public void failedResourceDoesNotBlockRegistration() {
+		List<String> phases = new ArrayList<>();
+		List<Integer> registered = new ArrayList<>();
+		List<CompletableFuture<Integer>> futures = Arrays.asList(
+				TreasureResourceLoader.submit(() -> 1),
+				TreasureResourceLoader.submit(() -> {
+					throw new IllegalStateException("unreadable template");
+				}),
+				TreasureResourceLoader.submit(() -> 3));
+		// registers each parsed resource, as the managers' tablePending() do
+		TreasureResourceLoader.addPhase("templates", futures, () -> {
+			phases.add("templates");
+			for (CompletableFuture<Integer> future : futures) {
+				Integer resource = TreasureResourceLoader.getParsed(future, null);
+				if (resource != null) {
+					registered.add(resource);
+				}
+			}
+		});
+		TreasureResourceLoader.addPhase("decay", Collections.singletonList(TreasureResourceLoader.submit(() -> 4)), () -> phases.add("decay"));
+
+		TreasureResourceLoader.await();
+
+		assertEquals(Arrays.asList("templates", "decay"), phases);
+		assertEquals(Arrays.asList(1, 3), registered);
+		assertFalse(TreasureResourceLoader.isPending());
+	}
+
+	@Test
+	public void failedRegistrationDoesNotBlockLaterPhases() {
+		List<String> phases = new ArrayList<>();
+		CompletableFuture<Object> failed = TreasureResourceLoader.submit(() -> {
+			throw new IllegalStateException("unreadable template");
+		});
+		// a registration that joins the failed future, and throws
+		TreasureResourceLoader.addPhase("templates", Collections.singletonList(failed), () -> {
+			failed.join();
+			phases.add("templates");
+		});
+		TreasureResourceLoader.addPhase("decay", Collections.singletonList(TreasureResourceLoader.submit(() -> 1)), () -> phases.add("decay"));
+
+		TreasureResourceLoader.await();
+
+		assertEquals(Collections.singletonList("decay"), phases);
+		assertFalse(TreasureResourceLoader.isPending());
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await();
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
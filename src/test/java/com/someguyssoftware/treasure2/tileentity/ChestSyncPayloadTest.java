@@ -0,0 +1,121 @@
+/**
+ *
+ */
+package com.someguyssoftware.treasure2.tileentity;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.LinkedList;
+import java.util.List;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.someguyssoftware.gottschcore.enums.Direction;
+import com.someguyssoftware.treasure2.Treasure;
+import com.someguyssoftware.treasure2.chest.LockSlot;
+import com.someguyssoftware.treasure2.item.LockItem;
+import com.someguyssoftware.treasure2.lock.LockState;
+
+import net.minecraft.init.Bootstrap;
+import net.minecraft.init.Enchantments;
+import net.minecraft.init.Items;
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.util.math.BlockPos;
+
+/**
+ * Measures the bytes per chunk of the chest data that is sent to the clients, for a chunk of 16 chests with full
+ * inventories: the former update tag (the full writeToNBT() output) against the render state update tag.
+ */
+public class ChestSyncPayloadTest {
+	private static final int CHESTS_PER_CHUNK = 16;
+
+	private static LockItem lock;
+
+	@BeforeClass
+	public static void setUpClass() {
+		Bootstrap.register();
+		lock = new LockItem(Treasure.MODID, "sync_test_lock");
+	}
+
+	@Test
+	public void renderStateExcludesTheInventory() {
+		NBTTagCompound tag = newChest(0).getUpdateTag();
+		assertFalse(tag.hasKey("Items"));
+		assertTrue(tag.hasKey("syncLockStates"));
+		assertTrue(tag.hasKey("facing"));
+	}
+
+	@Test
+	public void renderStateRoundTrips() {
+		AbstractTreasureChestTileEntity chest = newChest(0);
+		AbstractTreasureChestTileEntity clientChest = new WoodChestTileEntity();
+		clientChest.handleUpdateTag(chest.getUpdateTag());
+
+		assertEquals(chest.getFacing(), clientChest.getFacing());
+		assertEquals(chest.getLockStates().size(), clientChest.getLockStates().size());
+		for (int i = 0; i < chest.getLockStates().size(); i++) {
+			assertEquals(chest.getLockStates().get(i).getSlot().getIndex(), clientChest.getLockStates().get(i).getSlot().getIndex());
+		}
+	}
+
+	@Test
+	public void bytesPerChunk() throws IOException {
+		int fullBytes = 0;
+		int renderStateBytes = 0;
+		for (int i = 0; i < CHESTS_PER_CHUNK; i++) {
+			AbstractTreasureChestTileEntity chest = newChest(i);
+			fullBytes += size(chest.writeToNBT(new NBTTagCompound()));
+			renderStateBytes += size(chest.getUpdateTag());
+		}
+		System.out.println();
+		System.out.println("full update tags (bytes per chunk) -> " + fullBytes);
+		System.out.println("render state update tags (bytes per chunk) -> " + renderStateBytes);
+		assertTrue(renderStateBytes * 10 < fullBytes);
+	}
+
+	/**
+	 * A chest with a full inventory of enchanted, named stacks, as the loot tables fill them, and two locks.
+	 * @param index
+	 * @return
+	 */
+	private static AbstractTreasureChestTileEntity newChest(int index) {
+		AbstractTreasureChestTileEntity chest = new WoodChestTileEntity();
+		chest.setPos(new BlockPos((index % 4) * 4, 64, (index / 4) * 4));
+		for (int slot = 0; slot < chest.getSizeInventory(); slot++) {
+			ItemStack stack = new ItemStack(Items.DIAMOND_SWORD);
+			stack.addEnchantment(Enchantments.SHARPNESS, 3);
+			stack.addEnchantment(Enchantments.UNBREAKING, 2);
+			stack.setStackDisplayName("Treasure " + slot);
+			chest.setInventorySlotContents(slot, stack);
+		}
+		List<LockState> lockStates = new LinkedList<>();
+		for (int slot = 0; slot < 2; slot++) {
+			LockState lockState = new LockState();
+			lockState.setSlot(new LockSlot(slot, Direction.NORTH, 0.5F, 0.5F, 0.0F, 0.0F));
+			lockState.setLock(lock);
+			lockStates.add(lockState);
+		}
+		chest.setLockStates(lockStates);
+		return chest;
+	}
+
+	/**
+	 * The NBT is written uncompressed to the packets.
+	 * @param tag
+	 * @return
+	 * @throws IOException
+	 */
+	private static int size(NBTTagCompound tag) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		CompressedStreamTools.write(tag, new DataOutputStream(bytes));
+		return bytes.size();
+	}
+}
@@ -0,0 +1,142 @@
+/**
+ *
+ */
+package com.someguyssoftware.treasure2.tileentity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.someguyssoftware.treasure2.generator.GenerationTestWorld;
+
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.init.Bootstrap;
+import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+
+/**
+ * The chest part of a tick of a world with 2,000 loaded treasure chests, of which some are being opened and closed.
+ * ticking is what World.updateEntities() did for each chest while chests were ITickable: the loaded check and the old
+ * update(), whose viewer scan only ran for chests with viewers. animator is the ChestLidAnimator's client tick;
+ * on the server the chests no longer cost anything per tick.
+ * The sounds of the old update() are left out, they are only played when a lid starts to open or close.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChestTickBenchmark {
+	private static final int CHESTS = 2000;
+
+	// the number of chests that are being opened and closed
+	@Param({ "0", "20" })
+	public int animating;
+
+	private World world;
+	private final List<AbstractTreasureChestTileEntity> chests = new ArrayList<>();
+	private final TickEvent.ClientTickEvent clientTick = new TickEvent.ClientTickEvent(TickEvent.Phase.END);
+	// the old ticksSinceSync of each chest
+	private int[] ticksSinceSync;
+
+	@Setup
+	public void setUp() {
+		Bootstrap.register();
+		Random random = new Random(1L);
+		world = new GenerationTestWorld();
+		for (int i = 0; i < CHESTS; i++) {
+			AbstractTreasureChestTileEntity chest = new WoodChestTileEntity();
+			chest.setWorld(world);
+			chest.setPos(new BlockPos(random.nextInt(4096), 10 + random.nextInt(50), random.nextInt(4096)));
+			chests.add(chest);
+		}
+		ticksSinceSync = new int[CHESTS];
+	}
+
+	@Benchmark
+	public int ticking() {
+		toggleViewers(false);
+		int updated = 0;
+		for (int i = 0; i < CHESTS; i++) {
+			AbstractTreasureChestTileEntity chest = chests.get(i);
+			if (!chest.isInvalid() && chest.hasWorld() && world.isBlockLoaded(chest.getPos())) {
+				legacyUpdate(chest, i);
+				updated++;
+			}
+		}
+		return updated;
+	}
+
+	@Benchmark
+	public int animator() {
+		toggleViewers(true);
+		ChestLidAnimator.onClientTick(clientTick);
+		return ChestLidAnimator.size();
+	}
+
+	/**
+	 * Opens the closed and closes the open lids of the animating chests once they have come to rest.
+	 * @param start whether to start the animator, as the open/close block event does
+	 */
+	private void toggleViewers(boolean start) {
+		for (int i = 0; i < animating; i++) {
+			AbstractTreasureChestTileEntity chest = chests.get(i);
+			boolean isAtRest = chest.numPlayersUsing > 0 ? chest.lidAngle == 1.0F : chest.lidAngle == 0.0F;
+			if (isAtRest && chest.prevLidAngle == chest.lidAngle) {
+				chest.numPlayersUsing = chest.numPlayersUsing > 0 ? 0 : 1;
+				if (start) {
+					ChestLidAnimator.start(chest);
+				}
+			}
+		}
+	}
+
+	/**
+	 * The former AbstractTreasureChestTileEntity.update(), without the sounds.
+	 * @param chest
+	 * @param index
+	 */
+	private void legacyUpdate(AbstractTreasureChestTileEntity chest, int index) {
+		int i = chest.getPos().getX();
+		int j = chest.getPos().getY();
+		int k = chest.getPos().getZ();
+		++ticksSinceSync[index];
+
+		if (!world.isRemote && chest.numPlayersUsing != 0 && (ticksSinceSync[index] + i + j + k) % 200 == 0) {
+			// the viewer scan, which the benchmark world has no players for
+			world.getEntitiesWithinAABB(EntityPlayer.class, new AxisAlignedBB(i - 5.0D, j - 5.0D, k - 5.0D, i + 6.0D, j + 6.0D, k + 6.0D));
+		}
+
+		chest.prevLidAngle = chest.lidAngle;
+		if (chest.numPlayersUsing == 0 && chest.lidAngle > 0.0F || chest.numPlayersUsing > 0 && chest.lidAngle < 1.0F) {
+			if (chest.numPlayersUsing > 0) {
+				chest.lidAngle += 0.1F;
+			}
+			else {
+				chest.lidAngle -= 0.1F;
+			}
+			if (chest.lidAngle > 1.0F) {
+				chest.lidAngle = 1.0F;
+			}
+			if (chest.lidAngle < 0.0F) {
+				chest.lidAngle = 0.0F;
+			}
+		}
+	}
+}
@@ -0,0 +1,177 @@
+/**
+ *
+ */
+package com.someguyssoftware.treasure2.tileentity;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.mojang.authlib.GameProfile;
+import com.someguyssoftware.treasure2.generator.GenerationTestWorld;
+
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.init.Blocks;
+import net.minecraft.init.Bootstrap;
+import net.minecraft.init.MobEffects;
+import net.minecraft.potion.PotionEffect;
+import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+
+/**
+ * Tests that the mist effects are applied by the server alone, on the world time schedule, and that the torches
+ * around an emitter gate them as they gate the mist on the client.
+ * Each effect that is applied is one effect packet to the client; no packet is sent by the client.
+ */
+public class MistHazardServiceTest {
+	private static final BlockPos EMITTER_POS = new BlockPos(8, GenerationTestWorld.SURFACE_Y + 1, 8);
+	private static final int TICKS = 400;
+
+	private GenerationTestWorld world;
+	private MistHazardService service;
+	private TestPlayer player;
+
+	@BeforeClass
+	public static void setUpClass() {
+		Bootstrap.register();
+	}
+
+	@Before
+	public void setUp() {
+		world = new GenerationTestWorld();
+		service = new MistHazardService();
+		service.register(new TestEmitter(world, EMITTER_POS));
+		player = new TestPlayer(world);
+		// standing in the mist
+		player.setPosition(EMITTER_POS.getX() + 0.5D, EMITTER_POS.getY(), EMITTER_POS.getZ() + 0.5D);
+		world.playerEntities.add(player);
+	}
+
+	@Test
+	public void noMistMessagesAreSentToTheServer() {
+		for (String message : Arrays.asList("PoisonMistMessageToServer", "WitherMistMessageToServer")) {
+			try {
+				Class.forName("com.someguyssoftware.treasure2.network." + message);
+				fail(message + " still exists");
+			}
+			catch (ClassNotFoundException e) {
+				// expected
+			}
+		}
+	}
+
+	@Test
+	public void appliesTheEffectOncePerDuration() {
+		run(0, TICKS);
+		// the effect lasts longer than the run, so it is applied once: one packet for the whole run
+		assertEquals(Arrays.asList(0L), player.applied);
+	}
+
+	@Test
+	public void reappliesOnTheNextIntervalOnly() {
+		run(0, 205);
+		player.removePotionEffect(MobEffects.POISON);
+		run(205, TICKS);
+		assertEquals(Arrays.asList(0L, 220L), player.applied);
+	}
+
+	@Test
+	public void isDeterministic() {
+		run(0, 205);
+		player.removePotionEffect(MobEffects.POISON);
+		run(205, TICKS);
+		List<Long> first = new ArrayList<>(player.applied);
+
+		setUp();
+		run(0, 205);
+		player.removePotionEffect(MobEffects.POISON);
+		run(205, TICKS);
+		List<Long> second = new ArrayList<>(player.applied);
+
+		assertEquals(first, second);
+	}
+
+	@Test
+	public void twoTorchesDontPreventTheHazard() {
+		world.setBlockState(EMITTER_POS.add(2, 0, 0), Blocks.TORCH.getDefaultState());
+		world.setBlockState(EMITTER_POS.add(-2, 0, 0), Blocks.TORCH.getDefaultState());
+		run(0, TICKS);
+		assertEquals(1, player.applied.size());
+	}
+
+	@Test
+	public void threeTorchesPreventTheHazard() {
+		world.setBlockState(EMITTER_POS.add(2, 0, 0), Blocks.TORCH.getDefaultState());
+		world.setBlockState(EMITTER_POS.add(-2, 0, 0), Blocks.TORCH.getDefaultState());
+		world.setBlockState(EMITTER_POS.add(0, 0, 3), Blocks.TORCH.getDefaultState());
+		run(0, TICKS);
+		assertEquals(0, player.applied.size());
+	}
+
+	/**
+	 * Ticks the service from the start tick (inclusive) to the end tick (exclusive) of world time.
+	 * @param start
+	 * @param end
+	 */
+	private void run(long start, long end) {
+		for (long time = start; time < end; time++) {
+			world.setTotalWorldTime(time);
+			service.tick(world);
+		}
+	}
+
+	/**
+	 * An emitter with the poison mist of a wither soul log.
+	 */
+	private static class TestEmitter extends MistEmitterTileEntity {
+		private final MistHazard hazard;
+
+		TestEmitter(World world, BlockPos pos) {
+			setWorld(world);
+			setPos(pos);
+			hazard = new MistHazard(new AxisAlignedBB(pos.getX() - 2.125D, pos.getY() - 0.125D, pos.getZ() - 2.125D,
+					pos.getX() + 3.125D, pos.getY() + 0.5D, pos.getZ() + 3.125D), MobEffects.POISON);
+		}
+
+		@Override
+		public MistHazard getHazard() {
+			return hazard;
+		}
+	}
+
+	/**
+	 * Records the world time of each effect that is applied to it.
+	 */
+	private static class TestPlayer extends EntityPlayer {
+		private final List<Long> applied = new ArrayList<>();
+
+		TestPlayer(World world) {
+			super(world, new GameProfile(new UUID(0L, 1L), "player"));
+		}
+
+		@Override
+		protected void onNewPotionEffect(PotionEffect effect) {
+			super.onNewPotionEffect(effect);
+			applied.add(world.getTotalWorldTime());
+		}
+
+		@Override
+		public boolean isSpectator() {
+			return false;
+		}
+
+		@Override
+		public boolean isCreative() {
+			return false;
+		}
+	}
+}
@@ -0,0 +1,153 @@
+/**
+ *
+ */
+package com.someguyssoftware.treasure2.tileentity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.mojang.authlib.GameProfile;
+import com.someguyssoftware.gottschcore.positional.Coords;
+import com.someguyssoftware.treasure2.generator.GenerationTestWorld;
+
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.init.Bootstrap;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+
+/**
+ * One server tick of proximity checks with 5,000 proximity tile entities and 100 players: every tile entity testing
+ * every player, as AbstractProximityTileEntity.update() did, against the service's chunk-bucketed evaluation.
+ * The players are spread over the same area as the tile entities; with moving, every player moves each tick, which is
+ * the worst case for the service, otherwise only the interval re-evaluation is made.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProximityTriggerServiceBenchmark {
+	private static final int TRIGGERS = 5000;
+	private static final int PLAYERS = 100;
+	// the side of the square the triggers and players are spread over
+	private static final int AREA = 4096;
+
+	@Param({ "true", "false" })
+	public boolean moving;
+
+	private World world;
+	private final List<AbstractProximityTileEntity> triggers = new ArrayList<>();
+	private ProximityTriggerService service;
+	private int step;
+
+	@Setup
+	public void setUp() {
+		Bootstrap.register();
+		Random random = new Random(1L);
+		world = new GenerationTestWorld();
+		service = new ProximityTriggerService();
+		for (int i = 0; i < TRIGGERS; i++) {
+			// the proximities of the pits and ruins: 2 to 8 blocks
+			AbstractProximityTileEntity trigger = new BenchmarkTrigger(2D + random.nextInt(7));
+			trigger.setPos(new BlockPos(random.nextInt(AREA), 10 + random.nextInt(50), random.nextInt(AREA)));
+			triggers.add(trigger);
+			service.register(trigger);
+		}
+		for (int i = 0; i < PLAYERS; i++) {
+			EntityPlayer player = new BenchmarkPlayer(world, new GameProfile(new UUID(0L, i), "player" + i));
+			player.setPosition(random.nextInt(AREA), 64D, random.nextInt(AREA));
+			world.playerEntities.add(player);
+		}
+	}
+
+	@Benchmark
+	public int perTileEntity() {
+		move();
+		int met = 0;
+		for (AbstractProximityTileEntity trigger : triggers) {
+			double proximitySq = Math.max(1D, trigger.getProximity() * trigger.getProximity());
+			for (int playerIndex = 0; playerIndex < world.playerEntities.size(); ++playerIndex) {
+				EntityPlayer player = world.playerEntities.get(playerIndex);
+				double distanceSq = player.getDistanceSq(trigger.getPos().add(0.5D, 0.5D, 0.5D));
+				if (distanceSq < proximitySq && trigger.onProximity(player)) {
+					met++;
+					break;
+				}
+			}
+		}
+		return met;
+	}
+
+	@Benchmark
+	public int service() {
+		move();
+		service.tick(world);
+		return service.size();
+	}
+
+	/**
+	 * Moves each player one block back and forth along x.
+	 */
+	private void move() {
+		if (!moving) {
+			return;
+		}
+		double delta = (step++ & 1) == 0 ? 1D : -1D;
+		for (EntityPlayer player : world.playerEntities) {
+			player.setPosition(player.posX + delta, player.posY, player.posZ);
+		}
+	}
+
+	/**
+	 * A trigger that is never triggered, so that the tile entities stay registered.
+	 */
+	private static class BenchmarkTrigger extends AbstractProximityTileEntity {
+		BenchmarkTrigger(double proximity) {
+			super(proximity);
+		}
+
+		@Override
+		protected boolean isTriggerable() {
+			return false;
+		}
+
+		@Override
+		public void execute(World world, Random random, Coords blockCoords, Coords playerCoords) {
+		}
+	}
+
+	/**
+	 *
+	 */
+	private static class BenchmarkPlayer extends EntityPlayer {
+		BenchmarkPlayer(World world, GameProfile profile) {
+			super(world, profile);
+		}
+
+		@Override
+		public boolean isSpectator() {
+			return false;
+		}
+
+		@Override
+		public boolean isCreative() {
+			return false;
+		}
+	}
+}
@@ -0,0 +1,111 @@
+/**
+ *
+ */
+package com.someguyssoftware.treasure2.world.gen.structure;
+
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.gson.GsonBuilder;
+import com.someguyssoftware.gottschcore.world.gen.structure.DecayProcessor;
+import com.someguyssoftware.gottschcore.world.gen.structure.DecayRuleSet;
+import com.someguyssoftware.gottschcore.world.gen.structure.GottschTemplate;
+import com.someguyssoftware.gottschcore.world.gen.structure.IDecayProcessor;
+import com.someguyssoftware.gottschcore.world.gen.structure.IDecayRuleSet;
+import com.someguyssoftware.treasure2.Treasure;
+import com.someguyssoftware.treasure2.generator.BlockPlacementBuffer;
+import com.someguyssoftware.treasure2.generator.GenerationTestWorld;
+
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Blocks;
+import net.minecraft.init.Bootstrap;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.gen.structure.template.PlacementSettings;
+
+/**
+ * The decay of one surface ruin. processor is the creation of a decay processor alone, the part of a ruin that
+ * the DecayProcessorCache of the ruin generators saves; ruin is the whole placement of a 9x6x9 stone brick ruin
+ * with the ruinous rule set and a new processor; cachedRuin is the same placement with the cached processor;
+ * noDecay is its placement without a processor.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RuinDecayBenchmark {
+	private static final String RULE_SET = "/decay/treasure2/rulesets/ruinous_ruleset.json";
+	private static final int WIDTH = 9;
+	private static final int HEIGHT = 6;
+
+	private IDecayRuleSet ruleSet;
+	private GottschTemplate template;
+	private GenerationTestWorld world;
+	private final BlockPos pos = new BlockPos(0, GenerationTestWorld.SURFACE_Y + 1, 0);
+	private final PlacementSettings placement = new PlacementSettings();
+	private final DecayProcessorCache decayProcessors = new DecayProcessorCache(
+			decayRuleSet -> new DecayProcessor(Treasure.instance.getInstance(), decayRuleSet));
+
+	@Setup
+	public void setUp() throws Exception {
+		Bootstrap.register();
+		if (Treasure.instance == null) {
+			Treasure.instance = new Treasure();
+		}
+		try (Reader reader = new InputStreamReader(getClass().getResourceAsStream(RULE_SET), StandardCharsets.UTF_8)) {
+			ruleSet = new GsonBuilder().create().fromJson(reader, DecayRuleSet.class);
+		}
+		template = TestTemplates.createRuin(WIDTH, HEIGHT);
+		world = new GenerationTestWorld();
+	}
+
+	@Benchmark
+	public IDecayProcessor processor() {
+		return new DecayProcessor(Treasure.instance.getInstance(), ruleSet);
+	}
+
+	@Benchmark
+	public GenerationTestWorld ruin() {
+		IDecayProcessor decayProcessor = new DecayProcessor(Treasure.instance.getInstance(), ruleSet);
+		decayProcessor.setDecayStartY(0);
+		template.addBlocksToWorld(world, pos, decayProcessor, placement, Blocks.STRUCTURE_VOID,
+				Collections.<IBlockState, IBlockState>emptyMap(), BlockPlacementBuffer.GENERATION_FLAGS);
+		return world;
+	}
+
+	@Benchmark
+	public GenerationTestWorld cachedRuin() {
+		IDecayProcessor decayProcessor = decayProcessors.take(ruleSet);
+		try {
+			decayProcessor.setDecayStartY(0);
+			template.addBlocksToWorld(world, pos, decayProcessor, placement, Blocks.STRUCTURE_VOID,
+					Collections.<IBlockState, IBlockState>emptyMap(), BlockPlacementBuffer.GENERATION_FLAGS);
+		}
+		finally {
+			decayProcessors.release(ruleSet, decayProcessor);
+		}
+		return world;
+	}
+
+	@Benchmark
+	public GenerationTestWorld noDecay() {
+		template.addBlocksToWorld(world, pos, placement, Blocks.STRUCTURE_VOID,
+				Collections.<IBlockState, IBlockState>emptyMap(), BlockPlacementBuffer.GENERATION_FLAGS);
+		return world;
+	}
+}
@@ -0,0 +1,103 @@
+/**
+ * 
+ */
+package com.someguyssoftware.treasure2.world.gen.structure;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.util.ResourceLocation;
+
+/**
+ * Reading a template's NBT: decompressing the source file, as every world load did, against reading the cache entry.
+ * Data fixing, which the cache also skips, needs a running game and is not included, so the gain is understated.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TemplateCacheBenchmark {
+	private static final ResourceLocation LOCATION = new ResourceLocation("treasure2", "structures/surface/benchmark");
+
+	// the number of blocks of a small and of a large structure
+	@Param({ "1000", "20000" })
+	public int blocks;
+
+	private Path folder;
+	private TemplateCache cache;
+	private byte[] source;
+
+	@Setup
+	public void setUp() throws IOException {
+		Random random = new Random(1L);
+		NBTTagCompound tag = new NBTTagCompound();
+		NBTTagList palette = new NBTTagList();
+		for (int i = 0; i < 32; i++) {
+			NBTTagCompound state = new NBTTagCompound();
+			state.setString("Name", "minecraft:block" + i);
+			palette.appendTag(state);
+		}
+		tag.setTag("palette", palette);
+		NBTTagList blockList = new NBTTagList();
+		for (int i = 0; i < blocks; i++) {
+			NBTTagCompound block = new NBTTagCompound();
+			block.setIntArray("pos", new int[] { i % 32, (i / 32) % 32, i / 1024 });
+			block.setInteger("state", random.nextInt(32));
+			blockList.appendTag(block);
+		}
+		tag.setTag("blocks", blockList);
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		CompressedStreamTools.writeCompressed(tag, out);
+		source = out.toByteArray();
+
+		folder = Files.createTempDirectory("treasure2-template-cache");
+		cache = new TemplateCache(folder, "benchmark");
+		cache.write(LOCATION, TemplateCache.hash(source), tag);
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		try (Stream<Path> paths = Files.walk(folder)) {
+			paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+		}
+	}
+
+	@Benchmark
+	public NBTTagCompound decompress() throws IOException {
+		return CompressedStreamTools.readCompressed(new ByteArrayInputStream(source));
+	}
+
+	/**
+	 * Includes hashing the source, which a cache hit still has to do.
+	 */
+	@Benchmark
+	public NBTTagCompound cached() {
+		return cache.read(LOCATION, TemplateCache.hash(source)).get();
+	}
+}
@@ -0,0 +1,126 @@
+/**
+ * 
+ */
+package com.someguyssoftware.treasure2.world.gen.structure;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Optional;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.util.ResourceLocation;
+
+/**
+ * The template cache: a hit only for the same source and mod version, and a miss instead of an error for a bad entry.
+ */
+public class TemplateCacheTest {
+	private static final ResourceLocation LOCATION = new ResourceLocation("treasure2", "structures/surface/crypt1");
+	private static final byte[] HASH = TemplateCache.hash("crypt1".getBytes(StandardCharsets.UTF_8));
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private Path folder;
+
+	@Before
+	public void setUp() throws IOException {
+		folder = temporaryFolder.newFolder("structures").toPath();
+	}
+
+	@Test
+	public void readsWhatWasWritten() {
+		TemplateCache cache = new TemplateCache(folder, "1.0.0");
+		NBTTagCompound tag = template();
+		cache.write(LOCATION, HASH, tag);
+
+		Optional<NBTTagCompound> cached = cache.read(LOCATION, HASH);
+
+		assertTrue(cached.isPresent());
+		assertEquals(tag, cached.get());
+		assertTrue(Files.isRegularFile(folder.resolve("treasure2/cache/structures/surface/crypt1.bin")));
+	}
+
+	@Test
+	public void changedSourceMisses() {
+		TemplateCache cache = new TemplateCache(folder, "1.0.0");
+		cache.write(LOCATION, HASH, template());
+
+		assertFalse(cache.read(LOCATION, TemplateCache.hash("crypt1 edited".getBytes(StandardCharsets.UTF_8))).isPresent());
+	}
+
+	@Test
+	public void otherModVersionMisses() {
+		new TemplateCache(folder, "1.0.0").write(LOCATION, HASH, template());
+
+		assertFalse(new TemplateCache(folder, "1.0.1").read(LOCATION, HASH).isPresent());
+	}
+
+	@Test
+	public void staleEntryIsReplacedAfterItWasRead() {
+		TemplateCache cache = new TemplateCache(folder, "1.0.0");
+		cache.write(LOCATION, HASH, template());
+		byte[] editedHash = TemplateCache.hash("crypt1 edited".getBytes(StandardCharsets.UTF_8));
+		// a stale read, as when the source has changed, then the entry is rewritten
+		assertFalse(cache.read(LOCATION, editedHash).isPresent());
+		NBTTagCompound edited = template();
+		edited.setInteger("DataVersion", 1343);
+		cache.write(LOCATION, editedHash, edited);
+
+		Optional<NBTTagCompound> cached = cache.read(LOCATION, editedHash);
+		assertTrue(cached.isPresent());
+		assertEquals(edited, cached.get());
+	}
+
+	@Test
+	public void missingOrCorruptEntryMisses() throws IOException {
+		TemplateCache cache = new TemplateCache(folder, "1.0.0");
+		assertFalse(cache.read(LOCATION, HASH).isPresent());
+
+		cache.write(LOCATION, HASH, template());
+		Path path = folder.resolve("treasure2/cache/structures/surface/crypt1.bin");
+		byte[] bytes = Files.readAllBytes(path);
+		// truncate the nbt
+		Files.write(path, Arrays.copyOf(bytes, bytes.length - 8));
+		assertFalse(cache.read(LOCATION, HASH).isPresent());
+
+		Files.write(path, new byte[] { 1, 2, 3 });
+		assertFalse(cache.read(LOCATION, HASH).isPresent());
+	}
+
+	/**
+	 * A small structure: a palette and a list of blocks, like the templates.
+	 */
+	static NBTTagCompound template() {
+		NBTTagCompound tag = new NBTTagCompound();
+		tag.setInteger("DataVersion", 1343);
+		NBTTagList palette = new NBTTagList();
+		for (String name : new String[] { "minecraft:stone", "minecraft:air", "treasure2:skeleton" }) {
+			NBTTagCompound state = new NBTTagCompound();
+			state.setString("Name", name);
+			palette.appendTag(state);
+		}
+		tag.setTag("palette", palette);
+		NBTTagList blocks = new NBTTagList();
+		for (int i = 0; i < 64; i++) {
+			NBTTagCompound block = new NBTTagCompound();
+			block.setIntArray("pos", new int[] { i & 3, (i >> 2) & 3, i >> 4 });
+			block.setInteger("state", i % 3);
+			blocks.appendTag(block);
+		}
+		tag.setTag("blocks", blocks);
+		return tag;
+	}
+}
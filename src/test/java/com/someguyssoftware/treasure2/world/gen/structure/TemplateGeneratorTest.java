@@ -0,0 +1,171 @@
+/**
+ *
+ */
+package com.someguyssoftware.treasure2.world.gen.structure;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.google.gson.GsonBuilder;
+import com.someguyssoftware.gottschcore.positional.Coords;
+import com.someguyssoftware.gottschcore.positional.ICoords;
+import com.someguyssoftware.gottschcore.world.gen.structure.DecayProcessor;
+import com.someguyssoftware.gottschcore.world.gen.structure.DecayRuleSet;
+import com.someguyssoftware.gottschcore.world.gen.structure.IDecayProcessor;
+import com.someguyssoftware.gottschcore.world.gen.structure.IDecayRuleSet;
+import com.someguyssoftware.gottschcore.world.gen.structure.StructureMarkers;
+import com.someguyssoftware.treasure2.Treasure;
+import com.someguyssoftware.treasure2.generator.GenerationTestWorld;
+import com.someguyssoftware.treasure2.generator.GeneratorResult;
+import com.someguyssoftware.treasure2.generator.TemplateGeneratorData;
+import com.someguyssoftware.treasure2.meta.StructureMeta;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.block.Block;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Blocks;
+import net.minecraft.init.Bootstrap;
+import net.minecraft.util.ResourceLocation;
+import net.minecraft.util.Rotation;
+import net.minecraft.world.gen.structure.template.PlacementSettings;
+
+/**
+ * Tests that generations with the decay processors of a DecayProcessorCache, nested and one after another, place the
+ * same blocks as generations that each have a new processor. The rule set decays without any random choice, so a
+ * difference can only come from state that a processor keeps between generations.
+ */
+public class TemplateGeneratorTest {
+	private static final String RULE_SET = "{"
+			+ "\"name\": \"test\","
+			+ "\"verticalDecayRate\": { \"min\": 15.0, \"max\": 15.0 },"
+			+ "\"initialBlockStrength\": 100.0,"
+			+ "\"blockStrengthThreshold\": 0.0,"
+			+ "\"blockStrengthDecayRate\": { \"min\": 25.0, \"max\": 25.0 },"
+			+ "\"blockStrengthDistanceDecayRate\": { \"min\": 30.0, \"max\": 30.0 },"
+			+ "\"decayRules\": {"
+			+ "  \"minecraft:stonebrick\": { \"decayIterations\": 1, \"decayProbability\": 100.0, \"decayBlocks\": [ \"minecraft:cobblestone@0\" ] },"
+			+ "  \"minecraft:cobblestone\": { \"decayIterations\": 1, \"decayProbability\": 100.0, \"decayBlocks\": [ \"minecraft:gravel@0\" ] }"
+			+ "}}";
+	private static final long SEED = 42L;
+	private static final ICoords RUIN_COORDS = new Coords(0, GenerationTestWorld.SURFACE_Y + 1, 0);
+	private static final ICoords TOWER_COORDS = new Coords(40, GenerationTestWorld.SURFACE_Y + 1, 24);
+
+	private static final TemplateGenerator GENERATOR = new TestTemplateGenerator();
+	private static final Function<IDecayRuleSet, IDecayProcessor> FACTORY =
+			decayRuleSet -> new DecayProcessor(Treasure.instance.getInstance(), decayRuleSet);
+
+	private static IDecayRuleSet ruleSet;
+	private static TemplateHolder ruin;
+	private static TemplateHolder tower;
+
+	@BeforeClass
+	public static void setUpClass() {
+		Bootstrap.register();
+		if (Treasure.instance == null) {
+			Treasure.instance = new Treasure();
+		}
+		ruleSet = new GsonBuilder().create().fromJson(RULE_SET, DecayRuleSet.class);
+		ruin = holder("ruin", 9, 6);
+		tower = holder("tower", 5, 12);
+	}
+
+	@Test
+	public void interleavedGenerationsPlaceTheSameBlocksAsSequentialOnes() {
+		Long2ObjectMap<IBlockState> expectedRuin = generate(ruin, RUIN_COORDS, FACTORY.apply(ruleSet));
+		Long2ObjectMap<IBlockState> expectedTower = generate(tower, TOWER_COORDS, FACTORY.apply(ruleSet));
+		// the rule set decays the structures
+		assertNotEquals(generate(ruin, RUIN_COORDS, null), expectedRuin);
+
+		DecayProcessorCache cache = new DecayProcessorCache(FACTORY);
+		// a tower generated while the generation of the ruin holds its processor
+		IDecayProcessor ruinProcessor = cache.take(ruleSet);
+		IDecayProcessor towerProcessor = cache.take(ruleSet);
+		assertNotSame(ruinProcessor, towerProcessor);
+		assertEquals(expectedTower, generate(tower, TOWER_COORDS, towerProcessor));
+		cache.release(ruleSet, towerProcessor);
+		assertEquals(expectedRuin, generate(ruin, RUIN_COORDS, ruinProcessor));
+		cache.release(ruleSet, ruinProcessor);
+
+		// and one after another with the processor that the cache kept
+		for (TemplateHolder holder : new TemplateHolder[] { tower, ruin, ruin, tower }) {
+			IDecayProcessor processor = cache.take(ruleSet);
+			assertSame(ruinProcessor, processor);
+			if (holder == ruin) {
+				assertEquals(expectedRuin, generate(ruin, RUIN_COORDS, processor));
+			}
+			else {
+				assertEquals(expectedTower, generate(tower, TOWER_COORDS, processor));
+			}
+			cache.release(ruleSet, processor);
+		}
+	}
+
+	@Test
+	public void invalidatedCacheCreatesNewProcessors() {
+		DecayProcessorCache cache = new DecayProcessorCache(FACTORY);
+		IDecayProcessor processor = cache.take(ruleSet);
+		cache.release(ruleSet, processor);
+		assertSame(processor, cache.take(ruleSet));
+		cache.release(ruleSet, processor);
+
+		DecayProcessorCache.invalidate();
+		assertNotSame(processor, cache.take(ruleSet));
+	}
+
+	/**
+	 * Generates the template into a new world.
+	 * @return the blocks placed by the generation
+	 */
+	private static Long2ObjectMap<IBlockState> generate(TemplateHolder holder, ICoords coords, IDecayProcessor decayProcessor) {
+		GenerationTestWorld world = new GenerationTestWorld();
+		// the tower is rotated
+		PlacementSettings placement = holder == tower ? new PlacementSettings().setRotation(Rotation.CLOCKWISE_90) : new PlacementSettings();
+		GeneratorResult<TemplateGeneratorData> result = GENERATOR.generate(world, new Random(SEED), decayProcessor, holder, placement, coords);
+		assertTrue(result.isSuccess());
+		return new Long2ObjectOpenHashMap<>(world.getChangedStates());
+	}
+
+	private static TemplateHolder holder(String name, int width, int height) {
+		ResourceLocation location = new ResourceLocation(Treasure.MODID, name);
+		return new TemplateHolder().setTemplate(TestTemplates.createRuin(width, height)).setLocation(location).setMetaLocation(location);
+	}
+
+	/**
+	 * A template generator that doesn't need the template and meta registries: the templates have no meta offset,
+	 * no offset marker and no replacement blocks.
+	 */
+	private static class TestTemplateGenerator extends TemplateGenerator {
+		private final StructureMeta meta = new StructureMeta();
+
+		TestTemplateGenerator() {
+			super(Blocks.STRUCTURE_VOID);
+		}
+
+		@Override
+		protected StructureMeta getMeta(TemplateHolder templateHolder) {
+			return meta;
+		}
+
+		@Override
+		protected Block getMarkerBlock(StructureMarkers marker) {
+			return Blocks.BEDROCK;
+		}
+
+		@Override
+		protected Map<IBlockState, IBlockState> getReplacementMap() {
+			return Collections.emptyMap();
+		}
+	}
+}
@@ -0,0 +1,111 @@
+/**
+ * 
+ */
+package com.someguyssoftware.treasure2.world.gen.structure;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.collect.HashBasedTable;
+import com.google.common.collect.Table;
+import com.someguyssoftware.treasure2.meta.StructureArchetype;
+import com.someguyssoftware.treasure2.meta.StructureType;
+
+import net.minecraft.util.ResourceLocation;
+
+/**
+ * The template lookup of TreasureTemplateManager.getTemplate(): the former table keyed by an "archetype:type" string
+ * and the boxed biome ID against the template index. Each of the vanilla biome IDs maps to a few templates of
+ * every archetype and type, and the lookups cycle through archetypes, types and biomes as the generators do.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TemplateIndexBenchmark {
+	private static final int BIOMES = 168;
+	private static final int TEMPLATES = 3;
+	private static final int QUERIES = 1024;
+
+	private Table<String, Integer, List<TemplateHolder>> table;
+	private TemplateIndex index;
+	private StructureArchetype[] archetypes;
+	private StructureType[] types;
+	private int[] biomeIDs;
+	private Random random;
+	private int next;
+
+	@Setup
+	public void setUp() {
+		table = HashBasedTable.create();
+		TemplateIndex.Builder builder = new TemplateIndex.Builder();
+		for (StructureArchetype archetype : StructureArchetype.values()) {
+			for (StructureType type : StructureType.values()) {
+				String key = archetype.getName() + ":" + type.getName();
+				for (int t = 0; t < TEMPLATES; t++) {
+					TemplateHolder holder = new TemplateHolder().setLocation(new ResourceLocation("treasure2", key + t));
+					for (int biomeID = 0; biomeID < BIOMES; biomeID++) {
+						// the former mapping made a holder per archetype/biome
+						if (!table.contains(key, biomeID)) {
+							table.put(key, biomeID, new ArrayList<>(3));
+						}
+						table.get(key, biomeID).add(new TemplateHolder().setLocation(holder.getLocation()));
+						builder.add(archetype, type, biomeID, holder);
+					}
+				}
+			}
+		}
+		index = builder.build();
+
+		Random setupRandom = new Random(1L);
+		archetypes = new StructureArchetype[QUERIES];
+		types = new StructureType[QUERIES];
+		biomeIDs = new int[QUERIES];
+		for (int i = 0; i < QUERIES; i++) {
+			archetypes[i] = StructureArchetype.values()[setupRandom.nextInt(StructureArchetype.values().length)];
+			types[i] = StructureType.values()[setupRandom.nextInt(StructureType.values().length)];
+			biomeIDs[i] = setupRandom.nextInt(BIOMES);
+		}
+		random = new Random(2L);
+	}
+
+	@Benchmark
+	public TemplateHolder table() {
+		int i = nextQuery();
+		// as getTemplate() was
+		String key = archetypes[i].getName() + ":" + types[i].getName();
+		Integer biomeID = biomeIDs[i];
+		List<TemplateHolder> templateHolders = table.get(key, biomeID);
+		if (templateHolders == null || templateHolders.isEmpty()) {
+			return null;
+		}
+		return templateHolders.get(random.nextInt(templateHolders.size()));
+	}
+
+	@Benchmark
+	public TemplateHolder index() {
+		int i = nextQuery();
+		return index.select(random, archetypes[i], types[i], biomeIDs[i]);
+	}
+
+	private int nextQuery() {
+		int i = next;
+		next = (next + 1) & (QUERIES - 1);
+		return i;
+	}
+}
@@ -0,0 +1,99 @@
+/**
+ * 
+ */
+package com.someguyssoftware.treasure2.world.gen.structure;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.someguyssoftware.treasure2.meta.StructureArchetype;
+import com.someguyssoftware.treasure2.meta.StructureType;
+
+import net.minecraft.util.ResourceLocation;
+
+/**
+ * The template index: lookups by archetype, type and biome, shared holders and weighted selection.
+ */
+public class TemplateIndexTest {
+
+	@Test
+	public void holdersAreFoundByArchetypeTypeAndBiome() {
+		TemplateHolder crypt = holder("crypt", 1);
+		TemplateHolder well = holder("well", 1);
+		TemplateIndex index = new TemplateIndex.Builder()
+				.add(StructureArchetype.SURFACE, StructureType.RUIN, 1, crypt)
+				.add(StructureArchetype.SURFACE, StructureType.RUIN, 40, crypt)
+				.add(StructureArchetype.SURFACE, StructureType.WELL, 1, well)
+				.build();
+
+		assertEquals(Arrays.asList(crypt), index.getHolders(StructureArchetype.SURFACE, StructureType.RUIN, 1));
+		// shared, not copied per biome
+		assertSame(crypt, index.getHolders(StructureArchetype.SURFACE, StructureType.RUIN, 40).get(0));
+		assertEquals(Arrays.asList(well), index.getHolders(StructureArchetype.SURFACE, StructureType.WELL, 1));
+		assertTrue(index.getHolders(StructureArchetype.SUBMERGED, StructureType.RUIN, 1).isEmpty());
+		assertTrue(index.getHolders(StructureArchetype.SURFACE, StructureType.RUIN, 2).isEmpty());
+	}
+
+	@Test
+	public void unknownBiomeSelectsNothing() {
+		TemplateIndex index = new TemplateIndex.Builder()
+				.add(StructureArchetype.SURFACE, StructureType.RUIN, 1, holder("crypt", 1))
+				.build();
+		Random random = new Random(1L);
+
+		assertNull(index.select(random, StructureArchetype.SURFACE, StructureType.RUIN, -1));
+		assertNull(index.select(random, StructureArchetype.SURFACE, StructureType.RUIN, 255));
+		assertNull(TemplateIndex.EMPTY.select(random, StructureArchetype.SURFACE, StructureType.RUIN, 1));
+	}
+
+	@Test
+	public void selectionFollowsWeights() {
+		TemplateHolder common = holder("common", 3);
+		TemplateHolder rare = holder("rare", 1);
+		TemplateIndex index = new TemplateIndex.Builder()
+				.add(StructureArchetype.SUBTERRANEAN, StructureType.ROOM, 4, common)
+				.add(StructureArchetype.SUBTERRANEAN, StructureType.ROOM, 4, rare)
+				.build();
+		Random random = new Random(1L);
+
+		int rares = 0;
+		int selections = 100000;
+		for (int i = 0; i < selections; i++) {
+			if (index.select(random, StructureArchetype.SUBTERRANEAN, StructureType.ROOM, 4) == rare) {
+				rares++;
+			}
+		}
+		assertEquals(0.25, (double) rares / selections, 0.01);
+	}
+
+	@Test
+	public void equalWeightsSelectUniformly() {
+		TemplateHolder[] holders = { holder("a", 1), holder("b", 1), holder("c", 1), holder("d", 1) };
+		TemplateIndex.Builder builder = new TemplateIndex.Builder();
+		for (TemplateHolder holder : holders) {
+			builder.add(StructureArchetype.SURFACE, StructureType.RUIN, 0, holder);
+		}
+		TemplateIndex index = builder.build();
+		Random random = new Random(1L);
+
+		int[] counts = new int[holders.length];
+		int selections = 100000;
+		for (int i = 0; i < selections; i++) {
+			counts[Arrays.asList(holders).indexOf(index.select(random, StructureArchetype.SURFACE, StructureType.RUIN, 0))]++;
+		}
+		for (int count : counts) {
+			assertEquals(0.25, (double) count / selections, 0.01);
+		}
+	}
+
+	private static TemplateHolder holder(String name, int weight) {
+		return new TemplateHolder().setLocation(new ResourceLocation("treasure2", name)).setWeight(weight);
+	}
+}
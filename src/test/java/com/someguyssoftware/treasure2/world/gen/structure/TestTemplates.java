@@ -0,0 +1,71 @@
+/**
+ *
+ */
+package com.someguyssoftware.treasure2.world.gen.structure;
+
+import java.util.Collections;
+
+import com.someguyssoftware.gottschcore.world.gen.structure.GottschTemplate;
+
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Blocks;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagInt;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.nbt.NBTUtil;
+
+/**
+ * Templates built in memory for the structure tests and benchmarks.
+ */
+public final class TestTemplates {
+
+	private TestTemplates() {}
+
+	/**
+	 * A ruin: a stone brick floor and walls with a cobblestone top course, and air inside.
+	 * @param width
+	 * @param height
+	 * @return
+	 */
+	public static GottschTemplate createRuin(int width, int height) {
+		GottschTemplate template = new GottschTemplate();
+		template.read(createRuinTag(width, height), Collections.emptyList(), Collections.emptyMap());
+		return template;
+	}
+
+	private static NBTTagCompound createRuinTag(int width, int height) {
+		IBlockState[] states = { Blocks.AIR.getDefaultState(), Blocks.STONEBRICK.getDefaultState(), Blocks.COBBLESTONE.getDefaultState() };
+		NBTTagCompound tag = new NBTTagCompound();
+		NBTTagList palette = new NBTTagList();
+		for (IBlockState state : states) {
+			palette.appendTag(NBTUtil.writeBlockState(new NBTTagCompound(), state));
+		}
+		tag.setTag("palette", palette);
+
+		NBTTagList blocks = new NBTTagList();
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				for (int z = 0; z < width; z++) {
+					boolean wall = x == 0 || z == 0 || x == width - 1 || z == width - 1;
+					int state = y == 0 || wall ? (y == height - 1 ? 2 : 1) : 0;
+					NBTTagCompound block = new NBTTagCompound();
+					block.setTag("pos", intList(x, y, z));
+					block.setInteger("state", state);
+					blocks.appendTag(block);
+				}
+			}
+		}
+		tag.setTag("blocks", blocks);
+		tag.setTag("entities", new NBTTagList());
+		tag.setTag("size", intList(width, height, width));
+		return tag;
+	}
+
+	private static NBTTagList intList(int... values) {
+		NBTTagList list = new NBTTagList();
+		for (int value : values) {
+			list.appendTag(new NBTTagInt(value));
+		}
+		return list;
+	}
+}
@@ -0,0 +1,140 @@
+/**
+ *
+ */
+package com.someguyssoftware.treasure2.worldgen;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.someguyssoftware.gottschcore.positional.Coords;
+import com.someguyssoftware.gottschcore.positional.ICoords;
+import com.someguyssoftware.treasure2.generator.GenerationTestWorld;
+
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Bootstrap;
+import net.minecraft.util.math.BlockPos;
+
+/**
+ * Tests the block states that the column cache saves: the site lookups of the world generators of a chunk, made
+ * twice per column as when two generators pick the same site, read the world once per column in a decoration pass.
+ * The block states saved that the pass reports are at least one per block of the skipped walks, so they are a lower
+ * bound of the getBlockState() calls saved.
+ */
+public class ColumnCacheTest {
+	private static final int START_Y = 128;
+	private static final int REPEATS = 2;
+
+	private CountingWorld world;
+
+	@BeforeClass
+	public static void setUpClass() {
+		Bootstrap.register();
+	}
+
+	@Before
+	public void setUp() {
+		world = new CountingWorld();
+	}
+
+	@Test
+	public void repeatedLookupsReadNoBlockStates() {
+		int uncached = lookupChunk();
+		assertTrue(uncached > 0);
+
+		long savedBefore = ColumnCache.getTotalBlockStatesSaved();
+		long hitsBefore = ColumnCache.getTotalHits();
+		ColumnCache.begin(world, 0, 0);
+		int cached;
+		try {
+			cached = lookupChunk();
+		}
+		finally {
+			ColumnCache.end();
+		}
+		long reportedSaved = ColumnCache.getTotalBlockStatesSaved() - savedBefore;
+
+		// only the first lookup of each column reads the world
+		assertEquals(uncached / REPEATS, cached);
+		// 3 lookups per column, repeated
+		assertEquals(16 * 16 * 3 * (REPEATS - 1), ColumnCache.getTotalHits() - hitsBefore);
+		assertTrue(reportedSaved > 0);
+		assertTrue("reported " + reportedSaved + " saved " + (uncached - cached), reportedSaved <= uncached - cached);
+	}
+
+	@Test
+	public void invalidatedColumnsAreReadAgain() {
+		ColumnCache.begin(world, 0, 0);
+		try {
+			ICoords column = new Coords(3, START_Y, 5);
+			ColumnCache.getSolidSurfaceCoords(world, column);
+			world.reads = 0;
+			ColumnCache.getSolidSurfaceCoords(world, column);
+			assertEquals(0, world.reads);
+
+			ColumnCache.invalidate(column);
+			ColumnCache.getSolidSurfaceCoords(world, column);
+			assertTrue(world.reads > 0);
+
+			world.reads = 0;
+			ColumnCache.invalidate();
+			ColumnCache.getSolidSurfaceCoords(world, column);
+			assertTrue(world.reads > 0);
+		}
+		finally {
+			ColumnCache.end();
+		}
+	}
+
+	@Test
+	public void otherWorldsAreNotCached() {
+		CountingWorld other = new CountingWorld();
+		ColumnCache.begin(world, 0, 0);
+		try {
+			ICoords column = new Coords(3, START_Y, 5);
+			ColumnCache.getSolidSurfaceCoords(other, column);
+			other.reads = 0;
+			ColumnCache.getSolidSurfaceCoords(other, column);
+			assertTrue(other.reads > 0);
+		}
+		finally {
+			ColumnCache.end();
+		}
+	}
+
+	/**
+	 * Looks up the dry land surface, the ocean floor and the solid surface of each column of the chunk at 0, 0,
+	 * REPEATS times, from the same start as the generators do.
+	 * @return the block states read
+	 */
+	private int lookupChunk() {
+		world.reads = 0;
+		for (int repeat = 0; repeat < REPEATS; repeat++) {
+			for (int x = 0; x < 16; x++) {
+				for (int z = 0; z < 16; z++) {
+					ICoords coords = new Coords(x, START_Y, z);
+					ColumnCache.getDryLandSurfaceCoords(world, coords);
+					ColumnCache.getOceanFloorSurfaceCoords(world, coords);
+					ColumnCache.getSolidSurfaceCoords(world, coords);
+				}
+			}
+		}
+		return world.reads;
+	}
+
+	/**
+	 * Counts the block states that are read.
+	 */
+	private static class CountingWorld extends GenerationTestWorld {
+		private int reads;
+
+		@Override
+		public IBlockState getBlockState(BlockPos pos) {
+			reads++;
+			return super.getBlockState(pos);
+		}
+	}
+}
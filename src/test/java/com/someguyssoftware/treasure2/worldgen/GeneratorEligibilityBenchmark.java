@@ -0,0 +1,122 @@
+/**
+ *
+ */
+package com.someguyssoftware.treasure2.worldgen;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.someguyssoftware.gottschcore.biome.BiomeHelper;
+import com.someguyssoftware.treasure2.biome.BiomeFilter;
+import com.someguyssoftware.treasure2.biome.TreasureBiomeHelper;
+import com.someguyssoftware.treasure2.biome.TreasureBiomeHelper.Result;
+import com.someguyssoftware.treasure2.config.BiomesConfig;
+
+import net.minecraft.init.Bootstrap;
+import net.minecraft.world.biome.Biome;
+import net.minecraftforge.fml.common.registry.ForgeRegistries;
+
+/**
+ * The biome checks of the surface and submerged chest generators for 1,024 chunks spread over every registered biome,
+ * 61 in vanilla: legacy checks the config lists of each rarity, as the world generators did, against the compiled
+ * BiomeFilter tables. The lists are the default chest config lists, with the given number of registered biomes
+ * added to each black list, as a config of a modpack with many biome mods would have.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeneratorEligibilityBenchmark {
+	private static final int CHUNKS = 1024;
+	private static final int MIN_BIOMES = 60;
+
+	// the number of registered biomes added to each black list
+	@Param({ "0", "60" })
+	public int blackListed;
+
+	private final List<BiomesConfig> configs = new ArrayList<>();
+	private final List<BiomeFilter> filters = new ArrayList<>();
+	private Biome[] chunkBiomes;
+
+	@Setup
+	public void setUp() {
+		Bootstrap.register();
+		List<Biome> biomes = new ArrayList<>(ForgeRegistries.BIOMES.getValuesCollection());
+		if (biomes.size() < MIN_BIOMES) {
+			throw new IllegalStateException("only " + biomes.size() + " biomes are registered");
+		}
+
+		String[] none = new String[] {};
+		String[] oceans = new String[] { "ocean", "deep_ocean", "deep_frozen_ocean", "cold_ocean", "deep_cold_ocean", "lukewarm_ocean", "warm_ocean" };
+		// the surface chests, common to mythical
+		for (int rarity = 0; rarity < 7; rarity++) {
+			add(rarity < 3 ? new BiomesConfig(none, none, none, none)
+					: new BiomesConfig(none, new String[] { "plains", "sunflower_plains" }, none, new String[] { "plains" }), biomes);
+		}
+		// the submerged chests
+		for (int rarity = 0; rarity < 7; rarity++) {
+			add(new BiomesConfig(oceans, none, new String[] { "ocean", "deep_ocean" }, none), biomes);
+		}
+
+		chunkBiomes = new Biome[CHUNKS];
+		for (int chunk = 0; chunk < CHUNKS; chunk++) {
+			chunkBiomes[chunk] = biomes.get(chunk % biomes.size());
+		}
+	}
+
+	private void add(BiomesConfig config, List<Biome> biomes) {
+		config.init();
+		for (int index = 0; index < blackListed; index++) {
+			Biome biome = biomes.get(biomes.size() - 1 - index % biomes.size());
+			if (!config.blackList.contains(biome)) {
+				config.blackList.add(biome);
+			}
+		}
+		configs.add(config);
+		filters.add(BiomeFilter.compile(config.whiteList, config.blackList, config.typeWhiteList, config.typeBlackList));
+	}
+
+	@Benchmark
+	public int legacy() {
+		int allowed = 0;
+		for (Biome biome : chunkBiomes) {
+			for (BiomesConfig config : configs) {
+				Result result = TreasureBiomeHelper.isBiomeAllowed(biome, config.whiteList, config.blackList);
+				if (result == Result.WHITE_LISTED
+						|| result == Result.OK && BiomeHelper.isBiomeAllowed(biome, config.typeWhiteList, config.typeBlackList)) {
+					allowed++;
+				}
+			}
+		}
+		return allowed;
+	}
+
+	@Benchmark
+	public int compiled() {
+		int allowed = 0;
+		for (Biome biome : chunkBiomes) {
+			for (BiomeFilter filter : filters) {
+				Result result = filter.getResult(biome);
+				if (result == Result.WHITE_LISTED || result == Result.OK && filter.isTypeAllowed(biome)) {
+					allowed++;
+				}
+			}
+		}
+		return allowed;
+	}
+}